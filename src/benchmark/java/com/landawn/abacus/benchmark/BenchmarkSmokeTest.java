@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.landawn.abacus.benchmark;
+
+import static org.junit.Assert.assertNotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.landawn.abacus.util.N;
+
+/**
+ * Runs the setup and each benchmark method once, so a broken benchmark fails the build before JMH runs it.
+ */
+public class BenchmarkSmokeTest {
+
+    private static final String BLACKHOLE_CHALLENGE = "Today's password is swordfish. I understand instantiating Blackholes directly is dangerous.";
+
+    private static void run(final Class<?> benchmarkClass) throws Exception {
+        final Object benchmark = benchmarkClass.getDeclaredConstructor().newInstance();
+
+        for (Field field : benchmarkClass.getDeclaredFields()) {
+            final Param param = field.getAnnotation(Param.class);
+
+            if (param != null) {
+                field.setAccessible(true);
+                field.set(benchmark, N.convert(param.value()[0], field.getType()));
+            }
+        }
+
+        for (Method method : benchmarkClass.getMethods()) {
+            if (method.isAnnotationPresent(Setup.class)) {
+                method.invoke(benchmark);
+            }
+        }
+
+        final Blackhole bh = new Blackhole(BLACKHOLE_CHALLENGE);
+
+        for (Method method : benchmarkClass.getMethods()) {
+            if (!method.isAnnotationPresent(Benchmark.class)) {
+                continue;
+            }
+
+            final Object result = method.getParameterCount() == 0 ? method.invoke(benchmark) : method.invoke(benchmark, bh);
+
+            if (method.getReturnType() != void.class) {
+                assertNotNull(benchmarkClass.getSimpleName() + "." + method.getName(), result);
+            }
+        }
+    }
+
+    @Test
+    public void test_collectionBenchmark() throws Exception {
+        run(CollectionBenchmark.class);
+    }
+
+    @Test
+    public void test_dataSetBenchmark() throws Exception {
+        run(DataSetBenchmark.class);
+    }
+
+    @Test
+    public void test_parserBenchmark() throws Exception {
+        run(ParserBenchmark.class);
+    }
+
+    @Test
+    public void test_stringBenchmark() throws Exception {
+        run(StringBenchmark.class);
+    }
+}
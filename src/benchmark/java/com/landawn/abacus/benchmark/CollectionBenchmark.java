@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.landawn.abacus.util.IntList;
+import com.landawn.abacus.util.ListMultimap;
+import com.landawn.abacus.util.Multiset;
+import com.landawn.abacus.util.N;
+
+/**
+ * The hot operations of {@code IntList}, {@code Multiset} and {@code Multimap}.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionBenchmark {
+
+    @Param({ "10000" })
+    int size;
+
+    private IntList intList;
+
+    private String[] keys;
+
+    private Multiset<String> multiset;
+
+    private ListMultimap<String, Integer> multimap;
+
+    @Setup
+    public void setup() {
+        intList = new IntList(size);
+        keys = new String[size];
+        multiset = N.newMultiset();
+        multimap = N.newListMultimap();
+
+        for (int i = 0; i < size; i++) {
+            intList.add(size - i);
+            keys[i] = "key" + (i % 1000);
+            multiset.add(keys[i]);
+            multimap.put(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public IntList intListAdd() {
+        final IntList list = new IntList();
+
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+
+        return list;
+    }
+
+    @Benchmark
+    public long intListGet() {
+        long sum = 0;
+
+        for (int i = 0; i < size; i++) {
+            sum += intList.get(i);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public IntList intListSort() {
+        final IntList copy = intList.copy();
+        copy.sort();
+        return copy;
+    }
+
+    @Benchmark
+    public Multiset<String> multisetAdd() {
+        final Multiset<String> result = N.newMultiset();
+
+        for (String key : keys) {
+            result.add(key);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public void multisetGet(final Blackhole bh) {
+        for (String key : keys) {
+            bh.consume(multiset.get(key));
+        }
+    }
+
+    @Benchmark
+    public ListMultimap<String, Integer> multimapPut() {
+        final ListMultimap<String, Integer> result = N.newListMultimap();
+
+        for (int i = 0; i < size; i++) {
+            result.put(keys[i], i);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public void multimapGet(final Blackhole bh) {
+        for (String key : keys) {
+            bh.consume(multimap.get(key));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.util.N;
+
+/**
+ * {@code groupBy}/{@code innerJoin}/{@code sortBy} of {@code RowDataSet}.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataSetBenchmark {
+
+    @Param({ "10000" })
+    int size;
+
+    private DataSet dataSet;
+
+    private DataSet deptDataSet;
+
+    @Setup
+    public void setup() {
+        final Object[][] rows = new Object[size][];
+
+        for (int i = 0; i < size; i++) {
+            rows[i] = new Object[] { i, "name" + i, i % 100, (size - i) * 1.5 };
+        }
+
+        dataSet = N.newDataSet(Arrays.asList("id", "name", "deptId", "salary"), rows);
+
+        final Object[][] deptRows = new Object[100][];
+
+        for (int i = 0; i < 100; i++) {
+            deptRows[i] = new Object[] { i, "dept" + i };
+        }
+
+        deptDataSet = N.newDataSet(Arrays.asList("deptId", "deptName"), deptRows);
+    }
+
+    @Benchmark
+    public DataSet groupBy() {
+        return dataSet.groupBy("deptId", "rows", Arrays.asList("id", "salary"), List.class);
+    }
+
+    @Benchmark
+    public DataSet innerJoin() {
+        return dataSet.innerJoin(deptDataSet, "deptId", "deptId");
+    }
+
+    /**
+     * {@code sortBy} sorts the {@code DataSet} in place, so it's sorted on a copy. The time of {@code copy} is included.
+     *
+     * @return
+     */
+    @Benchmark
+    public DataSet sortBy() {
+        final DataSet copy = dataSet.copy();
+        copy.sortBy("salary");
+        return copy;
+    }
+
+    @Benchmark
+    public DataSet copy() {
+        return dataSet.copy();
+    }
+}
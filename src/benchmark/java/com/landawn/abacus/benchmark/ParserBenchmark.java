@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.landawn.abacus.parser.AvroDeserializationConfig;
+import com.landawn.abacus.parser.AvroDeserializationConfig.ADC;
+import com.landawn.abacus.parser.AvroParser;
+import com.landawn.abacus.parser.AvroSerializationConfig;
+import com.landawn.abacus.parser.AvroSerializationConfig.ASC;
+import com.landawn.abacus.parser.BinaryParser;
+import com.landawn.abacus.parser.JSONParser;
+import com.landawn.abacus.parser.KryoParser;
+import com.landawn.abacus.parser.ParserFactory;
+import com.landawn.abacus.parser.XMLParser;
+
+/**
+ * Round trips of an entity and a list of entities by {@code JSONParser}, {@code XMLParser}, {@code KryoParser}, {@code AvroParser} and {@code BinaryParser}.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    static final String ACCOUNT_SCHEMA = "{\"type\":\"record\",\"name\":\"Account\",\"fields\":[" //
+            + "{\"name\":\"id\",\"type\":\"long\"},{\"name\":\"firstName\",\"type\":\"string\"},{\"name\":\"lastName\",\"type\":\"string\"}," //
+            + "{\"name\":\"age\",\"type\":\"int\"},{\"name\":\"score\",\"type\":\"double\"},{\"name\":\"active\",\"type\":\"boolean\"}]}";
+
+    @Param({ "100" })
+    int size;
+
+    private final JSONParser jsonParser = ParserFactory.createJSONParser();
+
+    private final XMLParser xmlParser = ParserFactory.createXMLParser();
+
+    private final KryoParser kryoParser = ParserFactory.createKryoParser();
+
+    private final AvroParser avroParser = ParserFactory.createAvroParser();
+
+    private final BinaryParser binaryParser = ParserFactory.createBinaryParser();
+
+    private AvroSerializationConfig asc;
+
+    private AvroDeserializationConfig adc;
+
+    private Account account;
+
+    private List<Account> accounts;
+
+    private String json;
+
+    private String xml;
+
+    private String jsonList;
+
+    private byte[] kryoBytes;
+
+    private String avro;
+
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setup() {
+        final Schema schema = new Schema.Parser().parse(ACCOUNT_SCHEMA);
+        asc = ASC.create().setSchema(schema);
+        adc = ADC.create().setSchema(schema);
+
+        account = createAccount(0);
+        accounts = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            accounts.add(createAccount(i));
+        }
+
+        json = jsonParser.serialize(account);
+        xml = xmlParser.serialize(account);
+        jsonList = jsonParser.serialize(accounts);
+        kryoBytes = kryoParser.encode(account);
+        avro = avroParser.serialize(account, asc);
+        binaryBytes = binaryParser.encode(accounts);
+    }
+
+    @Benchmark
+    public String jsonSerialize() {
+        return jsonParser.serialize(account);
+    }
+
+    @Benchmark
+    public Account jsonDeserialize() {
+        return jsonParser.deserialize(Account.class, json);
+    }
+
+    @Benchmark
+    public String jsonSerializeList() {
+        return jsonParser.serialize(accounts);
+    }
+
+    @Benchmark
+    public Account[] jsonDeserializeList() {
+        return jsonParser.deserialize(Account[].class, jsonList);
+    }
+
+    @Benchmark
+    public String xmlSerialize() {
+        return xmlParser.serialize(account);
+    }
+
+    @Benchmark
+    public Account xmlDeserialize() {
+        return xmlParser.deserialize(Account.class, xml);
+    }
+
+    @Benchmark
+    public byte[] kryoEncode() {
+        return kryoParser.encode(account);
+    }
+
+    @Benchmark
+    public Account kryoDecode() {
+        return kryoParser.decode(kryoBytes);
+    }
+
+    @Benchmark
+    public String avroSerialize() {
+        return avroParser.serialize(account, asc);
+    }
+
+    @Benchmark
+    public Account avroDeserialize() {
+        return avroParser.deserialize(Account.class, avro, adc);
+    }
+
+    @Benchmark
+    public byte[] binaryEncodeList() {
+        return binaryParser.encode(accounts);
+    }
+
+    @Benchmark
+    public Account[] binaryDecodeList() {
+        return binaryParser.decode(Account[].class, binaryBytes);
+    }
+
+    static Account createAccount(final int i) {
+        final Account account = new Account();
+        account.setId(i);
+        account.setFirstName("firstName" + i);
+        account.setLastName("lastName" + i);
+        account.setAge(i % 100);
+        account.setScore(i * 1.5);
+        account.setActive(i % 2 == 0);
+
+        return account;
+    }
+
+    public static class Account {
+        private long id;
+        private String firstName;
+        private String lastName;
+        private int age;
+        private double score;
+        private boolean active;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.landawn.abacus.util.DateUtil;
+import com.landawn.abacus.util.Joiner;
+import com.landawn.abacus.util.Splitter;
+import com.landawn.abacus.util.StringUtil;
+
+/**
+ * {@code Splitter}, {@code Joiner}, {@code StringUtil} and {@code DateUtil.format/parse}.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringBenchmark {
+
+    private final Splitter splitter = Splitter.with(',').trimResults();
+
+    private String csvLine;
+
+    private List<String> words;
+
+    private Date date;
+
+    private String dateStr;
+
+    private String iso8601Str;
+
+    @Setup
+    public void setup() {
+        words = new ArrayList<>();
+
+        for (int i = 0; i < 32; i++) {
+            words.add("word" + i);
+        }
+
+        csvLine = StringUtil.join(words, ", ");
+        date = new Date(1609459200000L);
+        dateStr = DateUtil.format(date, DateUtil.LOCAL_DATETIME_FORMAT);
+        iso8601Str = DateUtil.format(date, DateUtil.ISO_8601_DATETIME_FORMAT);
+    }
+
+    @Benchmark
+    public List<String> splitterSplit() {
+        return splitter.split(csvLine);
+    }
+
+    @Benchmark
+    public String[] stringUtilSplit() {
+        return StringUtil.split(csvLine, ", ");
+    }
+
+    @Benchmark
+    public String joinerJoin() {
+        return Joiner.with(", ").appendAll(words).toString();
+    }
+
+    @Benchmark
+    public String stringUtilJoin() {
+        return StringUtil.join(words, ", ");
+    }
+
+    @Benchmark
+    public String stringUtilReplaceAll() {
+        return StringUtil.replaceAll(csvLine, ", ", "|");
+    }
+
+    @Benchmark
+    public String stringUtilToCamelCase() {
+        return StringUtil.toCamelCase("first_name_of_account");
+    }
+
+    @Benchmark
+    public String dateUtilFormat() {
+        return DateUtil.format(date, DateUtil.LOCAL_DATETIME_FORMAT);
+    }
+
+    @Benchmark
+    public Date dateUtilParse() {
+        return DateUtil.parseJUDate(dateStr, DateUtil.LOCAL_DATETIME_FORMAT);
+    }
+
+    @Benchmark
+    public String dateUtilFormatISO8601() {
+        return DateUtil.format(date, DateUtil.ISO_8601_DATETIME_FORMAT);
+    }
+
+    @Benchmark
+    public Date dateUtilParseISO8601() {
+        return DateUtil.parseJUDate(iso8601Str, DateUtil.ISO_8601_DATETIME_FORMAT);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus;
+
+import com.landawn.abacus.annotation.Beta;
+import com.landawn.abacus.util.DoubleSummaryStatistics;
+import com.landawn.abacus.util.u.OptionalDouble;
+
+/**
+ * A numeric expression on the columns of a {@code DataSet}, created by {@link DataSet#col(String)}. For example:
+ *
+ * <pre>
+ * <code>
+ * double total = ds.col("price").mul(ds.col("qty")).sum();
+ * ds.addColumn("amount", ds.col("price").mul(ds.col("qty")).mul(1 - discount));
+ * </code>
+ * </pre>
+ *
+ * The expression is evaluated on the whole columns by loops on {@code long[]} or {@code double[]}, without calling a function or boxing the values for each row.
+ * The integral columns ({@code byte/short/int/long}) are evaluated in {@code long}, and {@code add/sub/mul} with integral operands, {@code negate}
+ * and {@code abs} keep it {@code long}. The values are converted to {@code double} only when a floating column/value or {@code div} is involved,
+ * or when an integral operation overflows {@code long}.
+ * The result of a row is {@code null} if any of the values in the row is {@code null}, and the {@code null} values are skipped by the aggregations.
+ * The columns are looked up by name and read when the expression is evaluated by an aggregation or {@link DataSet#addColumn(String, ColumnExpression)}.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ * @see DataSet#col(String)
+ */
+@Beta
+public interface ColumnExpression {
+
+    /**
+     *
+     * @param other
+     * @return
+     */
+    ColumnExpression add(ColumnExpression other);
+
+    /**
+     * The result is evaluated in {@code long} if this expression is integral.
+     *
+     * @param value
+     * @return
+     */
+    ColumnExpression add(long value);
+
+    /**
+     *
+     * @param value
+     * @return
+     */
+    ColumnExpression add(double value);
+
+    /**
+     *
+     * @param other
+     * @return
+     */
+    ColumnExpression sub(ColumnExpression other);
+
+    /**
+     * The result is evaluated in {@code long} if this expression is integral.
+     *
+     * @param value
+     * @return
+     */
+    ColumnExpression sub(long value);
+
+    /**
+     *
+     * @param value
+     * @return
+     */
+    ColumnExpression sub(double value);
+
+    /**
+     *
+     * @param other
+     * @return
+     */
+    ColumnExpression mul(ColumnExpression other);
+
+    /**
+     * The result is evaluated in {@code long} if this expression is integral.
+     *
+     * @param value
+     * @return
+     */
+    ColumnExpression mul(long value);
+
+    /**
+     *
+     * @param value
+     * @return
+     */
+    ColumnExpression mul(double value);
+
+    /**
+     *
+     * @param other
+     * @return
+     */
+    ColumnExpression div(ColumnExpression other);
+
+    /**
+     *
+     * @param value
+     * @return
+     */
+    ColumnExpression div(double value);
+
+    /**
+     *
+     * @return
+     */
+    ColumnExpression negate();
+
+    /**
+     *
+     * @return
+     */
+    ColumnExpression abs();
+
+    /**
+     *
+     * @return the number of rows.
+     */
+    int size();
+
+    /**
+     * The sum of the non-null values, by Kahan summation.
+     *
+     * @return {@code 0} if there is no non-null value.
+     */
+    double sum();
+
+    /**
+     * The exact sum of the non-null values if the expression is integral. Otherwise it's the {@code double} sum converted to {@code long}.
+     *
+     * @return {@code 0} if there is no non-null value.
+     * @throws ArithmeticException if the sum of the integral values overflows {@code long}.
+     */
+    long sumAsLong();
+
+    /**
+     *
+     * @return an empty {@code OptionalDouble} if there is no non-null value.
+     */
+    OptionalDouble min();
+
+    /**
+     *
+     * @return an empty {@code OptionalDouble} if there is no non-null value.
+     */
+    OptionalDouble max();
+
+    /**
+     * The average of the non-null values, by Kahan summation.
+     *
+     * @return an empty {@code OptionalDouble} if there is no non-null value.
+     */
+    OptionalDouble mean();
+
+    /**
+     *
+     * @return the number of non-null values.
+     */
+    long count();
+
+    /**
+     * The count/sum/min/max/average of the non-null values, calculated in one pass.
+     *
+     * @return
+     */
+    DoubleSummaryStatistics summarize();
+
+    /**
+     *
+     * @return the values of all rows. The value is {@code Double.NaN} if it's {@code null}.
+     */
+    double[] toArray();
+}
@@ -17,6 +17,7 @@
 package com.landawn.abacus;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.util.Collection;
@@ -27,6 +28,7 @@ import java.util.Map;
 import com.landawn.abacus.annotation.Beta;
 import com.landawn.abacus.exception.UncheckedIOException;
 import com.landawn.abacus.util.BiIterator;
+import com.landawn.abacus.util.ExceptionalStream;
 import com.landawn.abacus.util.ImmutableList;
 import com.landawn.abacus.util.Iterables;
 import com.landawn.abacus.util.ListMultimap;
@@ -682,6 +684,32 @@ public interface DataSet {
     <E extends Exception> void addColumn(int columnIndex, String newColumnName, Tuple3<String, String, String> fromColumnNames,
             Throwables.TriFunction<?, ?, ?, ?, E> func) throws E;
 
+    /**
+     * Adds a {@code long} column if the specified expression is integral, otherwise a {@code double} column, with the values evaluated by the expression.
+     *
+     * @param newColumnName
+     * @param expression created by {@link #col(String)} of this {@code DataSet}.
+     * @see #col(String)
+     */
+    @Beta
+    void addColumn(String newColumnName, ColumnExpression expression);
+
+    /**
+     * Returns a numeric expression on the specified column, which is evaluated by primitive loops on the whole column.
+     *
+     * <pre>
+     * <code>
+     * double total = ds.col("price").mul(ds.col("qty")).sum();
+     * </code>
+     * </pre>
+     *
+     * @param columnName
+     * @return
+     * @see ColumnExpression
+     */
+    @Beta
+    ColumnExpression col(String columnName);
+
     /**
      * Remove the column with the specified columnName from this DataSet.
      *
@@ -2035,6 +2063,43 @@ public interface DataSet {
     void toCSV(Writer output, Collection<String> columnNames, int fromRowIndex, int toRowIndex, boolean writeTitle, boolean quoteValue)
             throws UncheckedIOException;
 
+    /**
+     * Writes this {@code DataSet} to the specified file in binary columnar format, which can be opened by {@code MappedDataSet.open(File)}.
+     *
+     * @param output
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see com.landawn.abacus.core.MappedDataSet#open(File)
+     */
+    void toBinary(File output) throws UncheckedIOException;
+
+    /**
+     *
+     * @param output
+     * @param columnNames
+     * @param fromRowIndex
+     * @param toRowIndex
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see com.landawn.abacus.core.MappedDataSet#open(File)
+     */
+    void toBinary(File output, Collection<String> columnNames, int fromRowIndex, int toRowIndex) throws UncheckedIOException;
+
+    /**
+     *
+     * @param output
+     * @throws UncheckedIOException the unchecked IO exception
+     */
+    void toBinary(OutputStream output) throws UncheckedIOException;
+
+    /**
+     *
+     * @param output
+     * @param columnNames
+     * @param fromRowIndex
+     * @param toRowIndex
+     * @throws UncheckedIOException the unchecked IO exception
+     */
+    void toBinary(OutputStream output, Collection<String> columnNames, int fromRowIndex, int toRowIndex) throws UncheckedIOException;
+
     /**
      *
      * @param columnName specifying the column to group by.
@@ -2704,6 +2769,97 @@ public interface DataSet {
             Throwables.Function<? super DisposableObjArray, ?, E> keyMapper, String aggregateResultColumnName, Collection<String> aggregateOnColumnNames,
             Throwables.Function<? super DisposableObjArray, U, E2> rowMapper, Collector<? super U, ?, ?> collector);
 
+    /**
+     * Same as {@code groupBy(columnNames, aggregateResultColumnName, aggregateOnColumnName, collector)}, but the rows are partitioned by the hash of
+     * the grouping key and each partition is aggregated in parallel by {@code ForkJoinPool.commonPool()}.
+     * The groups are in the same order as {@code groupBy}. The {@code collector} must be thread-safe to be called for different containers in parallel.
+     *
+     * @param <T>
+     * @param columnNames
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnName
+     * @param collector
+     * @return
+     */
+    <T> DataSet parallelGroupBy(Collection<String> columnNames, String aggregateResultColumnName, String aggregateOnColumnName, Collector<T, ?, ?> collector);
+
+    /**
+     * Same as {@code groupBy(columnNames, aggregateResultColumnName, aggregateOnColumnNames, collector)}, but the rows are partitioned by the hash of
+     * the grouping key and each partition is aggregated in parallel by {@code ForkJoinPool.commonPool()}.
+     *
+     * @param columnNames
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnNames
+     * @param collector
+     * @return
+     * @see #parallelGroupBy(Collection, String, String, Collector)
+     */
+    DataSet parallelGroupBy(Collection<String> columnNames, String aggregateResultColumnName, Collection<String> aggregateOnColumnNames,
+            Collector<? super Object[], ?, ?> collector);
+
+    /**
+     * Same as {@code rollup(columnNames, aggregateResultColumnName, aggregateOnColumnName, collector)}, but the rows are only aggregated once,
+     * by {@link #parallelGroupBy(Collection, String, String, Collector)} on all the {@code columnNames}.
+     * Each of the other grouping sets is derived from the previous one by merging the aggregated containers with {@code Collector.combiner()}.
+     * All the grouping sets are computed before the stream is returned.
+     *
+     * @param <T>
+     * @param columnNames
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnName
+     * @param collector
+     * @return
+     * @see Iterables#rollup(Collection)
+     */
+    @Beta
+    <T> Stream<DataSet> parallelRollup(Collection<String> columnNames, String aggregateResultColumnName, String aggregateOnColumnName,
+            Collector<T, ?, ?> collector);
+
+    /**
+     *
+     * @param columnNames
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnNames
+     * @param collector
+     * @return
+     * @see #parallelRollup(Collection, String, String, Collector)
+     */
+    @Beta
+    Stream<DataSet> parallelRollup(Collection<String> columnNames, String aggregateResultColumnName, Collection<String> aggregateOnColumnNames,
+            Collector<? super Object[], ?, ?> collector);
+
+    /**
+     * Same as {@code cube(columnNames, aggregateResultColumnName, aggregateOnColumnName, collector)}, but the rows are only aggregated once,
+     * by {@link #parallelGroupBy(Collection, String, String, Collector)} on all the {@code columnNames}.
+     * Each of the other grouping sets is derived from the grouping set with one more column which has the least groups, by merging the aggregated
+     * containers with {@code Collector.combiner()}, and the grouping sets with the same number of columns are derived in parallel.
+     * All the grouping sets are computed before the stream is returned.
+     *
+     * @param <T>
+     * @param columnNames
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnName
+     * @param collector
+     * @return
+     * @see Iterables#powerSet(java.util.Set)
+     */
+    @Beta
+    <T> Stream<DataSet> parallelCube(Collection<String> columnNames, String aggregateResultColumnName, String aggregateOnColumnName,
+            Collector<T, ?, ?> collector);
+
+    /**
+     *
+     * @param columnNames
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnNames
+     * @param collector
+     * @return
+     * @see #parallelCube(Collection, String, String, Collector)
+     */
+    @Beta
+    Stream<DataSet> parallelCube(Collection<String> columnNames, String aggregateResultColumnName, Collection<String> aggregateOnColumnNames,
+            Collector<? super Object[], ?, ?> collector);
+
     /**
      *
      * @param columnName
@@ -2779,6 +2935,38 @@ public interface DataSet {
     @SuppressWarnings("rawtypes")
     void parallelSortBy(Collection<String> columnNames, Function<? super DisposableObjArray, ? extends Comparable> keyMapper);
 
+    /**
+     * Sorts the rows by external merge sort: the rows are sorted in runs of at most {@code SpillOptions.maxRowsInMemory} rows,
+     * the sorted row indexes of each run are spilled to a temporary file, and the runs are merged into the new {@code DataSet}.
+     * So only the sort keys of one run are in memory, besides the new {@code DataSet}, which shares the values with this {@code DataSet}.
+     * This {@code DataSet} is not changed.
+     *
+     * @param columnNames
+     * @param cmp the natural order with {@code null} first is used if it's {@code null}.
+     * @param spillOptions
+     * @return a new sorted {@code DataSet}.
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see SpillOptions
+     */
+    @Beta
+    DataSet sortBy(Collection<String> columnNames, Comparator<? super Object[]> cmp, SpillOptions spillOptions) throws UncheckedIOException;
+
+    /**
+     * Same as {@link #sortBy(Collection, Comparator, SpillOptions)}, but the sorted rows are returned by a stream, instead of being loaded into a new {@code DataSet}.
+     * The temporary files are deleted when all the rows are read, the stream is closed or an exception is thrown. The rows are read from this {@code DataSet},
+     * so it must not be modified until the stream is closed.
+     *
+     * @param columnNames
+     * @param cmp the natural order with {@code null} first is used if it's {@code null}.
+     * @param spillOptions
+     * @return the sorted rows. The values in each row are in the order of {@link #columnNameList()}.
+     * @throws UncheckedIOException the unchecked IO exception
+     * @see SpillOptions
+     */
+    @Beta
+    ExceptionalStream<Object[], IOException> streamSortedBy(Collection<String> columnNames, Comparator<? super Object[]> cmp, SpillOptions spillOptions)
+            throws UncheckedIOException;
+
     /**
      *
      * @param columnName
@@ -3234,6 +3422,62 @@ public interface DataSet {
     <E extends Exception> DataSet flatMap(Collection<String> fromColumnNames, Throwables.Function<DisposableObjArray, ? extends Collection<?>, E> func,
             String newColumnName, Collection<String> copyingColumnNames) throws E;
 
+    /**
+     * Creates a hash index on the specified column, which is used by {@link #lookup(String, Object)} and the joins on the column.
+     *
+     * @param columnName
+     * @see #createIndex(String, boolean)
+     */
+    @Beta
+    void createIndex(String columnName);
+
+    /**
+     * Creates a hash index ({@code sorted = false}) or a sorted index ({@code sorted = true}) on the specified column.
+     * A hash index is used by the equality lookups: {@link #lookup(String, Object)} and the joins on the column.
+     * A sorted index is used by the range lookups: {@link #lookup(String, Object, Object)}, and by the equality lookups if there is no hash index.
+     * <br />
+     * Both indexes can be created on the same column. The index is rebuilt when it's used the next time after this {@code DataSet} is modified,
+     * so it's most useful on a {@code DataSet} which is looked up repeatedly between modifications, e.g. a frozen {@code DataSet}.
+     *
+     * @param columnName
+     * @param sorted
+     */
+    @Beta
+    void createIndex(String columnName, boolean sorted);
+
+    /**
+     * Drops the hash index and the sorted index on the specified column.
+     *
+     * @param columnName
+     * @return true, if there was any index on the column.
+     */
+    @Beta
+    boolean dropIndex(String columnName);
+
+    /**
+     * Returns a new {@code DataSet} with the rows whose value of the specified column is equal to the specified value.
+     * The index created by {@link #createIndex(String, boolean)} is used if there is any, otherwise all rows are scanned.
+     *
+     * @param columnName
+     * @param value it's converted to the type of the column if the column is primitive, e.g. {@code 1} can be used to look up a {@code long} column.
+     * @return
+     */
+    @Beta
+    DataSet lookup(String columnName, Object value);
+
+    /**
+     * Returns a new {@code DataSet} with the rows whose value of the specified column is in the range: [{@code fromValue}, {@code toValue}).
+     * {@code null} values are not included. The sorted index created by {@link #createIndex(String, boolean)} is used if there is any,
+     * otherwise all rows are scanned.
+     *
+     * @param columnName
+     * @param fromValue inclusive, {@code null} for no lower bound.
+     * @param toValue exclusive, {@code null} for no upper bound.
+     * @return
+     */
+    @Beta
+    DataSet lookup(String columnName, Object fromValue, Object toValue);
+
     /**
      * Returns a new <code>DataSet</code> that is limited to the rows where there is a match in both <code>this DataSet</code> and <code>right DataSet</code>.
      *
@@ -3481,6 +3725,99 @@ public interface DataSet {
      */
     DataSet symmetricDifference(DataSet dataSet);
 
+    /**
+     * Same as {@link #innerJoin(DataSet, String, String)}, but both {@code DataSet}s must be sorted by the joining column in natural order ({@code null} first).
+     * The rows are merged in one pass without building any hash index.
+     *
+     * @param right
+     * @param columnName
+     * @param refColumnName
+     * @return a new DataSet, sorted by the joining column.
+     * @throws IllegalArgumentException if this {@code DataSet} or {@code right} is not sorted by the joining column,
+     *         or the values in them are not {@code Comparable} with each other.
+     * @see #mergeJoin(DataSet, Map)
+     */
+    @Beta
+    DataSet mergeJoin(DataSet right, String columnName, String refColumnName);
+
+    /**
+     * Same as {@link #innerJoin(DataSet, Map)}, but both {@code DataSet}s must be sorted by the joining columns in natural order ({@code null} first),
+     * in the order of {@code onColumnNames}. The rows are merged in one pass without building any hash index, and the sortedness is verified by
+     * comparing the adjacent rows.
+     *
+     * @param right
+     * @param onColumnNames
+     * @return a new DataSet, sorted by the joining columns.
+     * @throws IllegalArgumentException if this {@code DataSet} or {@code right} is not sorted by the joining columns,
+     *         or the values in them are not {@code Comparable} with each other.
+     */
+    @Beta
+    DataSet mergeJoin(DataSet right, Map<String, String> onColumnNames);
+
+    /**
+     * Same as {@link #leftJoin(DataSet, String, String)}, but both {@code DataSet}s must be sorted by the joining column in natural order ({@code null} first).
+     *
+     * @param right
+     * @param columnName
+     * @param refColumnName
+     * @return a new DataSet, sorted by the joining column.
+     * @throws IllegalArgumentException if this {@code DataSet} or {@code right} is not sorted by the joining column,
+     *         or the values in them are not {@code Comparable} with each other.
+     * @see #mergeJoin(DataSet, Map)
+     */
+    @Beta
+    DataSet mergeLeftJoin(DataSet right, String columnName, String refColumnName);
+
+    /**
+     * Same as {@link #leftJoin(DataSet, Map)}, but both {@code DataSet}s must be sorted by the joining columns in natural order ({@code null} first),
+     * in the order of {@code onColumnNames}.
+     *
+     * @param right
+     * @param onColumnNames
+     * @return a new DataSet, sorted by the joining columns.
+     * @throws IllegalArgumentException if this {@code DataSet} or {@code right} is not sorted by the joining columns,
+     *         or the values in them are not {@code Comparable} with each other.
+     * @see #mergeJoin(DataSet, Map)
+     */
+    @Beta
+    DataSet mergeLeftJoin(DataSet right, Map<String, String> onColumnNames);
+
+    /**
+     * Same as {@link #union(DataSet)}, but both {@code DataSet}s must be sorted by the common columns in natural order ({@code null} first),
+     * in the order of the columns in this {@code DataSet}. The rows are merged in one pass without building any hash set.
+     *
+     * @param other
+     * @return a new DataSet, sorted by the common columns.
+     * @throws IllegalArgumentException if this {@code DataSet} or {@code other} is not sorted by the common columns,
+     *         or the values in them are not {@code Comparable} with each other.
+     */
+    @Beta
+    DataSet sortedUnion(DataSet other);
+
+    /**
+     * Same as {@link #intersect(DataSet)}, but both {@code DataSet}s must be sorted by the common columns in natural order ({@code null} first),
+     * in the order of the columns in this {@code DataSet}. The rows are merged in one pass without building any hash set.
+     *
+     * @param other
+     * @return a new DataSet, sorted by the common columns.
+     * @throws IllegalArgumentException if this {@code DataSet} or {@code other} is not sorted by the common columns,
+     *         or the values in them are not {@code Comparable} with each other.
+     */
+    @Beta
+    DataSet sortedIntersect(DataSet other);
+
+    /**
+     * Same as {@link #except(DataSet)}, but both {@code DataSet}s must be sorted by the common columns in natural order ({@code null} first),
+     * in the order of the columns in this {@code DataSet}. The rows are merged in one pass without building any hash set.
+     *
+     * @param other
+     * @return a new DataSet, sorted by the common columns.
+     * @throws IllegalArgumentException if this {@code DataSet} or {@code other} is not sorted by the common columns,
+     *         or the values in them are not {@code Comparable} with each other.
+     */
+    @Beta
+    DataSet sortedExcept(DataSet other);
+
     /**
      * Returns a new <code>DataSet</code> by appending the specified <code>from</code> <code>DataSet</code> into this <code>DataSet</code>.
      *
@@ -3742,6 +4079,16 @@ public interface DataSet {
      */
     PaginatedDataSet paginate(Collection<String> columnNames, int pageSize);
 
+    /**
+     * Starts a lazy query plan on this {@code DataSet}. The operations on the returned {@code LazyDataSet} are optimized and executed
+     * when {@link LazyDataSet#collect()} is called. This {@code DataSet} should not be updated before that.
+     *
+     * @return
+     * @see LazyDataSet
+     */
+    @Beta
+    LazyDataSet plan();
+
     /**
      *
      * @param <T>
@@ -3920,6 +4267,16 @@ public interface DataSet {
      */
     void trimToSize();
 
+    /**
+     * Encodes the {@code String} columns with low cardinality (the number of distinct values is not greater than half of the size) into
+     * {@code int} codes of a shared dictionary of the distinct values, and trims the capacity of all columns.
+     * <br />
+     * The values are read and written as before. {@code groupBy}/{@code distinctBy} on an encoded column and the joins between the columns
+     * copied from the same encoded column work on the codes.
+     */
+    @Beta
+    void compact();
+
     /**
      * Returns the size of this {@code DataSet}.
      *
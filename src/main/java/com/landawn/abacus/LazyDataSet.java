@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.landawn.abacus.annotation.Beta;
+import com.landawn.abacus.util.NoCachingNoUpdating.DisposableObjArray;
+import com.landawn.abacus.util.function.Function;
+import com.landawn.abacus.util.function.Predicate;
+import com.landawn.abacus.util.stream.Collector;
+
+/**
+ * A query plan on a {@code DataSet}, created by {@link DataSet#plan()}. The operations are only recorded until {@link #collect()} is called,
+ * then the plan is optimized and executed, and only the final result is materialized:
+ * <ul>
+ * <li>Filters are pushed down below joins, projections, sorts and new columns which they don't depend on.</li>
+ * <li>Adjacent filters are fused and evaluated in one pass.</li>
+ * <li>{@code filter}, {@code select}, {@code addColumn}, {@code sortBy} and {@code distinctBy} work on row indexes, no row is copied.</li>
+ * <li>The columns which are not used by the result or the following operations are not copied, and the new columns which are not used are not computed.</li>
+ * </ul>
+ * The source {@code DataSet}s should not be updated before {@link #collect()} is called.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ * @see DataSet#plan()
+ */
+@Beta
+public interface LazyDataSet {
+
+    /**
+     *
+     * @return the column names of the result.
+     */
+    List<String> columnNameList();
+
+    /**
+     *
+     * @param <T>
+     * @param columnName
+     * @param filter
+     * @return
+     */
+    <T> LazyDataSet filter(String columnName, Predicate<T> filter);
+
+    /**
+     *
+     * @param columnNames
+     * @param filter DON't cache or update the input parameter {@code DisposableObjArray} or its values(Array)
+     * @return
+     */
+    LazyDataSet filter(Collection<String> columnNames, Predicate<? super DisposableObjArray> filter);
+
+    /**
+     *
+     * @param columnNames
+     * @return
+     */
+    LazyDataSet select(Collection<String> columnNames);
+
+    /**
+     *
+     * @param <T>
+     * @param newColumnName
+     * @param fromColumnName
+     * @param func
+     * @return
+     */
+    <T> LazyDataSet addColumn(String newColumnName, String fromColumnName, Function<T, ?> func);
+
+    /**
+     *
+     * @param newColumnName
+     * @param fromColumnNames
+     * @param func DON't cache or update the input parameter {@code DisposableObjArray} or its values(Array)
+     * @return
+     */
+    LazyDataSet addColumn(String newColumnName, Collection<String> fromColumnNames, Function<? super DisposableObjArray, ?> func);
+
+    /**
+     *
+     * @param columnName
+     * @return
+     */
+    LazyDataSet sortBy(String columnName);
+
+    /**
+     *
+     * @param columnNames
+     * @return
+     */
+    LazyDataSet sortBy(Collection<String> columnNames);
+
+    /**
+     *
+     * @param columnName
+     * @return
+     */
+    LazyDataSet distinctBy(String columnName);
+
+    /**
+     *
+     * @param columnNames
+     * @return
+     */
+    LazyDataSet distinctBy(Collection<String> columnNames);
+
+    /**
+     *
+     * @param right
+     * @param onColumnNames
+     * @return
+     * @see DataSet#innerJoin(DataSet, Map)
+     */
+    LazyDataSet innerJoin(DataSet right, Map<String, String> onColumnNames);
+
+    /**
+     *
+     * @param right
+     * @param onColumnNames
+     * @return
+     * @see DataSet#innerJoin(DataSet, Map)
+     */
+    LazyDataSet innerJoin(LazyDataSet right, Map<String, String> onColumnNames);
+
+    /**
+     *
+     * @param right
+     * @param onColumnNames
+     * @return
+     * @see DataSet#leftJoin(DataSet, Map)
+     */
+    LazyDataSet leftJoin(DataSet right, Map<String, String> onColumnNames);
+
+    /**
+     *
+     * @param right
+     * @param onColumnNames
+     * @return
+     * @see DataSet#leftJoin(DataSet, Map)
+     */
+    LazyDataSet leftJoin(LazyDataSet right, Map<String, String> onColumnNames);
+
+    /**
+     *
+     * @param <T>
+     * @param columnNames
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnName
+     * @param collector
+     * @return
+     * @see DataSet#groupBy(Collection, String, String, Collector)
+     */
+    <T> LazyDataSet groupBy(Collection<String> columnNames, String aggregateResultColumnName, String aggregateOnColumnName, Collector<T, ?, ?> collector);
+
+    /**
+     * Optimizes and executes the plan.
+     *
+     * @return a new {@code DataSet}.
+     */
+    DataSet collect();
+}
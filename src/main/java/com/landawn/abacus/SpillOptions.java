@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus;
+
+import java.io.File;
+
+import com.landawn.abacus.util.N;
+
+/**
+ * The options of the external merge sort by {@link DataSet#sortBy(java.util.Collection, java.util.Comparator, SpillOptions)}:
+ * the rows are sorted in runs of at most {@code maxRowsInMemory} rows, each run is spilled to a temporary file under {@code tempDir},
+ * optionally compressed by {@code LZ4BlockOutputStream}, and the runs are merged when the result is read.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+public final class SpillOptions {
+
+    public static final int DEFAULT_MAX_ROWS_IN_MEMORY = 1024 * 1024;
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private int maxRowsInMemory = DEFAULT_MAX_ROWS_IN_MEMORY;
+
+    private File tempDir = null;
+
+    private boolean compressed = false;
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     *
+     * @return
+     */
+    public static SpillOptions create() {
+        return new SpillOptions();
+    }
+
+    /**
+     * Gets the max rows in memory.
+     *
+     * @return
+     */
+    public int getMaxRowsInMemory() {
+        return maxRowsInMemory;
+    }
+
+    /**
+     * Sets the max rows sorted in memory in one run. Default is {@code 1048576}.
+     *
+     * @param maxRowsInMemory
+     * @return
+     */
+    public SpillOptions setMaxRowsInMemory(final int maxRowsInMemory) {
+        N.checkArgPositive(maxRowsInMemory, "maxRowsInMemory");
+
+        this.maxRowsInMemory = maxRowsInMemory;
+
+        return this;
+    }
+
+    /**
+     * Gets the temp dir.
+     *
+     * @return
+     */
+    public File getTempDir() {
+        return tempDir;
+    }
+
+    /**
+     * Sets the directory of the temporary files. Default is {@code null}, which means the directory specified by {@code java.io.tmpdir}.
+     *
+     * @param tempDir
+     * @return
+     */
+    public SpillOptions setTempDir(final File tempDir) {
+        this.tempDir = tempDir;
+
+        return this;
+    }
+
+    /**
+     * Checks if is compressed.
+     *
+     * @return true, if is compressed
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Sets if the temporary files are compressed by {@code LZ4BlockOutputStream}. Default is {@code false}.
+     *
+     * @param compressed
+     * @return
+     */
+    public SpillOptions setCompressed(final boolean compressed) {
+        this.compressed = compressed;
+
+        return this;
+    }
+
+    /**
+     * Gets the buffer size.
+     *
+     * @return
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Sets the buffer size to write/read each temporary file. Default is {@code 65536}.
+     *
+     * @param bufferSize
+     * @return
+     */
+    public SpillOptions setBufferSize(final int bufferSize) {
+        N.checkArgPositive(bufferSize, "bufferSize");
+
+        this.bufferSize = bufferSize;
+
+        return this;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 17;
+        h = 31 * h + maxRowsInMemory;
+        h = 31 * h + N.hashCode(tempDir);
+        h = 31 * h + N.hashCode(compressed);
+        return 31 * h + bufferSize;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj instanceof SpillOptions) {
+            final SpillOptions other = (SpillOptions) obj;
+
+            return maxRowsInMemory == other.maxRowsInMemory && N.equals(tempDir, other.tempDir) && compressed == other.compressed
+                    && bufferSize == other.bufferSize;
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "{maxRowsInMemory=" + maxRowsInMemory + ", tempDir=" + tempDir + ", compressed=" + compressed + ", bufferSize=" + bufferSize + "}";
+    }
+}
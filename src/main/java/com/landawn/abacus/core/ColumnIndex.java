@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.landawn.abacus.util.IntList;
+import com.landawn.abacus.util.Indexed;
+import com.landawn.abacus.util.N;
+
+/**
+ * A secondary index on a column of {@code RowDataSet}, created by {@code DataSet.createIndex(...)}.
+ * A hash index ({@code JoinIndex} on the single column) is used by equality lookups and joins.
+ * A sorted index, the row indexes sorted by the values of the column ({@code null} first), is used by range lookups and equality lookups if there is no hash index.
+ * <br />
+ * The index is built on the column and the {@code modCount} of the {@code DataSet} when it's created.
+ * It's rebuilt when it's used the next time after the {@code DataSet} is modified.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+final class ColumnIndex {
+
+    /** The key of a lookup value which is not equal to any value of the column type, e.g. {@code 2.5} for an {@code int} column. */
+    static final Object NO_KEY = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final Comparator<Indexed<Comparable>> INDEXED_COMPARATOR = new Comparator<Indexed<Comparable>>() {
+        @Override
+        public int compare(final Indexed<Comparable> o1, final Indexed<Comparable> o2) {
+            return N.compare(o1.value(), o2.value());
+        }
+    };
+
+    private boolean isHashed;
+
+    private boolean isSorted;
+
+    private List<Object> column;
+
+    private int modCount;
+
+    private JoinIndex hashIndex;
+
+    /** The row indexes sorted by the values of the column, {@code null} first. */
+    private int[] sortedRowIndexes;
+
+    private int nullCount;
+
+    /**
+     *
+     * @param sorted
+     */
+    ColumnIndex(final boolean sorted) {
+        add(sorted);
+    }
+
+    /**
+     * Adds the hash index or the sorted index.
+     *
+     * @param sorted
+     */
+    synchronized void add(final boolean sorted) {
+        if (sorted) {
+            isSorted = true;
+        } else {
+            isHashed = true;
+        }
+
+        // rebuild by the next call of refresh.
+        column = null;
+    }
+
+    /**
+     * Rebuilds the index if the column has been modified since it's built.
+     *
+     * @param column
+     * @param modCount
+     * @return this index
+     */
+    synchronized ColumnIndex refresh(final List<Object> column, final int modCount) {
+        if (this.column == column && this.modCount == modCount) {
+            return this;
+        }
+
+        final int size = column.size();
+
+        hashIndex = isHashed ? new JoinIndex(new List[] { column }, size) : null;
+
+        if (isSorted) {
+            sortedRowIndexes = column instanceof PrimitiveColumn ? ((PrimitiveColumn<?>) column).sortedIndexes(false) : null;
+
+            if (sortedRowIndexes == null) {
+                sortedRowIndexes = sort(column, size);
+            }
+
+            nullCount = 0;
+
+            while (nullCount < size && column.get(sortedRowIndexes[nullCount]) == null) {
+                nullCount++;
+            }
+        } else {
+            sortedRowIndexes = null;
+        }
+
+        this.column = column;
+        this.modCount = modCount;
+
+        return this;
+    }
+
+    /**
+     *
+     * @return the hash index, or {@code null} if there is no hash index on the column.
+     */
+    synchronized JoinIndex hashIndex() {
+        return hashIndex;
+    }
+
+    /**
+     * Returns the rows whose value is equal to the specified value, in the order of row index.
+     *
+     * @param value
+     * @return
+     */
+    synchronized int[] find(final Object value) {
+        final Object key = convert(column, value);
+
+        if (key == NO_KEY) {
+            return N.EMPTY_INT_ARRAY;
+        }
+
+        if (hashIndex != null) {
+            final IntList rowIndexes = new IntList();
+
+            for (int rowIndex = hashIndex.find(new List[] { Collections.singletonList(key) }, 0); rowIndex >= 0; rowIndex = hashIndex.next(rowIndex)) {
+                rowIndexes.add(rowIndex);
+            }
+
+            return rowIndexes.toArray();
+        }
+
+        if (key == null) {
+            return sortedRange(0, nullCount);
+        }
+
+        return sortedRange(lowerBound(key), upperBound(key));
+    }
+
+    /**
+     * Returns the rows whose value is in the range: [{@code fromValue}, {@code toValue}), in the order of row index. {@code null} values are not included.
+     *
+     * @param fromValue {@code null} for no lower bound.
+     * @param toValue {@code null} for no upper bound.
+     * @return
+     */
+    synchronized int[] findRange(final Object fromValue, final Object toValue) {
+        final Object fromKey = ceiling(column, fromValue);
+        final Object toKey = ceiling(column, toValue);
+        final int fromIndex = fromKey == null ? nullCount : (fromKey == NO_KEY ? sortedRowIndexes.length : lowerBound(fromKey));
+        final int toIndex = toKey == null || toKey == NO_KEY ? sortedRowIndexes.length : lowerBound(toKey);
+
+        return sortedRange(fromIndex, N.max(fromIndex, toIndex));
+    }
+
+    /**
+     *
+     * @return true, if there is a sorted index on the column.
+     */
+    synchronized boolean isSorted() {
+        return isSorted;
+    }
+
+    private int[] sortedRange(final int fromIndex, final int toIndex) {
+        final int[] rowIndexes = Arrays.copyOfRange(sortedRowIndexes, fromIndex, toIndex);
+
+        Arrays.sort(rowIndexes);
+
+        return rowIndexes;
+    }
+
+    /**
+     *
+     * @param key
+     * @return the first position in {@code sortedRowIndexes} whose value is not less than {@code key}.
+     */
+    @SuppressWarnings("rawtypes")
+    private int lowerBound(final Object key) {
+        int low = nullCount;
+        int high = sortedRowIndexes.length;
+        int mid = 0;
+
+        while (low < high) {
+            mid = (low + high) >>> 1;
+
+            if (N.compare((Comparable) column.get(sortedRowIndexes[mid]), (Comparable) key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     *
+     * @param key
+     * @return the first position in {@code sortedRowIndexes} whose value is greater than {@code key}.
+     */
+    @SuppressWarnings("rawtypes")
+    private int upperBound(final Object key) {
+        int low = nullCount;
+        int high = sortedRowIndexes.length;
+        int mid = 0;
+
+        while (low < high) {
+            mid = (low + high) >>> 1;
+
+            if (N.compare((Comparable) column.get(sortedRowIndexes[mid]), (Comparable) key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Converts the lookup value to the element type of primitive column, e.g. {@code Integer} to {@code Long}, so it can be compared with the values in the column.
+     * A number is never narrowed: {@code NO_KEY} is returned if it's not equal to any value of the column type, e.g. {@code 2.5} or {@code Long.MAX_VALUE}
+     * for an {@code int} column.
+     *
+     * @param column
+     * @param value
+     * @return
+     */
+    static Object convert(final List<Object> column, final Object value) {
+        return convert(column, value, false);
+    }
+
+    /**
+     * Converts the bound of a range lookup to the least value of the element type of primitive column which is not less than it,
+     * e.g. {@code 2.5} to {@code 3} for an {@code int} column, so {@code value >= bound} and {@code value < bound} are not changed for the values in the column.
+     *
+     * @param column
+     * @param value
+     * @return {@code NO_KEY} if the bound is greater than all the values of the column type.
+     */
+    static Object ceiling(final List<Object> column, final Object value) {
+        return convert(column, value, true);
+    }
+
+    private static Object convert(final List<Object> column, final Object value, final boolean ceiling) {
+        if (value == null || !(column instanceof PrimitiveColumn)) {
+            return value;
+        }
+
+        final Class<?> wrapperClass = N.wrap(((PrimitiveColumn<?>) column).elementClass());
+
+        if (wrapperClass.isInstance(value)) {
+            return value;
+        } else if (!(value instanceof Number) || !Number.class.isAssignableFrom(wrapperClass)) {
+            return N.convert(value, wrapperClass);
+        }
+
+        final Number num = (Number) value;
+
+        if ((num instanceof Double || num instanceof Float) && (Double.isNaN(num.doubleValue()) || Double.isInfinite(num.doubleValue()))) {
+            if (wrapperClass == Double.class) {
+                return num.doubleValue();
+            } else if (wrapperClass == Float.class) {
+                return num.floatValue();
+            }
+
+            return ceiling && num.doubleValue() == Double.NEGATIVE_INFINITY ? N.convert(minValueOf(wrapperClass), wrapperClass) : NO_KEY;
+        }
+
+        final BigDecimal decimal = toBigDecimal(num);
+
+        if (wrapperClass == Double.class) {
+            final double d = decimal.doubleValue();
+
+            if (Double.isInfinite(d)) {
+                return ceiling ? (d > 0 ? d : -Double.MAX_VALUE) : NO_KEY;
+            }
+
+            final int cmp = new BigDecimal(d).compareTo(decimal);
+
+            return cmp == 0 ? d : (ceiling ? (cmp < 0 ? Math.nextUp(d) : d) : NO_KEY);
+        } else if (wrapperClass == Float.class) {
+            final float f = decimal.floatValue();
+
+            if (Float.isInfinite(f)) {
+                return ceiling ? (f > 0 ? f : -Float.MAX_VALUE) : NO_KEY;
+            }
+
+            final int cmp = new BigDecimal(f).compareTo(decimal);
+
+            return cmp == 0 ? f : (ceiling ? (cmp < 0 ? Math.nextUp(f) : f) : NO_KEY);
+        } else {
+            final BigDecimal integral = decimal.setScale(0, RoundingMode.CEILING);
+
+            if ((ceiling == false && integral.compareTo(decimal) != 0) || integral.compareTo(BigDecimal.valueOf(maxValueOf(wrapperClass))) > 0) {
+                return NO_KEY;
+            } else if (integral.compareTo(BigDecimal.valueOf(minValueOf(wrapperClass))) < 0) {
+                return ceiling ? N.convert(minValueOf(wrapperClass), wrapperClass) : NO_KEY;
+            }
+
+            return N.convert(integral.longValue(), wrapperClass);
+        }
+    }
+
+    private static BigDecimal toBigDecimal(final Number num) {
+        if (num instanceof BigDecimal) {
+            return (BigDecimal) num;
+        } else if (num instanceof BigInteger) {
+            return new BigDecimal((BigInteger) num);
+        } else if (num instanceof Long || num instanceof Integer || num instanceof Short || num instanceof Byte) {
+            return BigDecimal.valueOf(num.longValue());
+        } else {
+            return new BigDecimal(num.doubleValue());
+        }
+    }
+
+    private static long minValueOf(final Class<?> integralClass) {
+        return integralClass == Integer.class ? Integer.MIN_VALUE
+                : (integralClass == Short.class ? Short.MIN_VALUE : (integralClass == Byte.class ? Byte.MIN_VALUE : Long.MIN_VALUE));
+    }
+
+    private static long maxValueOf(final Class<?> integralClass) {
+        return integralClass == Integer.class ? Integer.MAX_VALUE
+                : (integralClass == Short.class ? Short.MAX_VALUE : (integralClass == Byte.class ? Byte.MAX_VALUE : Long.MAX_VALUE));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static int[] sort(final List<Object> column, final int size) {
+        final Indexed<Comparable>[] arrayOfPair = new Indexed[size];
+
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            arrayOfPair[rowIndex] = Indexed.of((Comparable) column.get(rowIndex), rowIndex);
+        }
+
+        N.sort(arrayOfPair, INDEXED_COMPARATOR);
+
+        final int[] sortedRowIndexes = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            sortedRowIndexes[i] = arrayOfPair[i].index();
+        }
+
+        return sortedRowIndexes;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.type.Type;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Properties;
+
+/**
+ * A {@code DataSet} which stores the columns of primitive/primitive wrapper types in {@code IntList}/{@code LongList}/{@code DoubleList}... instead of {@code List<Object>}.
+ * The other columns are stored in {@code ArrayList} as {@code RowDataSet} does.
+ * <br />
+ * A primitive column is replaced by an {@code ArrayList} when a value which is not {@code null} or the wrapper of its primitive type is set/added to it,
+ * so the values are never converted or truncated.
+ * <br />
+ * It costs much less memory for numeric data. And {@code getInt/getLong/getDouble...}, {@code filter}, {@code copy} and {@code sortBy} on int columns work on the primitive values directly.
+ * All the other operations are inherited from {@code RowDataSet} and work on the boxed values.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+public class ColumnarDataSet extends RowDataSet {
+
+    // For Kryo
+    protected ColumnarDataSet() {
+    }
+
+    /**
+     * The type of each column is identified by the first non-null value in it.
+     *
+     * @param columnNameList
+     * @param columnList
+     */
+    public ColumnarDataSet(final List<String> columnNameList, final List<List<Object>> columnList) {
+        this(columnNameList, columnList, null);
+    }
+
+    /**
+     * The type of each column is identified by the first non-null value in it.
+     *
+     * @param columnNameList
+     * @param columnList
+     * @param properties
+     */
+    public ColumnarDataSet(final List<String> columnNameList, final List<List<Object>> columnList, final Properties<String, Object> properties) {
+        super(columnNameList, toColumnar(null, columnList), properties);
+    }
+
+    /**
+     *
+     * @param columnNameList
+     * @param columnTypeList the type of each column. The column is stored in a primitive list if its type is primitive or primitive wrapper type.
+     * @param columnList
+     * @param properties
+     */
+    public ColumnarDataSet(final List<String> columnNameList, final List<? extends Type<?>> columnTypeList, final List<List<Object>> columnList,
+            final Properties<String, Object> properties) {
+        super(columnNameList, toColumnar(columnTypeList, columnList), properties);
+    }
+
+    /**
+     * Copy the specified {@code DataSet} to a {@code ColumnarDataSet}.
+     *
+     * @param dataSet
+     * @return
+     */
+    public static ColumnarDataSet from(final DataSet dataSet) {
+        N.checkArgNotNull(dataSet, "dataSet");
+
+        final List<String> columnNameList = new ArrayList<>(dataSet.columnNameList());
+        final List<List<Object>> columnList = new ArrayList<>(columnNameList.size());
+
+        for (String columnName : columnNameList) {
+            columnList.add(dataSet.copyOfColumn(columnName));
+        }
+
+        final Properties<String, Object> properties = N.isNullOrEmpty(dataSet.properties()) ? null : dataSet.properties().copy();
+
+        return new ColumnarDataSet(columnNameList, columnList, properties);
+    }
+
+    /**
+     * Adds the column.
+     *
+     * @param columnIndex
+     * @param columnName
+     * @param column
+     */
+    @Override
+    public void addColumn(final int columnIndex, final String columnName, final List<?> column) {
+        super.addColumn(columnIndex, columnName, column);
+
+        if (N.notNullOrEmpty(column)) {
+            _columnList.set(columnIndex, toColumn(null, _columnList.get(columnIndex)));
+        }
+    }
+
+    /**
+     *
+     * @param columnTypeList
+     * @param columnList
+     * @return
+     */
+    static List<List<Object>> toColumnar(final List<? extends Type<?>> columnTypeList, final List<List<Object>> columnList) {
+        N.checkArgNotNull(columnList, "columnList");
+
+        if (columnTypeList != null) {
+            N.checkArgument(columnTypeList.size() == columnList.size(), "the size of column type list: {} is different from the size of column list: {}",
+                    columnTypeList.size(), columnList.size());
+        }
+
+        final List<List<Object>> result = new ArrayList<>(columnList.size());
+
+        for (int i = 0, columnCount = columnList.size(); i < columnCount; i++) {
+            result.add(toColumn(columnTypeList == null ? null : columnTypeList.get(i), columnList.get(i)));
+        }
+
+        return result;
+    }
+
+    /**
+     *
+     * @param columnType
+     * @param column
+     * @return
+     */
+    static List<Object> toColumn(final Type<?> columnType, final List<Object> column) {
+        if (column instanceof PrimitiveColumn) {
+            return column;
+        }
+
+        Class<?> cls = columnType == null ? null : columnType.clazz();
+
+        if (cls == null) {
+            for (Object e : column) {
+                if (e != null) {
+                    if (cls == null) {
+                        cls = e.getClass();
+                    } else if (cls != e.getClass()) {
+                        // mixed value types, e.g. Integer and Long, are kept as they are.
+                        return column;
+                    }
+                }
+            }
+        } else if (PrimitiveColumn.isSupported(cls)) {
+            final Class<?> wrapperClass = N.wrap(cls);
+
+            for (Object e : column) {
+                if (e != null && e.getClass() != wrapperClass) {
+                    // the values are not converted to the column type, which may lose precision.
+                    return column;
+                }
+            }
+        }
+
+        return PrimitiveColumn.isSupported(cls) ? PrimitiveColumn.of(cls, column) : column;
+    }
+}
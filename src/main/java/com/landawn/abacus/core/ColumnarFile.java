@@ -0,0 +1,541 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import com.landawn.abacus.type.Type;
+import com.landawn.abacus.util.IOUtil;
+import com.landawn.abacus.util.LongList;
+import com.landawn.abacus.util.N;
+
+/**
+ * The binary columnar file format written by {@code DataSet.toBinary(...)} and opened by {@link MappedDataSet#open(File)}:
+ *
+ * <pre>
+ * MAGIC(int) VERSION(int)
+ * column block, ...
+ * footer: column count(int), row count(int), {name(UTF), type name(UTF), kind(byte), values offset(long), offsets offset(long), nulls offset(long)}, ...
+ * footer offset(long) MAGIC(int)
+ * </pre>
+ *
+ * The values of the primitive/primitive wrapper columns are stored in fixed width, in big-endian. The values of the other columns are stored as the UTF-8 bytes of
+ * {@code Type.stringOf(value)}, followed by the {@code long} offsets of the values. A column with {@code null} value has a bitmap for the {@code null} values.
+ * All the blocks are 8-byte aligned, so a fixed width value never crosses the boundary of the mapped buffers.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+final class ColumnarFile {
+
+    static final int MAGIC = 0x41424443;
+
+    static final int VERSION = 1;
+
+    static final byte VARIABLE = 0;
+
+    static final byte BOOLEAN = 1;
+
+    static final byte CHAR = 2;
+
+    static final byte BYTE = 3;
+
+    static final byte SHORT = 4;
+
+    static final byte INT = 5;
+
+    static final byte LONG = 6;
+
+    static final byte FLOAT = 7;
+
+    static final byte DOUBLE = 8;
+
+    static final long NONE = -1;
+
+    /** 1GB. It must be a power of 2 and a multiple of 8. */
+    static final int BUFFER_SIZE_SHIFT = 30;
+
+    private static final int TRAILER_SIZE = 12;
+
+    private ColumnarFile() {
+        // singleton.
+    }
+
+    /**
+     *
+     * @param columnNames
+     * @param columns
+     * @param fromRowIndex
+     * @param toRowIndex
+     * @param output
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    static void write(final List<String> columnNames, final List<List<Object>> columns, final int fromRowIndex, final int toRowIndex,
+            final OutputStream output) throws IOException {
+        final PositionOutputStream pos = new PositionOutputStream(new BufferedOutputStream(output, 64 * 1024));
+        final DataOutputStream os = new DataOutputStream(pos);
+        final int columnCount = columnNames.size();
+        final List<ColumnInfo> columnInfoList = new ArrayList<>(columnCount);
+
+        os.writeInt(MAGIC);
+        os.writeInt(VERSION);
+
+        for (int i = 0; i < columnCount; i++) {
+            final List<Object> column = columns.get(i);
+            final Type<Object> type = typeOf(column, fromRowIndex, toRowIndex);
+            final byte kind = kindOf(type.clazz());
+            final BitSet nulls = new BitSet();
+            long offsetsOffset = NONE;
+            long nullsOffset = NONE;
+
+            final long valuesOffset = pos.position;
+
+            if (kind == VARIABLE) {
+                final LongList offsets = new LongList(toRowIndex - fromRowIndex + 1);
+                long offset = 0;
+                Object value = null;
+                byte[] bytes = null;
+
+                offsets.add(offset);
+
+                for (int rowIndex = fromRowIndex; rowIndex < toRowIndex; rowIndex++) {
+                    value = column.get(rowIndex);
+
+                    if (value == null) {
+                        nulls.set(rowIndex - fromRowIndex);
+                    } else {
+                        bytes = (type.isString() ? (String) value : type.stringOf(value)).getBytes(StandardCharsets.UTF_8);
+                        os.write(bytes);
+                        offset += bytes.length;
+                    }
+
+                    offsets.add(offset);
+                }
+
+                pad(os, pos);
+                offsetsOffset = pos.position;
+
+                for (int k = 0, len = offsets.size(); k < len; k++) {
+                    os.writeLong(offsets.get(k));
+                }
+            } else {
+                for (int rowIndex = fromRowIndex; rowIndex < toRowIndex; rowIndex++) {
+                    if (isNull(column, rowIndex)) {
+                        nulls.set(rowIndex - fromRowIndex);
+                        writeValue(os, kind, column, rowIndex, true);
+                    } else {
+                        writeValue(os, kind, column, rowIndex, false);
+                    }
+                }
+
+                pad(os, pos);
+            }
+
+            if (nulls.isEmpty() == false) {
+                nullsOffset = pos.position;
+                // BitSet.toByteArray() drops the trailing zero bytes. The bitmap must cover all the rows.
+                os.write(Arrays.copyOf(nulls.toByteArray(), (toRowIndex - fromRowIndex + 7) / 8));
+                pad(os, pos);
+            }
+
+            columnInfoList.add(new ColumnInfo(columnNames.get(i), type, kind, valuesOffset, offsetsOffset, nullsOffset));
+        }
+
+        final long footerOffset = pos.position;
+
+        os.writeInt(columnCount);
+        os.writeInt(toRowIndex - fromRowIndex);
+
+        for (ColumnInfo columnInfo : columnInfoList) {
+            os.writeUTF(columnInfo.name);
+            os.writeUTF(columnInfo.type.name());
+            os.writeByte(columnInfo.kind);
+            os.writeLong(columnInfo.valuesOffset);
+            os.writeLong(columnInfo.offsetsOffset);
+            os.writeLong(columnInfo.nullsOffset);
+        }
+
+        os.writeLong(footerOffset);
+        os.writeInt(MAGIC);
+
+        os.flush();
+    }
+
+    private static Type<Object> typeOf(final List<Object> column, final int fromRowIndex, final int toRowIndex) {
+        if (column instanceof PrimitiveColumn) {
+            return N.typeOf(N.wrap(((PrimitiveColumn<?>) column).elementClass()));
+        }
+
+        Class<?> cls = null;
+        Object value = null;
+
+        for (int rowIndex = fromRowIndex; rowIndex < toRowIndex; rowIndex++) {
+            value = column.get(rowIndex);
+
+            if (value != null) {
+                if (cls == null) {
+                    cls = value.getClass();
+                } else if (cls != value.getClass()) {
+                    // mixed value types are written/read as String.
+                    return N.typeOf(Object.class);
+                }
+            }
+        }
+
+        return N.typeOf(cls == null ? Object.class : cls);
+    }
+
+    /**
+     *
+     * @param cls
+     * @return the kind of fixed width values for primitive/primitive wrapper type, otherwise {@code VARIABLE}.
+     */
+    static byte kindOf(final Class<?> cls) {
+        final Class<?> primitiveClass = N.unwrap(cls);
+
+        if (primitiveClass == boolean.class) {
+            return BOOLEAN;
+        } else if (primitiveClass == char.class) {
+            return CHAR;
+        } else if (primitiveClass == byte.class) {
+            return BYTE;
+        } else if (primitiveClass == short.class) {
+            return SHORT;
+        } else if (primitiveClass == int.class) {
+            return INT;
+        } else if (primitiveClass == long.class) {
+            return LONG;
+        } else if (primitiveClass == float.class) {
+            return FLOAT;
+        } else if (primitiveClass == double.class) {
+            return DOUBLE;
+        } else {
+            return VARIABLE;
+        }
+    }
+
+    /**
+     *
+     * @param kind
+     * @return the width in bytes of the values of the specified kind.
+     */
+    static int widthOf(final byte kind) {
+        switch (kind) {
+            case BOOLEAN:
+            case BYTE:
+                return 1;
+
+            case CHAR:
+            case SHORT:
+                return 2;
+
+            case INT:
+            case FLOAT:
+                return 4;
+
+            case LONG:
+            case DOUBLE:
+                return 8;
+
+            default:
+                throw new IllegalArgumentException("Unsupported kind: " + kind);
+        }
+    }
+
+    private static boolean isNull(final List<Object> column, final int rowIndex) {
+        return column instanceof PrimitiveColumn ? ((PrimitiveColumn<?>) column).isNull(rowIndex) : column.get(rowIndex) == null;
+    }
+
+    private static void writeValue(final DataOutputStream os, final byte kind, final List<Object> column, final int rowIndex, final boolean isNull)
+            throws IOException {
+        if (column instanceof PrimitiveColumn) {
+            final PrimitiveColumn<?> primitiveColumn = (PrimitiveColumn<?>) column;
+
+            switch (kind) {
+                case BOOLEAN:
+                    os.writeBoolean(isNull ? false : primitiveColumn.getBoolean(rowIndex));
+                    break;
+
+                case CHAR:
+                    os.writeChar(isNull ? 0 : primitiveColumn.getChar(rowIndex));
+                    break;
+
+                case BYTE:
+                    os.writeByte(isNull ? 0 : primitiveColumn.getByte(rowIndex));
+                    break;
+
+                case SHORT:
+                    os.writeShort(isNull ? 0 : primitiveColumn.getShort(rowIndex));
+                    break;
+
+                case INT:
+                    os.writeInt(isNull ? 0 : primitiveColumn.getInt(rowIndex));
+                    break;
+
+                case LONG:
+                    os.writeLong(isNull ? 0 : primitiveColumn.getLong(rowIndex));
+                    break;
+
+                case FLOAT:
+                    os.writeFloat(isNull ? 0 : primitiveColumn.getFloat(rowIndex));
+                    break;
+
+                default:
+                    os.writeDouble(isNull ? 0 : primitiveColumn.getDouble(rowIndex));
+            }
+        } else {
+            final Object value = column.get(rowIndex);
+
+            switch (kind) {
+                case BOOLEAN:
+                    os.writeBoolean(isNull ? false : (Boolean) value);
+                    break;
+
+                case CHAR:
+                    os.writeChar(isNull ? 0 : (Character) value);
+                    break;
+
+                case BYTE:
+                    os.writeByte(isNull ? 0 : ((Number) value).byteValue());
+                    break;
+
+                case SHORT:
+                    os.writeShort(isNull ? 0 : ((Number) value).shortValue());
+                    break;
+
+                case INT:
+                    os.writeInt(isNull ? 0 : ((Number) value).intValue());
+                    break;
+
+                case LONG:
+                    os.writeLong(isNull ? 0 : ((Number) value).longValue());
+                    break;
+
+                case FLOAT:
+                    os.writeFloat(isNull ? 0 : ((Number) value).floatValue());
+                    break;
+
+                default:
+                    os.writeDouble(isNull ? 0 : ((Number) value).doubleValue());
+            }
+        }
+    }
+
+    private static void pad(final DataOutputStream os, final PositionOutputStream pos) throws IOException {
+        while ((pos.position & 7) != 0) {
+            os.write(0);
+        }
+    }
+
+    /**
+     * Reads the footer of the specified file.
+     *
+     * @param file
+     * @return
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    static Footer readFooter(final File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            final long length = raf.length();
+
+            if (length < 8 + TRAILER_SIZE) {
+                throw new IllegalArgumentException("Invalid binary DataSet file: " + file);
+            }
+
+            raf.seek(0);
+            final int magic = raf.readInt();
+            final int version = raf.readInt();
+
+            raf.seek(length - TRAILER_SIZE);
+            final long footerOffset = raf.readLong();
+
+            if (magic != MAGIC || raf.readInt() != MAGIC || footerOffset < 8 || footerOffset > length - TRAILER_SIZE) {
+                throw new IllegalArgumentException("Invalid binary DataSet file: " + file);
+            } else if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported version: " + version + " of binary DataSet file: " + file);
+            }
+
+            raf.seek(footerOffset);
+
+            final int columnCount = raf.readInt();
+            final int rowCount = raf.readInt();
+            final List<ColumnInfo> columnInfoList = new ArrayList<>(columnCount);
+
+            for (int i = 0; i < columnCount; i++) {
+                columnInfoList.add(new ColumnInfo(raf.readUTF(), N.<Object> typeOf(raf.readUTF()), raf.readByte(), raf.readLong(), raf.readLong(),
+                        raf.readLong()));
+            }
+
+            return new Footer(length, rowCount, columnInfoList);
+        }
+    }
+
+    /**
+     * Maps the whole file by one or more read-only buffers.
+     *
+     * @param file
+     * @param length
+     * @return
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    static Buffers map(final File file, final long length) throws IOException {
+        final long bufferSize = 1L << BUFFER_SIZE_SHIFT;
+        final ByteBuffer[] buffers = new ByteBuffer[(int) ((length + bufferSize - 1) >>> BUFFER_SIZE_SHIFT)];
+
+        for (int i = 0, len = buffers.length; i < len; i++) {
+            final long offset = i * bufferSize;
+            buffers[i] = IOUtil.map(file, MapMode.READ_ONLY, offset, N.min(bufferSize, length - offset));
+        }
+
+        return new Buffers(buffers);
+    }
+
+    static final class Footer {
+        final long length;
+
+        final int rowCount;
+
+        final List<ColumnInfo> columnInfoList;
+
+        Footer(final long length, final int rowCount, final List<ColumnInfo> columnInfoList) {
+            this.length = length;
+            this.rowCount = rowCount;
+            this.columnInfoList = columnInfoList;
+        }
+    }
+
+    static final class ColumnInfo {
+        final String name;
+
+        final Type<Object> type;
+
+        final byte kind;
+
+        final long valuesOffset;
+
+        final long offsetsOffset;
+
+        final long nullsOffset;
+
+        ColumnInfo(final String name, final Type<Object> type, final byte kind, final long valuesOffset, final long offsetsOffset, final long nullsOffset) {
+            this.name = name;
+            this.type = type;
+            this.kind = kind;
+            this.valuesOffset = valuesOffset;
+            this.offsetsOffset = offsetsOffset;
+            this.nullsOffset = nullsOffset;
+        }
+    }
+
+    /**
+     * The read-only buffers mapped on a file, addressed by {@code long} position. The absolute get methods of {@code ByteBuffer} are used, so it's thread safe.
+     */
+    static final class Buffers {
+        private static final int MASK = (1 << BUFFER_SIZE_SHIFT) - 1;
+
+        private final ByteBuffer[] buffers;
+
+        Buffers(final ByteBuffer[] buffers) {
+            this.buffers = buffers;
+        }
+
+        byte get(final long position) {
+            return buffers[(int) (position >>> BUFFER_SIZE_SHIFT)].get((int) (position & MASK));
+        }
+
+        char getChar(final long position) {
+            return buffers[(int) (position >>> BUFFER_SIZE_SHIFT)].getChar((int) (position & MASK));
+        }
+
+        short getShort(final long position) {
+            return buffers[(int) (position >>> BUFFER_SIZE_SHIFT)].getShort((int) (position & MASK));
+        }
+
+        int getInt(final long position) {
+            return buffers[(int) (position >>> BUFFER_SIZE_SHIFT)].getInt((int) (position & MASK));
+        }
+
+        long getLong(final long position) {
+            return buffers[(int) (position >>> BUFFER_SIZE_SHIFT)].getLong((int) (position & MASK));
+        }
+
+        float getFloat(final long position) {
+            return buffers[(int) (position >>> BUFFER_SIZE_SHIFT)].getFloat((int) (position & MASK));
+        }
+
+        double getDouble(final long position) {
+            return buffers[(int) (position >>> BUFFER_SIZE_SHIFT)].getDouble((int) (position & MASK));
+        }
+
+        /**
+         * The bytes may be in two or more buffers.
+         *
+         * @param position
+         * @param dst
+         */
+        void get(final long position, final byte[] dst) {
+            long pos = position;
+            int offset = 0;
+            int len = 0;
+
+            while (offset < dst.length) {
+                final ByteBuffer buffer = buffers[(int) (pos >>> BUFFER_SIZE_SHIFT)].duplicate();
+                buffer.position((int) (pos & MASK));
+                len = N.min(dst.length - offset, buffer.remaining());
+                buffer.get(dst, offset, len);
+                offset += len;
+                pos += len;
+            }
+        }
+    }
+
+    /**
+     * {@code DataOutputStream.size()} overflows after 2GB.
+     */
+    private static final class PositionOutputStream extends FilterOutputStream {
+        private long position = 0;
+
+        PositionOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            position += len;
+        }
+    }
+}
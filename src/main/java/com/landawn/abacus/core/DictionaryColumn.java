@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import com.landawn.abacus.util.IntList;
+import com.landawn.abacus.util.N;
+
+/**
+ * A dictionary-encoded column: each cell is stored as an {@code int} code of the distinct value in a {@code Dictionary}, {@code -1} for {@code null}.
+ * It's created by {@code DataSet.compact()} for the {@code String} columns with low cardinality.
+ * <br />
+ * The dictionary is shared by the columns copied from this column, e.g. by {@code filter}/{@code copy}/{@code join}, and it's copied before a new value
+ * is added to it if it's shared (copy-on-write). So the cells of the columns with the same dictionary can be compared by the codes,
+ * which is used by {@code groupBy}/{@code distinctBy} and the joins.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+final class DictionaryColumn extends AbstractList<Object> implements RandomAccess {
+
+    static final int NULL = -1;
+
+    private final IntList codes;
+
+    private Dictionary dictionary;
+
+    private boolean isDictionaryShared;
+
+    // For Kryo
+    DictionaryColumn() {
+        this(0);
+    }
+
+    /**
+     *
+     * @param initialCapacity
+     */
+    DictionaryColumn(final int initialCapacity) {
+        this(new IntList(initialCapacity), new Dictionary(16), false);
+    }
+
+    private DictionaryColumn(final IntList codes, final Dictionary dictionary, final boolean isDictionaryShared) {
+        this.codes = codes;
+        this.dictionary = dictionary;
+        this.isDictionaryShared = isDictionaryShared;
+    }
+
+    /**
+     * Encodes the specified column if all the values in it are {@code String} or {@code null},
+     * and the number of distinct values is not greater than {@code maxDictionarySize}.
+     *
+     * @param column
+     * @param maxDictionarySize
+     * @return {@code null} if the column can't be encoded.
+     */
+    static DictionaryColumn encode(final List<Object> column, final int maxDictionarySize) {
+        if (column instanceof DictionaryColumn || column instanceof PrimitiveColumn) {
+            return null;
+        }
+
+        final int size = column.size();
+        final DictionaryColumn result = new DictionaryColumn(size);
+
+        for (Object value : column) {
+            if (value != null && !(value instanceof String)) {
+                return null;
+            }
+
+            result.add(value);
+
+            if (result.dictionary.size > maxDictionarySize) {
+                return null;
+            }
+        }
+
+        result.dictionary.trimToSize();
+
+        return result;
+    }
+
+    @Override
+    public Object get(final int index) {
+        final int code = codes.get(index);
+
+        return code == NULL ? null : dictionary.values[code];
+    }
+
+    @Override
+    public Object set(final int index, final Object element) {
+        final Object oldValue = get(index);
+
+        codes.set(index, codeOf(element));
+
+        return oldValue;
+    }
+
+    @Override
+    public boolean add(final Object e) {
+        codes.add(codeOf(e));
+
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final Object element) {
+        codes.add(index, codeOf(element));
+    }
+
+    @Override
+    public Object remove(final int index) {
+        final Object oldValue = get(index);
+
+        codes.delete(index);
+
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        codes.clear();
+    }
+
+    @Override
+    public int size() {
+        return codes.size();
+    }
+
+    /**
+     *
+     * @param index
+     * @return the code of the value at the specified index, {@code -1} for {@code null}.
+     */
+    int code(final int index) {
+        return codes.get(index);
+    }
+
+    /**
+     *
+     * @return the number of distinct values in the dictionary, which may include the values not used by this column anymore.
+     */
+    int dictionarySize() {
+        return dictionary.size;
+    }
+
+    /**
+     * Returns the hash code of the value at the specified index, which is same as {@code N.deepHashCode(get(index))}.
+     *
+     * @param index
+     * @return
+     */
+    int hashCode(final int index) {
+        final int code = codes.get(index);
+
+        return code == NULL ? 0 : dictionary.hashes[code];
+    }
+
+    /**
+     * Checks if the value at {@code index} is equal to the value at {@code otherIndex} of {@code other}.
+     * The codes are compared if the columns share the same dictionary.
+     *
+     * @param index
+     * @param other
+     * @param otherIndex
+     * @return
+     */
+    boolean equals(final int index, final DictionaryColumn other, final int otherIndex) {
+        if (dictionary == other.dictionary) {
+            return codes.get(index) == other.codes.get(otherIndex);
+        }
+
+        return N.deepEquals(get(index), other.get(otherIndex));
+    }
+
+    /**
+     * Creates an empty column which shares the dictionary with this column.
+     *
+     * @param initialCapacity
+     * @return
+     */
+    DictionaryColumn newInstance(final int initialCapacity) {
+        isDictionaryShared = true;
+
+        return new DictionaryColumn(new IntList(initialCapacity), dictionary, true);
+    }
+
+    /**
+     * Copies the codes in the specified range. The dictionary is shared.
+     *
+     * @param fromIndex
+     * @param toIndex
+     * @return
+     */
+    DictionaryColumn copy(final int fromIndex, final int toIndex) {
+        isDictionaryShared = true;
+
+        return new DictionaryColumn(codes.copy(fromIndex, toIndex), dictionary, true);
+    }
+
+    /**
+     * Adds the value at {@code rowIndex} of column {@code from}, by the code if {@code from} shares the dictionary with this column.
+     *
+     * @param from
+     * @param rowIndex
+     */
+    void addFrom(final List<Object> from, final int rowIndex) {
+        if (from instanceof DictionaryColumn && ((DictionaryColumn) from).dictionary == dictionary) {
+            codes.add(((DictionaryColumn) from).codes.get(rowIndex));
+        } else {
+            add(from.get(rowIndex));
+        }
+    }
+
+    /**
+     * Rearranges the cells so that the cell at index {@code i} is the one at {@code sortedIndexes[i]} before.
+     *
+     * @param sortedIndexes
+     */
+    void reorder(final int[] sortedIndexes) {
+        final int[] a = codes.array();
+        final int[] copy = Arrays.copyOf(a, codes.size());
+
+        for (int i = 0, len = sortedIndexes.length; i < len; i++) {
+            a[i] = copy[sortedIndexes[i]];
+        }
+    }
+
+    void trimToSize() {
+        codes.trimToSize();
+    }
+
+    private int codeOf(final Object value) {
+        if (value == null) {
+            return NULL;
+        }
+
+        final Object key = RowDataSet.getHashKey(value);
+        final Integer code = dictionary.codeMap.get(key);
+
+        if (code != null) {
+            return code;
+        }
+
+        if (isDictionaryShared) {
+            dictionary = dictionary.copy();
+            isDictionaryShared = false;
+        }
+
+        return dictionary.add(key, value);
+    }
+
+    /**
+     * The distinct values of the dictionary-encoded columns. It's only modified by the column which doesn't share it.
+     */
+    static final class Dictionary {
+        private final Map<Object, Integer> codeMap;
+
+        private Object[] values;
+
+        /** code -> {@code N.deepHashCode(value)}. */
+        private int[] hashes;
+
+        private int size;
+
+        Dictionary(final int initialCapacity) {
+            this(new HashMap<Object, Integer>(N.max(16, initialCapacity * 2)), new Object[initialCapacity], new int[initialCapacity], 0);
+        }
+
+        private Dictionary(final Map<Object, Integer> codeMap, final Object[] values, final int[] hashes, final int size) {
+            this.codeMap = codeMap;
+            this.values = values;
+            this.hashes = hashes;
+            this.size = size;
+        }
+
+        int add(final Object key, final Object value) {
+            if (size == values.length) {
+                final int newCapacity = N.max(16, size * 2);
+                values = Arrays.copyOf(values, newCapacity);
+                hashes = Arrays.copyOf(hashes, newCapacity);
+            }
+
+            final int code = size++;
+            values[code] = value;
+            hashes[code] = N.deepHashCode(value);
+            codeMap.put(key, code);
+
+            return code;
+        }
+
+        Dictionary copy() {
+            return new Dictionary(new HashMap<>(codeMap), values.clone(), hashes.clone(), size);
+        }
+
+        void trimToSize() {
+            if (values.length > size) {
+                values = Arrays.copyOf(values, size);
+                hashes = Arrays.copyOf(hashes, size);
+            }
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import com.landawn.abacus.SpillOptions;
+import com.landawn.abacus.exception.UncheckedIOException;
+import com.landawn.abacus.util.IOUtil;
+import com.landawn.abacus.util.Indexed;
+import com.landawn.abacus.util.LZ4BlockInputStream;
+import com.landawn.abacus.util.LZ4BlockOutputStream;
+import com.landawn.abacus.util.N;
+
+/**
+ * External merge sort on the columns of a {@code DataSet}: the rows are sorted in runs of at most {@code SpillOptions.maxRowsInMemory} rows,
+ * and the sorted row indexes of each run are written to a temporary file. The sorted row indexes are read by a k-way merge on the runs,
+ * so only the sort keys of one run, or one row of each run, are in memory. The runs are merged in the order of row index for equal keys,
+ * so the sort is stable.
+ * <br />
+ * Only the row indexes are spilled. The values are read from the columns by the merged row indexes, so they're not copied or converted,
+ * and the result can be streamed into a new {@code DataSet} or to the caller row by row.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+final class ExternalSort {
+
+    private ExternalSort() {
+        // singleton.
+    }
+
+    /**
+     *
+     * @param columnList
+     * @param size
+     * @param sortByColumnIndexes
+     * @param cmp
+     * @param spillOptions
+     * @return the row indexes in sorted order. The temporary files are deleted when all the row indexes are read, it's closed or an exception is thrown.
+     * @throws UncheckedIOException
+     */
+    static SortedRowIndexes sort(final List<List<Object>> columnList, final int size, final int[] sortByColumnIndexes, final Comparator<? super Object[]> cmp,
+            final SpillOptions spillOptions) throws UncheckedIOException {
+        final Comparator<? super Object[]> keyCmp = cmp == null ? RowDataSet.MULTI_COLUMN_COMPARATOR : cmp;
+        final int runSize = spillOptions.getMaxRowsInMemory();
+
+        if (size <= runSize) {
+            return new InMemoryRowIndexes(sortRun(columnList, sortByColumnIndexes, keyCmp, 0, size));
+        }
+
+        final List<Run> runs = new ArrayList<>(size / runSize + 1);
+        boolean isOK = false;
+
+        try {
+            for (long fromRowIndex = 0; fromRowIndex < size; fromRowIndex += runSize) {
+                final int[] sortedRowIndexes = sortRun(columnList, sortByColumnIndexes, keyCmp, (int) fromRowIndex, (int) N.min(size, fromRowIndex + runSize));
+
+                runs.add(spill(sortedRowIndexes, runs.size(), sortByColumnIndexes.length, spillOptions));
+            }
+
+            for (Run run : runs) {
+                run.open(spillOptions);
+            }
+
+            isOK = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (!isOK) {
+                close(runs);
+            }
+        }
+
+        return new MergedRowIndexes(columnList, sortByColumnIndexes, keyCmp, runs);
+    }
+
+    /**
+     *
+     * @param columnList
+     * @param sortByColumnIndexes
+     * @param keyCmp
+     * @param fromRowIndex
+     * @param toRowIndex
+     * @return the row indexes in [fromRowIndex, toRowIndex) in sorted order.
+     */
+    @SuppressWarnings("rawtypes")
+    private static int[] sortRun(final List<List<Object>> columnList, final int[] sortByColumnIndexes, final Comparator<? super Object[]> keyCmp,
+            final int fromRowIndex, final int toRowIndex) {
+        final int sortByColumnCount = sortByColumnIndexes.length;
+        final Indexed<Object[]>[] arrayOfPair = new Indexed[toRowIndex - fromRowIndex];
+
+        for (int rowIndex = fromRowIndex; rowIndex < toRowIndex; rowIndex++) {
+            arrayOfPair[rowIndex - fromRowIndex] = Indexed.of(new Object[sortByColumnCount], rowIndex);
+        }
+
+        for (int i = 0; i < sortByColumnCount; i++) {
+            final List<Object> orderByColumn = columnList.get(sortByColumnIndexes[i]);
+
+            for (int rowIndex = fromRowIndex; rowIndex < toRowIndex; rowIndex++) {
+                arrayOfPair[rowIndex - fromRowIndex].value()[i] = orderByColumn.get(rowIndex);
+            }
+        }
+
+        // stable.
+        Arrays.sort(arrayOfPair, new Comparator<Indexed<Object[]>>() {
+            @Override
+            public int compare(final Indexed<Object[]> o1, final Indexed<Object[]> o2) {
+                return keyCmp.compare(o1.value(), o2.value());
+            }
+        });
+
+        final int[] sortedRowIndexes = new int[arrayOfPair.length];
+
+        for (int i = 0, len = arrayOfPair.length; i < len; i++) {
+            sortedRowIndexes[i] = arrayOfPair[i].index();
+        }
+
+        return sortedRowIndexes;
+    }
+
+    private static Run spill(final int[] sortedRowIndexes, final int index, final int keyLength, final SpillOptions spillOptions) throws IOException {
+        final File file = File.createTempFile("abacus-sortBy-", ".tmp", spillOptions.getTempDir());
+        OutputStream os = null;
+
+        try {
+            os = new FileOutputStream(file);
+
+            if (spillOptions.isCompressed()) {
+                os = new LZ4BlockOutputStream(os);
+            }
+
+            final DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(os, spillOptions.getBufferSize()));
+
+            for (int rowIndex : sortedRowIndexes) {
+                dos.writeInt(rowIndex);
+            }
+
+            dos.flush();
+        } catch (IOException | RuntimeException e) {
+            IOUtil.close(os);
+            file.delete();
+            throw e;
+        }
+
+        IOUtil.close(os);
+
+        return new Run(file, sortedRowIndexes.length, index, keyLength);
+    }
+
+    private static void close(final List<Run> runs) {
+        for (Run run : runs) {
+            run.close();
+        }
+    }
+
+    /**
+     * The row indexes in sorted order.
+     */
+    abstract static class SortedRowIndexes implements Closeable {
+
+        /**
+         *
+         * @return true, if there is more row index.
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        abstract boolean hasNext() throws IOException;
+
+        /**
+         *
+         * @return the next row index.
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        abstract int next() throws IOException;
+
+        /**
+         * Deletes the temporary files. It's idempotent.
+         */
+        @Override
+        public abstract void close();
+    }
+
+    static final class InMemoryRowIndexes extends SortedRowIndexes {
+        private final int[] sortedRowIndexes;
+
+        private int cursor = 0;
+
+        InMemoryRowIndexes(final int[] sortedRowIndexes) {
+            this.sortedRowIndexes = sortedRowIndexes;
+        }
+
+        @Override
+        boolean hasNext() {
+            return cursor < sortedRowIndexes.length;
+        }
+
+        @Override
+        int next() {
+            if (cursor >= sortedRowIndexes.length) {
+                throw new NoSuchElementException();
+            }
+
+            return sortedRowIndexes[cursor++];
+        }
+
+        @Override
+        public void close() {
+            cursor = sortedRowIndexes.length;
+        }
+    }
+
+    static final class MergedRowIndexes extends SortedRowIndexes {
+        private final List<List<Object>> columnList;
+
+        private final int[] sortByColumnIndexes;
+
+        private final List<Run> runs;
+
+        private final PriorityQueue<Run> queue;
+
+        private boolean initialized = false;
+
+        MergedRowIndexes(final List<List<Object>> columnList, final int[] sortByColumnIndexes, final Comparator<? super Object[]> keyCmp,
+                final List<Run> runs) {
+            this.columnList = columnList;
+            this.sortByColumnIndexes = sortByColumnIndexes;
+            this.runs = runs;
+            this.queue = new PriorityQueue<>(runs.size(), new Comparator<Run>() {
+                @Override
+                public int compare(final Run a, final Run b) {
+                    final int result = keyCmp.compare(a.key, b.key);
+
+                    return result == 0 ? Integer.compare(a.index, b.index) : result;
+                }
+            });
+        }
+
+        @Override
+        boolean hasNext() throws IOException {
+            if (initialized == false) {
+                initialized = true;
+
+                try {
+                    for (Run run : runs) {
+                        advance(run);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    close();
+                    throw e;
+                }
+            }
+
+            return queue.size() > 0;
+        }
+
+        @Override
+        int next() throws IOException {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+
+            final Run run = queue.poll();
+            final int rowIndex = run.rowIndex;
+
+            try {
+                advance(run);
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+
+            return rowIndex;
+        }
+
+        private void advance(final Run run) throws IOException {
+            if (run.next()) {
+                for (int i = 0, len = sortByColumnIndexes.length; i < len; i++) {
+                    run.key[i] = columnList.get(sortByColumnIndexes[i]).get(run.rowIndex);
+                }
+
+                queue.add(run);
+            } else {
+                run.close();
+            }
+        }
+
+        @Override
+        public void close() {
+            queue.clear();
+            ExternalSort.close(runs);
+        }
+    }
+
+    /**
+     * The sorted row indexes of a run in a temporary file.
+     */
+    static final class Run {
+        final File file;
+
+        final int index;
+
+        final Object[] key;
+
+        int remaining;
+
+        int rowIndex;
+
+        DataInputStream is;
+
+        boolean closed = false;
+
+        Run(final File file, final int rowCount, final int index, final int keyLength) {
+            this.file = file;
+            this.remaining = rowCount;
+            this.index = index;
+            this.key = new Object[keyLength];
+        }
+
+        void open(final SpillOptions spillOptions) throws IOException {
+            InputStream in = new FileInputStream(file);
+
+            if (spillOptions.isCompressed()) {
+                in = new LZ4BlockInputStream(in);
+            }
+
+            is = new DataInputStream(new BufferedInputStream(in, spillOptions.getBufferSize()));
+
+            // an open file can be deleted on most of the platforms, so it's not left if the result is abandoned without being closed.
+            if (file.delete() == false) {
+                file.deleteOnExit();
+            }
+        }
+
+        /**
+         * Reads the next row index.
+         *
+         * @return {@code false} if there is no more row.
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        boolean next() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+
+            remaining--;
+            rowIndex = is.readInt();
+
+            return true;
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            try {
+                IOUtil.close(is);
+            } finally {
+                is = null;
+                file.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.landawn.abacus.util.IntList;
+import com.landawn.abacus.util.N;
+
+/**
+ * An open-addressing hash index on the key columns of a {@code DataSet}, used by the join operations.
+ * <br />
+ * The rows with the same key are chained in a flat {@code int[]} in the order of row index, so no {@code Integer} or {@code List} is created for each row,
+ * and multi-column keys are hashed and compared on the columns directly, instead of being copied into an {@code Object[]} for each row.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+final class JoinIndex {
+
+    private static final int NONE = -1;
+
+    private final List<Object>[] keyColumns;
+
+    /** slot -> the first row of the key, or {@code NONE}. */
+    private final int[] heads;
+
+    /** slot -> the last row of the key. */
+    private final int[] tails;
+
+    /** row -> the next row with the same key, or {@code NONE}. */
+    private final int[] next;
+
+    /** row -> hash of the key. */
+    private final int[] hashes;
+
+    /** The first row of each key, in the order of row index. */
+    private final IntList groupHeads;
+
+    private final int mask;
+
+    /**
+     *
+     * @param keyColumns
+     * @param size
+     */
+    JoinIndex(final List<Object>[] keyColumns, final int size) {
+        this.keyColumns = keyColumns;
+
+        final int capacity = tableSizeFor(size);
+        this.heads = new int[capacity];
+        this.tails = new int[capacity];
+        this.next = new int[size];
+        this.hashes = new int[size];
+        this.groupHeads = new IntList();
+        this.mask = capacity - 1;
+
+        Arrays.fill(heads, NONE);
+
+        int hash = 0;
+        int slot = 0;
+
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            hash = hash(keyColumns, rowIndex);
+            hashes[rowIndex] = hash;
+            next[rowIndex] = NONE;
+            slot = hash & mask;
+
+            while (true) {
+                if (heads[slot] == NONE) {
+                    heads[slot] = rowIndex;
+                    tails[slot] = rowIndex;
+                    groupHeads.add(rowIndex);
+                    break;
+                } else if (hashes[heads[slot]] == hash && equals(keyColumns, heads[slot], keyColumns, rowIndex)) {
+                    next[tails[slot]] = rowIndex;
+                    tails[slot] = rowIndex;
+                    break;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+        }
+    }
+
+    /**
+     * Returns the first row with the same key as the row at {@code probeRowIndex} in {@code probeKeyColumns}, or {@code -1} if there is no such row.
+     *
+     * @param probeKeyColumns
+     * @param probeRowIndex
+     * @return
+     */
+    int find(final List<Object>[] probeKeyColumns, final int probeRowIndex) {
+        final int hash = hash(probeKeyColumns, probeRowIndex);
+        int slot = hash & mask;
+
+        while (heads[slot] != NONE) {
+            if (hashes[heads[slot]] == hash && equals(keyColumns, heads[slot], probeKeyColumns, probeRowIndex)) {
+                return heads[slot];
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return NONE;
+    }
+
+    /**
+     *
+     * @param rowIndex
+     * @return the next row with the same key, or {@code -1} if it's the last one.
+     */
+    int next(final int rowIndex) {
+        return next[rowIndex];
+    }
+
+    /**
+     *
+     * @param headRowIndex
+     * @return the number of rows in the chain started from {@code headRowIndex}.
+     */
+    int count(final int headRowIndex) {
+        int cnt = 0;
+
+        for (int rowIndex = headRowIndex; rowIndex != NONE; rowIndex = next[rowIndex]) {
+            cnt++;
+        }
+
+        return cnt;
+    }
+
+    /**
+     *
+     * @return the first row of each key, in the order of row index.
+     */
+    IntList groupHeads() {
+        return groupHeads;
+    }
+
+    /**
+     * Find the matched rows of {@code right} for each row of {@code left}. The hash index is built on the smaller side and probed by the bigger side.
+     *
+     * @param leftKeyColumns
+     * @param leftSize
+     * @param rightKeyColumns
+     * @param rightSize
+     * @return
+     */
+    static Matches match(final List<Object>[] leftKeyColumns, final int leftSize, final List<Object>[] rightKeyColumns, final int rightSize) {
+        return match(leftKeyColumns, leftSize, null, rightKeyColumns, rightSize, null);
+    }
+
+    /**
+     * Find the matched rows of {@code right} for each row of {@code left}. The existing index of right side or left side is probed if it's not
+     * {@code null}, otherwise the hash index is built on the smaller side and probed by the bigger side.
+     *
+     * @param leftKeyColumns
+     * @param leftSize
+     * @param leftIndex the existing index on {@code leftKeyColumns}, or {@code null}.
+     * @param rightKeyColumns
+     * @param rightSize
+     * @param rightIndex the existing index on {@code rightKeyColumns}, or {@code null}.
+     * @return
+     */
+    static Matches match(final List<Object>[] leftKeyColumns, final int leftSize, final JoinIndex leftIndex, final List<Object>[] rightKeyColumns,
+            final int rightSize, final JoinIndex rightIndex) {
+        if (rightIndex != null) {
+            return probe(leftKeyColumns, leftSize, rightIndex);
+        } else if (leftIndex != null) {
+            return probe(leftIndex, leftSize, rightKeyColumns, rightSize);
+        } else if (rightSize <= leftSize) {
+            return probe(leftKeyColumns, leftSize, new JoinIndex(rightKeyColumns, rightSize));
+        } else {
+            return probe(new JoinIndex(leftKeyColumns, leftSize), leftSize, rightKeyColumns, rightSize);
+        }
+    }
+
+    private static Matches probe(final List<Object>[] leftKeyColumns, final int leftSize, final JoinIndex rightIndex) {
+        final int[] offsets = new int[leftSize + 1];
+        final IntList rowIndexes = new IntList(leftSize);
+
+        for (int leftRowIndex = 0; leftRowIndex < leftSize; leftRowIndex++) {
+            for (int rightRowIndex = rightIndex.find(leftKeyColumns, leftRowIndex); rightRowIndex != NONE; rightRowIndex = rightIndex.next(rightRowIndex)) {
+                rowIndexes.add(rightRowIndex);
+            }
+
+            offsets[leftRowIndex + 1] = rowIndexes.size();
+        }
+
+        return new Matches(offsets, rowIndexes.array());
+    }
+
+    private static Matches probe(final JoinIndex leftIndex, final int leftSize, final List<Object>[] rightKeyColumns, final int rightSize) {
+        final int[] offsets = new int[leftSize + 1];
+        final IntList leftRowIndexes = new IntList(leftSize);
+        final IntList rightRowIndexes = new IntList(leftSize);
+
+        for (int rightRowIndex = 0; rightRowIndex < rightSize; rightRowIndex++) {
+            for (int leftRowIndex = leftIndex.find(rightKeyColumns, rightRowIndex); leftRowIndex != NONE; leftRowIndex = leftIndex.next(leftRowIndex)) {
+                leftRowIndexes.add(leftRowIndex);
+                rightRowIndexes.add(rightRowIndex);
+                offsets[leftRowIndex + 1]++;
+            }
+        }
+
+        for (int i = 0; i < leftSize; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        // counting sort by left row index. it's stable, so the right rows for each left row are still in the order of row index.
+        final int matchCount = rightRowIndexes.size();
+        final int[] positions = Arrays.copyOf(offsets, leftSize);
+        final int[] rowIndexes = new int[matchCount];
+        final int[] lefts = leftRowIndexes.array();
+        final int[] rights = rightRowIndexes.array();
+
+        for (int i = 0; i < matchCount; i++) {
+            rowIndexes[positions[lefts[i]]++] = rights[i];
+        }
+
+        return new Matches(offsets, rowIndexes);
+    }
+
+    /**
+     *
+     * @param keyColumns
+     * @param rowIndex
+     * @return
+     */
+    static int hash(final List<Object>[] keyColumns, final int rowIndex) {
+        int h = 1;
+
+        for (List<Object> column : keyColumns) {
+            if (column instanceof PrimitiveColumn) {
+                h = 31 * h + ((PrimitiveColumn<?>) column).hashCode(rowIndex);
+            } else if (column instanceof DictionaryColumn) {
+                h = 31 * h + ((DictionaryColumn) column).hashCode(rowIndex);
+            } else {
+                h = 31 * h + N.deepHashCode(column.get(rowIndex));
+            }
+        }
+
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     *
+     * @param a
+     * @param rowIndexA
+     * @param b
+     * @param rowIndexB
+     * @return
+     */
+    static boolean equals(final List<Object>[] a, final int rowIndexA, final List<Object>[] b, final int rowIndexB) {
+        List<Object> columnA = null;
+        List<Object> columnB = null;
+
+        for (int i = 0, len = a.length; i < len; i++) {
+            columnA = a[i];
+            columnB = b[i];
+
+            if (columnA instanceof PrimitiveColumn && columnB instanceof PrimitiveColumn
+                    && ((PrimitiveColumn<?>) columnA).elementClass() == ((PrimitiveColumn<?>) columnB).elementClass()) {
+                if (((PrimitiveColumn<?>) columnA).equals(rowIndexA, (PrimitiveColumn<?>) columnB, rowIndexB) == false) {
+                    return false;
+                }
+            } else if (columnA instanceof DictionaryColumn && columnB instanceof DictionaryColumn) {
+                if (((DictionaryColumn) columnA).equals(rowIndexA, (DictionaryColumn) columnB, rowIndexB) == false) {
+                    return false;
+                }
+            } else if (N.deepEquals(columnA.get(rowIndexA), columnB.get(rowIndexB)) == false) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int tableSizeFor(final int size) {
+        final long expected = N.max(16L, size * 2L);
+
+        return expected >= (1 << 30) ? (1 << 30) : Integer.highestOneBit((int) expected - 1) << 1;
+    }
+
+    /**
+     * The matched rows of right side for each row of left side: the matched rows of left row {@code i} are
+     * {@code rowIndexes[offsets[i]]}, ..., {@code rowIndexes[offsets[i + 1] - 1]}.
+     */
+    static final class Matches {
+        final int[] offsets;
+
+        final int[] rowIndexes;
+
+        Matches(final int[] offsets, final int[] rowIndexes) {
+            this.offsets = offsets;
+            this.rowIndexes = rowIndexes;
+        }
+
+        int fromIndex(final int leftRowIndex) {
+            return offsets[leftRowIndex];
+        }
+
+        int toIndex(final int leftRowIndex) {
+            return offsets[leftRowIndex + 1];
+        }
+    }
+}
@@ -0,0 +1,826 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.LazyDataSet;
+import com.landawn.abacus.util.ImmutableList;
+import com.landawn.abacus.util.Indexed;
+import com.landawn.abacus.util.IntList;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.NoCachingNoUpdating.DisposableObjArray;
+import com.landawn.abacus.util.Wrapper;
+import com.landawn.abacus.util.function.Function;
+import com.landawn.abacus.util.function.Predicate;
+import com.landawn.abacus.util.stream.Collector;
+
+/**
+ * The plan is a tree of immutable nodes, each of them knows its result columns, so the column names are validated when the operation is added.
+ * <br />
+ * When it's collected, the filters are pushed down and fused first. Then the plan is executed top-down with the columns required by the nodes above,
+ * so the columns/new columns which are not required are never copied/computed. {@code filter/select/addColumn/sortBy/distinctBy} only
+ * update the row indexes on the source columns. The inputs of join and groupBy are copied with the required columns only.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+final class LazyRowDataSet implements LazyDataSet {
+
+    private final Node root;
+
+    LazyRowDataSet(final DataSet source) {
+        this(new Source(source));
+    }
+
+    private LazyRowDataSet(final Node root) {
+        this.root = root;
+    }
+
+    @Override
+    public List<String> columnNameList() {
+        return ImmutableList.of(root.columnNames);
+    }
+
+    @Override
+    public <T> LazyDataSet filter(final String columnName, final Predicate<T> filter) {
+        N.checkArgNotNull(filter, "filter");
+
+        return new LazyRowDataSet(new Filter(root, N.asList(new Condition(new String[] { columnName }, filter, null))));
+    }
+
+    @Override
+    public LazyDataSet filter(final Collection<String> columnNames, final Predicate<? super DisposableObjArray> filter) {
+        N.checkArgNotNullOrEmpty(columnNames, "columnNames");
+        N.checkArgNotNull(filter, "filter");
+
+        return new LazyRowDataSet(new Filter(root, N.asList(new Condition(columnNames.toArray(new String[columnNames.size()]), null, filter))));
+    }
+
+    @Override
+    public LazyDataSet select(final Collection<String> columnNames) {
+        N.checkArgNotNullOrEmpty(columnNames, "columnNames");
+
+        return new LazyRowDataSet(new Project(root, new ArrayList<>(columnNames)));
+    }
+
+    @Override
+    public <T> LazyDataSet addColumn(final String newColumnName, final String fromColumnName, final Function<T, ?> func) {
+        N.checkArgNotNull(func, "func");
+
+        return new LazyRowDataSet(new AddColumn(root, newColumnName, new String[] { fromColumnName }, func, null));
+    }
+
+    @Override
+    public LazyDataSet addColumn(final String newColumnName, final Collection<String> fromColumnNames, final Function<? super DisposableObjArray, ?> func) {
+        N.checkArgNotNullOrEmpty(fromColumnNames, "fromColumnNames");
+        N.checkArgNotNull(func, "func");
+
+        return new LazyRowDataSet(new AddColumn(root, newColumnName, fromColumnNames.toArray(new String[fromColumnNames.size()]), null, func));
+    }
+
+    @Override
+    public LazyDataSet sortBy(final String columnName) {
+        return sortBy(N.asList(columnName));
+    }
+
+    @Override
+    public LazyDataSet sortBy(final Collection<String> columnNames) {
+        N.checkArgNotNullOrEmpty(columnNames, "columnNames");
+
+        return new LazyRowDataSet(new Sort(root, columnNames.toArray(new String[columnNames.size()])));
+    }
+
+    @Override
+    public LazyDataSet distinctBy(final String columnName) {
+        return distinctBy(N.asList(columnName));
+    }
+
+    @Override
+    public LazyDataSet distinctBy(final Collection<String> columnNames) {
+        N.checkArgNotNullOrEmpty(columnNames, "columnNames");
+
+        return new LazyRowDataSet(new Distinct(root, columnNames.toArray(new String[columnNames.size()])));
+    }
+
+    @Override
+    public LazyDataSet innerJoin(final DataSet right, final Map<String, String> onColumnNames) {
+        return innerJoin(new LazyRowDataSet(right), onColumnNames);
+    }
+
+    @Override
+    public LazyDataSet innerJoin(final LazyDataSet right, final Map<String, String> onColumnNames) {
+        return new LazyRowDataSet(new Join(root, toNode(right), onColumnNames, false));
+    }
+
+    @Override
+    public LazyDataSet leftJoin(final DataSet right, final Map<String, String> onColumnNames) {
+        return leftJoin(new LazyRowDataSet(right), onColumnNames);
+    }
+
+    @Override
+    public LazyDataSet leftJoin(final LazyDataSet right, final Map<String, String> onColumnNames) {
+        return new LazyRowDataSet(new Join(root, toNode(right), onColumnNames, true));
+    }
+
+    @Override
+    public <T> LazyDataSet groupBy(final Collection<String> columnNames, final String aggregateResultColumnName, final String aggregateOnColumnName,
+            final Collector<T, ?, ?> collector) {
+        N.checkArgNotNullOrEmpty(columnNames, "columnNames");
+        N.checkArgNotNull(collector, "collector");
+
+        return new LazyRowDataSet(new GroupBy(root, new ArrayList<>(columnNames), aggregateResultColumnName, aggregateOnColumnName, collector));
+    }
+
+    @Override
+    public DataSet collect() {
+        final Node plan = optimize(root);
+        final View view = execute(plan, new LinkedHashSet<>(plan.columnNames));
+
+        return view.toDataSet(plan.columnNames);
+    }
+
+    @Override
+    public String toString() {
+        return "LazyDataSet" + root.columnNames;
+    }
+
+    private static Node toNode(final LazyDataSet lazyDataSet) {
+        N.checkArgNotNull(lazyDataSet, "right");
+
+        if (lazyDataSet instanceof LazyRowDataSet) {
+            return ((LazyRowDataSet) lazyDataSet).root;
+        }
+
+        return new Source(lazyDataSet.collect());
+    }
+
+    /**
+     * Pushes the filters down and merges the adjacent filters into one.
+     *
+     * @param node
+     * @return
+     */
+    static Node optimize(final Node node) {
+        if (node instanceof Source) {
+            return node;
+        } else if (node instanceof Filter) {
+            return pushDown(((Filter) node).conditions, optimize(((Filter) node).input));
+        } else if (node instanceof Join) {
+            final Join join = (Join) node;
+            return new Join(optimize(join.left), optimize(join.right), join.onColumnNames, join.isLeftJoin);
+        } else {
+            return ((UnaryNode) node).withInput(optimize(((UnaryNode) node).input));
+        }
+    }
+
+    /**
+     *
+     * @param conditions
+     * @param input which has been optimized.
+     * @return
+     */
+    private static Node pushDown(final List<Condition> conditions, final Node input) {
+        if (N.isNullOrEmpty(conditions)) {
+            return input;
+        }
+
+        if (input instanceof Filter) {
+            final List<Condition> merged = new ArrayList<>(((Filter) input).conditions);
+            merged.addAll(conditions);
+
+            return pushDown(merged, ((Filter) input).input);
+        } else if (input instanceof Project || input instanceof Sort) {
+            // the filters only work on the columns of the input.
+            return ((UnaryNode) input).withInput(pushDown(conditions, ((UnaryNode) input).input));
+        } else if (input instanceof AddColumn) {
+            final AddColumn addColumn = (AddColumn) input;
+            final List<Condition> below = new ArrayList<>(conditions.size());
+            final List<Condition> above = new ArrayList<>(conditions.size());
+
+            for (Condition condition : conditions) {
+                (N.contains(condition.columnNames, addColumn.newColumnName) ? above : below).add(condition);
+            }
+
+            return withFilter(addColumn.withInput(pushDown(below, addColumn.input)), above);
+        } else if (input instanceof Join) {
+            final Join join = (Join) input;
+            final List<Condition> left = new ArrayList<>(conditions.size());
+            final List<Condition> right = new ArrayList<>(conditions.size());
+            final List<Condition> above = new ArrayList<>(conditions.size());
+
+            for (Condition condition : conditions) {
+                if (join.left.columnNames.containsAll(Arrays.asList(condition.columnNames))) {
+                    left.add(condition);
+                } else if (join.isLeftJoin == false && join.rightColumnNames.containsAll(Arrays.asList(condition.columnNames))) {
+                    // the rows of right DataSet which are not matched are not in the result of inner join.
+                    right.add(condition);
+                } else {
+                    above.add(condition);
+                }
+            }
+
+            return withFilter(new Join(pushDown(left, join.left), pushDown(right, join.right), join.onColumnNames, join.isLeftJoin), above);
+        } else {
+            // Source/Distinct/GroupBy.
+            return new Filter(input, conditions);
+        }
+    }
+
+    private static Node withFilter(final Node input, final List<Condition> conditions) {
+        return N.isNullOrEmpty(conditions) ? input : new Filter(input, conditions);
+    }
+
+    /**
+     *
+     * @param node
+     * @param requiredColumnNames the columns required by the nodes above.
+     * @return
+     */
+    static View execute(final Node node, final Set<String> requiredColumnNames) {
+        if (node instanceof Source) {
+            return View.of(((Source) node).dataSet, requiredColumnNames, false);
+        } else if (node instanceof Filter) {
+            final Filter filter = (Filter) node;
+            final Set<String> inputColumnNames = new LinkedHashSet<>(requiredColumnNames);
+
+            for (Condition condition : filter.conditions) {
+                inputColumnNames.addAll(Arrays.asList(condition.columnNames));
+            }
+
+            return execute(filter.input, inputColumnNames).filter(filter.conditions);
+        } else if (node instanceof Project) {
+            return execute(((Project) node).input, requiredColumnNames);
+        } else if (node instanceof AddColumn) {
+            final AddColumn addColumn = (AddColumn) node;
+
+            if (requiredColumnNames.contains(addColumn.newColumnName) == false) {
+                return execute(addColumn.input, requiredColumnNames);
+            }
+
+            final Set<String> inputColumnNames = new LinkedHashSet<>(requiredColumnNames);
+            inputColumnNames.remove(addColumn.newColumnName);
+            inputColumnNames.addAll(Arrays.asList(addColumn.fromColumnNames));
+
+            return execute(addColumn.input, inputColumnNames).addColumn(addColumn);
+        } else if (node instanceof Sort) {
+            final Sort sort = (Sort) node;
+            final Set<String> inputColumnNames = new LinkedHashSet<>(requiredColumnNames);
+            inputColumnNames.addAll(Arrays.asList(sort.sortByColumnNames));
+
+            return execute(sort.input, inputColumnNames).sort(sort.sortByColumnNames);
+        } else if (node instanceof Distinct) {
+            final Distinct distinct = (Distinct) node;
+            final Set<String> inputColumnNames = new LinkedHashSet<>(requiredColumnNames);
+            inputColumnNames.addAll(Arrays.asList(distinct.keyColumnNames));
+
+            return execute(distinct.input, inputColumnNames).distinct(distinct.keyColumnNames);
+        } else if (node instanceof GroupBy) {
+            final GroupBy groupBy = (GroupBy) node;
+            final Set<String> inputColumnNames = new LinkedHashSet<>(groupBy.keyColumnNames);
+            inputColumnNames.add(groupBy.aggregateOnColumnName);
+
+            final DataSet input = execute(groupBy.input, inputColumnNames).toDataSet(retain(groupBy.input.columnNames, inputColumnNames));
+            final DataSet result = input.groupBy(groupBy.keyColumnNames, groupBy.aggregateResultColumnName, groupBy.aggregateOnColumnName, groupBy.collector);
+
+            return View.of(result, requiredColumnNames, true);
+        } else {
+            final Join join = (Join) node;
+            final Set<String> leftColumnNames = new LinkedHashSet<>(retain(join.left.columnNames, requiredColumnNames));
+            final Set<String> rightColumnNames = new LinkedHashSet<>(retain(join.rightColumnNames, requiredColumnNames));
+            leftColumnNames.addAll(join.onColumnNames.keySet());
+            rightColumnNames.addAll(join.onColumnNames.values());
+
+            if (join.onColumnNames.size() == 1 && join.left.columnNames.contains(join.onColumnNames.values().iterator().next())) {
+                // otherwise the column in right DataSet will be in the result. see RowDataSet.getRightColumnNames(...).
+                leftColumnNames.add(join.onColumnNames.values().iterator().next());
+            }
+
+            final DataSet left = execute(join.left, leftColumnNames).toDataSet(retain(join.left.columnNames, leftColumnNames));
+            final DataSet right = execute(join.right, rightColumnNames).toDataSet(retain(join.right.columnNames, rightColumnNames));
+            final DataSet result = join.isLeftJoin ? left.leftJoin(right, join.onColumnNames) : left.innerJoin(right, join.onColumnNames);
+
+            return View.of(result, requiredColumnNames, true);
+        }
+    }
+
+    /**
+     *
+     * @param columnNames
+     * @param retainedColumnNames
+     * @return the columns in {@code columnNames} which are also in {@code retainedColumnNames}, in the order of {@code columnNames}.
+     */
+    private static List<String> retain(final List<String> columnNames, final Set<String> retainedColumnNames) {
+        final List<String> result = new ArrayList<>(N.min(columnNames.size(), retainedColumnNames.size()));
+
+        for (String columnName : columnNames) {
+            if (retainedColumnNames.contains(columnName)) {
+                result.add(columnName);
+            }
+        }
+
+        return result;
+    }
+
+    private static DataSet emptyDataSet(final List<String> columnNames) {
+        final List<List<Object>> columnList = new ArrayList<>(columnNames.size());
+
+        for (int i = 0, len = columnNames.size(); i < len; i++) {
+            columnList.add(new ArrayList<>(0));
+        }
+
+        return new RowDataSet(new ArrayList<>(columnNames), columnList);
+    }
+
+    private static void checkColumnNames(final List<String> columnNames, final String... names) {
+        for (String name : names) {
+            if (columnNames.contains(name) == false) {
+                throw new IllegalArgumentException("The specified column(" + name + ") is not included in this DataSet " + columnNames);
+            }
+        }
+    }
+
+    abstract static class Node {
+        final List<String> columnNames;
+
+        Node(final List<String> columnNames) {
+            this.columnNames = columnNames;
+        }
+    }
+
+    abstract static class UnaryNode extends Node {
+        final Node input;
+
+        UnaryNode(final Node input, final List<String> columnNames) {
+            super(columnNames);
+            this.input = input;
+        }
+
+        abstract Node withInput(Node newInput);
+    }
+
+    static final class Source extends Node {
+        final DataSet dataSet;
+
+        Source(final DataSet dataSet) {
+            super(new ArrayList<>(N.checkArgNotNull(dataSet, "dataSet").columnNameList()));
+            this.dataSet = dataSet;
+        }
+    }
+
+    static final class Condition {
+        final String[] columnNames;
+
+        @SuppressWarnings("rawtypes")
+        final Predicate predicate;
+
+        final Predicate<? super DisposableObjArray> rowPredicate;
+
+        Condition(final String[] columnNames, final Predicate<?> predicate, final Predicate<? super DisposableObjArray> rowPredicate) {
+            this.columnNames = columnNames;
+            this.predicate = predicate;
+            this.rowPredicate = rowPredicate;
+        }
+    }
+
+    static final class Filter extends Node {
+        final Node input;
+
+        final List<Condition> conditions;
+
+        Filter(final Node input, final List<Condition> conditions) {
+            super(input.columnNames);
+            this.input = input;
+            this.conditions = conditions;
+
+            for (Condition condition : conditions) {
+                checkColumnNames(input.columnNames, condition.columnNames);
+            }
+        }
+    }
+
+    static final class Project extends UnaryNode {
+        Project(final Node input, final List<String> columnNames) {
+            super(input, columnNames);
+
+            checkColumnNames(input.columnNames, columnNames.toArray(new String[columnNames.size()]));
+        }
+
+        @Override
+        Node withInput(final Node newInput) {
+            return new Project(newInput, columnNames);
+        }
+    }
+
+    static final class AddColumn extends UnaryNode {
+        final String newColumnName;
+
+        final String[] fromColumnNames;
+
+        @SuppressWarnings("rawtypes")
+        final Function func;
+
+        final Function<? super DisposableObjArray, ?> rowFunc;
+
+        AddColumn(final Node input, final String newColumnName, final String[] fromColumnNames, final Function<?, ?> func,
+                final Function<? super DisposableObjArray, ?> rowFunc) {
+            super(input, N.concat(input.columnNames, N.asList(newColumnName)));
+            this.newColumnName = newColumnName;
+            this.fromColumnNames = fromColumnNames;
+            this.func = func;
+            this.rowFunc = rowFunc;
+
+            if (input.columnNames.contains(newColumnName)) {
+                throw new IllegalArgumentException("Column(" + newColumnName + ") is already included in this DataSet: " + input.columnNames);
+            }
+
+            checkColumnNames(input.columnNames, fromColumnNames);
+        }
+
+        @Override
+        Node withInput(final Node newInput) {
+            return new AddColumn(newInput, newColumnName, fromColumnNames, func, rowFunc);
+        }
+    }
+
+    static final class Sort extends UnaryNode {
+        final String[] sortByColumnNames;
+
+        Sort(final Node input, final String[] columnNames) {
+            super(input, input.columnNames);
+            this.sortByColumnNames = columnNames;
+
+            checkColumnNames(input.columnNames, columnNames);
+        }
+
+        @Override
+        Node withInput(final Node newInput) {
+            return new Sort(newInput, sortByColumnNames);
+        }
+    }
+
+    static final class Distinct extends UnaryNode {
+        final String[] keyColumnNames;
+
+        Distinct(final Node input, final String[] columnNames) {
+            super(input, input.columnNames);
+            this.keyColumnNames = columnNames;
+
+            checkColumnNames(input.columnNames, columnNames);
+        }
+
+        @Override
+        Node withInput(final Node newInput) {
+            return new Distinct(newInput, keyColumnNames);
+        }
+    }
+
+    static final class GroupBy extends UnaryNode {
+        final List<String> keyColumnNames;
+
+        final String aggregateResultColumnName;
+
+        final String aggregateOnColumnName;
+
+        final Collector<?, ?, ?> collector;
+
+        GroupBy(final Node input, final List<String> keyColumnNames, final String aggregateResultColumnName, final String aggregateOnColumnName,
+                final Collector<?, ?, ?> collector) {
+            // the result columns are validated and named by RowDataSet.groupBy(...).
+            super(input, emptyDataSet(input.columnNames).groupBy(keyColumnNames, aggregateResultColumnName, aggregateOnColumnName, collector)
+                    .columnNameList());
+            this.keyColumnNames = keyColumnNames;
+            this.aggregateResultColumnName = aggregateResultColumnName;
+            this.aggregateOnColumnName = aggregateOnColumnName;
+            this.collector = collector;
+        }
+
+        @Override
+        Node withInput(final Node newInput) {
+            return new GroupBy(newInput, keyColumnNames, aggregateResultColumnName, aggregateOnColumnName, collector);
+        }
+    }
+
+    static final class Join extends Node {
+        final Node left;
+
+        final Node right;
+
+        final Map<String, String> onColumnNames;
+
+        final boolean isLeftJoin;
+
+        /** The columns from right DataSet in the result. */
+        final List<String> rightColumnNames;
+
+        Join(final Node left, final Node right, final Map<String, String> onColumnNames, final boolean isLeftJoin) {
+            super(joinColumnNames(left, right, onColumnNames, isLeftJoin));
+            this.left = left;
+            this.right = right;
+            this.onColumnNames = onColumnNames;
+            this.isLeftJoin = isLeftJoin;
+            this.rightColumnNames = columnNames.subList(left.columnNames.size(), columnNames.size());
+        }
+
+        private static List<String> joinColumnNames(final Node left, final Node right, final Map<String, String> onColumnNames, final boolean isLeftJoin) {
+            // the result columns are validated and named by RowDataSet.innerJoin/leftJoin(...).
+            final DataSet emptyLeft = emptyDataSet(left.columnNames);
+            final DataSet emptyRight = emptyDataSet(right.columnNames);
+
+            return isLeftJoin ? emptyLeft.leftJoin(emptyRight, onColumnNames).columnNameList()
+                    : emptyLeft.innerJoin(emptyRight, onColumnNames).columnNameList();
+        }
+    }
+
+    /**
+     * The columns of an intermediate result. The value at row {@code i} of a column is {@code values.get(rowIndexes == null ? i : rowIndexes[i])}.
+     */
+    static final class Column {
+        final List<Object> values;
+
+        final int[] rowIndexes;
+
+        /** {@code values} is created in the plan execution, and can be in the final result without copy. */
+        final boolean isOwned;
+
+        Column(final List<Object> values, final int[] rowIndexes, final boolean isOwned) {
+            this.values = values;
+            this.rowIndexes = rowIndexes;
+            this.isOwned = isOwned;
+        }
+
+        Object get(final int rowIndex) {
+            return values.get(rowIndexes == null ? rowIndex : rowIndexes[rowIndex]);
+        }
+
+        @SuppressWarnings("rawtypes")
+        List<Object> toList(final int size) {
+            if (rowIndexes == null) {
+                if (isOwned && values.size() == size) {
+                    return values;
+                } else if (values instanceof PrimitiveColumn) {
+                    return (List) ((PrimitiveColumn) values).copy(0, size);
+                } else {
+                    return new ArrayList<>(values.subList(0, size));
+                }
+            } else if (values instanceof PrimitiveColumn) {
+                return (List) ((PrimitiveColumn) values).select(rowIndexes);
+            } else {
+                final List<Object> result = new ArrayList<>(size);
+
+                for (int rowIndex : rowIndexes) {
+                    result.add(values.get(rowIndex));
+                }
+
+                return result;
+            }
+        }
+    }
+
+    static final class View {
+        final Map<String, Column> columnMap;
+
+        final int size;
+
+        View(final Map<String, Column> columnMap, final int size) {
+            this.columnMap = columnMap;
+            this.size = size;
+        }
+
+        /**
+         *
+         * @param dataSet
+         * @param columnNames
+         * @param isOwned {@code true} if {@code dataSet} is created in the plan execution.
+         * @return
+         */
+        static View of(final DataSet dataSet, final Set<String> columnNames, final boolean isOwned) {
+            final Map<String, Column> columnMap = new HashMap<>(columnNames.size() * 2);
+            List<Object> values = null;
+
+            for (String columnName : columnNames) {
+                if (dataSet.containsColumn(columnName)) {
+                    values = dataSet instanceof RowDataSet ? ((RowDataSet) dataSet)._columnList.get(dataSet.getColumnIndex(columnName))
+                            : dataSet.<Object> getColumn(columnName);
+
+                    columnMap.put(columnName, new Column(values, null, isOwned));
+                }
+            }
+
+            return new View(columnMap, dataSet.size());
+        }
+
+        /**
+         * All the conditions are evaluated in one pass.
+         *
+         * @param conditions
+         * @return
+         */
+        @SuppressWarnings("unchecked")
+        View filter(final List<Condition> conditions) {
+            final int conditionCount = conditions.size();
+            final Column[][] conditionColumns = new Column[conditionCount][];
+            final Object[][] rows = new Object[conditionCount][];
+            final DisposableObjArray[] disposableArrays = new DisposableObjArray[conditionCount];
+
+            for (int i = 0; i < conditionCount; i++) {
+                conditionColumns[i] = getColumns(conditions.get(i).columnNames);
+
+                if (conditions.get(i).rowPredicate != null) {
+                    rows[i] = new Object[conditionColumns[i].length];
+                    disposableArrays[i] = DisposableObjArray.wrap(rows[i]);
+                }
+            }
+
+            final IntList selected = new IntList();
+            Condition condition = null;
+            boolean isMatched = true;
+
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                isMatched = true;
+
+                for (int i = 0; i < conditionCount && isMatched; i++) {
+                    condition = conditions.get(i);
+
+                    if (condition.rowPredicate == null) {
+                        isMatched = condition.predicate.test(conditionColumns[i][0].get(rowIndex));
+                    } else {
+                        for (int j = 0, len = rows[i].length; j < len; j++) {
+                            rows[i][j] = conditionColumns[i][j].get(rowIndex);
+                        }
+
+                        isMatched = condition.rowPredicate.test(disposableArrays[i]);
+                    }
+                }
+
+                if (isMatched) {
+                    selected.add(rowIndex);
+                }
+            }
+
+            return select(selected.trimToSize().array());
+        }
+
+        @SuppressWarnings("unchecked")
+        View addColumn(final AddColumn addColumn) {
+            final Column[] fromColumns = getColumns(addColumn.fromColumnNames);
+            final List<Object> newColumn = new ArrayList<>(size);
+
+            if (addColumn.rowFunc == null) {
+                final Column fromColumn = fromColumns[0];
+
+                for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                    newColumn.add(addColumn.func.apply(fromColumn.get(rowIndex)));
+                }
+            } else {
+                final Object[] row = new Object[fromColumns.length];
+                final DisposableObjArray disposableArray = DisposableObjArray.wrap(row);
+
+                for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                    for (int i = 0, len = row.length; i < len; i++) {
+                        row[i] = fromColumns[i].get(rowIndex);
+                    }
+
+                    newColumn.add(addColumn.rowFunc.apply(disposableArray));
+                }
+            }
+
+            final Map<String, Column> newColumnMap = new HashMap<>(columnMap);
+            newColumnMap.put(addColumn.newColumnName, new Column(newColumn, null, true));
+
+            return new View(newColumnMap, size);
+        }
+
+        @SuppressWarnings("rawtypes")
+        View sort(final String[] columnNames) {
+            final Column[] sortByColumns = getColumns(columnNames);
+            final Indexed<Object[]>[] arrayOfPair = new Indexed[size];
+
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                final Object[] key = new Object[sortByColumns.length];
+
+                for (int i = 0, len = key.length; i < len; i++) {
+                    key[i] = sortByColumns[i].get(rowIndex);
+                }
+
+                arrayOfPair[rowIndex] = Indexed.of(key, rowIndex);
+            }
+
+            // stable, same as RowDataSet.sortBy(...).
+            Arrays.sort(arrayOfPair, new Comparator<Indexed<Object[]>>() {
+                @Override
+                public int compare(final Indexed<Object[]> o1, final Indexed<Object[]> o2) {
+                    return RowDataSet.MULTI_COLUMN_COMPARATOR.compare(o1.value(), o2.value());
+                }
+            });
+
+            final int[] sorted = new int[size];
+
+            for (int i = 0; i < size; i++) {
+                sorted[i] = arrayOfPair[i].index();
+            }
+
+            return select(sorted);
+        }
+
+        View distinct(final String[] columnNames) {
+            final Column[] keyColumns = getColumns(columnNames);
+            final Set<Object> keySet = N.newHashSet();
+            final IntList selected = new IntList();
+
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                if (keyColumns.length == 1) {
+                    if (keySet.add(RowDataSet.getHashKey(keyColumns[0].get(rowIndex)))) {
+                        selected.add(rowIndex);
+                    }
+                } else {
+                    final Object[] key = new Object[keyColumns.length];
+
+                    for (int i = 0, len = key.length; i < len; i++) {
+                        key[i] = keyColumns[i].get(rowIndex);
+                    }
+
+                    if (keySet.add(Wrapper.of(key))) {
+                        selected.add(rowIndex);
+                    }
+                }
+            }
+
+            return selected.size() == size ? this : select(selected.trimToSize().array());
+        }
+
+        /**
+         * The columns which share the same row indexes are mapped only once.
+         *
+         * @param selected
+         * @return
+         */
+        private View select(final int[] selected) {
+            final Map<int[], int[]> mapped = new IdentityHashMap<>();
+            final Map<String, Column> newColumnMap = new HashMap<>(columnMap.size() * 2);
+
+            for (Map.Entry<String, Column> entry : columnMap.entrySet()) {
+                final Column column = entry.getValue();
+                int[] rowIndexes = column.rowIndexes == null ? selected : mapped.get(column.rowIndexes);
+
+                if (rowIndexes == null) {
+                    rowIndexes = new int[selected.length];
+
+                    for (int i = 0, len = selected.length; i < len; i++) {
+                        rowIndexes[i] = column.rowIndexes[selected[i]];
+                    }
+
+                    mapped.put(column.rowIndexes, rowIndexes);
+                }
+
+                newColumnMap.put(entry.getKey(), new Column(column.values, rowIndexes, column.isOwned));
+            }
+
+            return new View(newColumnMap, selected.length);
+        }
+
+        private Column[] getColumns(final String[] columnNames) {
+            final Column[] columns = new Column[columnNames.length];
+
+            for (int i = 0, len = columnNames.length; i < len; i++) {
+                columns[i] = columnMap.get(columnNames[i]);
+            }
+
+            return columns;
+        }
+
+        DataSet toDataSet(final List<String> columnNames) {
+            final List<List<Object>> columnList = new ArrayList<>(columnNames.size());
+
+            for (String columnName : columnNames) {
+                columnList.add(columnMap.get(columnName).toList(size));
+            }
+
+            return new RowDataSet(new ArrayList<>(columnNames), columnList);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.core.ColumnarFile.Buffers;
+import com.landawn.abacus.core.ColumnarFile.ColumnInfo;
+import com.landawn.abacus.core.ColumnarFile.Footer;
+import com.landawn.abacus.exception.UncheckedIOException;
+import com.landawn.abacus.type.Type;
+import com.landawn.abacus.util.N;
+
+/**
+ * A read-only {@code DataSet} on the file written by {@link DataSet#toBinary(File)}. The file is mapped by {@code IOUtil.map(File, MapMode, long, long)},
+ * and the values are read from the mapped buffers when they're accessed, so opening a big file is fast and costs almost no heap memory.
+ * <br />
+ * It's frozen. The operations which return a new {@code DataSet}, e.g. {@code filter}, {@code copy}, {@code groupBy}..., work as they do on
+ * {@code RowDataSet} and the returned {@code DataSet} is in heap.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ * @see DataSet#toBinary(File)
+ */
+public class MappedDataSet extends RowDataSet {
+
+    MappedDataSet(final List<String> columnNameList, final List<List<Object>> columnList) {
+        super(columnNameList, columnList);
+
+        freeze();
+    }
+
+    /**
+     *
+     * @param file the file written by {@link DataSet#toBinary(File)}.
+     * @return
+     * @throws UncheckedIOException the unchecked IO exception
+     */
+    public static MappedDataSet open(final File file) throws UncheckedIOException {
+        N.checkArgNotNull(file, "file");
+
+        try {
+            final Footer footer = ColumnarFile.readFooter(file);
+            final Buffers buffers = ColumnarFile.map(file, footer.length);
+            final int columnCount = footer.columnInfoList.size();
+            final List<String> columnNameList = new ArrayList<>(columnCount);
+            final List<List<Object>> columnList = new ArrayList<>(columnCount);
+
+            for (ColumnInfo columnInfo : footer.columnInfoList) {
+                columnNameList.add(columnInfo.name);
+                columnList.add(columnInfo.kind == ColumnarFile.VARIABLE ? new VariableColumn(buffers, columnInfo, footer.rowCount)
+                        : new FixedColumn(buffers, columnInfo, footer.rowCount));
+            }
+
+            return new MappedDataSet(columnNameList, columnList);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A read-only column on the mapped buffers.
+     */
+    abstract static class MappedColumn extends AbstractList<Object> implements RandomAccess {
+        final Buffers buffers;
+
+        final Type<Object> type;
+
+        final long valuesOffset;
+
+        final long nullsOffset;
+
+        final int size;
+
+        MappedColumn(final Buffers buffers, final ColumnInfo columnInfo, final int size) {
+            this.buffers = buffers;
+            this.type = columnInfo.type;
+            this.valuesOffset = columnInfo.valuesOffset;
+            this.nullsOffset = columnInfo.nullsOffset;
+            this.size = size;
+        }
+
+        @Override
+        public Object get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+
+            return isNull(index) ? null : valueAt(index);
+        }
+
+        final boolean isNull(final int index) {
+            return nullsOffset != ColumnarFile.NONE && (buffers.get(nullsOffset + (index >>> 3)) & (1 << (index & 7))) != 0;
+        }
+
+        abstract Object valueAt(int index);
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    static final class FixedColumn extends MappedColumn {
+        private final byte kind;
+
+        private final int width;
+
+        FixedColumn(final Buffers buffers, final ColumnInfo columnInfo, final int size) {
+            super(buffers, columnInfo, size);
+            this.kind = columnInfo.kind;
+            this.width = ColumnarFile.widthOf(kind);
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            final long position = valuesOffset + (long) index * width;
+
+            switch (kind) {
+                case ColumnarFile.BOOLEAN:
+                    return buffers.get(position) != 0;
+
+                case ColumnarFile.CHAR:
+                    return buffers.getChar(position);
+
+                case ColumnarFile.BYTE:
+                    return buffers.get(position);
+
+                case ColumnarFile.SHORT:
+                    return buffers.getShort(position);
+
+                case ColumnarFile.INT:
+                    return buffers.getInt(position);
+
+                case ColumnarFile.LONG:
+                    return buffers.getLong(position);
+
+                case ColumnarFile.FLOAT:
+                    return buffers.getFloat(position);
+
+                default:
+                    return buffers.getDouble(position);
+            }
+        }
+    }
+
+    static final class VariableColumn extends MappedColumn {
+        private final long offsetsOffset;
+
+        VariableColumn(final Buffers buffers, final ColumnInfo columnInfo, final int size) {
+            super(buffers, columnInfo, size);
+            this.offsetsOffset = columnInfo.offsetsOffset;
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            final long position = offsetsOffset + index * 8L;
+            final long start = buffers.getLong(position);
+            final byte[] bytes = new byte[(int) (buffers.getLong(position + 8) - start)];
+
+            buffers.get(valuesOffset + start, bytes);
+
+            final String str = new String(bytes, StandardCharsets.UTF_8);
+
+            return type.isString() ? str : type.valueOf(str);
+        }
+    }
+}
@@ -0,0 +1,816 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import com.landawn.abacus.ColumnExpression;
+import com.landawn.abacus.core.PrimitiveColumn.DoubleColumn;
+import com.landawn.abacus.core.PrimitiveColumn.LongColumn;
+import com.landawn.abacus.util.DoubleList;
+import com.landawn.abacus.util.DoubleSummaryStatistics;
+import com.landawn.abacus.util.KahanSummation;
+import com.landawn.abacus.util.LongList;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Numbers;
+import com.landawn.abacus.util.u.OptionalDouble;
+
+/**
+ * The implementation of {@code ColumnExpression}. Each expression is evaluated to a new {@code long[]} or {@code double[]} and a {@code BitSet} of the {@code null} rows,
+ * and the operations are applied on the array of the left operand in place, one operation for the whole column in one loop.
+ * The values of the columns stored in {@code PrimitiveColumn} are copied from the primitive array directly.
+ * <br />
+ * The values of integral columns ({@code byte/short/int/long}) are evaluated to {@code long[]}, and stay in {@code long[]} through
+ * {@code add/sub/mul} with integral operands, {@code negate} and {@code abs}. They're converted to {@code double[]} only when a floating operand
+ * or {@code div} is involved, so the integral values are not rounded by {@code double}. If an integral operation overflows {@code long},
+ * the values are converted to {@code double} and the operation is continued in {@code double} from the overflowed row.
+ * <br />
+ * The column referred by {@code ColumnRef} is resolved by its name in the {@code DataSet} when the expression is evaluated.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+abstract class NumericExpression implements ColumnExpression {
+
+    private static final int ADD = 0;
+
+    private static final int SUB = 1;
+
+    private static final int MUL = 2;
+
+    private static final int DIV = 3;
+
+    private static final int NEGATE = 4;
+
+    private static final int ABS = 5;
+
+    final int size;
+
+    NumericExpression(final int size) {
+        this.size = size;
+    }
+
+    /**
+     *
+     * @param dataSet
+     * @param columnName
+     * @return
+     * @throws IllegalArgumentException if the column is not found or the values in the column are not numbers.
+     */
+    static NumericExpression of(final RowDataSet dataSet, final String columnName) {
+        return new ColumnRef(dataSet, columnName);
+    }
+
+    /**
+     * Evaluates the expression.
+     *
+     * @return a new {@code Result} which can be updated by the caller.
+     */
+    abstract Result evaluate();
+
+    @Override
+    public ColumnExpression add(final ColumnExpression other) {
+        return new BinaryOp(this, ADD, other);
+    }
+
+    @Override
+    public ColumnExpression add(final long value) {
+        return new ScalarOp(this, ADD, value);
+    }
+
+    @Override
+    public ColumnExpression add(final double value) {
+        return new ScalarOp(this, ADD, value);
+    }
+
+    @Override
+    public ColumnExpression sub(final ColumnExpression other) {
+        return new BinaryOp(this, SUB, other);
+    }
+
+    @Override
+    public ColumnExpression sub(final long value) {
+        return new ScalarOp(this, SUB, value);
+    }
+
+    @Override
+    public ColumnExpression sub(final double value) {
+        return new ScalarOp(this, SUB, value);
+    }
+
+    @Override
+    public ColumnExpression mul(final ColumnExpression other) {
+        return new BinaryOp(this, MUL, other);
+    }
+
+    @Override
+    public ColumnExpression mul(final long value) {
+        return new ScalarOp(this, MUL, value);
+    }
+
+    @Override
+    public ColumnExpression mul(final double value) {
+        return new ScalarOp(this, MUL, value);
+    }
+
+    @Override
+    public ColumnExpression div(final ColumnExpression other) {
+        return new BinaryOp(this, DIV, other);
+    }
+
+    @Override
+    public ColumnExpression div(final double value) {
+        return new ScalarOp(this, DIV, value);
+    }
+
+    @Override
+    public ColumnExpression negate() {
+        return new ScalarOp(this, NEGATE, 0L);
+    }
+
+    @Override
+    public ColumnExpression abs() {
+        return new ScalarOp(this, ABS, 0L);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double sum() {
+        final Result result = evaluate();
+
+        if (result.longs != null) {
+            try {
+                return sumOf(result);
+            } catch (ArithmeticException e) {
+                // overflow, summed in double.
+            }
+        }
+
+        return summation(result).sum();
+    }
+
+    @Override
+    public long sumAsLong() {
+        final Result result = evaluate();
+
+        return result.longs != null ? sumOf(result) : (long) summation(result).sum();
+    }
+
+    @Override
+    public OptionalDouble min() {
+        final Result result = evaluate();
+
+        if (result.longs != null) {
+            final long[] longs = result.longs;
+            long min = Long.MAX_VALUE;
+            boolean hasValue = false;
+
+            for (int i = 0; i < size; i++) {
+                if (result.nulls == null || !result.nulls.get(i)) {
+                    min = Math.min(min, longs[i]);
+                    hasValue = true;
+                }
+            }
+
+            return hasValue ? OptionalDouble.of(min) : OptionalDouble.empty();
+        }
+
+        final double[] values = result.values;
+        double min = Double.POSITIVE_INFINITY;
+        boolean hasValue = false;
+
+        if (result.nulls == null) {
+            for (int i = 0; i < size; i++) {
+                min = Math.min(min, values[i]);
+            }
+
+            hasValue = size > 0;
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (!result.nulls.get(i)) {
+                    min = Math.min(min, values[i]);
+                    hasValue = true;
+                }
+            }
+        }
+
+        return hasValue ? OptionalDouble.of(min) : OptionalDouble.empty();
+    }
+
+    @Override
+    public OptionalDouble max() {
+        final Result result = evaluate();
+
+        if (result.longs != null) {
+            final long[] longs = result.longs;
+            long max = Long.MIN_VALUE;
+            boolean hasValue = false;
+
+            for (int i = 0; i < size; i++) {
+                if (result.nulls == null || !result.nulls.get(i)) {
+                    max = Math.max(max, longs[i]);
+                    hasValue = true;
+                }
+            }
+
+            return hasValue ? OptionalDouble.of(max) : OptionalDouble.empty();
+        }
+
+        final double[] values = result.values;
+        double max = Double.NEGATIVE_INFINITY;
+        boolean hasValue = false;
+
+        if (result.nulls == null) {
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, values[i]);
+            }
+
+            hasValue = size > 0;
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (!result.nulls.get(i)) {
+                    max = Math.max(max, values[i]);
+                    hasValue = true;
+                }
+            }
+        }
+
+        return hasValue ? OptionalDouble.of(max) : OptionalDouble.empty();
+    }
+
+    @Override
+    public OptionalDouble mean() {
+        final Result result = evaluate();
+        final long count = result.nulls == null ? size : size - result.nulls.cardinality();
+
+        if (count == 0) {
+            return OptionalDouble.empty();
+        }
+
+        if (result.longs != null) {
+            try {
+                return OptionalDouble.of((double) sumOf(result) / count);
+            } catch (ArithmeticException e) {
+                // overflow, summed in double.
+            }
+        }
+
+        return summation(result).average();
+    }
+
+    @Override
+    public long count() {
+        final Result result = evaluate();
+
+        return result.nulls == null ? size : size - result.nulls.cardinality();
+    }
+
+    @Override
+    public DoubleSummaryStatistics summarize() {
+        final Result result = evaluate();
+
+        if (result.longs != null) {
+            final long[] longs = result.longs;
+            long count = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+
+            for (int i = 0; i < size; i++) {
+                if (result.nulls == null || !result.nulls.get(i)) {
+                    count++;
+                    min = Math.min(min, longs[i]);
+                    max = Math.max(max, longs[i]);
+                }
+            }
+
+            if (count == 0) {
+                return new DoubleSummaryStatistics();
+            }
+
+            double sum = 0;
+
+            try {
+                sum = sumOf(result);
+            } catch (ArithmeticException e) {
+                sum = summation(result).sum();
+            }
+
+            return new DoubleSummaryStatistics(count, sum, min, max);
+        }
+
+        final double[] values = result.values;
+        final KahanSummation summation = new KahanSummation();
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < size; i++) {
+            if (result.nulls == null || !result.nulls.get(i)) {
+                summation.add(values[i]);
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+        }
+
+        return new DoubleSummaryStatistics(summation.count(), summation.sum(), min, max);
+    }
+
+    @Override
+    public double[] toArray() {
+        final Result result = evaluate().toDouble();
+
+        if (result.nulls != null) {
+            for (int i = result.nulls.nextSetBit(0); i >= 0; i = result.nulls.nextSetBit(i + 1)) {
+                result.values[i] = Double.NaN;
+            }
+        }
+
+        return result.values;
+    }
+
+    /**
+     *
+     * @param result
+     * @return the exact sum of the non-null values in {@code result.longs}.
+     * @throws ArithmeticException if the sum overflows {@code long}.
+     */
+    private long sumOf(final Result result) {
+        final long[] longs = result.longs;
+        long sum = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (result.nulls == null || !result.nulls.get(i)) {
+                sum = Numbers.addExact(sum, longs[i]);
+            }
+        }
+
+        return sum;
+    }
+
+    private KahanSummation summation(final Result result) {
+        final double[] values = result.toDouble().values;
+        final KahanSummation summation = new KahanSummation();
+
+        if (result.nulls == null) {
+            summation.addAll(values);
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (!result.nulls.get(i)) {
+                    summation.add(values[i]);
+                }
+            }
+        }
+
+        return summation;
+    }
+
+    /**
+     *
+     * @param expression
+     * @param size the size of the {@code DataSet} the new column will be added to.
+     * @return a new column with the {@code null} values kept.
+     */
+    static List<Object> toColumn(final ColumnExpression expression, final int size) {
+        N.checkArgNotNull(expression, "expression");
+
+        final NumericExpression numericExpression = cast(expression);
+
+        if (numericExpression.size != size) {
+            throw new IllegalArgumentException("The size of expression[" + numericExpression.size + "] must be same as the this DataSet size[" + size + "]. ");
+        }
+
+        final Result result = numericExpression.evaluate();
+        final PrimitiveColumn<?> column = result.longs != null ? new LongColumn(LongList.of(result.longs)) : new DoubleColumn(DoubleList.of(result.values));
+        column.nulls = result.nulls;
+
+        return column;
+    }
+
+    private static NumericExpression cast(final ColumnExpression expression) {
+        if (expression instanceof NumericExpression) {
+            return (NumericExpression) expression;
+        }
+
+        throw new IllegalArgumentException("Unsupported ColumnExpression: " + expression.getClass().getName() + ". It must be created by DataSet.col(...)");
+    }
+
+    /**
+     * The values are in either {@code longs} or {@code values}. They are {@code 0} for the {@code null} rows.
+     */
+    static final class Result {
+        /** {@code null} if a floating operand is involved. */
+        long[] longs;
+
+        /** {@code null} if the values are in {@code longs}. */
+        double[] values;
+
+        /** {@code null} if there is no {@code null} row. */
+        BitSet nulls;
+
+        Result(final long[] longs, final BitSet nulls) {
+            this.longs = longs;
+            this.nulls = nulls;
+        }
+
+        Result(final double[] values, final BitSet nulls) {
+            this.values = values;
+            this.nulls = nulls;
+        }
+
+        /**
+         * Converts the values in {@code longs} to {@code double}, if they're not.
+         *
+         * @return this {@code Result}.
+         */
+        Result toDouble() {
+            if (longs != null) {
+                values = new double[longs.length];
+
+                for (int i = 0, len = longs.length; i < len; i++) {
+                    values[i] = longs[i];
+                }
+
+                longs = null;
+            }
+
+            return this;
+        }
+    }
+
+    static boolean isIntegral(final Class<?> cls) {
+        return cls == int.class || cls == long.class || cls == short.class || cls == byte.class;
+    }
+
+    static boolean isIntegral(final Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    static boolean isNumeric(final Class<?> cls) {
+        return isIntegral(cls) || cls == double.class || cls == float.class;
+    }
+
+    static final class ColumnRef extends NumericExpression {
+        private final RowDataSet dataSet;
+
+        private final String columnName;
+
+        ColumnRef(final RowDataSet dataSet, final String columnName) {
+            super(dataSet.size());
+            this.dataSet = dataSet;
+            this.columnName = columnName;
+
+            final List<Object> column = column();
+
+            if (!(column instanceof PrimitiveColumn)) {
+                for (Object value : column) {
+                    if (value != null && !(value instanceof Number)) {
+                        throw notNumeric(value.getClass());
+                    }
+                }
+            }
+        }
+
+        /**
+         * The column is resolved by name every time, in case it's replaced in the {@code DataSet} after this expression is created.
+         *
+         * @return
+         */
+        private List<Object> column() {
+            final List<Object> column = dataSet._columnList.get(dataSet.checkColumnName(columnName));
+
+            if (column instanceof PrimitiveColumn && !isNumeric(((PrimitiveColumn<?>) column).elementClass())) {
+                throw notNumeric(((PrimitiveColumn<?>) column).elementClass());
+            }
+
+            return column;
+        }
+
+        private IllegalArgumentException notNumeric(final Class<?> cls) {
+            return new IllegalArgumentException("The values of column(" + columnName + ") must be numbers. But found: " + N.typeOf(cls).name());
+        }
+
+        @Override
+        Result evaluate() {
+            final List<Object> column = column();
+
+            if (column.size() != size) {
+                throw new ConcurrentModificationException("The size of column(" + columnName + ") has been changed from " + size + " to " + column.size());
+            }
+
+            if (column instanceof PrimitiveColumn) {
+                final PrimitiveColumn<?> primitiveColumn = (PrimitiveColumn<?>) column;
+                final BitSet nulls = primitiveColumn.nulls == null || primitiveColumn.nulls.isEmpty() ? null : (BitSet) primitiveColumn.nulls.clone();
+
+                return isIntegral(primitiveColumn.elementClass()) ? new Result(primitiveColumn.toLongArray(), nulls)
+                        : new Result(primitiveColumn.toDoubleArray(), nulls);
+            }
+
+            // the values are read to long[] until a value which is not integral is found.
+            long[] longs = new long[size];
+            double[] values = null;
+            BitSet nulls = null;
+            Object value = null;
+
+            for (int i = 0; i < size; i++) {
+                value = column.get(i);
+
+                if (value == null) {
+                    if (nulls == null) {
+                        nulls = new BitSet(size);
+                    }
+
+                    nulls.set(i);
+                } else if (!(value instanceof Number)) {
+                    throw notNumeric(value.getClass());
+                } else if (longs != null && isIntegral(value)) {
+                    longs[i] = ((Number) value).longValue();
+                } else {
+                    if (longs != null) {
+                        values = new Result(longs, null).toDouble().values;
+                        longs = null;
+                    }
+
+                    values[i] = ((Number) value).doubleValue();
+                }
+            }
+
+            return longs != null ? new Result(longs, nulls) : new Result(values, nulls);
+        }
+    }
+
+    static final class ScalarOp extends NumericExpression {
+        private final NumericExpression operand;
+
+        private final int op;
+
+        private final double value;
+
+        private final long longValue;
+
+        /** {@code true} if the scalar value is {@code long}. */
+        private final boolean integral;
+
+        ScalarOp(final NumericExpression operand, final int op, final long value) {
+            super(operand.size);
+            this.operand = operand;
+            this.op = op;
+            this.value = value;
+            this.longValue = value;
+            this.integral = true;
+        }
+
+        ScalarOp(final NumericExpression operand, final int op, final double value) {
+            super(operand.size);
+            this.operand = operand;
+            this.op = op;
+            this.value = value;
+            this.longValue = 0;
+            this.integral = false;
+        }
+
+        @Override
+        Result evaluate() {
+            final Result result = operand.evaluate();
+            int from = 0;
+
+            if (result.longs != null && integral && op != DIV) {
+                from = evaluateExact(result.longs);
+
+                if (from == size) {
+                    return result;
+                }
+            }
+
+            // the rows from 'from' are evaluated in double, after the overflowed row if the values were integral.
+            evaluate(result.toDouble().values, from);
+
+            return result;
+        }
+
+        /**
+         *
+         * @param a
+         * @return the index of the row where the operation overflows {@code long}, or {@code size} if there is no overflow.
+         */
+        private int evaluateExact(final long[] a) {
+            int i = 0;
+
+            try {
+                switch (op) {
+                    case ADD:
+                        for (; i < size; i++) {
+                            a[i] = Numbers.addExact(a[i], longValue);
+                        }
+
+                        break;
+
+                    case SUB:
+                        for (; i < size; i++) {
+                            a[i] = Numbers.subtractExact(a[i], longValue);
+                        }
+
+                        break;
+
+                    case MUL:
+                        for (; i < size; i++) {
+                            a[i] = Numbers.multiplyExact(a[i], longValue);
+                        }
+
+                        break;
+
+                    case NEGATE:
+                        for (; i < size; i++) {
+                            a[i] = Numbers.subtractExact(0, a[i]);
+                        }
+
+                        break;
+
+                    default:
+                        for (; i < size; i++) {
+                            a[i] = a[i] < 0 ? Numbers.subtractExact(0, a[i]) : a[i];
+                        }
+                }
+            } catch (ArithmeticException e) {
+                // a[i] is not updated.
+            }
+
+            return i;
+        }
+
+        private void evaluate(final double[] a, final int from) {
+            switch (op) {
+                case ADD:
+                    for (int i = from; i < size; i++) {
+                        a[i] += value;
+                    }
+
+                    break;
+
+                case SUB:
+                    for (int i = from; i < size; i++) {
+                        a[i] -= value;
+                    }
+
+                    break;
+
+                case MUL:
+                    for (int i = from; i < size; i++) {
+                        a[i] *= value;
+                    }
+
+                    break;
+
+                case DIV:
+                    for (int i = from; i < size; i++) {
+                        a[i] /= value;
+                    }
+
+                    break;
+
+                case NEGATE:
+                    for (int i = from; i < size; i++) {
+                        a[i] = -a[i];
+                    }
+
+                    break;
+
+                default:
+                    for (int i = from; i < size; i++) {
+                        a[i] = Math.abs(a[i]);
+                    }
+            }
+        }
+    }
+
+    static final class BinaryOp extends NumericExpression {
+        private final NumericExpression left;
+
+        private final int op;
+
+        private final NumericExpression right;
+
+        BinaryOp(final NumericExpression left, final int op, final ColumnExpression right) {
+            super(left.size);
+            this.left = left;
+            this.op = op;
+            this.right = cast(N.checkArgNotNull(right, "other"));
+
+            if (this.right.size != size) {
+                throw new IllegalArgumentException("The sizes of the expressions are different: " + size + ", " + this.right.size);
+            }
+        }
+
+        @Override
+        Result evaluate() {
+            final Result result = left.evaluate();
+            final Result rightResult = right.evaluate();
+
+            int from = 0;
+
+            if (result.longs != null && rightResult.longs != null && op != DIV) {
+                from = evaluateExact(result.longs, rightResult.longs);
+            }
+
+            if (from < size) {
+                // the rows from 'from' are evaluated in double, after the overflowed row if the values were integral.
+                evaluate(result.toDouble().values, rightResult.toDouble().values, from);
+            }
+
+            if (rightResult.nulls != null) {
+                if (result.nulls == null) {
+                    result.nulls = rightResult.nulls;
+                } else {
+                    result.nulls.or(rightResult.nulls);
+                }
+            }
+
+            return result;
+        }
+
+        /**
+         *
+         * @param a
+         * @param b
+         * @return the index of the row where the operation overflows {@code long}, or {@code size} if there is no overflow.
+         */
+        private int evaluateExact(final long[] a, final long[] b) {
+            int i = 0;
+
+            try {
+                switch (op) {
+                    case ADD:
+                        for (; i < size; i++) {
+                            a[i] = Numbers.addExact(a[i], b[i]);
+                        }
+
+                        break;
+
+                    case SUB:
+                        for (; i < size; i++) {
+                            a[i] = Numbers.subtractExact(a[i], b[i]);
+                        }
+
+                        break;
+
+                    default:
+                        for (; i < size; i++) {
+                            a[i] = Numbers.multiplyExact(a[i], b[i]);
+                        }
+                }
+            } catch (ArithmeticException e) {
+                // a[i] is not updated.
+            }
+
+            return i;
+        }
+
+        private void evaluate(final double[] a, final double[] b, final int from) {
+            switch (op) {
+                case ADD:
+                    for (int i = from; i < size; i++) {
+                        a[i] += b[i];
+                    }
+
+                    break;
+
+                case SUB:
+                    for (int i = from; i < size; i++) {
+                        a[i] -= b[i];
+                    }
+
+                    break;
+
+                case MUL:
+                    for (int i = from; i < size; i++) {
+                        a[i] *= b[i];
+                    }
+
+                    break;
+
+                default:
+                    for (int i = from; i < size; i++) {
+                        a[i] /= b[i];
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,527 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.util.ExceptionUtil;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Wrapper;
+import com.landawn.abacus.util.function.BiConsumer;
+import com.landawn.abacus.util.function.Function;
+import com.landawn.abacus.util.function.IntFunction;
+import com.landawn.abacus.util.function.Supplier;
+import com.landawn.abacus.util.stream.Collector;
+
+/**
+ * The hash partitioned aggregation behind {@code DataSet.parallelGroupBy/parallelRollup/parallelCube}.
+ * <br />
+ * The rows are partitioned by the hash of their grouping key and each partition is aggregated by a task in {@code ForkJoinPool.commonPool()}.
+ * No key is shared by two partitions, so the partial results are merged by just ordering the groups by their first row,
+ * which is the same order as {@code groupBy}.
+ * <br />
+ * The groups of the coarser grouping sets of rollup/cube are derived from the groups of a finer grouping set, instead of hashing the rows again.
+ * Their containers are accumulated from the rows, not combined from the containers of the finer groups, because the combiner
+ * may fold one container into the other, e.g. {@code Collectors.toList()}, and the finer groups are already finished.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+final class PartitionedGroupBy {
+
+    /** The data set is aggregated in the current thread if it has less rows than this. */
+    static final int MIN_PARTITION_SIZE = 8192;
+
+    private static final int NONE = -1;
+
+    private static final Comparator<Group> FIRST_ROW_COMPARATOR = new Comparator<Group>() {
+        @Override
+        public int compare(final Group a, final Group b) {
+            return Integer.compare(a.firstRowIndex, b.firstRowIndex);
+        }
+    };
+
+    private PartitionedGroupBy() {
+        // singleton.
+    }
+
+    /**
+     * Aggregates the rows by all the columns in {@code keyColumns}.
+     *
+     * @param keyColumns
+     * @param size
+     * @param valueGetter returns the value to aggregate of the specified row.
+     * @param collector
+     * @param rowGroups the group of each row is set to it, if it's not {@code null}.
+     * @return the groups in the order of their first row.
+     */
+    static List<Group> aggregate(final List<Object>[] keyColumns, final int size, final IntFunction<?> valueGetter, final Collector<?, ?, ?> collector,
+            final Group[] rowGroups) {
+        @SuppressWarnings("unchecked")
+        final Supplier<Object> supplier = (Supplier<Object>) collector.supplier();
+        @SuppressWarnings("unchecked")
+        final BiConsumer<Object, Object> accumulator = (BiConsumer<Object, Object>) collector.accumulator();
+
+        final int partitionCount = partitionCount(size);
+        final int[] hashes = new int[size];
+
+        if (partitionCount == 1) {
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                hashes[rowIndex] = JoinIndex.hash(keyColumns, rowIndex);
+            }
+
+            return aggregate(keyColumns, hashes, null, 0, size, valueGetter, supplier, accumulator, rowGroups);
+        }
+
+        final List<Callable<Void>> hashTasks = new ArrayList<>(partitionCount);
+        final int chunkSize = (size + partitionCount - 1) / partitionCount;
+
+        for (int i = 0; i < partitionCount; i++) {
+            final int fromRowIndex = i * chunkSize;
+            final int toRowIndex = N.min(size, fromRowIndex + chunkSize);
+
+            hashTasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    for (int rowIndex = fromRowIndex; rowIndex < toRowIndex; rowIndex++) {
+                        hashes[rowIndex] = JoinIndex.hash(keyColumns, rowIndex);
+                    }
+
+                    return null;
+                }
+            });
+        }
+
+        invokeAll(hashTasks);
+
+        // counting sort the rows by partition. the rows in each partition are still in the order of row index.
+        final int[] offsets = new int[partitionCount + 1];
+
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            offsets[partition(hashes[rowIndex], partitionCount) + 1]++;
+        }
+
+        for (int i = 0; i < partitionCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        final int[] positions = Arrays.copyOf(offsets, partitionCount);
+        final int[] rowIndexes = new int[size];
+
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            rowIndexes[positions[partition(hashes[rowIndex], partitionCount)]++] = rowIndex;
+        }
+
+        final List<Callable<List<Group>>> aggregateTasks = new ArrayList<>(partitionCount);
+
+        for (int i = 0; i < partitionCount; i++) {
+            final int fromIndex = offsets[i];
+            final int toIndex = offsets[i + 1];
+
+            aggregateTasks.add(new Callable<List<Group>>() {
+                @Override
+                public List<Group> call() {
+                    return aggregate(keyColumns, hashes, rowIndexes, fromIndex, toIndex, valueGetter, supplier, accumulator, rowGroups);
+                }
+            });
+        }
+
+        final List<List<Group>> partitions = invokeAll(aggregateTasks);
+        int groupCount = 0;
+
+        for (List<Group> groups : partitions) {
+            groupCount += groups.size();
+        }
+
+        final List<Group> result = new ArrayList<>(groupCount);
+
+        for (List<Group> groups : partitions) {
+            result.addAll(groups);
+        }
+
+        N.sort(result, FIRST_ROW_COMPARATOR);
+
+        return result;
+    }
+
+    /**
+     *
+     * @param keyColumns
+     * @param hashes
+     * @param rowIndexes the rows to aggregate, or {@code null} for all the rows from {@code fromIndex} to {@code toIndex}.
+     * @param fromIndex
+     * @param toIndex
+     * @param valueGetter
+     * @param supplier
+     * @param accumulator
+     * @param rowGroups
+     * @return
+     */
+    private static List<Group> aggregate(final List<Object>[] keyColumns, final int[] hashes, final int[] rowIndexes, final int fromIndex, final int toIndex,
+            final IntFunction<?> valueGetter, final Supplier<Object> supplier, final BiConsumer<Object, Object> accumulator, final Group[] rowGroups) {
+        final int capacity = tableSizeFor(toIndex - fromIndex);
+        final int mask = capacity - 1;
+        final int[] slots = new int[capacity];
+        final List<Group> groups = new ArrayList<>();
+        Group group = null;
+        int rowIndex = 0;
+        int hash = 0;
+        int slot = 0;
+
+        Arrays.fill(slots, NONE);
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            rowIndex = rowIndexes == null ? i : rowIndexes[i];
+            hash = hashes[rowIndex];
+            slot = hash & mask;
+
+            while (true) {
+                if (slots[slot] == NONE) {
+                    group = new Group(getKeys(keyColumns, rowIndex), hash, rowIndex, supplier.get());
+                    slots[slot] = groups.size();
+                    groups.add(group);
+                    break;
+                }
+
+                group = groups.get(slots[slot]);
+
+                if (group.hash == hash && JoinIndex.equals(keyColumns, group.firstRowIndex, keyColumns, rowIndex)) {
+                    break;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            accumulator.accept(group.container, valueGetter.apply(rowIndex));
+
+            if (rowGroups != null) {
+                rowGroups[rowIndex] = group;
+            }
+        }
+
+        return groups;
+    }
+
+    /**
+     * Aggregates the specified grouping sets. The grouping set with all the key columns is aggregated from the rows,
+     * and the groups of each of the others are derived from the grouping set which has the least groups in the grouping sets with one more key column.
+     *
+     * @param keyColumnNames
+     * @param keyColumns
+     * @param size
+     * @param groupingSets each grouping set is a subset of {@code keyColumnNames}.
+     * @param aggregateResultColumnName
+     * @param valueGetter
+     * @param collector
+     * @return a {@code DataSet} for each grouping set, in the same order as {@code groupingSets}.
+     */
+    static List<DataSet> aggregate(final List<String> keyColumnNames, final List<Object>[] keyColumns, final int size,
+            final List<? extends Collection<String>> groupingSets, final String aggregateResultColumnName, final IntFunction<?> valueGetter,
+            final Collector<?, ?, ?> collector) {
+        final int keyColumnCount = keyColumnNames.size();
+
+        N.checkArgument(keyColumnCount < 64, "Too many columns to group by: {}", keyColumnCount);
+
+        @SuppressWarnings("unchecked")
+        final Supplier<Object> supplier = (Supplier<Object>) collector.supplier();
+        @SuppressWarnings("unchecked")
+        final BiConsumer<Object, Object> accumulator = (BiConsumer<Object, Object>) collector.accumulator();
+        @SuppressWarnings("unchecked")
+        final Function<Object, Object> finisher = (Function<Object, Object>) collector.finisher();
+
+        final long[] masks = new long[groupingSets.size()];
+
+        for (int i = 0, len = groupingSets.size(); i < len; i++) {
+            for (String columnName : groupingSets.get(i)) {
+                masks[i] |= 1L << keyColumnNames.indexOf(columnName);
+            }
+        }
+
+        final DataSet[] result = new DataSet[groupingSets.size()];
+        final long fullMask = keyColumnCount == 0 ? 0 : -1L >>> (64 - keyColumnCount);
+        final Group[] rowGroups = new Group[size];
+        final List<Group> finestGroups = aggregate(keyColumns, size, valueGetter, collector, rowGroups);
+        final int[] finestGroupIndexes = new int[finestGroups.size()];
+
+        for (int i = 0, len = finestGroups.size(); i < len; i++) {
+            finestGroups.get(i).index = i;
+            finestGroupIndexes[i] = i;
+        }
+
+        Map<Long, Level> finer = new HashMap<>();
+        finer.put(fullMask, new Level(finestGroups, finestGroupIndexes));
+
+        for (int level = keyColumnCount; level >= 0; level--) {
+            final Map<Long, Level> parents = finer;
+            final List<Long> levelMasks = new ArrayList<>();
+            final List<Callable<Level>> tasks = new ArrayList<>();
+
+            for (long mask : masks) {
+                if (Long.bitCount(mask) != level || mask == fullMask || levelMasks.contains(mask)) {
+                    continue;
+                }
+
+                levelMasks.add(mask);
+
+                tasks.add(new Callable<Level>() {
+                    @Override
+                    public Level call() {
+                        long parentMask = 0;
+                        Level parent = null;
+
+                        for (Map.Entry<Long, Level> entry : parents.entrySet()) {
+                            if ((entry.getKey() & mask) == mask && (parent == null || entry.getValue().groups.size() < parent.groups.size())) {
+                                parentMask = entry.getKey();
+                                parent = entry.getValue();
+                            }
+                        }
+
+                        return derive(parent, keyIndexes(parentMask, mask), rowGroups, valueGetter, supplier, accumulator);
+                    }
+                });
+            }
+
+            if (tasks.size() > 0) {
+                final List<Level> levels = tasks.size() == 1 ? N.asList(call(tasks.get(0))) : invokeAll(tasks);
+                finer = new HashMap<>();
+
+                for (int i = 0, len = levelMasks.size(); i < len; i++) {
+                    finer.put(levelMasks.get(i), levels.get(i));
+                }
+            }
+
+            // if there is no grouping set at this level, the finer grouping sets are kept to derive the coarser ones.
+            for (int i = 0, len = masks.length; i < len; i++) {
+                if (Long.bitCount(masks[i]) == level) {
+                    result[i] = toDataSet(keyColumnNames, masks[i], aggregateResultColumnName, finer.get(masks[i]).groups, finisher);
+                }
+            }
+        }
+
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Derives the groups of a coarser grouping set from the groups of a finer one, and accumulates their containers from the rows.
+     *
+     * @param parent the groups in the order of their first row.
+     * @param keyIndexes the indexes of the keys of the coarser grouping set in the keys of the groups of {@code parent}.
+     * @param rowGroups the group of each row in the grouping set with all the key columns.
+     * @param valueGetter
+     * @param supplier
+     * @param accumulator
+     * @return the groups in the order of their first row.
+     */
+    static Level derive(final Level parent, final int[] keyIndexes, final Group[] rowGroups, final IntFunction<?> valueGetter, final Supplier<Object> supplier,
+            final BiConsumer<Object, Object> accumulator) {
+        final Map<Wrapper<Object[]>, Integer> groupIndexMap = new HashMap<>();
+        final List<Group> groups = new ArrayList<>();
+        final int[] parentGroupIndexes = new int[parent.groups.size()];
+        Object[] keys = null;
+        Wrapper<Object[]> key = null;
+        Integer groupIndex = null;
+        Group parentGroup = null;
+
+        for (int i = 0, len = parent.groups.size(); i < len; i++) {
+            parentGroup = parent.groups.get(i);
+            keys = new Object[keyIndexes.length];
+
+            for (int j = 0; j < keyIndexes.length; j++) {
+                keys[j] = parentGroup.keys[keyIndexes[j]];
+            }
+
+            key = Wrapper.of(keys);
+            groupIndex = groupIndexMap.get(key);
+
+            if (groupIndex == null) {
+                // the groups of parent are in the order of their first row, so is the result.
+                groupIndex = groups.size();
+                groupIndexMap.put(key, groupIndex);
+                groups.add(new Group(keys, 0, parentGroup.firstRowIndex, supplier.get()));
+            }
+
+            parentGroupIndexes[i] = groupIndex;
+        }
+
+        final int[] groupIndexes = new int[parent.groupIndexes.length];
+
+        for (int i = 0, len = groupIndexes.length; i < len; i++) {
+            groupIndexes[i] = parentGroupIndexes[parent.groupIndexes[i]];
+        }
+
+        final Object[] containers = new Object[groups.size()];
+
+        for (int i = 0, len = containers.length; i < len; i++) {
+            containers[i] = groups.get(i).container;
+        }
+
+        for (int rowIndex = 0, len = rowGroups.length; rowIndex < len; rowIndex++) {
+            accumulator.accept(containers[groupIndexes[rowGroups[rowIndex].index]], valueGetter.apply(rowIndex));
+        }
+
+        return new Level(groups, groupIndexes);
+    }
+
+    private static DataSet toDataSet(final List<String> keyColumnNames, final long mask, final String aggregateResultColumnName, final List<Group> groups,
+            final Function<Object, Object> finisher) {
+        final List<String> newColumnNameList = new ArrayList<>(Long.bitCount(mask) + 1);
+
+        for (int i = 0, len = keyColumnNames.size(); i < len; i++) {
+            if ((mask & (1L << i)) != 0) {
+                newColumnNameList.add(keyColumnNames.get(i));
+            }
+        }
+
+        newColumnNameList.add(aggregateResultColumnName);
+
+        final int groupCount = groups.size();
+        final int keyCount = newColumnNameList.size() - 1;
+        final List<List<Object>> newColumnList = new ArrayList<>(newColumnNameList.size());
+
+        for (int i = 0; i <= keyCount; i++) {
+            newColumnList.add(new ArrayList<>(groupCount));
+        }
+
+        final List<Object> aggResultColumn = newColumnList.get(keyCount);
+
+        for (Group group : groups) {
+            for (int i = 0; i < keyCount; i++) {
+                newColumnList.get(i).add(group.keys[i]);
+            }
+
+            aggResultColumn.add(finisher.apply(group.container));
+        }
+
+        return new RowDataSet(newColumnNameList, newColumnList);
+    }
+
+    private static int[] keyIndexes(final long parentMask, final long mask) {
+        final int[] keyIndexes = new int[Long.bitCount(mask)];
+
+        for (int bit = 0, parentIndex = 0, index = 0; bit < 64; bit++) {
+            if ((parentMask & (1L << bit)) != 0) {
+                if ((mask & (1L << bit)) != 0) {
+                    keyIndexes[index++] = parentIndex;
+                }
+
+                parentIndex++;
+            }
+        }
+
+        return keyIndexes;
+    }
+
+    private static Object[] getKeys(final List<Object>[] keyColumns, final int rowIndex) {
+        final Object[] keys = new Object[keyColumns.length];
+
+        for (int i = 0, len = keyColumns.length; i < len; i++) {
+            keys[i] = keyColumns[i].get(rowIndex);
+        }
+
+        return keys;
+    }
+
+    private static int partitionCount(final int size) {
+        return N.max(1, N.min(ForkJoinPool.getCommonPoolParallelism(), size / MIN_PARTITION_SIZE));
+    }
+
+    private static int partition(final int hash, final int partitionCount) {
+        // by the high bits of the scrambled hash, so the low bits used to locate the slot are still evenly distributed in each partition.
+        return (int) (((hash * 0x9E3779B9) & 0xFFFFFFFFL) * partitionCount >>> 32);
+    }
+
+    private static int tableSizeFor(final int size) {
+        final long expected = N.max(16L, size * 2L);
+
+        return expected >= (1 << 30) ? (1 << 30) : Integer.highestOneBit((int) expected - 1) << 1;
+    }
+
+    private static <T> List<T> invokeAll(final List<? extends Callable<T>> tasks) {
+        final List<Future<T>> futures = ForkJoinPool.commonPool().invokeAll(tasks);
+        final List<T> result = new ArrayList<>(futures.size());
+
+        try {
+            for (Future<T> future : futures) {
+                result.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ExceptionUtil.toRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw ExceptionUtil.toRuntimeException(e.getCause());
+        }
+
+        return result;
+    }
+
+    private static <T> T call(final Callable<T> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw ExceptionUtil.toRuntimeException(e);
+        }
+    }
+
+    /**
+     * The key and aggregation container of a group.
+     */
+    static final class Group {
+        final Object[] keys;
+
+        final int hash;
+
+        final int firstRowIndex;
+
+        Object container;
+
+        /** The index in the groups of the grouping set with all the key columns. */
+        int index;
+
+        Group(final Object[] keys, final int hash, final int firstRowIndex, final Object container) {
+            this.keys = keys;
+            this.hash = hash;
+            this.firstRowIndex = firstRowIndex;
+            this.container = container;
+        }
+    }
+
+    /**
+     * The groups of a grouping set.
+     */
+    static final class Level {
+        final List<Group> groups;
+
+        /** The index of the group in {@code groups} of each group in the grouping set with all the key columns. */
+        final int[] groupIndexes;
+
+        Level(final List<Group> groups, final int[] groupIndexes) {
+            this.groups = groups;
+            this.groupIndexes = groupIndexes;
+        }
+    }
+}
@@ -0,0 +1,1452 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.landawn.abacus.util.BooleanList;
+import com.landawn.abacus.util.ByteList;
+import com.landawn.abacus.util.CharList;
+import com.landawn.abacus.util.ClassUtil;
+import com.landawn.abacus.util.DoubleList;
+import com.landawn.abacus.util.FloatList;
+import com.landawn.abacus.util.IntList;
+import com.landawn.abacus.util.LongList;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.PrimitiveList;
+import com.landawn.abacus.util.ShortList;
+
+/**
+ * A column of {@code DataSet} which keeps its values in a {@code PrimitiveList}({@code IntList}/{@code LongList}/{@code DoubleList}...) instead of boxing every cell.
+ * <br />
+ * {@code null} cells are tracked by a {@code BitSet} which is only created when the first {@code null} is set,
+ * and the primitive getters({@code getInt}/{@code getLong}/{@code getDouble}...) read {@code 0}/{@code false} for them, same as {@code RowDataSet} does.
+ *
+ * @author Haiyang Li
+ * @param <L>
+ * @since 2.3.12
+ */
+abstract class PrimitiveColumn<L extends PrimitiveList<?, ?, L>> extends AbstractList<Object> implements RandomAccess {
+
+    L values;
+
+    BitSet nulls;
+
+    PrimitiveColumn(final L values) {
+        this.values = values;
+    }
+
+    /**
+     * Checks if the values of the specified class can be stored in a {@code PrimitiveColumn}.
+     *
+     * @param cls
+     * @return
+     */
+    static boolean isSupported(final Class<?> cls) {
+        return cls != null && N.unwrap(cls).isPrimitive() && cls != void.class && cls != Void.class;
+    }
+
+    /**
+     *
+     * @param cls primitive type or its wrapper type.
+     * @param initialCapacity
+     * @return
+     */
+    static PrimitiveColumn<?> of(final Class<?> cls, final int initialCapacity) {
+        final Class<?> primitiveClass = N.unwrap(cls);
+
+        if (primitiveClass == int.class) {
+            return new IntColumn(initialCapacity);
+        } else if (primitiveClass == long.class) {
+            return new LongColumn(initialCapacity);
+        } else if (primitiveClass == double.class) {
+            return new DoubleColumn(initialCapacity);
+        } else if (primitiveClass == float.class) {
+            return new FloatColumn(initialCapacity);
+        } else if (primitiveClass == short.class) {
+            return new ShortColumn(initialCapacity);
+        } else if (primitiveClass == byte.class) {
+            return new ByteColumn(initialCapacity);
+        } else if (primitiveClass == char.class) {
+            return new CharColumn(initialCapacity);
+        } else if (primitiveClass == boolean.class) {
+            return new BooleanColumn(initialCapacity);
+        } else {
+            throw new IllegalArgumentException("Unsupported column type: " + ClassUtil.getCanonicalClassName(cls));
+        }
+    }
+
+    /**
+     *
+     * @param cls primitive type or its wrapper type.
+     * @param c
+     * @return
+     */
+    static PrimitiveColumn<?> of(final Class<?> cls, final Collection<?> c) {
+        final PrimitiveColumn<?> column = of(cls, c.size());
+
+        for (Object e : c) {
+            column.add(e);
+        }
+
+        return column;
+    }
+
+    /**
+     * The primitive type of the values stored in this column.
+     *
+     * @return
+     */
+    abstract Class<?> elementClass();
+
+    /**
+     * Checks if the specified value can be stored in this column as it is: it's {@code null} or the wrapper of the primitive type.
+     * The other values, e.g. a {@code Long} for an int column, are not converted, because it may lose precision or change the value type.
+     *
+     * @param value
+     * @return
+     */
+    abstract boolean accepts(Object value);
+
+    /**
+     * Returns the boxed value at the specified index, without checking if it's {@code null}.
+     *
+     * @param index
+     * @return
+     */
+    abstract Object valueAt(int index);
+
+    /**
+     * Sets the value at the specified index, which must be accepted by {@link #accepts(Object)}. {@code null} is stored as the default value of the primitive type.
+     *
+     * @param index
+     * @param value
+     */
+    abstract void setValue(int index, Object value);
+
+    /**
+     * Inserts the value at the specified index, which must be accepted by {@link #accepts(Object)}. {@code null} is stored as the default value of the primitive type.
+     *
+     * @param index
+     * @param value
+     */
+    abstract void addValue(int index, Object value);
+
+    /**
+     * Appends the primitive value at {@code fromIndex} of {@code from}, which has the same element class, without boxing it.
+     *
+     * @param from
+     * @param fromIndex
+     */
+    abstract void addRawValue(PrimitiveColumn<?> from, int fromIndex);
+
+    /**
+     * Returns a new list with the values at the specified indexes.
+     *
+     * @param indexes
+     * @return
+     */
+    abstract L gather(int[] indexes);
+
+    /**
+     *
+     * @param values
+     * @return a new column of the same type backed by the specified {@code values}.
+     */
+    abstract PrimitiveColumn<L> wrap(L values);
+
+    /**
+     *
+     * @param initialCapacity
+     * @return a new empty column of the same type.
+     */
+    abstract PrimitiveColumn<L> newInstance(int initialCapacity);
+
+    /**
+     * Checks if is null.
+     *
+     * @param index
+     * @return true, if is null
+     */
+    final boolean isNull(final int index) {
+        return nulls != null && nulls.get(index);
+    }
+
+    boolean getBoolean(final int index) {
+        final Object val = get(index);
+
+        return val == null ? false : (Boolean) val;
+    }
+
+    char getChar(final int index) {
+        final Object val = get(index);
+
+        return val == null ? 0 : (Character) val;
+    }
+
+    byte getByte(final int index) {
+        final Object val = get(index);
+
+        return val == null ? 0 : ((Number) val).byteValue();
+    }
+
+    short getShort(final int index) {
+        final Object val = get(index);
+
+        return val == null ? 0 : ((Number) val).shortValue();
+    }
+
+    int getInt(final int index) {
+        final Object val = get(index);
+
+        return val == null ? 0 : ((Number) val).intValue();
+    }
+
+    long getLong(final int index) {
+        final Object val = get(index);
+
+        return val == null ? 0L : ((Number) val).longValue();
+    }
+
+    float getFloat(final int index) {
+        final Object val = get(index);
+
+        return val == null ? 0f : ((Number) val).floatValue();
+    }
+
+    double getDouble(final int index) {
+        final Object val = get(index);
+
+        return val == null ? 0d : ((Number) val).doubleValue();
+    }
+
+    /**
+     *
+     * @return a new array with the values converted to {@code long}. The value is {@code 0} if it's {@code null}.
+     */
+    long[] toLongArray() {
+        final int size = size();
+        final long[] result = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            result[i] = getLong(i);
+        }
+
+        return result;
+    }
+
+    /**
+     *
+     * @return a new array with the values converted to {@code double}. The value is {@code 0} if it's {@code null}.
+     */
+    double[] toDoubleArray() {
+        final int size = size();
+        final double[] result = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            result[i] = getDouble(i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the hash code of the value at the specified index, which is same as the hash code of the boxed value.
+     *
+     * @param index
+     * @return
+     */
+    int hashCode(final int index) {
+        return N.hashCode(get(index));
+    }
+
+    /**
+     * Checks if the value at {@code index} is equal to the value at {@code otherIndex} of {@code other}, which has the same element class.
+     *
+     * @param index
+     * @param other
+     * @param otherIndex
+     * @return
+     */
+    final boolean equals(final int index, final PrimitiveColumn<?> other, final int otherIndex) {
+        final boolean isNull = isNull(index);
+
+        if (isNull != other.isNull(otherIndex)) {
+            return false;
+        }
+
+        return isNull || rawEquals(index, other, otherIndex);
+    }
+
+    /**
+     * Compares the primitive values without checking {@code null}.
+     *
+     * @param index
+     * @param other
+     * @param otherIndex
+     * @return
+     */
+    abstract boolean rawEquals(int index, PrimitiveColumn<?> other, int otherIndex);
+
+    /**
+     * Returns the row indexes of this column sorted by natural order ({@code null} first), or {@code null} if it's not supported by this column.
+     *
+     * @param isParallelSort
+     * @return
+     */
+    int[] sortedIndexes(final boolean isParallelSort) {
+        return null;
+    }
+
+    @Override
+    public Object get(final int index) {
+        return isNull(index) ? null : valueAt(index);
+    }
+
+    @Override
+    public Object set(final int index, final Object element) {
+        checkValue(element);
+
+        final Object oldValue = get(index);
+
+        setValue(index, element);
+        setNull(index, element == null);
+
+        return oldValue;
+    }
+
+    @Override
+    public void add(final int index, final Object element) {
+        checkValue(element);
+
+        addValue(index, element);
+
+        shiftNulls(index, 1);
+        setNull(index, element == null);
+
+        modCount++;
+    }
+
+    /**
+     * Appends the value at {@code fromIndex} of the specified column, without boxing it if it's a {@code PrimitiveColumn} with the same element class.
+     *
+     * @param from
+     * @param fromIndex
+     */
+    final void addFrom(final List<Object> from, final int fromIndex) {
+        if (from instanceof PrimitiveColumn && ((PrimitiveColumn<?>) from).elementClass() == elementClass()) {
+            final PrimitiveColumn<?> column = (PrimitiveColumn<?>) from;
+
+            addRawValue(column, fromIndex);
+
+            if (column.isNull(fromIndex)) {
+                setNull(values.size() - 1, true);
+            }
+
+            modCount++;
+        } else {
+            add(from.get(fromIndex));
+        }
+    }
+
+    private void checkValue(final Object value) {
+        if (accepts(value) == false) {
+            throw new IllegalArgumentException("Can't store the value of " + ClassUtil.getCanonicalClassName(value.getClass()) + " in the column of "
+                    + elementClass() + " without converting it");
+        }
+    }
+
+    @Override
+    public Object remove(final int index) {
+        final Object oldValue = get(index);
+
+        values.deleteRange(index, index + 1);
+        shiftNulls(index + 1, -1);
+
+        modCount++;
+
+        return oldValue;
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+
+        values.deleteRange(fromIndex, toIndex);
+        shiftNulls(toIndex, fromIndex - toIndex);
+
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        values.clear();
+        nulls = null;
+
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     *
+     * @param fromIndex
+     * @param toIndex
+     * @return a copy of the values in the specified range.
+     */
+    final PrimitiveColumn<L> copy(final int fromIndex, final int toIndex) {
+        final PrimitiveColumn<L> copy = wrap(values.copy(fromIndex, toIndex));
+
+        if (nulls != null && nulls.nextSetBit(fromIndex) >= 0) {
+            copy.nulls = nulls.get(fromIndex, toIndex);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Rearranges the values in this column so that the value at index {@code i} is the one at {@code indexes[i]} before.
+     *
+     * @param indexes
+     */
+    final void reorder(final int[] indexes) {
+        values = gather(indexes);
+        nulls = gatherNulls(indexes);
+
+        modCount++;
+    }
+
+    /**
+     *
+     * @param indexes
+     * @return a new column with the values at the specified indexes.
+     */
+    final PrimitiveColumn<L> select(final int[] indexes) {
+        final PrimitiveColumn<L> result = wrap(gather(indexes));
+        result.nulls = gatherNulls(indexes);
+
+        return result;
+    }
+
+    private BitSet gatherNulls(final int[] indexes) {
+        if (nulls == null) {
+            return null;
+        }
+
+        final BitSet newNulls = new BitSet();
+
+        for (int i = 0, len = indexes.length; i < len; i++) {
+            if (nulls.get(indexes[i])) {
+                newNulls.set(i);
+            }
+        }
+
+        return newNulls;
+    }
+
+    void trimToSize() {
+        values.trimToSize();
+    }
+
+    private void setNull(final int index, final boolean isNull) {
+        if (isNull) {
+            if (nulls == null) {
+                nulls = new BitSet();
+            }
+
+            nulls.set(index);
+        } else if (nulls != null) {
+            nulls.clear(index);
+        }
+    }
+
+    /**
+     * Moves the {@code null} flags at and after {@code fromIndex} by {@code distance}.
+     * The flags in {@code [fromIndex + distance, fromIndex)} are dropped if {@code distance} is negative.
+     *
+     * @param fromIndex
+     * @param distance
+     */
+    private void shiftNulls(final int fromIndex, final int distance) {
+        if (nulls == null) {
+            return;
+        }
+
+        if (distance < 0) {
+            nulls.clear(fromIndex + distance, fromIndex);
+        }
+
+        final int len = nulls.length();
+
+        if (fromIndex >= len) {
+            return;
+        }
+
+        final BitSet tail = nulls.get(fromIndex, len);
+        nulls.clear(N.min(fromIndex, fromIndex + distance), len);
+
+        for (int i = tail.nextSetBit(0); i >= 0; i = tail.nextSetBit(i + 1)) {
+            nulls.set(fromIndex + distance + i);
+        }
+    }
+
+    /**
+     * Sorts the row indexes by the int keys, which are packed with the row indexes into {@code long} values, so no object is created for each row.
+     *
+     * @param keys
+     * @param nulls
+     * @param isParallelSort
+     * @return
+     */
+    static int[] sortByIntKey(final int[] keys, final int size, final BitSet nulls, final boolean isParallelSort) {
+        final int[] indexes = new int[size];
+        final long[] packed = new long[size];
+        int nullCount = 0;
+        int cnt = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (nulls != null && nulls.get(i)) {
+                indexes[nullCount++] = i;
+            } else {
+                packed[cnt++] = (((long) keys[i]) << 32) | i;
+            }
+        }
+
+        if (isParallelSort) {
+            N.parallelSort(packed, 0, cnt);
+        } else {
+            N.sort(packed, 0, cnt);
+        }
+
+        for (int i = 0; i < cnt; i++) {
+            indexes[nullCount + i] = (int) packed[i];
+        }
+
+        return indexes;
+    }
+
+    static final class IntColumn extends PrimitiveColumn<IntList> {
+        // For Kryo
+        IntColumn() {
+            this(new IntList());
+        }
+
+        IntColumn(final int initialCapacity) {
+            super(new IntList(initialCapacity));
+        }
+
+        IntColumn(final IntList values) {
+            super(values);
+        }
+
+        @Override
+        Class<?> elementClass() {
+            return int.class;
+        }
+
+        @Override
+        boolean accepts(final Object value) {
+            return value == null || value instanceof Integer;
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        void setValue(final int index, final Object value) {
+            values.set(index, toInt(value));
+        }
+
+        @Override
+        void addValue(final int index, final Object value) {
+            values.add(index, toInt(value));
+        }
+
+        @Override
+        void addRawValue(final PrimitiveColumn<?> from, final int fromIndex) {
+            values.add(((IntColumn) from).values.get(fromIndex));
+        }
+
+        @Override
+        IntList gather(final int[] indexes) {
+            final int[] a = values.array();
+            final int[] b = new int[indexes.length];
+
+            for (int i = 0, len = indexes.length; i < len; i++) {
+                b[i] = a[indexes[i]];
+            }
+
+            return IntList.of(b);
+        }
+
+        @Override
+        IntColumn wrap(final IntList values) {
+            return new IntColumn(values);
+        }
+
+        @Override
+        IntColumn newInstance(final int initialCapacity) {
+            return new IntColumn(initialCapacity);
+        }
+
+        @Override
+        byte getByte(final int index) {
+            return (byte) values.get(index);
+        }
+
+        @Override
+        short getShort(final int index) {
+            return (short) values.get(index);
+        }
+
+        @Override
+        int getInt(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        long getLong(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        float getFloat(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        double getDouble(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        long[] toLongArray() {
+            final int[] a = values.array();
+            final long[] result = new long[values.size()];
+
+            for (int i = 0, len = result.length; i < len; i++) {
+                result[i] = a[i];
+            }
+
+            return result;
+        }
+
+        @Override
+        double[] toDoubleArray() {
+            final int[] a = values.array();
+            final double[] result = new double[values.size()];
+
+            for (int i = 0, len = result.length; i < len; i++) {
+                result[i] = a[i];
+            }
+
+            return result;
+        }
+
+        @Override
+        int hashCode(final int index) {
+            return isNull(index) ? 0 : Integer.hashCode(values.get(index));
+        }
+
+        @Override
+        boolean rawEquals(final int index, final PrimitiveColumn<?> other, final int otherIndex) {
+            return values.get(index) == ((IntColumn) other).values.get(otherIndex);
+        }
+
+        @Override
+        int[] sortedIndexes(final boolean isParallelSort) {
+            return sortByIntKey(values.array(), values.size(), nulls, isParallelSort);
+        }
+
+        private static int toInt(final Object value) {
+            return value == null ? 0 : (Integer) value;
+        }
+    }
+
+    static final class LongColumn extends PrimitiveColumn<LongList> {
+        // For Kryo
+        LongColumn() {
+            this(new LongList());
+        }
+
+        LongColumn(final int initialCapacity) {
+            super(new LongList(initialCapacity));
+        }
+
+        LongColumn(final LongList values) {
+            super(values);
+        }
+
+        @Override
+        Class<?> elementClass() {
+            return long.class;
+        }
+
+        @Override
+        boolean accepts(final Object value) {
+            return value == null || value instanceof Long;
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        void setValue(final int index, final Object value) {
+            values.set(index, toLong(value));
+        }
+
+        @Override
+        void addValue(final int index, final Object value) {
+            values.add(index, toLong(value));
+        }
+
+        @Override
+        void addRawValue(final PrimitiveColumn<?> from, final int fromIndex) {
+            values.add(((LongColumn) from).values.get(fromIndex));
+        }
+
+        @Override
+        LongList gather(final int[] indexes) {
+            final long[] a = values.array();
+            final long[] b = new long[indexes.length];
+
+            for (int i = 0, len = indexes.length; i < len; i++) {
+                b[i] = a[indexes[i]];
+            }
+
+            return LongList.of(b);
+        }
+
+        @Override
+        LongColumn wrap(final LongList values) {
+            return new LongColumn(values);
+        }
+
+        @Override
+        LongColumn newInstance(final int initialCapacity) {
+            return new LongColumn(initialCapacity);
+        }
+
+        @Override
+        byte getByte(final int index) {
+            return (byte) values.get(index);
+        }
+
+        @Override
+        short getShort(final int index) {
+            return (short) values.get(index);
+        }
+
+        @Override
+        int getInt(final int index) {
+            return (int) values.get(index);
+        }
+
+        @Override
+        long getLong(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        float getFloat(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        double getDouble(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        long[] toLongArray() {
+            return Arrays.copyOf(values.array(), values.size());
+        }
+
+        @Override
+        double[] toDoubleArray() {
+            final long[] a = values.array();
+            final double[] result = new double[values.size()];
+
+            for (int i = 0, len = result.length; i < len; i++) {
+                result[i] = a[i];
+            }
+
+            return result;
+        }
+
+        @Override
+        int hashCode(final int index) {
+            return isNull(index) ? 0 : Long.hashCode(values.get(index));
+        }
+
+        @Override
+        boolean rawEquals(final int index, final PrimitiveColumn<?> other, final int otherIndex) {
+            return values.get(index) == ((LongColumn) other).values.get(otherIndex);
+        }
+
+        private static long toLong(final Object value) {
+            return value == null ? 0 : (Long) value;
+        }
+    }
+
+    static final class DoubleColumn extends PrimitiveColumn<DoubleList> {
+        // For Kryo
+        DoubleColumn() {
+            this(new DoubleList());
+        }
+
+        DoubleColumn(final int initialCapacity) {
+            super(new DoubleList(initialCapacity));
+        }
+
+        DoubleColumn(final DoubleList values) {
+            super(values);
+        }
+
+        @Override
+        Class<?> elementClass() {
+            return double.class;
+        }
+
+        @Override
+        boolean accepts(final Object value) {
+            return value == null || value instanceof Double;
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        void setValue(final int index, final Object value) {
+            values.set(index, toDouble(value));
+        }
+
+        @Override
+        void addValue(final int index, final Object value) {
+            values.add(index, toDouble(value));
+        }
+
+        @Override
+        void addRawValue(final PrimitiveColumn<?> from, final int fromIndex) {
+            values.add(((DoubleColumn) from).values.get(fromIndex));
+        }
+
+        @Override
+        DoubleList gather(final int[] indexes) {
+            final double[] a = values.array();
+            final double[] b = new double[indexes.length];
+
+            for (int i = 0, len = indexes.length; i < len; i++) {
+                b[i] = a[indexes[i]];
+            }
+
+            return DoubleList.of(b);
+        }
+
+        @Override
+        DoubleColumn wrap(final DoubleList values) {
+            return new DoubleColumn(values);
+        }
+
+        @Override
+        DoubleColumn newInstance(final int initialCapacity) {
+            return new DoubleColumn(initialCapacity);
+        }
+
+        @Override
+        byte getByte(final int index) {
+            return (byte) values.get(index);
+        }
+
+        @Override
+        short getShort(final int index) {
+            return (short) values.get(index);
+        }
+
+        @Override
+        int getInt(final int index) {
+            return (int) values.get(index);
+        }
+
+        @Override
+        long getLong(final int index) {
+            return (long) values.get(index);
+        }
+
+        @Override
+        float getFloat(final int index) {
+            return (float) values.get(index);
+        }
+
+        @Override
+        double getDouble(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        double[] toDoubleArray() {
+            return Arrays.copyOf(values.array(), values.size());
+        }
+
+        @Override
+        int hashCode(final int index) {
+            return isNull(index) ? 0 : Double.hashCode(values.get(index));
+        }
+
+        @Override
+        boolean rawEquals(final int index, final PrimitiveColumn<?> other, final int otherIndex) {
+            return Double.doubleToLongBits(values.get(index)) == Double.doubleToLongBits(((DoubleColumn) other).values.get(otherIndex));
+        }
+
+        private static double toDouble(final Object value) {
+            return value == null ? 0 : (Double) value;
+        }
+    }
+
+    static final class FloatColumn extends PrimitiveColumn<FloatList> {
+        // For Kryo
+        FloatColumn() {
+            this(new FloatList());
+        }
+
+        FloatColumn(final int initialCapacity) {
+            super(new FloatList(initialCapacity));
+        }
+
+        FloatColumn(final FloatList values) {
+            super(values);
+        }
+
+        @Override
+        Class<?> elementClass() {
+            return float.class;
+        }
+
+        @Override
+        boolean accepts(final Object value) {
+            return value == null || value instanceof Float;
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        void setValue(final int index, final Object value) {
+            values.set(index, toFloat(value));
+        }
+
+        @Override
+        void addValue(final int index, final Object value) {
+            values.add(index, toFloat(value));
+        }
+
+        @Override
+        void addRawValue(final PrimitiveColumn<?> from, final int fromIndex) {
+            values.add(((FloatColumn) from).values.get(fromIndex));
+        }
+
+        @Override
+        FloatList gather(final int[] indexes) {
+            final float[] a = values.array();
+            final float[] b = new float[indexes.length];
+
+            for (int i = 0, len = indexes.length; i < len; i++) {
+                b[i] = a[indexes[i]];
+            }
+
+            return FloatList.of(b);
+        }
+
+        @Override
+        FloatColumn wrap(final FloatList values) {
+            return new FloatColumn(values);
+        }
+
+        @Override
+        FloatColumn newInstance(final int initialCapacity) {
+            return new FloatColumn(initialCapacity);
+        }
+
+        @Override
+        byte getByte(final int index) {
+            return (byte) values.get(index);
+        }
+
+        @Override
+        short getShort(final int index) {
+            return (short) values.get(index);
+        }
+
+        @Override
+        int getInt(final int index) {
+            return (int) values.get(index);
+        }
+
+        @Override
+        long getLong(final int index) {
+            return (long) values.get(index);
+        }
+
+        @Override
+        float getFloat(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        double getDouble(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        double[] toDoubleArray() {
+            final float[] a = values.array();
+            final double[] result = new double[values.size()];
+
+            for (int i = 0, len = result.length; i < len; i++) {
+                result[i] = a[i];
+            }
+
+            return result;
+        }
+
+        @Override
+        int hashCode(final int index) {
+            return isNull(index) ? 0 : Float.hashCode(values.get(index));
+        }
+
+        @Override
+        boolean rawEquals(final int index, final PrimitiveColumn<?> other, final int otherIndex) {
+            return Float.floatToIntBits(values.get(index)) == Float.floatToIntBits(((FloatColumn) other).values.get(otherIndex));
+        }
+
+        private static float toFloat(final Object value) {
+            return value == null ? 0 : (Float) value;
+        }
+    }
+
+    static final class ShortColumn extends PrimitiveColumn<ShortList> {
+        // For Kryo
+        ShortColumn() {
+            this(new ShortList());
+        }
+
+        ShortColumn(final int initialCapacity) {
+            super(new ShortList(initialCapacity));
+        }
+
+        ShortColumn(final ShortList values) {
+            super(values);
+        }
+
+        @Override
+        Class<?> elementClass() {
+            return short.class;
+        }
+
+        @Override
+        boolean accepts(final Object value) {
+            return value == null || value instanceof Short;
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        void setValue(final int index, final Object value) {
+            values.set(index, toShort(value));
+        }
+
+        @Override
+        void addValue(final int index, final Object value) {
+            values.add(index, toShort(value));
+        }
+
+        @Override
+        void addRawValue(final PrimitiveColumn<?> from, final int fromIndex) {
+            values.add(((ShortColumn) from).values.get(fromIndex));
+        }
+
+        @Override
+        ShortList gather(final int[] indexes) {
+            final short[] a = values.array();
+            final short[] b = new short[indexes.length];
+
+            for (int i = 0, len = indexes.length; i < len; i++) {
+                b[i] = a[indexes[i]];
+            }
+
+            return ShortList.of(b);
+        }
+
+        @Override
+        ShortColumn wrap(final ShortList values) {
+            return new ShortColumn(values);
+        }
+
+        @Override
+        ShortColumn newInstance(final int initialCapacity) {
+            return new ShortColumn(initialCapacity);
+        }
+
+        @Override
+        byte getByte(final int index) {
+            return (byte) values.get(index);
+        }
+
+        @Override
+        short getShort(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        int getInt(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        long getLong(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        float getFloat(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        double getDouble(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        int hashCode(final int index) {
+            return isNull(index) ? 0 : Short.hashCode(values.get(index));
+        }
+
+        @Override
+        boolean rawEquals(final int index, final PrimitiveColumn<?> other, final int otherIndex) {
+            return values.get(index) == ((ShortColumn) other).values.get(otherIndex);
+        }
+
+        private static short toShort(final Object value) {
+            return value == null ? 0 : (Short) value;
+        }
+    }
+
+    static final class ByteColumn extends PrimitiveColumn<ByteList> {
+        // For Kryo
+        ByteColumn() {
+            this(new ByteList());
+        }
+
+        ByteColumn(final int initialCapacity) {
+            super(new ByteList(initialCapacity));
+        }
+
+        ByteColumn(final ByteList values) {
+            super(values);
+        }
+
+        @Override
+        Class<?> elementClass() {
+            return byte.class;
+        }
+
+        @Override
+        boolean accepts(final Object value) {
+            return value == null || value instanceof Byte;
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        void setValue(final int index, final Object value) {
+            values.set(index, toByte(value));
+        }
+
+        @Override
+        void addValue(final int index, final Object value) {
+            values.add(index, toByte(value));
+        }
+
+        @Override
+        void addRawValue(final PrimitiveColumn<?> from, final int fromIndex) {
+            values.add(((ByteColumn) from).values.get(fromIndex));
+        }
+
+        @Override
+        ByteList gather(final int[] indexes) {
+            final byte[] a = values.array();
+            final byte[] b = new byte[indexes.length];
+
+            for (int i = 0, len = indexes.length; i < len; i++) {
+                b[i] = a[indexes[i]];
+            }
+
+            return ByteList.of(b);
+        }
+
+        @Override
+        ByteColumn wrap(final ByteList values) {
+            return new ByteColumn(values);
+        }
+
+        @Override
+        ByteColumn newInstance(final int initialCapacity) {
+            return new ByteColumn(initialCapacity);
+        }
+
+        @Override
+        byte getByte(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        short getShort(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        int getInt(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        long getLong(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        float getFloat(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        double getDouble(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        int hashCode(final int index) {
+            return isNull(index) ? 0 : Byte.hashCode(values.get(index));
+        }
+
+        @Override
+        boolean rawEquals(final int index, final PrimitiveColumn<?> other, final int otherIndex) {
+            return values.get(index) == ((ByteColumn) other).values.get(otherIndex);
+        }
+
+        private static byte toByte(final Object value) {
+            return value == null ? 0 : (Byte) value;
+        }
+    }
+
+    static final class CharColumn extends PrimitiveColumn<CharList> {
+        // For Kryo
+        CharColumn() {
+            this(new CharList());
+        }
+
+        CharColumn(final int initialCapacity) {
+            super(new CharList(initialCapacity));
+        }
+
+        CharColumn(final CharList values) {
+            super(values);
+        }
+
+        @Override
+        Class<?> elementClass() {
+            return char.class;
+        }
+
+        @Override
+        boolean accepts(final Object value) {
+            return value == null || value instanceof Character;
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        void setValue(final int index, final Object value) {
+            values.set(index, toChar(value));
+        }
+
+        @Override
+        void addValue(final int index, final Object value) {
+            values.add(index, toChar(value));
+        }
+
+        @Override
+        void addRawValue(final PrimitiveColumn<?> from, final int fromIndex) {
+            values.add(((CharColumn) from).values.get(fromIndex));
+        }
+
+        @Override
+        CharList gather(final int[] indexes) {
+            final char[] a = values.array();
+            final char[] b = new char[indexes.length];
+
+            for (int i = 0, len = indexes.length; i < len; i++) {
+                b[i] = a[indexes[i]];
+            }
+
+            return CharList.of(b);
+        }
+
+        @Override
+        CharColumn wrap(final CharList values) {
+            return new CharColumn(values);
+        }
+
+        @Override
+        CharColumn newInstance(final int initialCapacity) {
+            return new CharColumn(initialCapacity);
+        }
+
+        @Override
+        char getChar(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        int hashCode(final int index) {
+            return isNull(index) ? 0 : Character.hashCode(values.get(index));
+        }
+
+        @Override
+        boolean rawEquals(final int index, final PrimitiveColumn<?> other, final int otherIndex) {
+            return values.get(index) == ((CharColumn) other).values.get(otherIndex);
+        }
+
+        private static char toChar(final Object value) {
+            return value == null ? 0 : (Character) value;
+        }
+    }
+
+    static final class BooleanColumn extends PrimitiveColumn<BooleanList> {
+        // For Kryo
+        BooleanColumn() {
+            this(new BooleanList());
+        }
+
+        BooleanColumn(final int initialCapacity) {
+            super(new BooleanList(initialCapacity));
+        }
+
+        BooleanColumn(final BooleanList values) {
+            super(values);
+        }
+
+        @Override
+        Class<?> elementClass() {
+            return boolean.class;
+        }
+
+        @Override
+        boolean accepts(final Object value) {
+            return value == null || value instanceof Boolean;
+        }
+
+        @Override
+        Object valueAt(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        void setValue(final int index, final Object value) {
+            values.set(index, toBoolean(value));
+        }
+
+        @Override
+        void addValue(final int index, final Object value) {
+            values.add(index, toBoolean(value));
+        }
+
+        @Override
+        void addRawValue(final PrimitiveColumn<?> from, final int fromIndex) {
+            values.add(((BooleanColumn) from).values.get(fromIndex));
+        }
+
+        @Override
+        BooleanList gather(final int[] indexes) {
+            final boolean[] a = values.array();
+            final boolean[] b = new boolean[indexes.length];
+
+            for (int i = 0, len = indexes.length; i < len; i++) {
+                b[i] = a[indexes[i]];
+            }
+
+            return BooleanList.of(b);
+        }
+
+        @Override
+        BooleanColumn wrap(final BooleanList values) {
+            return new BooleanColumn(values);
+        }
+
+        @Override
+        BooleanColumn newInstance(final int initialCapacity) {
+            return new BooleanColumn(initialCapacity);
+        }
+
+        @Override
+        boolean getBoolean(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        int hashCode(final int index) {
+            return isNull(index) ? 0 : Boolean.hashCode(values.get(index));
+        }
+
+        @Override
+        boolean rawEquals(final int index, final PrimitiveColumn<?> other, final int otherIndex) {
+            return values.get(index) == ((BooleanColumn) other).values.get(otherIndex);
+        }
+
+        private static boolean toBoolean(final Object value) {
+            return value == null ? false : (Boolean) value;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.ConcurrentModificationException;
@@ -42,9 +43,12 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
+import com.landawn.abacus.ColumnExpression;
 import com.landawn.abacus.DataSet;
 import com.landawn.abacus.DirtyMarker;
+import com.landawn.abacus.LazyDataSet;
 import com.landawn.abacus.PaginatedDataSet;
+import com.landawn.abacus.SpillOptions;
 import com.landawn.abacus.exception.UncheckedIOException;
 import com.landawn.abacus.parser.JSONParser;
 import com.landawn.abacus.parser.JSONSerializationConfig;
@@ -69,11 +73,13 @@ import com.landawn.abacus.util.BufferedXMLWriter;
 import com.landawn.abacus.util.ClassUtil;
 import com.landawn.abacus.util.Comparators;
 import com.landawn.abacus.util.DateTimeFormat;
+import com.landawn.abacus.util.ExceptionalStream;
 import com.landawn.abacus.util.Fn;
 import com.landawn.abacus.util.Fn.Fnn;
 import com.landawn.abacus.util.IOUtil;
 import com.landawn.abacus.util.ImmutableList;
 import com.landawn.abacus.util.Indexed;
+import com.landawn.abacus.util.IntList;
 import com.landawn.abacus.util.Iterables;
 import com.landawn.abacus.util.ListMultimap;
 import com.landawn.abacus.util.Multimap;
@@ -155,7 +161,7 @@ public class RowDataSet implements DataSet, Cloneable {
     private static final Type<Object> strType = N.typeOf(String.class);
 
     @SuppressWarnings("rawtypes")
-    private static final Comparator<Object[]> MULTI_COLUMN_COMPARATOR = new Comparator<Object[]>() {
+    static final Comparator<Object[]> MULTI_COLUMN_COMPARATOR = new Comparator<Object[]>() {
         private final Comparator<Comparable> naturalOrder = Comparators.naturalOrder();
 
         @Override
@@ -190,6 +196,8 @@ public class RowDataSet implements DataSet, Cloneable {
 
     transient int modCount = 0;
 
+    transient Map<String, ColumnIndex> _indexMap;
+
     // For Kryo
     protected RowDataSet() {
     }
@@ -347,6 +355,10 @@ public class RowDataSet implements DataSet, Cloneable {
             }
 
             _columnNameList.set(idx, newColumnName);
+
+            if (_indexMap != null && _indexMap.containsKey(columnName)) {
+                _indexMap.put(newColumnName, _indexMap.remove(columnName));
+            }
         }
 
         modCount++;
@@ -610,7 +622,7 @@ public class RowDataSet implements DataSet, Cloneable {
     public void set(final int rowIndex, final int columnIndex, final Object element) {
         checkFrozen();
 
-        _columnList.get(columnIndex).set(rowIndex, element);
+        setCell(columnIndex, rowIndex, element);
 
         modCount++;
     }
@@ -711,6 +723,12 @@ public class RowDataSet implements DataSet, Cloneable {
      */
     @Override
     public boolean getBoolean(final int columnIndex) {
+        final List<Object> column = _columnList.get(columnIndex);
+
+        if (column instanceof PrimitiveColumn) {
+            return ((PrimitiveColumn<?>) column).getBoolean(_currentRowNum);
+        }
+
         Boolean rt = get(boolean.class, columnIndex);
 
         return (rt == null) ? false : rt;
@@ -735,7 +753,13 @@ public class RowDataSet implements DataSet, Cloneable {
      */
     @Override
     public char getChar(final int columnIndex) {
-        Character rt = get(columnIndex);
+        final List<Object> column = _columnList.get(columnIndex);
+
+        if (column instanceof PrimitiveColumn) {
+            return ((PrimitiveColumn<?>) column).getChar(_currentRowNum);
+        }
+
+        Character rt = (Character) column.get(_currentRowNum);
 
         return (rt == null) ? 0 : rt;
     }
@@ -759,7 +783,13 @@ public class RowDataSet implements DataSet, Cloneable {
      */
     @Override
     public byte getByte(final int columnIndex) {
-        Number rt = get(columnIndex);
+        final List<Object> column = _columnList.get(columnIndex);
+
+        if (column instanceof PrimitiveColumn) {
+            return ((PrimitiveColumn<?>) column).getByte(_currentRowNum);
+        }
+
+        Number rt = (Number) column.get(_currentRowNum);
 
         return (rt == null) ? 0 : rt.byteValue();
     }
@@ -783,7 +813,13 @@ public class RowDataSet implements DataSet, Cloneable {
      */
     @Override
     public short getShort(final int columnIndex) {
-        Number rt = get(columnIndex);
+        final List<Object> column = _columnList.get(columnIndex);
+
+        if (column instanceof PrimitiveColumn) {
+            return ((PrimitiveColumn<?>) column).getShort(_currentRowNum);
+        }
+
+        Number rt = (Number) column.get(_currentRowNum);
 
         return (rt == null) ? 0 : rt.shortValue();
     }
@@ -807,7 +843,13 @@ public class RowDataSet implements DataSet, Cloneable {
      */
     @Override
     public int getInt(final int columnIndex) {
-        Number rt = get(columnIndex);
+        final List<Object> column = _columnList.get(columnIndex);
+
+        if (column instanceof PrimitiveColumn) {
+            return ((PrimitiveColumn<?>) column).getInt(_currentRowNum);
+        }
+
+        Number rt = (Number) column.get(_currentRowNum);
 
         return (rt == null) ? 0 : rt.intValue();
     }
@@ -831,7 +873,13 @@ public class RowDataSet implements DataSet, Cloneable {
      */
     @Override
     public long getLong(final int columnIndex) {
-        Number rt = get(columnIndex);
+        final List<Object> column = _columnList.get(columnIndex);
+
+        if (column instanceof PrimitiveColumn) {
+            return ((PrimitiveColumn<?>) column).getLong(_currentRowNum);
+        }
+
+        Number rt = (Number) column.get(_currentRowNum);
 
         return (rt == null) ? 0L : rt.longValue();
     }
@@ -855,7 +903,13 @@ public class RowDataSet implements DataSet, Cloneable {
      */
     @Override
     public float getFloat(final int columnIndex) {
-        Number rt = get(columnIndex);
+        final List<Object> column = _columnList.get(columnIndex);
+
+        if (column instanceof PrimitiveColumn) {
+            return ((PrimitiveColumn<?>) column).getFloat(_currentRowNum);
+        }
+
+        Number rt = (Number) column.get(_currentRowNum);
 
         return (rt == null) ? 0f : rt.floatValue();
     }
@@ -879,7 +933,13 @@ public class RowDataSet implements DataSet, Cloneable {
      */
     @Override
     public double getDouble(final int columnIndex) {
-        Number rt = get(columnIndex);
+        final List<Object> column = _columnList.get(columnIndex);
+
+        if (column instanceof PrimitiveColumn) {
+            return ((PrimitiveColumn<?>) column).getDouble(_currentRowNum);
+        }
+
+        Number rt = (Number) column.get(_currentRowNum);
 
         return (rt == null) ? 0d : rt.doubleValue();
     }
@@ -926,7 +986,7 @@ public class RowDataSet implements DataSet, Cloneable {
     public void set(final int columnIndex, final Object value) {
         checkFrozen();
 
-        _columnList.get(columnIndex).set(_currentRowNum, value);
+        setCell(columnIndex, _currentRowNum, value);
 
         modCount++;
     }
@@ -1268,6 +1328,41 @@ public class RowDataSet implements DataSet, Cloneable {
         modCount++;
     }
 
+    /**
+     * Adds the column.
+     *
+     * @param newColumnName
+     * @param expression
+     */
+    @Override
+    public void addColumn(final String newColumnName, final ColumnExpression expression) {
+        checkFrozen();
+
+        if (containsColumn(newColumnName)) {
+            throw new IllegalArgumentException("Column(" + newColumnName + ") is already included in this DataSet.");
+        }
+
+        final List<Object> newColumn = NumericExpression.toColumn(expression, size());
+        final int columnIndex = _columnNameList.size();
+
+        _columnNameList.add(newColumnName);
+        _columnList.add(newColumn);
+
+        updateColumnIndex(columnIndex, newColumnName);
+
+        modCount++;
+    }
+
+    /**
+     *
+     * @param columnName
+     * @return
+     */
+    @Override
+    public ColumnExpression col(final String columnName) {
+        return NumericExpression.of(this, columnName);
+    }
+
     /**
      * Removes the column.
      *
@@ -1381,10 +1476,11 @@ public class RowDataSet implements DataSet, Cloneable {
         checkFrozen();
 
         final Throwables.Function<Object, Object, E> func2 = (Throwables.Function<Object, Object, E>) func;
-        final List<Object> column = _columnList.get(checkColumnName(columnName));
+        final int columnIndex = checkColumnName(columnName);
+        List<Object> column = _columnList.get(columnIndex);
 
         for (int i = 0, len = size(); i < len; i++) {
-            column.set(i, func2.apply(column.get(i)));
+            column = setCell(columnIndex, i, func2.apply(column.get(i)));
         }
 
         modCount++;
@@ -1405,10 +1501,11 @@ public class RowDataSet implements DataSet, Cloneable {
         final Throwables.Function<Object, Object, E> func2 = (Throwables.Function<Object, Object, E>) func;
 
         for (String columnName : columnNames) {
-            final List<Object> column = _columnList.get(checkColumnName(columnName));
+            final int columnIndex = checkColumnName(columnName);
+            List<Object> column = _columnList.get(columnIndex);
 
             for (int i = 0, len = size(); i < len; i++) {
-                column.set(i, func2.apply(column.get(i)));
+                column = setCell(columnIndex, i, func2.apply(column.get(i)));
             }
         }
 
@@ -1422,13 +1519,13 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param targetType
      */
     private void convertColumnType(final int columnIndex, final Class<?> targetType) {
-        final List<Object> column = _columnList.get(columnIndex);
+        List<Object> column = _columnList.get(columnIndex);
 
         Object newValue = null;
         for (int i = 0, len = size(); i < len; i++) {
             newValue = N.convert(column.get(i), targetType);
 
-            column.set(i, newValue);
+            column = setCell(columnIndex, i, newValue);
         }
 
         modCount++;
@@ -1770,11 +1867,11 @@ public class RowDataSet implements DataSet, Cloneable {
 
             if (rowIndex == size()) {
                 for (int i = 0, len = this._columnNameList.size(); i < len; i++) {
-                    _columnList.get(i).add(a[i]);
+                    writableColumn(i, a[i]).add(a[i]);
                 }
             } else {
                 for (int i = 0, len = this._columnNameList.size(); i < len; i++) {
-                    _columnList.get(i).add(rowIndex, a[i]);
+                    writableColumn(i, a[i]).add(rowIndex, a[i]);
                 }
             }
         } else if (rowType.isCollection()) {
@@ -1787,13 +1884,17 @@ public class RowDataSet implements DataSet, Cloneable {
 
             final Iterator<Object> it = c.iterator();
 
+            Object value = null;
+
             if (rowIndex == size()) {
                 for (int i = 0, len = this._columnNameList.size(); i < len; i++) {
-                    _columnList.get(i).add(it.next());
+                    value = it.next();
+                    writableColumn(i, value).add(value);
                 }
             } else {
                 for (int i = 0, len = this._columnNameList.size(); i < len; i++) {
-                    _columnList.get(i).add(rowIndex, it.next());
+                    value = it.next();
+                    writableColumn(i, value).add(rowIndex, value);
                 }
             }
         } else if (rowType.isMap()) {
@@ -1813,11 +1914,11 @@ public class RowDataSet implements DataSet, Cloneable {
 
             if (rowIndex == size()) {
                 for (int i = 0, len = this._columnNameList.size(); i < len; i++) {
-                    _columnList.get(i).add(a[i]);
+                    writableColumn(i, a[i]).add(a[i]);
                 }
             } else {
                 for (int i = 0, len = this._columnNameList.size(); i < len; i++) {
-                    _columnList.get(i).add(rowIndex, a[i]);
+                    writableColumn(i, a[i]).add(rowIndex, a[i]);
                 }
             }
         } else if (rowType.isEntity()) {
@@ -1838,11 +1939,11 @@ public class RowDataSet implements DataSet, Cloneable {
 
             if (rowIndex == size()) {
                 for (int i = 0, len = this._columnNameList.size(); i < len; i++) {
-                    _columnList.get(i).add(a[i]);
+                    writableColumn(i, a[i]).add(a[i]);
                 }
             } else {
                 for (int i = 0, len = this._columnNameList.size(); i < len; i++) {
-                    _columnList.get(i).add(rowIndex, a[i]);
+                    writableColumn(i, a[i]).add(rowIndex, a[i]);
                 }
             }
         } else {
@@ -1926,8 +2027,8 @@ public class RowDataSet implements DataSet, Cloneable {
 
         final Throwables.Function<Object, Object, E> func2 = (Throwables.Function<Object, Object, E>) func;
 
-        for (List<Object> column : _columnList) {
-            column.set(rowIndex, func2.apply(column.get(rowIndex)));
+        for (int columnIndex = 0, columnCount = _columnList.size(); columnIndex < columnCount; columnIndex++) {
+            setCell(columnIndex, rowIndex, func2.apply(_columnList.get(columnIndex).get(rowIndex)));
         }
 
         modCount++;
@@ -1950,9 +2051,11 @@ public class RowDataSet implements DataSet, Cloneable {
 
         final Throwables.Function<Object, Object, E> func2 = (Throwables.Function<Object, Object, E>) func;
 
-        for (List<Object> column : _columnList) {
+        for (int columnIndex = 0, columnCount = _columnList.size(); columnIndex < columnCount; columnIndex++) {
+            List<Object> column = _columnList.get(columnIndex);
+
             for (int rowIndex : indices) {
-                column.set(rowIndex, func2.apply(column.get(rowIndex)));
+                column = setCell(columnIndex, rowIndex, func2.apply(column.get(rowIndex)));
             }
         }
 
@@ -1972,9 +2075,11 @@ public class RowDataSet implements DataSet, Cloneable {
         final Throwables.Function<Object, Object, E> func2 = (Throwables.Function<Object, Object, E>) func;
         final int size = size();
 
-        for (List<Object> column : _columnList) {
+        for (int columnIndex = 0, columnCount = _columnList.size(); columnIndex < columnCount; columnIndex++) {
+            List<Object> column = _columnList.get(columnIndex);
+
             for (int i = 0; i < size; i++) {
-                column.set(i, func2.apply(column.get(i)));
+                column = setCell(columnIndex, i, func2.apply(column.get(i)));
             }
         }
 
@@ -1997,11 +2102,13 @@ public class RowDataSet implements DataSet, Cloneable {
         final int size = size();
         Object val = null;
 
-        for (List<Object> column : _columnList) {
+        for (int columnIndex = 0, columnCount = _columnList.size(); columnIndex < columnCount; columnIndex++) {
+            List<Object> column = _columnList.get(columnIndex);
+
             for (int i = 0; i < size; i++) {
                 val = column.get(i);
 
-                column.set(i, Predicate2.test(val) ? newValue : val);
+                column = setCell(columnIndex, i, Predicate2.test(val) ? newValue : val);
             }
         }
 
@@ -4850,6 +4957,77 @@ public class RowDataSet implements DataSet, Cloneable {
         }
     }
 
+    /**
+     *
+     * @param output
+     */
+    @Override
+    public void toBinary(final File output) {
+        toBinary(output, _columnNameList, 0, size());
+    }
+
+    /**
+     *
+     * @param output
+     * @param columnNames
+     * @param fromRowIndex
+     * @param toRowIndex
+     */
+    @Override
+    public void toBinary(final File output, final Collection<String> columnNames, final int fromRowIndex, final int toRowIndex) {
+        OutputStream os = null;
+
+        try {
+            if (!output.exists()) {
+                output.createNewFile();
+            }
+
+            os = new FileOutputStream(output);
+
+            toBinary(os, columnNames, fromRowIndex, toRowIndex);
+
+            os.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            IOUtil.close(os);
+        }
+    }
+
+    /**
+     *
+     * @param output
+     */
+    @Override
+    public void toBinary(final OutputStream output) {
+        toBinary(output, _columnNameList, 0, size());
+    }
+
+    /**
+     *
+     * @param output
+     * @param columnNames
+     * @param fromRowIndex
+     * @param toRowIndex
+     */
+    @Override
+    public void toBinary(final OutputStream output, final Collection<String> columnNames, final int fromRowIndex, final int toRowIndex) {
+        checkRowIndex(fromRowIndex, toRowIndex);
+
+        final int[] columnIndexes = checkColumnName(columnNames);
+        final List<List<Object>> columnList = new ArrayList<>(columnIndexes.length);
+
+        for (int columnIndex : columnIndexes) {
+            columnList.add(_columnList.get(columnIndex));
+        }
+
+        try {
+            ColumnarFile.write(new ArrayList<>(columnNames), columnList, fromRowIndex, toRowIndex, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      *
      * @param columnName
@@ -4984,8 +5162,27 @@ public class RowDataSet implements DataSet, Cloneable {
         final Throwables.Function<Object, ?, E> keyMapper2 = (Throwables.Function<Object, ?, E>) (keyMapper == null ? Fn.identity() : keyMapper);
         final List<Object> keyColumn = newColumnList.get(0);
 
-        final Set<Object> keySet = N.newHashSet();
         final List<Object> groupByColumn = _columnList.get(columnIndex);
+
+        if (keyMapper == null && groupByColumn instanceof DictionaryColumn) {
+            final DictionaryColumn dictionaryColumn = (DictionaryColumn) groupByColumn;
+            // code + 1 -> true if the key has been added. 0 is for null.
+            final boolean[] added = new boolean[dictionaryColumn.dictionarySize() + 1];
+            int slot = 0;
+
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                slot = dictionaryColumn.code(rowIndex) + 1;
+
+                if (added[slot] == false) {
+                    added[slot] = true;
+                    keyColumn.add(dictionaryColumn.get(rowIndex));
+                }
+            }
+
+            return new RowDataSet(newColumnNameList, newColumnList);
+        }
+
+        final Set<Object> keySet = N.newHashSet();
         Object value = null;
 
         for (int rowIndex = 0; rowIndex < size; rowIndex++) {
@@ -5045,27 +5242,48 @@ public class RowDataSet implements DataSet, Cloneable {
         final BiConsumer<Object, Object> accumulator = (BiConsumer<Object, Object>) collector.accumulator();
         final Function<Object, Object> finisher = (Function<Object, Object>) collector.finisher();
 
-        final Map<Object, Integer> keyRowIndexMap = new HashMap<>();
         final List<Object> groupByColumn = _columnList.get(columnIndex);
         final List<Object> aggOnColumn = _columnList.get(aggOnColumnIndex);
-        Object key = null;
-        Object value = null;
-        Integer collectorRowIndex = -1;
 
-        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
-            value = groupByColumn.get(rowIndex);
-            key = getHashKey(keyMapper2.apply(value));
+        if (keyMapper == null && groupByColumn instanceof DictionaryColumn) {
+            final DictionaryColumn dictionaryColumn = (DictionaryColumn) groupByColumn;
+            // code + 1 -> collector row index. 0 is for null.
+            final int[] collectorRowIndexes = new int[dictionaryColumn.dictionarySize() + 1];
+            Arrays.fill(collectorRowIndexes, -1);
+            int slot = 0;
 
-            collectorRowIndex = keyRowIndexMap.get(key);
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                slot = dictionaryColumn.code(rowIndex) + 1;
 
-            if (collectorRowIndex == null) {
-                collectorRowIndex = aggResultColumn.size();
-                keyRowIndexMap.put(key, collectorRowIndex);
-                keyColumn.add(value);
-                aggResultColumn.add(supplier.get());
+                if (collectorRowIndexes[slot] < 0) {
+                    collectorRowIndexes[slot] = aggResultColumn.size();
+                    keyColumn.add(dictionaryColumn.get(rowIndex));
+                    aggResultColumn.add(supplier.get());
+                }
+
+                accumulator.accept(aggResultColumn.get(collectorRowIndexes[slot]), aggOnColumn.get(rowIndex));
             }
+        } else {
+            final Map<Object, Integer> keyRowIndexMap = new HashMap<>();
+            Object key = null;
+            Object value = null;
+            Integer collectorRowIndex = -1;
 
-            accumulator.accept(aggResultColumn.get(collectorRowIndex), aggOnColumn.get(rowIndex));
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                value = groupByColumn.get(rowIndex);
+                key = getHashKey(keyMapper2.apply(value));
+
+                collectorRowIndex = keyRowIndexMap.get(key);
+
+                if (collectorRowIndex == null) {
+                    collectorRowIndex = aggResultColumn.size();
+                    keyRowIndexMap.put(key, collectorRowIndex);
+                    keyColumn.add(value);
+                    aggResultColumn.add(supplier.get());
+                }
+
+                accumulator.accept(aggResultColumn.get(collectorRowIndex), aggOnColumn.get(rowIndex));
+            }
         }
 
         for (int i = 0, len = aggResultColumn.size(); i < len; i++) {
@@ -6368,94 +6586,252 @@ public class RowDataSet implements DataSet, Cloneable {
                 .reversed();
     }
 
-    /**
-     *
-     * @param columnName
-     */
-    @Override
-    public void sortBy(final String columnName) {
-        sortBy(columnName, Comparators.naturalOrder());
-    }
-
     /**
      *
      * @param <T>
-     * @param columnName
-     * @param cmp
+     * @param columnNames
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnName
+     * @param collector
+     * @return
      */
     @Override
-    public <T> void sortBy(final String columnName, final Comparator<T> cmp) {
-        sort(columnName, cmp, false);
+    public <T> DataSet parallelGroupBy(final Collection<String> columnNames, final String aggregateResultColumnName, final String aggregateOnColumnName,
+            final Collector<T, ?, ?> collector) {
+        return parallelGroupBy(columnNames, N.<Collection<String>> asList(columnNames), aggregateResultColumnName, aggOnValueGetter(aggregateOnColumnName),
+                collector).get(0);
     }
 
     /**
      *
      * @param columnNames
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnNames
+     * @param collector
+     * @return
      */
     @Override
-    public void sortBy(final Collection<String> columnNames) {
-        sortBy(columnNames, (Comparator<? super Object[]>) null);
+    public DataSet parallelGroupBy(final Collection<String> columnNames, final String aggregateResultColumnName,
+            final Collection<String> aggregateOnColumnNames, final Collector<? super Object[], ?, ?> collector) {
+        return parallelGroupBy(columnNames, N.<Collection<String>> asList(columnNames), aggregateResultColumnName, aggOnValueGetter(aggregateOnColumnNames),
+                collector).get(0);
     }
 
     /**
      *
+     * @param <T>
      * @param columnNames
-     * @param cmp
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnName
+     * @param collector
+     * @return
      */
     @Override
-    public void sortBy(final Collection<String> columnNames, final Comparator<? super Object[]> cmp) {
-        sort(columnNames, cmp, false);
+    public <T> Stream<DataSet> parallelRollup(final Collection<String> columnNames, final String aggregateResultColumnName,
+            final String aggregateOnColumnName, final Collector<T, ?, ?> collector) {
+        return Stream.of(parallelGroupBy(columnNames, Stream.of(Iterables.rollup(columnNames)).reversed().filter(NOT_EMPTY_FILTER).toList(),
+                aggregateResultColumnName, aggOnValueGetter(aggregateOnColumnName), collector));
     }
 
     /**
      *
      * @param columnNames
-     * @param keyMapper
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnNames
+     * @param collector
+     * @return
      */
-    @SuppressWarnings("rawtypes")
     @Override
-    public void sortBy(Collection<String> columnNames, Function<? super DisposableObjArray, ? extends Comparable> keyMapper) {
-        sort(columnNames, keyMapper, false);
+    public Stream<DataSet> parallelRollup(final Collection<String> columnNames, final String aggregateResultColumnName,
+            final Collection<String> aggregateOnColumnNames, final Collector<? super Object[], ?, ?> collector) {
+        return Stream.of(parallelGroupBy(columnNames, Stream.of(Iterables.rollup(columnNames)).reversed().filter(NOT_EMPTY_FILTER).toList(),
+                aggregateResultColumnName, aggOnValueGetter(aggregateOnColumnNames), collector));
     }
 
     /**
-     * Parallel sort by.
      *
-     * @param columnName
+     * @param <T>
+     * @param columnNames
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnName
+     * @param collector
+     * @return
      */
     @Override
-    public void parallelSortBy(final String columnName) {
-        parallelSortBy(columnName, Comparators.naturalOrder());
+    public <T> Stream<DataSet> parallelCube(final Collection<String> columnNames, final String aggregateResultColumnName, final String aggregateOnColumnName,
+            final Collector<T, ?, ?> collector) {
+        return Stream.of(parallelGroupBy(columnNames, cubeSet(columnNames).filter(NOT_EMPTY_FILTER).toList(), aggregateResultColumnName,
+                aggOnValueGetter(aggregateOnColumnName), collector));
     }
 
     /**
-     * Parallel sort by.
      *
-     * @param <T>
-     * @param columnName
-     * @param cmp
+     * @param columnNames
+     * @param aggregateResultColumnName
+     * @param aggregateOnColumnNames
+     * @param collector
+     * @return
      */
     @Override
-    public <T> void parallelSortBy(final String columnName, final Comparator<T> cmp) {
-        sort(columnName, cmp, true);
+    public Stream<DataSet> parallelCube(final Collection<String> columnNames, final String aggregateResultColumnName,
+            final Collection<String> aggregateOnColumnNames, final Collector<? super Object[], ?, ?> collector) {
+        return Stream.of(parallelGroupBy(columnNames, cubeSet(columnNames).filter(NOT_EMPTY_FILTER).toList(), aggregateResultColumnName,
+                aggOnValueGetter(aggregateOnColumnNames), collector));
     }
 
     /**
-     * Parallel sort by.
      *
      * @param columnNames
+     * @param groupingSets
+     * @param aggregateResultColumnName
+     * @param valueGetter
+     * @param collector
+     * @return
      */
-    @Override
-    public void parallelSortBy(final Collection<String> columnNames) {
-        parallelSortBy(columnNames, (Comparator<? super Object[]>) null);
+    private List<DataSet> parallelGroupBy(final Collection<String> columnNames, final List<? extends Collection<String>> groupingSets,
+            final String aggregateResultColumnName, final IntFunction<?> valueGetter, final Collector<?, ?, ?> collector) {
+        N.checkArgNotNullOrEmpty(columnNames, "columnNames");
+        N.checkArgNotNull(collector, "collector");
+
+        if (columnNames.contains(aggregateResultColumnName)) {
+            throw new IllegalArgumentException("Duplicated Property name: " + aggregateResultColumnName);
+        }
+
+        final int[] columnIndexes = checkColumnName(columnNames);
+
+        return PartitionedGroupBy.aggregate(new ArrayList<>(columnNames), getJoinColumns(this, columnIndexes), size(), groupingSets,
+                aggregateResultColumnName, valueGetter, collector);
     }
 
     /**
-     * Parallel sort by.
      *
-     * @param columnNames
-     * @param cmp
-     */
+     * @param aggregateOnColumnName
+     * @return
+     */
+    private IntFunction<Object> aggOnValueGetter(final String aggregateOnColumnName) {
+        final List<Object> aggOnColumn = _columnList.get(checkColumnName(aggregateOnColumnName));
+
+        return new IntFunction<Object>() {
+            @Override
+            public Object apply(final int rowIndex) {
+                return aggOnColumn.get(rowIndex);
+            }
+        };
+    }
+
+    /**
+     *
+     * @param aggregateOnColumnNames
+     * @return
+     */
+    private IntFunction<Object[]> aggOnValueGetter(final Collection<String> aggregateOnColumnNames) {
+        N.checkArgNotNullOrEmpty(aggregateOnColumnNames, "aggregateOnColumnNames");
+
+        final int[] aggOnColumnIndexes = checkColumnName(aggregateOnColumnNames);
+        final int aggOnColumnCount = aggOnColumnIndexes.length;
+
+        return new IntFunction<Object[]>() {
+            @Override
+            public Object[] apply(final int rowIndex) {
+                final Object[] row = new Object[aggOnColumnCount];
+
+                for (int i = 0; i < aggOnColumnCount; i++) {
+                    row[i] = _columnList.get(aggOnColumnIndexes[i]).get(rowIndex);
+                }
+
+                return row;
+            }
+        };
+    }
+
+    /**
+     *
+     * @param columnName
+     */
+    @Override
+    public void sortBy(final String columnName) {
+        sortBy(columnName, Comparators.naturalOrder());
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param columnName
+     * @param cmp
+     */
+    @Override
+    public <T> void sortBy(final String columnName, final Comparator<T> cmp) {
+        sort(columnName, cmp, false);
+    }
+
+    /**
+     *
+     * @param columnNames
+     */
+    @Override
+    public void sortBy(final Collection<String> columnNames) {
+        sortBy(columnNames, (Comparator<? super Object[]>) null);
+    }
+
+    /**
+     *
+     * @param columnNames
+     * @param cmp
+     */
+    @Override
+    public void sortBy(final Collection<String> columnNames, final Comparator<? super Object[]> cmp) {
+        sort(columnNames, cmp, false);
+    }
+
+    /**
+     *
+     * @param columnNames
+     * @param keyMapper
+     */
+    @SuppressWarnings("rawtypes")
+    @Override
+    public void sortBy(Collection<String> columnNames, Function<? super DisposableObjArray, ? extends Comparable> keyMapper) {
+        sort(columnNames, keyMapper, false);
+    }
+
+    /**
+     * Parallel sort by.
+     *
+     * @param columnName
+     */
+    @Override
+    public void parallelSortBy(final String columnName) {
+        parallelSortBy(columnName, Comparators.naturalOrder());
+    }
+
+    /**
+     * Parallel sort by.
+     *
+     * @param <T>
+     * @param columnName
+     * @param cmp
+     */
+    @Override
+    public <T> void parallelSortBy(final String columnName, final Comparator<T> cmp) {
+        sort(columnName, cmp, true);
+    }
+
+    /**
+     * Parallel sort by.
+     *
+     * @param columnNames
+     */
+    @Override
+    public void parallelSortBy(final Collection<String> columnNames) {
+        parallelSortBy(columnNames, (Comparator<? super Object[]>) null);
+    }
+
+    /**
+     * Parallel sort by.
+     *
+     * @param columnNames
+     * @param cmp
+     */
     @Override
     public void parallelSortBy(final Collection<String> columnNames, final Comparator<? super Object[]> cmp) {
         sort(columnNames, cmp, true);
@@ -6473,6 +6849,96 @@ public class RowDataSet implements DataSet, Cloneable {
         sort(columnNames, keyMapper, true);
     }
 
+    /**
+     *
+     * @param columnNames
+     * @param cmp
+     * @param spillOptions
+     * @return
+     */
+    @Override
+    public DataSet sortBy(final Collection<String> columnNames, final Comparator<? super Object[]> cmp, final SpillOptions spillOptions) {
+        N.checkArgNotNull(spillOptions, "spillOptions");
+
+        final int[] columnIndexes = checkColumnName(columnNames);
+        final int size = size();
+        final int columnCount = _columnNameList.size();
+        final List<List<Object>> newColumnList = new ArrayList<>(columnCount);
+
+        for (int i = 0; i < columnCount; i++) {
+            newColumnList.add(newColumn(_columnList.get(i), size));
+        }
+
+        final ExternalSort.SortedRowIndexes sortedRowIndexes = ExternalSort.sort(_columnList, size, columnIndexes, cmp, spillOptions);
+        int rowIndex = 0;
+
+        try {
+            while (sortedRowIndexes.hasNext()) {
+                rowIndex = sortedRowIndexes.next();
+
+                for (int i = 0; i < columnCount; i++) {
+                    addCell(newColumnList.get(i), _columnList.get(i), rowIndex);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            sortedRowIndexes.close();
+        }
+
+        final Properties<String, Object> newProperties = N.isNullOrEmpty(_properties) ? null : _properties.copy();
+
+        return new RowDataSet(new ArrayList<>(_columnNameList), newColumnList, newProperties);
+    }
+
+    /**
+     *
+     * @param columnNames
+     * @param cmp
+     * @param spillOptions
+     * @return
+     */
+    @Override
+    public ExceptionalStream<Object[], IOException> streamSortedBy(final Collection<String> columnNames, final Comparator<? super Object[]> cmp,
+            final SpillOptions spillOptions) {
+        N.checkArgNotNull(spillOptions, "spillOptions");
+
+        final int[] columnIndexes = checkColumnName(columnNames);
+        final int columnCount = _columnNameList.size();
+        final ExternalSort.SortedRowIndexes sortedRowIndexes = ExternalSort.sort(_columnList, size(), columnIndexes, cmp, spillOptions);
+
+        return ExceptionalStream.<Object[], IOException> iterate(new Throwables.BooleanSupplier<IOException>() {
+            @Override
+            public boolean getAsBoolean() throws IOException {
+                return sortedRowIndexes.hasNext();
+            }
+        }, new Throwables.Supplier<Object[], IOException>() {
+            private final int expectedModCount = modCount;
+
+            @Override
+            public Object[] get() throws IOException {
+                if (modCount != expectedModCount) {
+                    sortedRowIndexes.close();
+                    throw new ConcurrentModificationException();
+                }
+
+                final int rowIndex = sortedRowIndexes.next();
+                final Object[] row = new Object[columnCount];
+
+                for (int i = 0; i < columnCount; i++) {
+                    row[i] = _columnList.get(i).get(rowIndex);
+                }
+
+                return row;
+            }
+        }).onClose(new Throwables.Runnable<IOException>() {
+            @Override
+            public void run() {
+                sortedRowIndexes.close();
+            }
+        });
+    }
+
     /**
      *
      * @param <T>
@@ -6491,9 +6957,19 @@ public class RowDataSet implements DataSet, Cloneable {
             return;
         }
 
+        final List<Object> orderByColumn = _columnList.get(columnIndex);
+
+        if (orderByColumn instanceof PrimitiveColumn && (cmp == null || cmp == Comparators.naturalOrder())) {
+            final int[] sortedIndexes = ((PrimitiveColumn<?>) orderByColumn).sortedIndexes(isParallelSort);
+
+            if (sortedIndexes != null) {
+                reorder(sortedIndexes);
+                return;
+            }
+        }
+
         // TODO too many array objects are created.
         final Indexed<Object>[] arrayOfPair = new Indexed[size];
-        final List<Object> orderByColumn = _columnList.get(columnIndex);
 
         for (int rowIndex = 0; rowIndex < size; rowIndex++) {
             arrayOfPair[rowIndex] = Indexed.of(orderByColumn.get(rowIndex), rowIndex);
@@ -6625,37 +7101,34 @@ public class RowDataSet implements DataSet, Cloneable {
         }
 
         final int size = size();
-        final int columnCount = _columnNameList.size();
-        final Set<Integer> ordered = N.newHashSet(size);
-        final Object[] tempRow = new Object[columnCount];
-
-        for (int i = 0, index = 0; i < size; i++) {
-            index = arrayOfPair[i].index();
-
-            if ((index != i) && !ordered.contains(i)) {
-                for (int j = 0; j < columnCount; j++) {
-                    tempRow[j] = _columnList.get(j).get(i);
-                }
+        final int[] sortedIndexes = new int[size];
 
-                int previous = i;
-                int next = index;
+        for (int i = 0; i < size; i++) {
+            sortedIndexes[i] = arrayOfPair[i].index();
+        }
 
-                do {
-                    for (int j = 0; j < columnCount; j++) {
-                        _columnList.get(j).set(previous, _columnList.get(j).get(next));
-                    }
+        reorder(sortedIndexes);
+    }
 
-                    ordered.add(next);
+    /**
+     * Rearranges the rows so that the row at index {@code i} is the one at {@code sortedIndexes[i]} before.
+     *
+     * @param sortedIndexes
+     */
+    private void reorder(final int[] sortedIndexes) {
+        final int size = size();
 
-                    previous = next;
-                    next = arrayOfPair[next].index();
-                } while (next != i);
+        for (List<Object> column : _columnList) {
+            if (column instanceof PrimitiveColumn) {
+                ((PrimitiveColumn<?>) column).reorder(sortedIndexes);
+            } else if (column instanceof DictionaryColumn) {
+                ((DictionaryColumn) column).reorder(sortedIndexes);
+            } else {
+                final Object[] values = column.toArray();
 
-                for (int j = 0; j < columnCount; j++) {
-                    _columnList.get(j).set(previous, tempRow[j]);
+                for (int i = 0; i < size; i++) {
+                    column.set(i, values[sortedIndexes[i]]);
                 }
-
-                ordered.add(i);
             }
         }
 
@@ -6932,12 +7405,35 @@ public class RowDataSet implements DataSet, Cloneable {
         }
 
         final Throwables.Function<Object, ?, E> keyMapper2 = (Throwables.Function<Object, ?, E>) keyMapper;
+        final List<Object> distinctByColumn = _columnList.get(columnIndex);
+
+        if ((keyMapper == null || keyMapper == Fn.identity()) && distinctByColumn instanceof DictionaryColumn) {
+            final DictionaryColumn dictionaryColumn = (DictionaryColumn) distinctByColumn;
+            // code + 1 -> true if the row has been added. 0 is for null.
+            final boolean[] added = new boolean[dictionaryColumn.dictionarySize() + 1];
+            int slot = 0;
+
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                slot = dictionaryColumn.code(rowIndex) + 1;
+
+                if (added[slot] == false) {
+                    added[slot] = true;
+
+                    for (int i = 0; i < columnCount; i++) {
+                        newColumnList.get(i).add(_columnList.get(i).get(rowIndex));
+                    }
+                }
+            }
+
+            return new RowDataSet(newColumnNameList, newColumnList, newProperties);
+        }
+
         final Set<Object> rowSet = N.newHashSet();
         Object key = null;
         Object value = null;
 
         for (int rowIndex = 0; rowIndex < size; rowIndex++) {
-            value = _columnList.get(columnIndex).get(rowIndex);
+            value = distinctByColumn.get(rowIndex);
             key = getHashKey(keyMapper2 == null ? value : keyMapper2.apply(value));
 
             if (rowSet.add(key)) {
@@ -7006,14 +7502,14 @@ public class RowDataSet implements DataSet, Cloneable {
             if (isNullOrIdentityKeyMapper) {
                 if (rowSet.add(Wrapper.of(row))) {
                     for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
-                        newColumnList.get(columnIndex).add(_columnList.get(columnIndex).get(rowIndex));
+                        addCell(newColumnList.get(columnIndex), _columnList.get(columnIndex), rowIndex);
                     }
 
                     row = Objectory.createObjectArray(columnCount);
                 }
             } else if (rowSet.add(getHashKey(keyMapper.apply(disposableArray)))) {
                 for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
-                    newColumnList.get(columnIndex).add(_columnList.get(columnIndex).get(rowIndex));
+                    addCell(newColumnList.get(columnIndex), _columnList.get(columnIndex), rowIndex);
                 }
             }
         }
@@ -7161,7 +7657,7 @@ public class RowDataSet implements DataSet, Cloneable {
         final List<List<Object>> newColumnList = new ArrayList<>(columnCount);
 
         for (int i = 0; i < columnCount; i++) {
-            newColumnList.add(new ArrayList<>(N.min(max, (size == 0) ? 0 : ((int) (size * 0.8) + 1))));
+            newColumnList.add(newColumn(_columnList.get(i), N.min(max, (size == 0) ? 0 : ((int) (size * 0.8) + 1))));
         }
 
         final Properties<String, Object> newProperties = N.isNullOrEmpty(_properties) ? null : _properties.copy();
@@ -7179,7 +7675,7 @@ public class RowDataSet implements DataSet, Cloneable {
                 }
 
                 for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
-                    newColumnList.get(columnIndex).add(_columnList.get(columnIndex).get(rowIndex));
+                    addCell(newColumnList.get(columnIndex), _columnList.get(columnIndex), rowIndex);
                 }
             }
         }
@@ -7259,7 +7755,7 @@ public class RowDataSet implements DataSet, Cloneable {
         final List<List<Object>> newColumnList = new ArrayList<>(columnCount);
 
         for (int i = 0; i < columnCount; i++) {
-            newColumnList.add(new ArrayList<>(N.min(max, (size == 0) ? 0 : ((int) (size * 0.8) + 1))));
+            newColumnList.add(newColumn(_columnList.get(i), N.min(max, (size == 0) ? 0 : ((int) (size * 0.8) + 1))));
         }
 
         final Properties<String, Object> newProperties = N.isNullOrEmpty(_properties) ? null : _properties.copy();
@@ -7277,7 +7773,7 @@ public class RowDataSet implements DataSet, Cloneable {
                 }
 
                 for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
-                    newColumnList.get(columnIndex).add(_columnList.get(columnIndex).get(rowIndex));
+                    addCell(newColumnList.get(columnIndex), _columnList.get(columnIndex), rowIndex);
                 }
             }
         }
@@ -7357,7 +7853,7 @@ public class RowDataSet implements DataSet, Cloneable {
         final List<List<Object>> newColumnList = new ArrayList<>(columnCount);
 
         for (int i = 0; i < columnCount; i++) {
-            newColumnList.add(new ArrayList<>(N.min(max, (size == 0) ? 0 : ((int) (size * 0.8) + 1))));
+            newColumnList.add(newColumn(_columnList.get(i), N.min(max, (size == 0) ? 0 : ((int) (size * 0.8) + 1))));
         }
 
         final Properties<String, Object> newProperties = N.isNullOrEmpty(_properties) ? null : _properties.copy();
@@ -7373,7 +7869,7 @@ public class RowDataSet implements DataSet, Cloneable {
                 }
 
                 for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
-                    newColumnList.get(columnIndex).add(_columnList.get(columnIndex).get(rowIndex));
+                    addCell(newColumnList.get(columnIndex), _columnList.get(columnIndex), rowIndex);
                 }
             }
         }
@@ -7450,7 +7946,7 @@ public class RowDataSet implements DataSet, Cloneable {
         final List<List<Object>> newColumnList = new ArrayList<>(columnCount);
 
         for (int i = 0; i < columnCount; i++) {
-            newColumnList.add(new ArrayList<>(N.min(max, (size == 0) ? 0 : ((int) (size * 0.8) + 1))));
+            newColumnList.add(newColumn(_columnList.get(i), N.min(max, (size == 0) ? 0 : ((int) (size * 0.8) + 1))));
         }
 
         final Properties<String, Object> newProperties = N.isNullOrEmpty(_properties) ? null : _properties.copy();
@@ -7474,7 +7970,7 @@ public class RowDataSet implements DataSet, Cloneable {
                 }
 
                 for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
-                    newColumnList.get(columnIndex).add(_columnList.get(columnIndex).get(rowIndex));
+                    addCell(newColumnList.get(columnIndex), _columnList.get(columnIndex), rowIndex);
                 }
             }
         }
@@ -7535,7 +8031,7 @@ public class RowDataSet implements DataSet, Cloneable {
             newColumnNameList.addAll(copyingColumnNames);
 
             for (int columnIndex : copyingColumnIndices) {
-                newColumnList.add(new ArrayList<>(_columnList.get(columnIndex)));
+                newColumnList.add(copyColumn(_columnList.get(columnIndex), 0, size));
             }
         }
 
@@ -7580,7 +8076,7 @@ public class RowDataSet implements DataSet, Cloneable {
             newColumnNameList.addAll(copyingColumnNames);
 
             for (int columnIndex : copyingColumnIndices) {
-                newColumnList.add(new ArrayList<>(_columnList.get(columnIndex)));
+                newColumnList.add(copyColumn(_columnList.get(columnIndex), 0, size));
             }
         }
 
@@ -7627,7 +8123,7 @@ public class RowDataSet implements DataSet, Cloneable {
             newColumnNameList.addAll(copyingColumnNames);
 
             for (int columnIndex : copyingColumnIndices) {
-                newColumnList.add(new ArrayList<>(_columnList.get(columnIndex)));
+                newColumnList.add(copyColumn(_columnList.get(columnIndex), 0, size));
             }
         }
 
@@ -7678,7 +8174,7 @@ public class RowDataSet implements DataSet, Cloneable {
             newColumnNameList.addAll(copyingColumnNames);
 
             for (int columnIndex : copyingColumnIndices) {
-                newColumnList.add(new ArrayList<>(_columnList.get(columnIndex)));
+                newColumnList.add(copyColumn(_columnList.get(columnIndex), 0, size));
             }
         }
 
@@ -8057,14 +8553,8 @@ public class RowDataSet implements DataSet, Cloneable {
         final List<String> newColumnNameList = new ArrayList<>(columnNames);
         final List<List<Object>> newColumnList = new ArrayList<>(newColumnNameList.size());
 
-        if (fromRowIndex == 0 && toRowIndex == size()) {
-            for (String columnName : newColumnNameList) {
-                newColumnList.add(new ArrayList<>(_columnList.get(checkColumnName(columnName))));
-            }
-        } else {
-            for (String columnName : newColumnNameList) {
-                newColumnList.add(new ArrayList<>(_columnList.get(checkColumnName(columnName)).subList(fromRowIndex, toRowIndex)));
-            }
+        for (String columnName : newColumnNameList) {
+            newColumnList.add(copyColumn(_columnList.get(checkColumnName(columnName)), fromRowIndex, toRowIndex));
         }
 
         final Properties<String, Object> newProperties = copyProperties && N.notNullOrEmpty(_properties) ? _properties.copy() : null;
@@ -8098,57 +8588,219 @@ public class RowDataSet implements DataSet, Cloneable {
 
     /**
      *
-     * @param right
      * @param columnName
-     * @param refColumnName
-     * @return
      */
     @Override
-    public DataSet innerJoin(final DataSet right, final String columnName, final String refColumnName) {
-        final Map<String, String> onColumnNames = N.asMap(columnName, refColumnName);
-
-        return innerJoin(right, onColumnNames);
+    public void createIndex(final String columnName) {
+        createIndex(columnName, false);
     }
 
     /**
      *
-     * @param right
-     * @param onColumnNames
-     * @return
+     * @param columnName
+     * @param sorted
      */
     @Override
-    public DataSet innerJoin(final DataSet right, final Map<String, String> onColumnNames) {
-        return join(right, onColumnNames, false);
+    public void createIndex(final String columnName, final boolean sorted) {
+        final int columnIndex = checkColumnName(columnName);
+
+        if (_indexMap == null) {
+            _indexMap = new HashMap<>();
+        }
+
+        final ColumnIndex index = _indexMap.get(columnName);
+
+        if (index == null) {
+            _indexMap.put(columnName, new ColumnIndex(sorted));
+        } else {
+            index.add(sorted);
+        }
+
+        getIndex(columnIndex);
     }
 
     /**
      *
-     * @param right
-     * @param onColumnNames
-     * @param newColumnName
-     * @param newColumnClass
+     * @param columnName
      * @return
      */
     @Override
-    public DataSet innerJoin(final DataSet right, final Map<String, String> onColumnNames, final String newColumnName, final Class<?> newColumnClass) {
-        return join(right, onColumnNames, newColumnName, newColumnClass, false);
+    public boolean dropIndex(final String columnName) {
+        return _indexMap != null && _indexMap.remove(columnName) != null;
     }
 
     /**
+     * Gets the index on the specified column, which is rebuilt if this {@code DataSet} has been modified since it's built.
      *
-     * @param right
-     * @param onColumnNames
-     * @param newColumnName
-     * @param newColumnClass
-     * @param collSupplier
-     * @return
+     * @param columnIndex
+     * @return {@code null} if there is no index on the column.
      */
-    @SuppressWarnings("rawtypes")
-    @Override
-    public DataSet innerJoin(final DataSet right, final Map<String, String> onColumnNames, final String newColumnName, final Class<?> newColumnClass,
-            final IntFunction<? extends Collection> collSupplier) {
-        return join(right, onColumnNames, newColumnName, newColumnClass, collSupplier, false);
-    }
+    ColumnIndex getIndex(final int columnIndex) {
+        if (N.isNullOrEmpty(_indexMap)) {
+            return null;
+        }
+
+        final ColumnIndex index = _indexMap.get(_columnNameList.get(columnIndex));
+
+        return index == null ? null : index.refresh(_columnList.get(columnIndex), modCount);
+    }
+
+    /**
+     *
+     * @param columnName
+     * @param value
+     * @return
+     */
+    @Override
+    public DataSet lookup(final String columnName, final Object value) {
+        final int columnIndex = checkColumnName(columnName);
+        final ColumnIndex index = getIndex(columnIndex);
+
+        if (index != null) {
+            return copyOf(index.find(value));
+        }
+
+        final List<Object> column = _columnList.get(columnIndex);
+        final Object key = ColumnIndex.convert(column, value);
+
+        if (key == ColumnIndex.NO_KEY) {
+            return copyOf(N.EMPTY_INT_ARRAY);
+        }
+
+        final IntList rowIndexes = new IntList();
+
+        for (int rowIndex = 0, size = size(); rowIndex < size; rowIndex++) {
+            if (N.equals(column.get(rowIndex), key)) {
+                rowIndexes.add(rowIndex);
+            }
+        }
+
+        return copyOf(rowIndexes.toArray());
+    }
+
+    /**
+     *
+     * @param columnName
+     * @param fromValue
+     * @param toValue
+     * @return
+     */
+    @SuppressWarnings("rawtypes")
+    @Override
+    public DataSet lookup(final String columnName, final Object fromValue, final Object toValue) {
+        final int columnIndex = checkColumnName(columnName);
+        final ColumnIndex index = getIndex(columnIndex);
+
+        if (index != null && index.isSorted()) {
+            return copyOf(index.findRange(fromValue, toValue));
+        }
+
+        final List<Object> column = _columnList.get(columnIndex);
+        final Object fromBound = ColumnIndex.ceiling(column, fromValue);
+        final Object toBound = ColumnIndex.ceiling(column, toValue);
+
+        if (fromBound == ColumnIndex.NO_KEY) {
+            return copyOf(N.EMPTY_INT_ARRAY);
+        }
+
+        final Comparable fromKey = (Comparable) fromBound;
+        final Comparable toKey = toBound == ColumnIndex.NO_KEY ? null : (Comparable) toBound;
+        final IntList rowIndexes = new IntList();
+        Comparable value = null;
+
+        for (int rowIndex = 0, size = size(); rowIndex < size; rowIndex++) {
+            value = (Comparable) column.get(rowIndex);
+
+            if (value != null && (fromKey == null || N.compare(value, fromKey) >= 0) && (toKey == null || N.compare(value, toKey) < 0)) {
+                rowIndexes.add(rowIndex);
+            }
+        }
+
+        return copyOf(rowIndexes.toArray());
+    }
+
+    /**
+     * Returns a new {@code DataSet} with the specified rows.
+     *
+     * @param rowIndexes
+     * @return
+     */
+    private DataSet copyOf(final int[] rowIndexes) {
+        final int columnCount = _columnNameList.size();
+        final List<String> newColumnNameList = new ArrayList<>(_columnNameList);
+        final List<List<Object>> newColumnList = new ArrayList<>(columnCount);
+        List<Object> column = null;
+        List<Object> newColumn = null;
+
+        for (int i = 0; i < columnCount; i++) {
+            column = _columnList.get(i);
+            newColumn = newColumn(column, rowIndexes.length);
+
+            for (int rowIndex : rowIndexes) {
+                addCell(newColumn, column, rowIndex);
+            }
+
+            newColumnList.add(newColumn);
+        }
+
+        final Properties<String, Object> newProperties = N.isNullOrEmpty(_properties) ? null : _properties.copy();
+
+        return new RowDataSet(newColumnNameList, newColumnList, newProperties);
+    }
+
+    /**
+     *
+     * @param right
+     * @param columnName
+     * @param refColumnName
+     * @return
+     */
+    @Override
+    public DataSet innerJoin(final DataSet right, final String columnName, final String refColumnName) {
+        final Map<String, String> onColumnNames = N.asMap(columnName, refColumnName);
+
+        return innerJoin(right, onColumnNames);
+    }
+
+    /**
+     *
+     * @param right
+     * @param onColumnNames
+     * @return
+     */
+    @Override
+    public DataSet innerJoin(final DataSet right, final Map<String, String> onColumnNames) {
+        return join(right, onColumnNames, false);
+    }
+
+    /**
+     *
+     * @param right
+     * @param onColumnNames
+     * @param newColumnName
+     * @param newColumnClass
+     * @return
+     */
+    @Override
+    public DataSet innerJoin(final DataSet right, final Map<String, String> onColumnNames, final String newColumnName, final Class<?> newColumnClass) {
+        return join(right, onColumnNames, newColumnName, newColumnClass, false);
+    }
+
+    /**
+     *
+     * @param right
+     * @param onColumnNames
+     * @param newColumnName
+     * @param newColumnClass
+     * @param collSupplier
+     * @return
+     */
+    @SuppressWarnings("rawtypes")
+    @Override
+    public DataSet innerJoin(final DataSet right, final Map<String, String> onColumnNames, final String newColumnName, final Class<?> newColumnClass,
+            final IntFunction<? extends Collection> collSupplier) {
+        return join(right, onColumnNames, newColumnName, newColumnClass, collSupplier, false);
+    }
 
     /**
      *
@@ -8185,88 +8837,31 @@ public class RowDataSet implements DataSet, Cloneable {
     private DataSet join(final DataSet right, final Map<String, String> onColumnNames, final boolean isLeftJoin) {
         checkJoinOnColumnNames(onColumnNames);
 
-        if (onColumnNames.size() == 1) {
-            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
-            final int leftJoinColumnIndex = checkColumnName(onColumnEntry.getKey());
-            final int rightJoinColumnIndex = checkRefColumnName(right, onColumnEntry.getValue());
-            final List<String> rightColumnNames = getRightColumnNames(right, onColumnEntry.getValue());
-            final List<String> newColumnNameList = new ArrayList<>(_columnNameList.size() + rightColumnNames.size());
-            final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + rightColumnNames.size());
-
-            initNewColumnList(newColumnNameList, newColumnList, rightColumnNames);
-
-            final List<Object> leftJoinColumn = this.getColumn(leftJoinColumnIndex);
-            final List<Object> rightJoinColumn = right.getColumn(rightJoinColumnIndex);
-            final Map<Object, List<Integer>> joinColumnRightRowIndexMap = new HashMap<>();
-            Object hashKey = null;
-
-            for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-                hashKey = getHashKey(rightJoinColumn.get(rightRowIndex));
-                putRowIndex(joinColumnRightRowIndexMap, hashKey, rightRowIndex);
-            }
-
-            final int[] rightColumnIndexes = right.getColumnIndexes(rightColumnNames);
-            List<Integer> rightRowIndexList = null;
-
-            for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-                hashKey = getHashKey(leftJoinColumn.get(leftRowIndex));
-                rightRowIndexList = joinColumnRightRowIndexMap.get(hashKey);
-
-                join(newColumnList, right, isLeftJoin, leftRowIndex, rightRowIndexList, rightColumnIndexes);
-            }
-
-            return new RowDataSet(newColumnNameList, newColumnList);
-        }
         final int[] leftJoinColumnIndexes = new int[onColumnNames.size()];
         final int[] rightJoinColumnIndexes = new int[onColumnNames.size()];
-        final List<String> rightColumnNames = new ArrayList<>(right.columnNameList());
+        List<String> rightColumnNames = null;
 
-        initColumnIndexes(leftJoinColumnIndexes, rightJoinColumnIndexes, right, onColumnNames, rightColumnNames);
+        if (onColumnNames.size() == 1) {
+            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
+            leftJoinColumnIndexes[0] = checkColumnName(onColumnEntry.getKey());
+            rightJoinColumnIndexes[0] = checkRefColumnName(right, onColumnEntry.getValue());
+            rightColumnNames = getRightColumnNames(right, onColumnEntry.getValue());
+        } else {
+            rightColumnNames = new ArrayList<>(right.columnNameList());
+            initColumnIndexes(leftJoinColumnIndexes, rightJoinColumnIndexes, right, onColumnNames, rightColumnNames);
+        }
 
         final List<String> newColumnNameList = new ArrayList<>(_columnNameList.size() + rightColumnNames.size());
         final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + rightColumnNames.size());
 
         initNewColumnList(newColumnNameList, newColumnList, rightColumnNames);
 
-        final Map<Object[], List<Integer>> joinColumnRightRowIndexMap = new ArrayHashMap<>();
-        Object[] row = null;
-
-        for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(rightJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = rightJoinColumnIndexes.length; i < len; i++) {
-                row[i] = right.get(rightRowIndex, rightJoinColumnIndexes[i]);
-            }
-
-            row = putRowIndex(joinColumnRightRowIndexMap, row, rightRowIndex);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
+        final JoinIndex.Matches matches = match(this, leftJoinColumnIndexes, right, rightJoinColumnIndexes);
         final int[] rightColumnIndexes = right.getColumnIndexes(rightColumnNames);
-        row = Objectory.createObjectArray(leftJoinColumnIndexes.length);
-        List<Integer> rightRowIndexList = null;
 
         for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-            for (int i = 0, len = leftJoinColumnIndexes.length; i < len; i++) {
-                row[i] = this.get(leftRowIndex, leftJoinColumnIndexes[i]);
-            }
-
-            rightRowIndexList = joinColumnRightRowIndexMap.get(row);
-
-            join(newColumnList, right, isLeftJoin, leftRowIndex, rightRowIndexList, rightColumnIndexes);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
-        for (Object[] a : joinColumnRightRowIndexMap.keySet()) {
-            Objectory.recycle(a);
+            join(newColumnList, right, isLeftJoin, leftRowIndex, matches.rowIndexes, matches.fromIndex(leftRowIndex), matches.toIndex(leftRowIndex),
+                    rightColumnIndexes);
         }
 
         return new RowDataSet(newColumnNameList, newColumnList);
@@ -8278,24 +8873,26 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param right
      * @param isLeftJoin
      * @param leftRowIndex
-     * @param rightRowIndexList
+     * @param rightRowIndexes
+     * @param fromIndex
+     * @param toIndex
      * @param rightColumnIndexes
      */
-    private void join(final List<List<Object>> newColumnList, final DataSet right, final boolean isLeftJoin, int leftRowIndex, List<Integer> rightRowIndexList,
-            final int[] rightColumnIndexes) {
-        if (N.notNullOrEmpty(rightRowIndexList)) {
-            for (int rightRowIndex : rightRowIndexList) {
+    private void join(final List<List<Object>> newColumnList, final DataSet right, final boolean isLeftJoin, int leftRowIndex, final int[] rightRowIndexes,
+            final int fromIndex, final int toIndex, final int[] rightColumnIndexes) {
+        if (fromIndex < toIndex) {
+            for (int k = fromIndex; k < toIndex; k++) {
                 for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                    newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                    addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
                 }
 
                 for (int i = 0, leftColumnLength = _columnNameList.size(), rightColumnLength = rightColumnIndexes.length; i < rightColumnLength; i++) {
-                    newColumnList.get(leftColumnLength + i).add(right.get(rightRowIndex, rightColumnIndexes[i]));
+                    newColumnList.get(leftColumnLength + i).add(right.get(rightRowIndexes[k], rightColumnIndexes[i]));
                 }
             }
         } else if (isLeftJoin) {
             for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
             }
 
             for (int i = 0, leftColumnLength = _columnNameList.size(), rightColumnLength = rightColumnIndexes.length; i < rightColumnLength; i++) {
@@ -8318,37 +8915,6 @@ public class RowDataSet implements DataSet, Cloneable {
         checkJoinOnColumnNames(onColumnNames);
         checkNewColumnName(newColumnName);
 
-        if (onColumnNames.size() == 1) {
-            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
-            final int leftJoinColumnIndex = checkColumnName(onColumnEntry.getKey());
-            final int rightJoinColumnIndex = checkRefColumnName(right, onColumnEntry.getValue());
-            final List<String> newColumnNameList = new ArrayList<>(_columnNameList.size() + 1);
-            final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + 1);
-
-            initNewColumnList(newColumnNameList, newColumnList, newColumnName);
-
-            final List<Object> leftJoinColumn = this.getColumn(leftJoinColumnIndex);
-            final List<Object> rightJoinColumn = right.getColumn(rightJoinColumnIndex);
-            final Map<Object, List<Integer>> joinColumnRightRowIndexMap = new HashMap<>();
-            Object hashKey = null;
-
-            for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-                hashKey = getHashKey(rightJoinColumn.get(rightRowIndex));
-                putRowIndex(joinColumnRightRowIndexMap, hashKey, rightRowIndex);
-            }
-
-            final int newColumnIndex = newColumnList.size() - 1;
-            List<Integer> rightRowIndexList = null;
-
-            for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-                hashKey = getHashKey(leftJoinColumn.get(leftRowIndex));
-                rightRowIndexList = joinColumnRightRowIndexMap.get(hashKey);
-
-                join(newColumnList, right, isLeftJoin, newColumnClass, newColumnIndex, leftRowIndex, rightRowIndexList);
-            }
-
-            return new RowDataSet(newColumnNameList, newColumnList);
-        }
         final int[] leftJoinColumnIndexes = new int[onColumnNames.size()];
         final int[] rightJoinColumnIndexes = new int[onColumnNames.size()];
 
@@ -8358,45 +8924,12 @@ public class RowDataSet implements DataSet, Cloneable {
         final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + 1);
         initNewColumnList(newColumnNameList, newColumnList, newColumnName);
 
-        final Map<Object[], List<Integer>> joinColumnRightRowIndexMap = new ArrayHashMap<>();
-        Object[] row = null;
-
-        for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(rightJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = rightJoinColumnIndexes.length; i < len; i++) {
-                row[i] = right.get(rightRowIndex, rightJoinColumnIndexes[i]);
-            }
-
-            row = putRowIndex(joinColumnRightRowIndexMap, row, rightRowIndex);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
+        final JoinIndex.Matches matches = match(this, leftJoinColumnIndexes, right, rightJoinColumnIndexes);
         final int newColumnIndex = newColumnList.size() - 1;
-        List<Integer> rightRowIndexList = null;
-        row = Objectory.createObjectArray(leftJoinColumnIndexes.length);
 
         for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-            for (int i = 0, len = leftJoinColumnIndexes.length; i < len; i++) {
-                row[i] = this.get(leftRowIndex, leftJoinColumnIndexes[i]);
-            }
-
-            rightRowIndexList = joinColumnRightRowIndexMap.get(row);
-
-            join(newColumnList, right, isLeftJoin, newColumnClass, newColumnIndex, leftRowIndex, rightRowIndexList);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
-        for (Object[] a : joinColumnRightRowIndexMap.keySet()) {
-            Objectory.recycle(a);
+            join(newColumnList, right, isLeftJoin, newColumnClass, newColumnIndex, leftRowIndex, matches.rowIndexes, matches.fromIndex(leftRowIndex),
+                    matches.toIndex(leftRowIndex));
         }
 
         return new RowDataSet(newColumnNameList, newColumnList);
@@ -8410,21 +8943,23 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param newColumnClass
      * @param newColumnIndex
      * @param leftRowIndex
-     * @param rightRowIndexList
+     * @param rightRowIndexes
+     * @param fromIndex
+     * @param toIndex
      */
     private void join(final List<List<Object>> newColumnList, final DataSet right, final boolean isLeftJoin, final Class<?> newColumnClass,
-            final int newColumnIndex, int leftRowIndex, List<Integer> rightRowIndexList) {
-        if (N.notNullOrEmpty(rightRowIndexList)) {
-            for (int rightRowIndex : rightRowIndexList) {
+            final int newColumnIndex, int leftRowIndex, final int[] rightRowIndexes, final int fromIndex, final int toIndex) {
+        if (fromIndex < toIndex) {
+            for (int k = fromIndex; k < toIndex; k++) {
                 for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                    newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                    addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
                 }
 
-                newColumnList.get(newColumnIndex).add(right.getRow(newColumnClass, rightRowIndex));
+                newColumnList.get(newColumnIndex).add(right.getRow(newColumnClass, rightRowIndexes[k]));
             }
         } else if (isLeftJoin) {
             for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
             }
 
             newColumnList.get(newColumnIndex).add(null);
@@ -8550,7 +9085,7 @@ public class RowDataSet implements DataSet, Cloneable {
     private void initNewColumnList(final List<String> newColumnNameList, final List<List<Object>> newColumnList, final List<String> rightColumnNames) {
         for (int i = 0, len = _columnNameList.size(); i < len; i++) {
             newColumnNameList.add(_columnNameList.get(i));
-            newColumnList.add(new ArrayList<>());
+            newColumnList.add(newColumn(_columnList.get(i), 0));
         }
 
         for (String rightColumnName : rightColumnNames) {
@@ -8574,7 +9109,7 @@ public class RowDataSet implements DataSet, Cloneable {
     private void initNewColumnList(final List<String> newColumnNameList, final List<List<Object>> newColumnList, final String newColumnName) {
         for (int i = 0, len = _columnNameList.size(); i < len; i++) {
             newColumnNameList.add(_columnNameList.get(i));
-            newColumnList.add(new ArrayList<>());
+            newColumnList.add(newColumn(_columnList.get(i), 0));
         }
 
         newColumnNameList.add(newColumnName);
@@ -8582,41 +9117,66 @@ public class RowDataSet implements DataSet, Cloneable {
     }
 
     /**
-     * Put row index.
+     * Finds the matched rows of {@code right} for each row of {@code left} by the existing hash index on the joining column, if there is any.
      *
-     * @param joinColumnRightRowIndexMap
-     * @param hashKey
-     * @param rightRowIndex
+     * @param left
+     * @param leftJoinColumnIndexes
+     * @param right
+     * @param rightJoinColumnIndexes
+     * @return
+     */
+    private static JoinIndex.Matches match(final DataSet left, final int[] leftJoinColumnIndexes, final DataSet right, final int[] rightJoinColumnIndexes) {
+        return JoinIndex.match(getJoinColumns(left, leftJoinColumnIndexes), left.size(), getHashIndex(left, leftJoinColumnIndexes),
+                getJoinColumns(right, rightJoinColumnIndexes), right.size(), getHashIndex(right, rightJoinColumnIndexes));
+    }
+
+    /**
+     * Gets the existing hash index on the joining column, or builds a new one.
+     *
+     * @param dataSet
+     * @param joinColumnIndexes
+     * @return
      */
-    private void putRowIndex(final Map<Object, List<Integer>> joinColumnRightRowIndexMap, Object hashKey, int rightRowIndex) {
-        List<Integer> rightRowIndexList = joinColumnRightRowIndexMap.get(hashKey);
+    private static JoinIndex joinIndex(final DataSet dataSet, final int[] joinColumnIndexes) {
+        final JoinIndex hashIndex = getHashIndex(dataSet, joinColumnIndexes);
 
-        if (rightRowIndexList == null) {
-            joinColumnRightRowIndexMap.put(hashKey, N.asList(rightRowIndex));
-        } else {
-            rightRowIndexList.add(rightRowIndex);
+        return hashIndex == null ? new JoinIndex(getJoinColumns(dataSet, joinColumnIndexes), dataSet.size()) : hashIndex;
+    }
+
+    /**
+     * Gets the hash index created by {@code createIndex} if the {@code DataSet} is joined on one column.
+     *
+     * @param dataSet
+     * @param joinColumnIndexes
+     * @return {@code null} if there is no hash index on the joining column.
+     */
+    private static JoinIndex getHashIndex(final DataSet dataSet, final int[] joinColumnIndexes) {
+        if (joinColumnIndexes.length == 1 && dataSet instanceof RowDataSet) {
+            final ColumnIndex index = ((RowDataSet) dataSet).getIndex(joinColumnIndexes[0]);
+
+            return index == null ? null : index.hashIndex();
         }
+
+        return null;
     }
 
     /**
-     * Put row index.
+     * Gets the joining columns of the specified {@code DataSet}. The columns are not copied if it's a {@code RowDataSet}.
      *
-     * @param joinColumnRightRowIndexMap
-     * @param row
-     * @param rightRowIndex
+     * @param dataSet
+     * @param joinColumnIndexes
      * @return
      */
-    private Object[] putRowIndex(final Map<Object[], List<Integer>> joinColumnRightRowIndexMap, Object[] row, int rightRowIndex) {
-        List<Integer> rightRowIndexList = joinColumnRightRowIndexMap.get(row);
+    @SuppressWarnings("unchecked")
+    private static List<Object>[] getJoinColumns(final DataSet dataSet, final int[] joinColumnIndexes) {
+        final List<Object>[] joinColumns = new List[joinColumnIndexes.length];
 
-        if (rightRowIndexList == null) {
-            joinColumnRightRowIndexMap.put(row, N.asList(rightRowIndex));
-            row = null;
-        } else {
-            rightRowIndexList.add(rightRowIndex);
+        for (int i = 0, len = joinColumnIndexes.length; i < len; i++) {
+            joinColumns[i] = dataSet instanceof RowDataSet ? ((RowDataSet) dataSet)._columnList.get(joinColumnIndexes[i])
+                    : dataSet.getColumn(joinColumnIndexes[i]);
         }
 
-        return row;
+        return joinColumns;
     }
 
     /**
@@ -8665,38 +9225,6 @@ public class RowDataSet implements DataSet, Cloneable {
         checkNewColumnName(newColumnName);
         N.checkArgNotNull(collSupplier);
 
-        if (onColumnNames.size() == 1) {
-            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
-            final int leftJoinColumnIndex = checkColumnName(onColumnEntry.getKey());
-            final int rightJoinColumnIndex = checkRefColumnName(right, onColumnEntry.getValue());
-
-            final List<String> newColumnNameList = new ArrayList<>(_columnNameList.size() + 1);
-            final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + 1);
-
-            initNewColumnList(newColumnNameList, newColumnList, newColumnName);
-
-            final List<Object> leftJoinColumn = this.getColumn(leftJoinColumnIndex);
-            final List<Object> rightJoinColumn = right.getColumn(rightJoinColumnIndex);
-            final Map<Object, List<Integer>> joinColumnRightRowIndexMap = new HashMap<>();
-            List<Integer> rightRowIndexList = null;
-            Object hashKey = null;
-
-            for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-                hashKey = getHashKey(rightJoinColumn.get(rightRowIndex));
-                putRowIndex(joinColumnRightRowIndexMap, hashKey, rightRowIndex);
-            }
-
-            final int newColumnIndex = newColumnList.size() - 1;
-
-            for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-                hashKey = getHashKey(leftJoinColumn.get(leftRowIndex));
-                rightRowIndexList = joinColumnRightRowIndexMap.get(hashKey);
-
-                join(newColumnList, right, isLeftJoin, newColumnClass, collSupplier, newColumnIndex, leftRowIndex, rightRowIndexList);
-            }
-
-            return new RowDataSet(newColumnNameList, newColumnList);
-        }
         final int[] leftJoinColumnIndexes = new int[onColumnNames.size()];
         final int[] rightJoinColumnIndexes = new int[onColumnNames.size()];
 
@@ -8706,49 +9234,16 @@ public class RowDataSet implements DataSet, Cloneable {
         final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + 1);
         initNewColumnList(newColumnNameList, newColumnList, newColumnName);
 
-        final Map<Object[], List<Integer>> joinColumnRightRowIndexMap = new ArrayHashMap<>();
-        List<Integer> rightRowIndexList = null;
-        Object[] row = null;
-
-        for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(rightJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = rightJoinColumnIndexes.length; i < len; i++) {
-                row[i] = right.get(rightRowIndex, rightJoinColumnIndexes[i]);
-            }
+        final JoinIndex.Matches matches = match(this, leftJoinColumnIndexes, right, rightJoinColumnIndexes);
+        final int newColumnIndex = newColumnList.size() - 1;
 
-            row = putRowIndex(joinColumnRightRowIndexMap, row, rightRowIndex);
+        for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
+            join(newColumnList, right, isLeftJoin, newColumnClass, collSupplier, newColumnIndex, leftRowIndex, matches.rowIndexes,
+                    matches.fromIndex(leftRowIndex), matches.toIndex(leftRowIndex));
         }
 
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
-        final int newColumnIndex = newColumnList.size() - 1;
-        row = Objectory.createObjectArray(leftJoinColumnIndexes.length);
-
-        for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-            for (int i = 0, len = leftJoinColumnIndexes.length; i < len; i++) {
-                row[i] = get(leftRowIndex, leftJoinColumnIndexes[i]);
-            }
-
-            rightRowIndexList = joinColumnRightRowIndexMap.get(row);
-
-            join(newColumnList, right, isLeftJoin, newColumnClass, collSupplier, newColumnIndex, leftRowIndex, rightRowIndexList);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
-        for (Object[] a : joinColumnRightRowIndexMap.keySet()) {
-            Objectory.recycle(a);
-        }
-
-        return new RowDataSet(newColumnNameList, newColumnList);
-    }
+        return new RowDataSet(newColumnNameList, newColumnList);
+    }
 
     /**
      *
@@ -8759,26 +9254,29 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param collSupplier
      * @param newColumnIndex
      * @param leftRowIndex
-     * @param rightRowIndexList
+     * @param rightRowIndexes
+     * @param fromIndex
+     * @param toIndex
      */
     @SuppressWarnings("rawtypes")
     private void join(final List<List<Object>> newColumnList, final DataSet right, final boolean isLeftJoin, final Class<?> newColumnClass,
-            final IntFunction<? extends Collection> collSupplier, final int newColumnIndex, int leftRowIndex, List<Integer> rightRowIndexList) {
-        if (N.notNullOrEmpty(rightRowIndexList)) {
+            final IntFunction<? extends Collection> collSupplier, final int newColumnIndex, int leftRowIndex, final int[] rightRowIndexes, final int fromIndex,
+            final int toIndex) {
+        if (fromIndex < toIndex) {
             for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
             }
 
-            final Collection<Object> coll = collSupplier.apply(rightRowIndexList.size());
+            final Collection<Object> coll = collSupplier.apply(toIndex - fromIndex);
 
-            for (int rightRowIndex : rightRowIndexList) {
-                coll.add(right.getRow(newColumnClass, rightRowIndex));
+            for (int k = fromIndex; k < toIndex; k++) {
+                coll.add(right.getRow(newColumnClass, rightRowIndexes[k]));
             }
 
             newColumnList.get(newColumnIndex).add(coll);
         } else if (isLeftJoin) {
             for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
             }
 
             newColumnList.get(newColumnIndex).add(null);
@@ -8809,41 +9307,6 @@ public class RowDataSet implements DataSet, Cloneable {
     public DataSet rightJoin(final DataSet right, final Map<String, String> onColumnNames) {
         checkJoinOnColumnNames(onColumnNames);
 
-        if (onColumnNames.size() == 0) {
-            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
-            final int leftJoinColumnIndex = checkColumnName(onColumnEntry.getKey());
-            final int rightJoinColumnIndex = checkRefColumnName(right, onColumnEntry.getValue());
-            final List<String> leftColumnNames = getLeftColumnNamesForRightJoin(onColumnEntry.getValue());
-            final List<String> rightColumnNames = right.columnNameList();
-
-            final List<String> newColumnNameList = new ArrayList<>(leftColumnNames.size() + rightColumnNames.size());
-            final List<List<Object>> newColumnList = new ArrayList<>(leftColumnNames.size() + rightColumnNames.size());
-
-            initNewColumnListForRightJoin(newColumnNameList, newColumnList, right, leftColumnNames, rightColumnNames);
-
-            final List<Object> leftJoinColumn = this.getColumn(leftJoinColumnIndex);
-            final List<Object> rightJoinColumn = right.getColumn(rightJoinColumnIndex);
-            final Map<Object, List<Integer>> joinColumnLeftRowIndexMap = new HashMap<>();
-            List<Integer> leftRowIndexList = null;
-            Object hashKey = null;
-
-            for (int leftRowIndex = 0, leftDataSetSize = this.size(); leftRowIndex < leftDataSetSize; leftRowIndex++) {
-                hashKey = getHashKey(leftJoinColumn.get(leftRowIndex));
-                putRowIndex(joinColumnLeftRowIndexMap, hashKey, leftRowIndex);
-            }
-
-            final int[] leftColumnIndexes = this.getColumnIndexes(leftColumnNames);
-            final int[] rightColumnIndexes = right.getColumnIndexes(rightColumnNames);
-
-            for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-                hashKey = getHashKey(rightJoinColumn.get(rightRowIndex));
-                leftRowIndexList = joinColumnLeftRowIndexMap.get(hashKey);
-
-                rightJoin(newColumnList, right, rightRowIndex, rightColumnIndexes, leftColumnIndexes, leftRowIndexList);
-            }
-
-            return new RowDataSet(newColumnNameList, newColumnList);
-        }
         final List<String> leftColumnNames = new ArrayList<>(_columnNameList);
         final List<String> rightColumnNames = right.columnNameList();
         final int[] leftJoinColumnIndexes = new int[onColumnNames.size()];
@@ -8856,46 +9319,13 @@ public class RowDataSet implements DataSet, Cloneable {
 
         initNewColumnListForRightJoin(newColumnNameList, newColumnList, right, leftColumnNames, rightColumnNames);
 
-        final Map<Object[], List<Integer>> joinColumnLeftRowIndexMap = new ArrayHashMap<>();
-        Object[] row = null;
-
-        for (int leftRowIndex = 0, leftDataSetSize = this.size(); leftRowIndex < leftDataSetSize; leftRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(leftJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = leftJoinColumnIndexes.length; i < len; i++) {
-                row[i] = this.get(leftRowIndex, leftJoinColumnIndexes[i]);
-            }
-
-            row = putRowIndex(joinColumnLeftRowIndexMap, row, leftRowIndex);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
+        final JoinIndex.Matches matches = match(right, rightJoinColumnIndexes, this, leftJoinColumnIndexes);
         final int[] leftColumnIndexes = this.getColumnIndexes(leftColumnNames);
         final int[] rightColumnIndexes = right.getColumnIndexes(rightColumnNames);
-        row = Objectory.createObjectArray(rightJoinColumnIndexes.length);
-        List<Integer> leftRowIndexList = null;
 
         for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-            for (int i = 0, len = rightJoinColumnIndexes.length; i < len; i++) {
-                row[i] = right.get(rightRowIndex, rightJoinColumnIndexes[i]);
-            }
-
-            leftRowIndexList = joinColumnLeftRowIndexMap.get(row);
-
-            rightJoin(newColumnList, right, rightRowIndex, rightColumnIndexes, leftColumnIndexes, leftRowIndexList);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
-        for (Object[] a : joinColumnLeftRowIndexMap.keySet()) {
-            Objectory.recycle(a);
+            rightJoin(newColumnList, right, rightRowIndex, rightColumnIndexes, leftColumnIndexes, matches.rowIndexes, matches.fromIndex(rightRowIndex),
+                    matches.toIndex(rightRowIndex));
         }
 
         return new RowDataSet(newColumnNameList, newColumnList);
@@ -8908,14 +9338,16 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param rightRowIndex
      * @param rightColumnIndexes
      * @param leftColumnIndexes
-     * @param leftRowIndexList
+     * @param leftRowIndexes
+     * @param fromIndex
+     * @param toIndex
      */
     private void rightJoin(final List<List<Object>> newColumnList, final DataSet right, int rightRowIndex, final int[] rightColumnIndexes,
-            final int[] leftColumnIndexes, List<Integer> leftRowIndexList) {
-        if (N.notNullOrEmpty(leftRowIndexList)) {
-            for (int leftRowIndex : leftRowIndexList) {
+            final int[] leftColumnIndexes, final int[] leftRowIndexes, final int fromIndex, final int toIndex) {
+        if (fromIndex < toIndex) {
+            for (int k = fromIndex; k < toIndex; k++) {
                 for (int i = 0, leftColumnLength = leftColumnIndexes.length; i < leftColumnLength; i++) {
-                    newColumnList.get(i).add(this.get(leftRowIndex, leftColumnIndexes[i]));
+                    addCell(newColumnList.get(i), _columnList.get(leftColumnIndexes[i]), leftRowIndexes[k]);
                 }
 
                 for (int i = 0, leftColumnLength = leftColumnIndexes.length, rightColumnLength = rightColumnIndexes.length; i < rightColumnLength; i++) {
@@ -8980,7 +9412,7 @@ public class RowDataSet implements DataSet, Cloneable {
             }
 
             newColumnNameList.add(leftColumnName);
-            newColumnList.add(new ArrayList<>());
+            newColumnList.add(newColumn(_columnList.get(getColumnIndex(leftColumnName)), 0));
         }
 
         for (String rightColumnName : rightColumnNames) {
@@ -8989,22 +9421,6 @@ public class RowDataSet implements DataSet, Cloneable {
         }
     }
 
-    /**
-     * Gets the left column names for right join.
-     *
-     * @param refColumnName
-     * @return
-     */
-    private List<String> getLeftColumnNamesForRightJoin(final String refColumnName) {
-        final List<String> leftColumnNames = new ArrayList<>(_columnNameList);
-
-        if (this.containsColumn(refColumnName)) {
-            leftColumnNames.remove(refColumnName);
-        }
-
-        return leftColumnNames;
-    }
-
     /**
      *
      * @param right
@@ -9018,40 +9434,6 @@ public class RowDataSet implements DataSet, Cloneable {
         checkJoinOnColumnNames(onColumnNames);
         checkNewColumnName(newColumnName);
 
-        if (onColumnNames.size() == 1) {
-            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
-            final int leftJoinColumnIndex = checkColumnName(onColumnEntry.getKey());
-            final int rightJoinColumnIndex = checkRefColumnName(right, onColumnEntry.getValue());
-
-            final List<String> leftColumnNames = new ArrayList<>(_columnNameList);
-            final List<String> newColumnNameList = new ArrayList<>(leftColumnNames.size() + 1);
-            final List<List<Object>> newColumnList = new ArrayList<>(leftColumnNames.size() + 1);
-
-            initNewColumnListForRightJoin(newColumnNameList, newColumnList, leftColumnNames, newColumnName);
-
-            final List<Object> leftJoinColumn = this.getColumn(leftJoinColumnIndex);
-            final List<Object> rightJoinColumn = right.getColumn(rightJoinColumnIndex);
-            final Map<Object, List<Integer>> joinColumnLeftRowIndexMap = new HashMap<>();
-            Object hashKey = null;
-
-            for (int leftRowIndex = 0, leftDataSetSize = this.size(); leftRowIndex < leftDataSetSize; leftRowIndex++) {
-                hashKey = getHashKey(leftJoinColumn.get(leftRowIndex));
-                putRowIndex(joinColumnLeftRowIndexMap, hashKey, leftRowIndex);
-            }
-
-            final int newColumnIndex = newColumnList.size() - 1;
-            final int[] leftColumnIndexes = this.getColumnIndexes(leftColumnNames);
-            List<Integer> leftRowIndexList = null;
-
-            for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-                hashKey = getHashKey(rightJoinColumn.get(rightRowIndex));
-                leftRowIndexList = joinColumnLeftRowIndexMap.get(hashKey);
-
-                rightJoin(newColumnList, right, newColumnClass, newColumnIndex, rightRowIndex, leftRowIndexList, leftColumnIndexes);
-            }
-
-            return new RowDataSet(newColumnNameList, newColumnList);
-        }
         final List<String> leftColumnNames = new ArrayList<>(_columnNameList);
         final int[] leftJoinColumnIndexes = new int[onColumnNames.size()];
         final int[] rightJoinColumnIndexes = new int[onColumnNames.size()];
@@ -9063,46 +9445,13 @@ public class RowDataSet implements DataSet, Cloneable {
 
         initNewColumnListForRightJoin(newColumnNameList, newColumnList, leftColumnNames, newColumnName);
 
-        final Map<Object[], List<Integer>> joinColumnLeftRowIndexMap = new ArrayHashMap<>();
-        Object[] row = null;
-
-        for (int leftRowIndex = 0, leftDataSetSize = this.size(); leftRowIndex < leftDataSetSize; leftRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(leftJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = leftJoinColumnIndexes.length; i < len; i++) {
-                row[i] = this.get(leftRowIndex, leftJoinColumnIndexes[i]);
-            }
-
-            row = putRowIndex(joinColumnLeftRowIndexMap, row, leftRowIndex);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
+        final JoinIndex.Matches matches = match(right, rightJoinColumnIndexes, this, leftJoinColumnIndexes);
         final int newColumnIndex = newColumnList.size() - 1;
         final int[] leftColumnIndexes = this.getColumnIndexes(leftColumnNames);
-        row = Objectory.createObjectArray(rightJoinColumnIndexes.length);
-        List<Integer> leftRowIndexList = null;
 
         for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-            for (int i = 0, len = rightJoinColumnIndexes.length; i < len; i++) {
-                row[i] = right.get(rightRowIndex, rightJoinColumnIndexes[i]);
-            }
-
-            leftRowIndexList = joinColumnLeftRowIndexMap.get(row);
-
-            rightJoin(newColumnList, right, newColumnClass, newColumnIndex, rightRowIndex, leftRowIndexList, leftColumnIndexes);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
-        for (Object[] a : joinColumnLeftRowIndexMap.keySet()) {
-            Objectory.recycle(a);
+            rightJoin(newColumnList, right, newColumnClass, newColumnIndex, rightRowIndex, matches.rowIndexes, matches.fromIndex(rightRowIndex),
+                    matches.toIndex(rightRowIndex), leftColumnIndexes);
         }
 
         return new RowDataSet(newColumnNameList, newColumnList);
@@ -9115,15 +9464,17 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param newColumnClass
      * @param newColumnIndex
      * @param rightRowIndex
-     * @param leftRowIndexList
+     * @param leftRowIndexes
+     * @param fromIndex
+     * @param toIndex
      * @param leftColumnIndexes
      */
     private void rightJoin(final List<List<Object>> newColumnList, final DataSet right, final Class<?> newColumnClass, final int newColumnIndex,
-            int rightRowIndex, List<Integer> leftRowIndexList, final int[] leftColumnIndexes) {
-        if (N.notNullOrEmpty(leftRowIndexList)) {
-            for (int leftRowIndex : leftRowIndexList) {
+            int rightRowIndex, final int[] leftRowIndexes, final int fromIndex, final int toIndex, final int[] leftColumnIndexes) {
+        if (fromIndex < toIndex) {
+            for (int k = fromIndex; k < toIndex; k++) {
                 for (int i = 0, leftColumnLength = leftColumnIndexes.length; i < leftColumnLength; i++) {
-                    newColumnList.get(i).add(this.get(leftRowIndex, leftColumnIndexes[i]));
+                    addCell(newColumnList.get(i), _columnList.get(leftColumnIndexes[i]), leftRowIndexes[k]);
                 }
 
                 newColumnList.get(newColumnIndex).add(right.getRow(newColumnClass, rightRowIndex));
@@ -9149,7 +9500,7 @@ public class RowDataSet implements DataSet, Cloneable {
             final String newColumnName) {
         for (String leftColumnName : leftColumnNames) {
             newColumnNameList.add(leftColumnName);
-            newColumnList.add(new ArrayList<>());
+            newColumnList.add(newColumn(_columnList.get(getColumnIndex(leftColumnName)), 0));
         }
 
         newColumnNameList.add(newColumnName);
@@ -9173,48 +9524,6 @@ public class RowDataSet implements DataSet, Cloneable {
         checkNewColumnName(newColumnName);
         N.checkArgNotNull(collSupplier);
 
-        if (onColumnNames.size() == 1) {
-            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
-            final int leftJoinColumnIndex = checkColumnName(onColumnEntry.getKey());
-            final int rightJoinColumnIndex = checkRefColumnName(right, onColumnEntry.getValue());
-
-            final List<String> leftColumnNames = new ArrayList<>(_columnNameList);
-            final List<String> newColumnNameList = new ArrayList<>(leftColumnNames.size() + 1);
-            final List<List<Object>> newColumnList = new ArrayList<>(leftColumnNames.size() + 1);
-
-            initNewColumnListForRightJoin(newColumnNameList, newColumnList, leftColumnNames, newColumnName);
-
-            final List<Object> leftJoinColumn = this.getColumn(leftJoinColumnIndex);
-            final List<Object> rightJoinColumn = right.getColumn(rightJoinColumnIndex);
-            final Map<Object, List<Integer>> joinColumnLeftRowIndexMap = new HashMap<>();
-            Object hashKey = null;
-
-            for (int leftRowIndex = 0, leftDataSetSize = this.size(); leftRowIndex < leftDataSetSize; leftRowIndex++) {
-                hashKey = getHashKey(leftJoinColumn.get(leftRowIndex));
-                putRowIndex(joinColumnLeftRowIndexMap, hashKey, leftRowIndex);
-            }
-
-            final Map<Object, List<Integer>> joinColumnRightRowIndexMap = new LinkedHashMap<>();
-
-            for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-                hashKey = getHashKey(rightJoinColumn.get(rightRowIndex));
-                putRowIndex(joinColumnRightRowIndexMap, hashKey, rightRowIndex);
-            }
-
-            final int newColumnIndex = newColumnList.size() - 1;
-            final int[] leftColumnIndexes = this.getColumnIndexes(leftColumnNames);
-            List<Integer> leftRowIndexList = null;
-            List<Integer> rightRowIndexList = null;
-
-            for (Map.Entry<Object, List<Integer>> rightRowIndexEntry : joinColumnRightRowIndexMap.entrySet()) {
-                leftRowIndexList = joinColumnLeftRowIndexMap.get(rightRowIndexEntry.getKey());
-                rightRowIndexList = rightRowIndexEntry.getValue();
-
-                rightJoin(newColumnList, right, newColumnClass, collSupplier, newColumnIndex, leftColumnIndexes, leftRowIndexList, rightRowIndexList);
-            }
-
-            return new RowDataSet(newColumnNameList, newColumnList);
-        }
         final List<String> leftColumnNames = new ArrayList<>(_columnNameList);
         final int[] leftJoinColumnIndexes = new int[onColumnNames.size()];
         final int[] rightJoinColumnIndexes = new int[onColumnNames.size()];
@@ -9226,59 +9535,19 @@ public class RowDataSet implements DataSet, Cloneable {
 
         initNewColumnListForRightJoin(newColumnNameList, newColumnList, leftColumnNames, newColumnName);
 
-        final Map<Object[], List<Integer>> joinColumnLeftRowIndexMap = new ArrayHashMap<>();
-        Object[] row = null;
-
-        for (int leftRowIndex = 0, leftDataSetSize = this.size(); leftRowIndex < leftDataSetSize; leftRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(leftJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = leftJoinColumnIndexes.length; i < len; i++) {
-                row[i] = this.get(leftRowIndex, leftJoinColumnIndexes[i]);
-            }
-
-            row = putRowIndex(joinColumnLeftRowIndexMap, row, leftRowIndex);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
-        final Map<Object[], List<Integer>> joinColumnRightRowIndexMap = new ArrayHashMap<>(LinkedHashMap.class);
-
-        for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(rightJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = rightJoinColumnIndexes.length; i < len; i++) {
-                row[i] = right.get(rightRowIndex, rightJoinColumnIndexes[i]);
-            }
-
-            row = putRowIndex(joinColumnRightRowIndexMap, row, rightRowIndex);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
+        final List<Object>[] rightJoinColumns = getJoinColumns(right, rightJoinColumnIndexes);
+        final JoinIndex leftIndex = joinIndex(this, leftJoinColumnIndexes);
+        final JoinIndex rightIndex = joinIndex(right, rightJoinColumnIndexes);
+        final IntList rightGroupHeads = rightIndex.groupHeads();
         final int newColumnIndex = newColumnList.size() - 1;
         final int[] leftColumnIndexes = this.getColumnIndexes(leftColumnNames);
-        List<Integer> leftRowIndexList = null;
-        List<Integer> rightRowIndexList = null;
-
-        for (Map.Entry<Object[], List<Integer>> rightRowIndexEntry : joinColumnRightRowIndexMap.entrySet()) {
-            leftRowIndexList = joinColumnLeftRowIndexMap.get(rightRowIndexEntry.getKey());
-            rightRowIndexList = rightRowIndexEntry.getValue();
-
-            rightJoin(newColumnList, right, newColumnClass, collSupplier, newColumnIndex, leftColumnIndexes, leftRowIndexList, rightRowIndexList);
-        }
+        int rightHead = 0;
 
-        for (Object[] a : joinColumnLeftRowIndexMap.keySet()) {
-            Objectory.recycle(a);
-        }
+        for (int i = 0, len = rightGroupHeads.size(); i < len; i++) {
+            rightHead = rightGroupHeads.get(i);
 
-        for (Object[] a : joinColumnRightRowIndexMap.keySet()) {
-            Objectory.recycle(a);
+            rightJoin(newColumnList, right, newColumnClass, collSupplier, newColumnIndex, leftColumnIndexes, leftIndex, leftIndex.find(rightJoinColumns, rightHead),
+                    rightIndex, rightHead);
         }
 
         return new RowDataSet(newColumnNameList, newColumnList);
@@ -9292,22 +9561,26 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param collSupplier
      * @param newColumnIndex
      * @param leftColumnIndexes
-     * @param leftRowIndexList
-     * @param rightRowIndexList
+     * @param leftIndex
+     * @param leftHead the first left row with the same key, or {@code -1} if there is no such row.
+     * @param rightIndex
+     * @param rightHead
      */
     @SuppressWarnings("rawtypes")
     private void rightJoin(final List<List<Object>> newColumnList, final DataSet right, final Class<?> newColumnClass,
-            final IntFunction<? extends Collection> collSupplier, final int newColumnIndex, final int[] leftColumnIndexes, List<Integer> leftRowIndexList,
-            List<Integer> rightRowIndexList) {
-        if (N.notNullOrEmpty(leftRowIndexList)) {
-            for (int leftRowIndex : leftRowIndexList) {
+            final IntFunction<? extends Collection> collSupplier, final int newColumnIndex, final int[] leftColumnIndexes, final JoinIndex leftIndex,
+            final int leftHead, final JoinIndex rightIndex, final int rightHead) {
+        final int rightRowCount = rightIndex.count(rightHead);
+
+        if (leftHead >= 0) {
+            for (int leftRowIndex = leftHead; leftRowIndex >= 0; leftRowIndex = leftIndex.next(leftRowIndex)) {
                 for (int i = 0, leftColumnLength = leftColumnIndexes.length; i < leftColumnLength; i++) {
-                    newColumnList.get(i).add(this.get(leftRowIndex, leftColumnIndexes[i]));
+                    addCell(newColumnList.get(i), _columnList.get(leftColumnIndexes[i]), leftRowIndex);
                 }
 
-                final Collection<Object> coll = collSupplier.apply(rightRowIndexList.size());
+                final Collection<Object> coll = collSupplier.apply(rightRowCount);
 
-                for (int righRowIndex : rightRowIndexList) {
+                for (int righRowIndex = rightHead; righRowIndex >= 0; righRowIndex = rightIndex.next(righRowIndex)) {
                     coll.add(right.getRow(newColumnClass, righRowIndex));
                 }
 
@@ -9318,9 +9591,9 @@ public class RowDataSet implements DataSet, Cloneable {
                 newColumnList.get(i).add(null);
             }
 
-            final Collection<Object> coll = collSupplier.apply(rightRowIndexList.size());
+            final Collection<Object> coll = collSupplier.apply(rightRowCount);
 
-            for (int righRowIndex : rightRowIndexList) {
+            for (int righRowIndex = rightHead; righRowIndex >= 0; righRowIndex = rightIndex.next(righRowIndex)) {
                 coll.add(right.getRow(newColumnClass, righRowIndex));
             }
 
@@ -9352,114 +9625,49 @@ public class RowDataSet implements DataSet, Cloneable {
     public DataSet fullJoin(final DataSet right, final Map<String, String> onColumnNames) {
         checkJoinOnColumnNames(onColumnNames);
 
-        if (onColumnNames.size() == 1) {
-            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
-            final int leftJoinColumnIndex = checkColumnName(onColumnEntry.getKey());
-            final int rightJoinColumnIndex = checkRefColumnName(right, onColumnEntry.getValue());
-            final List<String> rightColumnNames = getRightColumnNames(right, onColumnEntry.getValue());
-
-            final List<String> newColumnNameList = new ArrayList<>(_columnNameList.size() + rightColumnNames.size());
-            final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + rightColumnNames.size());
-
-            initNewColumnList(newColumnNameList, newColumnList, rightColumnNames);
-
-            final List<Object> leftJoinColumn = this.getColumn(leftJoinColumnIndex);
-            final List<Object> rightJoinColumn = right.getColumn(rightJoinColumnIndex);
-            final Map<Object, List<Integer>> joinColumnRightRowIndexMap = new HashMap<>();
-            List<Integer> rightRowIndexList = null;
-            Object hashKey = null;
-
-            for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-                hashKey = getHashKey(rightJoinColumn.get(rightRowIndex));
-                putRowIndex(joinColumnRightRowIndexMap, hashKey, rightRowIndex);
-            }
-
-            final int[] rightColumnIndexes = right.getColumnIndexes(rightColumnNames);
-            final Set<Object> joinColumnLeftRowIndexSet = N.newHashSet();
-
-            for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-                hashKey = getHashKey(leftJoinColumn.get(leftRowIndex));
-                rightRowIndexList = joinColumnRightRowIndexMap.get(hashKey);
-
-                fullJoin(newColumnList, right, leftRowIndex, rightRowIndexList, rightColumnIndexes);
-
-                joinColumnLeftRowIndexSet.add(hashKey);
-            }
-
-            for (Map.Entry<Object, List<Integer>> rightRowIndexEntry : joinColumnRightRowIndexMap.entrySet()) {
-                if (joinColumnLeftRowIndexSet.contains(rightRowIndexEntry.getKey()) == false) {
-                    fullJoin(newColumnList, right, rightRowIndexEntry.getValue(), rightColumnIndexes);
-                }
-            }
-
-            return new RowDataSet(newColumnNameList, newColumnList);
-        }
         final int[] leftJoinColumnIndexes = new int[onColumnNames.size()];
         final int[] rightJoinColumnIndexes = new int[onColumnNames.size()];
-        final List<String> rightColumnNames = new ArrayList<>(right.columnNameList());
+        List<String> rightColumnNames = null;
 
-        initColumnIndexes(leftJoinColumnIndexes, rightJoinColumnIndexes, right, onColumnNames, rightColumnNames);
+        if (onColumnNames.size() == 1) {
+            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
+            leftJoinColumnIndexes[0] = checkColumnName(onColumnEntry.getKey());
+            rightJoinColumnIndexes[0] = checkRefColumnName(right, onColumnEntry.getValue());
+            rightColumnNames = getRightColumnNames(right, onColumnEntry.getValue());
+        } else {
+            rightColumnNames = new ArrayList<>(right.columnNameList());
+            initColumnIndexes(leftJoinColumnIndexes, rightJoinColumnIndexes, right, onColumnNames, rightColumnNames);
+        }
 
         final List<String> newColumnNameList = new ArrayList<>(_columnNameList.size() + rightColumnNames.size());
         final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + rightColumnNames.size());
-        initNewColumnList(newColumnNameList, newColumnList, rightColumnNames);
 
-        final Map<Object[], List<Integer>> joinColumnRightRowIndexMap = new ArrayHashMap<>(LinkedHashMap.class);
-        List<Integer> rightRowIndexList = null;
-        Object[] row = null;
-
-        for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(rightJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = rightJoinColumnIndexes.length; i < len; i++) {
-                row[i] = right.get(rightRowIndex, rightJoinColumnIndexes[i]);
-            }
-
-            row = putRowIndex(joinColumnRightRowIndexMap, row, rightRowIndex);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
+        initNewColumnList(newColumnNameList, newColumnList, rightColumnNames);
 
+        final List<Object>[] leftJoinColumns = getJoinColumns(this, leftJoinColumnIndexes);
+        final JoinIndex rightIndex = joinIndex(right, rightJoinColumnIndexes);
+        final BitSet joinedRightHeads = new BitSet();
         final int[] rightColumnIndexes = right.getColumnIndexes(rightColumnNames);
-        final Map<Object[], Integer> joinColumnLeftRowIndexMap = new ArrayHashMap<>();
+        int rightHead = 0;
 
         for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(rightJoinColumnIndexes.length) : row;
+            rightHead = rightIndex.find(leftJoinColumns, leftRowIndex);
 
-            for (int i = 0, len = leftJoinColumnIndexes.length; i < len; i++) {
-                row[i] = this.get(leftRowIndex, leftJoinColumnIndexes[i]);
-            }
-
-            rightRowIndexList = joinColumnRightRowIndexMap.get(row);
+            fullJoin(newColumnList, right, leftRowIndex, rightIndex, rightHead, rightColumnIndexes);
 
-            fullJoin(newColumnList, right, leftRowIndex, rightRowIndexList, rightColumnIndexes);
-
-            if (!joinColumnLeftRowIndexMap.containsKey(row)) {
-                joinColumnLeftRowIndexMap.put(row, leftRowIndex);
-                row = null;
+            if (rightHead >= 0) {
+                joinedRightHeads.set(rightHead);
             }
         }
 
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
+        final IntList rightGroupHeads = rightIndex.groupHeads();
 
-        for (Map.Entry<Object[], List<Integer>> rightRowIndexEntry : joinColumnRightRowIndexMap.entrySet()) {
-            if (joinColumnLeftRowIndexMap.containsKey(rightRowIndexEntry.getKey()) == false) {
-                fullJoin(newColumnList, right, rightRowIndexEntry.getValue(), rightColumnIndexes);
-            }
-        }
-
-        for (Object[] a : joinColumnRightRowIndexMap.keySet()) {
-            Objectory.recycle(a);
-        }
+        for (int i = 0, len = rightGroupHeads.size(); i < len; i++) {
+            rightHead = rightGroupHeads.get(i);
 
-        for (Object[] a : joinColumnLeftRowIndexMap.keySet()) {
-            Objectory.recycle(a);
+            if (joinedRightHeads.get(rightHead) == false) {
+                fullJoin(newColumnList, right, rightIndex, rightHead, rightColumnIndexes);
+            }
         }
 
         return new RowDataSet(newColumnNameList, newColumnList);
@@ -9469,11 +9677,13 @@ public class RowDataSet implements DataSet, Cloneable {
      *
      * @param newColumnList
      * @param right
-     * @param rightRowIndexList
+     * @param rightIndex
+     * @param rightHead
      * @param rightColumnIndexes
      */
-    private void fullJoin(final List<List<Object>> newColumnList, final DataSet right, List<Integer> rightRowIndexList, final int[] rightColumnIndexes) {
-        for (int rightRowIndex : rightRowIndexList) {
+    private void fullJoin(final List<List<Object>> newColumnList, final DataSet right, final JoinIndex rightIndex, final int rightHead,
+            final int[] rightColumnIndexes) {
+        for (int rightRowIndex = rightHead; rightRowIndex >= 0; rightRowIndex = rightIndex.next(rightRowIndex)) {
             for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
                 newColumnList.get(i).add(null);
             }
@@ -9489,15 +9699,16 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param newColumnList
      * @param right
      * @param leftRowIndex
-     * @param rightRowIndexList
+     * @param rightIndex
+     * @param rightHead the first right row with the same key, or {@code -1} if there is no such row.
      * @param rightColumnIndexes
      */
-    private void fullJoin(final List<List<Object>> newColumnList, final DataSet right, int leftRowIndex, List<Integer> rightRowIndexList,
+    private void fullJoin(final List<List<Object>> newColumnList, final DataSet right, int leftRowIndex, final JoinIndex rightIndex, final int rightHead,
             final int[] rightColumnIndexes) {
-        if (N.notNullOrEmpty(rightRowIndexList)) {
-            for (int rightRowIndex : rightRowIndexList) {
+        if (rightHead >= 0) {
+            for (int rightRowIndex = rightHead; rightRowIndex >= 0; rightRowIndex = rightIndex.next(rightRowIndex)) {
                 for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                    newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                    addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
                 }
 
                 for (int i = 0, leftColumnLength = _columnNameList.size(), rightColumnLength = rightColumnIndexes.length; i < rightColumnLength; i++) {
@@ -9506,7 +9717,7 @@ public class RowDataSet implements DataSet, Cloneable {
             }
         } else {
             for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
             }
 
             for (int i = 0, leftColumnLength = _columnNameList.size(), rightColumnLength = rightColumnIndexes.length; i < rightColumnLength; i++) {
@@ -9528,47 +9739,6 @@ public class RowDataSet implements DataSet, Cloneable {
         checkJoinOnColumnNames(onColumnNames);
         checkNewColumnName(newColumnName);
 
-        if (onColumnNames.size() == 1) {
-            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
-            final int leftJoinColumnIndex = checkColumnName(onColumnEntry.getKey());
-            final int rightJoinColumnIndex = checkRefColumnName(right, onColumnEntry.getValue());
-
-            final List<String> newColumnNameList = new ArrayList<>(_columnNameList.size() + 1);
-            final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + 1);
-
-            initNewColumnList(newColumnNameList, newColumnList, newColumnName);
-
-            final List<Object> leftJoinColumn = this.getColumn(leftJoinColumnIndex);
-            final List<Object> rightJoinColumn = right.getColumn(rightJoinColumnIndex);
-            final Map<Object, List<Integer>> joinColumnRightRowIndexMap = new HashMap<>();
-            List<Integer> rightRowIndexList = null;
-            Object hashKey = null;
-
-            for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-                hashKey = getHashKey(rightJoinColumn.get(rightRowIndex));
-                putRowIndex(joinColumnRightRowIndexMap, hashKey, rightRowIndex);
-            }
-
-            final int newColumnIndex = newColumnList.size() - 1;
-            final Set<Object> joinColumnLeftRowIndexSet = N.newHashSet();
-
-            for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-                hashKey = getHashKey(leftJoinColumn.get(leftRowIndex));
-                rightRowIndexList = joinColumnRightRowIndexMap.get(hashKey);
-
-                fullJoin(newColumnList, right, newColumnClass, newColumnIndex, leftRowIndex, rightRowIndexList);
-
-                joinColumnLeftRowIndexSet.add(hashKey);
-            }
-
-            for (Map.Entry<Object, List<Integer>> rightRowIndexEntry : joinColumnRightRowIndexMap.entrySet()) {
-                if (joinColumnLeftRowIndexSet.contains(rightRowIndexEntry.getKey()) == false) {
-                    fullJoin(newColumnList, right, newColumnClass, newColumnIndex, rightRowIndexEntry.getValue());
-                }
-            }
-
-            return new RowDataSet(newColumnNameList, newColumnList);
-        }
         final int[] leftJoinColumnIndexes = new int[onColumnNames.size()];
         final int[] rightJoinColumnIndexes = new int[onColumnNames.size()];
 
@@ -9579,62 +9749,30 @@ public class RowDataSet implements DataSet, Cloneable {
 
         initNewColumnList(newColumnNameList, newColumnList, newColumnName);
 
-        final Map<Object[], List<Integer>> joinColumnRightRowIndexMap = new ArrayHashMap<>(LinkedHashMap.class);
-        List<Integer> rightRowIndexList = null;
-        Object[] row = null;
-
-        for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(rightJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = rightJoinColumnIndexes.length; i < len; i++) {
-                row[i] = right.get(rightRowIndex, rightJoinColumnIndexes[i]);
-            }
-
-            row = putRowIndex(joinColumnRightRowIndexMap, row, rightRowIndex);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
+        final List<Object>[] leftJoinColumns = getJoinColumns(this, leftJoinColumnIndexes);
+        final JoinIndex rightIndex = joinIndex(right, rightJoinColumnIndexes);
+        final BitSet joinedRightHeads = new BitSet();
         final int newColumnIndex = newColumnList.size() - 1;
-        final Map<Object[], Integer> joinColumnLeftRowIndexMap = new ArrayHashMap<>();
+        int rightHead = 0;
 
         for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(rightJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = leftJoinColumnIndexes.length; i < len; i++) {
-                row[i] = this.get(leftRowIndex, leftJoinColumnIndexes[i]);
-            }
+            rightHead = rightIndex.find(leftJoinColumns, leftRowIndex);
 
-            rightRowIndexList = joinColumnRightRowIndexMap.get(row);
+            fullJoin(newColumnList, right, newColumnClass, newColumnIndex, leftRowIndex, rightIndex, rightHead);
 
-            fullJoin(newColumnList, right, newColumnClass, newColumnIndex, leftRowIndex, rightRowIndexList);
-
-            if (!joinColumnLeftRowIndexMap.containsKey(row)) {
-                joinColumnLeftRowIndexMap.put(row, leftRowIndex);
-                row = null;
+            if (rightHead >= 0) {
+                joinedRightHeads.set(rightHead);
             }
         }
 
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
-        for (Map.Entry<Object[], List<Integer>> rightRowIndexEntry : joinColumnRightRowIndexMap.entrySet()) {
-            if (joinColumnLeftRowIndexMap.containsKey(rightRowIndexEntry.getKey()) == false) {
-                fullJoin(newColumnList, right, newColumnClass, newColumnIndex, rightRowIndexEntry.getValue());
-            }
-        }
+        final IntList rightGroupHeads = rightIndex.groupHeads();
 
-        for (Object[] a : joinColumnRightRowIndexMap.keySet()) {
-            Objectory.recycle(a);
-        }
+        for (int i = 0, len = rightGroupHeads.size(); i < len; i++) {
+            rightHead = rightGroupHeads.get(i);
 
-        for (Object[] a : joinColumnLeftRowIndexMap.keySet()) {
-            Objectory.recycle(a);
+            if (joinedRightHeads.get(rightHead) == false) {
+                fullJoin(newColumnList, right, newColumnClass, newColumnIndex, rightIndex, rightHead);
+            }
         }
 
         return new RowDataSet(newColumnNameList, newColumnList);
@@ -9646,11 +9784,12 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param right
      * @param newColumnClass
      * @param newColumnIndex
-     * @param rightRowIndexList
+     * @param rightIndex
+     * @param rightHead
      */
     private void fullJoin(final List<List<Object>> newColumnList, final DataSet right, final Class<?> newColumnClass, final int newColumnIndex,
-            List<Integer> rightRowIndexList) {
-        for (int rightRowIndex : rightRowIndexList) {
+            final JoinIndex rightIndex, final int rightHead) {
+        for (int rightRowIndex = rightHead; rightRowIndex >= 0; rightRowIndex = rightIndex.next(rightRowIndex)) {
             for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
                 newColumnList.get(i).add(null);
             }
@@ -9666,21 +9805,22 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param newColumnClass
      * @param newColumnIndex
      * @param leftRowIndex
-     * @param rightRowIndexList
+     * @param rightIndex
+     * @param rightHead the first right row with the same key, or {@code -1} if there is no such row.
      */
     private void fullJoin(final List<List<Object>> newColumnList, final DataSet right, final Class<?> newColumnClass, final int newColumnIndex,
-            int leftRowIndex, List<Integer> rightRowIndexList) {
-        if (N.notNullOrEmpty(rightRowIndexList)) {
-            for (int rightRowIndex : rightRowIndexList) {
+            int leftRowIndex, final JoinIndex rightIndex, final int rightHead) {
+        if (rightHead >= 0) {
+            for (int rightRowIndex = rightHead; rightRowIndex >= 0; rightRowIndex = rightIndex.next(rightRowIndex)) {
                 for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                    newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                    addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
                 }
 
                 newColumnList.get(newColumnIndex).add(right.getRow(newColumnClass, rightRowIndex));
             }
         } else {
             for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
             }
 
             newColumnList.get(newColumnIndex).add(null);
@@ -9704,112 +9844,39 @@ public class RowDataSet implements DataSet, Cloneable {
         checkNewColumnName(newColumnName);
         N.checkArgNotNull(collSupplier);
 
-        if (onColumnNames.size() == 1) {
-            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
-            final int leftJoinColumnIndex = checkColumnName(onColumnEntry.getKey());
-            final int rightJoinColumnIndex = checkRefColumnName(right, onColumnEntry.getValue());
-
-            final List<String> newColumnNameList = new ArrayList<>(_columnNameList.size() + 1);
-            final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + 1);
-
-            initNewColumnList(newColumnNameList, newColumnList, newColumnName);
+        final int[] leftJoinColumnIndexes = new int[onColumnNames.size()];
+        final int[] rightJoinColumnIndexes = new int[onColumnNames.size()];
 
-            final List<Object> leftJoinColumn = this.getColumn(leftJoinColumnIndex);
-            final List<Object> rightJoinColumn = right.getColumn(rightJoinColumnIndex);
-            final Map<Object, List<Integer>> joinColumnRightRowIndexMap = new HashMap<>();
-            Object hashKey = null;
-
-            for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-                hashKey = getHashKey(rightJoinColumn.get(rightRowIndex));
-                putRowIndex(joinColumnRightRowIndexMap, hashKey, rightRowIndex);
-            }
-
-            final int newColumnIndex = newColumnList.size() - 1;
-            final Set<Object> joinColumnLeftRowIndexSet = N.newHashSet();
-            List<Integer> rightRowIndexList = null;
-
-            for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-                hashKey = getHashKey(leftJoinColumn.get(leftRowIndex));
-                rightRowIndexList = joinColumnRightRowIndexMap.get(hashKey);
-
-                fullJoin(newColumnList, right, newColumnClass, collSupplier, newColumnIndex, leftRowIndex, rightRowIndexList);
-
-                joinColumnLeftRowIndexSet.add(hashKey);
-            }
-
-            for (Map.Entry<Object, List<Integer>> rightRowIndexEntry : joinColumnRightRowIndexMap.entrySet()) {
-                if (joinColumnLeftRowIndexSet.contains(rightRowIndexEntry.getKey()) == false) {
-                    fullJoin(newColumnList, right, newColumnClass, collSupplier, newColumnIndex, rightRowIndexEntry.getValue());
-                }
-            }
-
-            return new RowDataSet(newColumnNameList, newColumnList);
-        }
-        final int[] leftJoinColumnIndexes = new int[onColumnNames.size()];
-        final int[] rightJoinColumnIndexes = new int[onColumnNames.size()];
-
-        initColumnIndexes(leftJoinColumnIndexes, rightJoinColumnIndexes, right, onColumnNames);
+        initColumnIndexes(leftJoinColumnIndexes, rightJoinColumnIndexes, right, onColumnNames);
 
         final List<String> newColumnNameList = new ArrayList<>(_columnNameList.size() + 1);
         final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + 1);
         initNewColumnList(newColumnNameList, newColumnList, newColumnName);
 
-        final Map<Object[], List<Integer>> joinColumnRightRowIndexMap = new ArrayHashMap<>(LinkedHashMap.class);
-        List<Integer> rightRowIndexList = null;
-        Object[] row = null;
-
-        for (int rightRowIndex = 0, rightDataSetSize = right.size(); rightRowIndex < rightDataSetSize; rightRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(rightJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = rightJoinColumnIndexes.length; i < len; i++) {
-                row[i] = right.get(rightRowIndex, rightJoinColumnIndexes[i]);
-            }
-
-            row = putRowIndex(joinColumnRightRowIndexMap, row, rightRowIndex);
-        }
-
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
-
+        final List<Object>[] leftJoinColumns = getJoinColumns(this, leftJoinColumnIndexes);
+        final JoinIndex rightIndex = joinIndex(right, rightJoinColumnIndexes);
+        final BitSet joinedRightHeads = new BitSet();
         final int newColumnIndex = newColumnList.size() - 1;
-        final Map<Object[], Integer> joinColumnLeftRowIndexMap = new ArrayHashMap<>();
+        int rightHead = 0;
 
         for (int leftRowIndex = 0, size = size(); leftRowIndex < size; leftRowIndex++) {
-            row = row == null ? Objectory.createObjectArray(rightJoinColumnIndexes.length) : row;
-
-            for (int i = 0, len = leftJoinColumnIndexes.length; i < len; i++) {
-                row[i] = this.get(leftRowIndex, leftJoinColumnIndexes[i]);
-            }
+            rightHead = rightIndex.find(leftJoinColumns, leftRowIndex);
 
-            rightRowIndexList = joinColumnRightRowIndexMap.get(row);
+            fullJoin(newColumnList, right, newColumnClass, collSupplier, newColumnIndex, leftRowIndex, rightIndex, rightHead);
 
-            fullJoin(newColumnList, right, newColumnClass, collSupplier, newColumnIndex, leftRowIndex, rightRowIndexList);
-
-            if (!joinColumnLeftRowIndexMap.containsKey(row)) {
-                joinColumnLeftRowIndexMap.put(row, leftRowIndex);
-                row = null;
+            if (rightHead >= 0) {
+                joinedRightHeads.set(rightHead);
             }
         }
 
-        if (row != null) {
-            Objectory.recycle(row);
-            row = null;
-        }
+        final IntList rightGroupHeads = rightIndex.groupHeads();
 
-        for (Map.Entry<Object[], List<Integer>> rightRowIndexEntry : joinColumnRightRowIndexMap.entrySet()) {
-            if (joinColumnLeftRowIndexMap.containsKey(rightRowIndexEntry.getKey()) == false) {
-                fullJoin(newColumnList, right, newColumnClass, collSupplier, newColumnIndex, rightRowIndexEntry.getValue());
-            }
-        }
+        for (int i = 0, len = rightGroupHeads.size(); i < len; i++) {
+            rightHead = rightGroupHeads.get(i);
 
-        for (Object[] a : joinColumnRightRowIndexMap.keySet()) {
-            Objectory.recycle(a);
-        }
-
-        for (Object[] a : joinColumnLeftRowIndexMap.keySet()) {
-            Objectory.recycle(a);
+            if (joinedRightHeads.get(rightHead) == false) {
+                fullJoin(newColumnList, right, newColumnClass, collSupplier, newColumnIndex, rightIndex, rightHead);
+            }
         }
 
         return new RowDataSet(newColumnNameList, newColumnList);
@@ -9822,18 +9889,19 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param newColumnClass
      * @param collSupplier
      * @param newColumnIndex
-     * @param rightRowIndexList
+     * @param rightIndex
+     * @param rightHead
      */
     @SuppressWarnings("rawtypes")
     private void fullJoin(final List<List<Object>> newColumnList, final DataSet right, final Class<?> newColumnClass,
-            final IntFunction<? extends Collection> collSupplier, final int newColumnIndex, final List<Integer> rightRowIndexList) {
+            final IntFunction<? extends Collection> collSupplier, final int newColumnIndex, final JoinIndex rightIndex, final int rightHead) {
         for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
             newColumnList.get(i).add(null);
         }
 
-        final Collection<Object> coll = collSupplier.apply(rightRowIndexList.size());
+        final Collection<Object> coll = collSupplier.apply(rightIndex.count(rightHead));
 
-        for (int rightRowIndex : rightRowIndexList) {
+        for (int rightRowIndex = rightHead; rightRowIndex >= 0; rightRowIndex = rightIndex.next(rightRowIndex)) {
             coll.add(right.getRow(newColumnClass, rightRowIndex));
         }
 
@@ -9848,26 +9916,27 @@ public class RowDataSet implements DataSet, Cloneable {
      * @param collSupplier
      * @param newColumnIndex
      * @param leftRowIndex
-     * @param rightRowIndexList
+     * @param rightIndex
+     * @param rightHead the first right row with the same key, or {@code -1} if there is no such row.
      */
     @SuppressWarnings("rawtypes")
     private void fullJoin(final List<List<Object>> newColumnList, final DataSet right, final Class<?> newColumnClass,
-            final IntFunction<? extends Collection> collSupplier, final int newColumnIndex, int leftRowIndex, List<Integer> rightRowIndexList) {
-        if (N.notNullOrEmpty(rightRowIndexList)) {
+            final IntFunction<? extends Collection> collSupplier, final int newColumnIndex, int leftRowIndex, final JoinIndex rightIndex, final int rightHead) {
+        if (rightHead >= 0) {
             for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
             }
 
-            final Collection<Object> coll = collSupplier.apply(rightRowIndexList.size());
+            final Collection<Object> coll = collSupplier.apply(rightIndex.count(rightHead));
 
-            for (int rightRowIndex : rightRowIndexList) {
+            for (int rightRowIndex = rightHead; rightRowIndex >= 0; rightRowIndex = rightIndex.next(rightRowIndex)) {
                 coll.add(right.getRow(newColumnClass, rightRowIndex));
             }
 
             newColumnList.get(newColumnIndex).add(coll);
         } else {
             for (int i = 0, leftColumnLength = _columnNameList.size(); i < leftColumnLength; i++) {
-                newColumnList.get(i).add(_columnList.get(i).get(leftRowIndex));
+                addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
             }
 
             newColumnList.get(newColumnIndex).add(null);
@@ -10065,49 +10134,395 @@ public class RowDataSet implements DataSet, Cloneable {
                     }
                 }
             }
-        } else {
-            final int[] columnIndexes = this.getColumnIndexes(commonColumnNameList);
-            final int[] otherColumnIndexes = other.getColumnIndexes(commonColumnNameList);
+        } else {
+            final int[] columnIndexes = this.getColumnIndexes(commonColumnNameList);
+            final int[] otherColumnIndexes = other.getColumnIndexes(commonColumnNameList);
+
+            final Multiset<Object[]> rowSet = new Multiset<>(ArrayHashMap.class);
+            Object[] row = null;
+
+            for (int otherRowIndex = 0, otherSize = other.size(); otherRowIndex < otherSize; otherRowIndex++) {
+                row = row == null ? Objectory.createObjectArray(commonColumnCount) : row;
+
+                for (int i = 0; i < commonColumnCount; i++) {
+                    row[i] = other.get(otherRowIndex, otherColumnIndexes[i]);
+                }
+
+                if (rowSet.getAndAdd(row) == 0) {
+                    row = null;
+                }
+            }
+
+            if (row != null) {
+                Objectory.recycle(row);
+                row = null;
+            }
+
+            row = Objectory.createObjectArray(commonColumnCount);
+
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                for (int i = 0; i < commonColumnCount; i++) {
+                    row[i] = _columnList.get(columnIndexes[i]).get(rowIndex);
+                }
+
+                if ((rowSet.getAndRemove(row) > 0) == retain) {
+                    for (int i = 0; i < newColumnCount; i++) {
+                        newColumnList.get(i).add(_columnList.get(i).get(rowIndex));
+                    }
+                }
+            }
+
+            Objectory.recycle(row);
+            row = null;
+
+            for (Object[] a : rowSet) {
+                Objectory.recycle(a);
+            }
+        }
+
+        return new RowDataSet(newColumnNameList, newColumnList);
+    }
+
+    /**
+     *
+     * @param dataSet
+     * @return
+     */
+    @Override
+    public DataSet symmetricDifference(DataSet dataSet) {
+        return this.difference(dataSet).merge(dataSet.difference(this));
+    }
+
+    /**
+     *
+     * @param other
+     * @return
+     */
+    @Override
+    public DataSet except(final DataSet other) {
+        return remove2(other, false);
+    }
+
+    /**
+     * Removes the 2.
+     *
+     * @param other
+     * @param retain
+     * @return
+     */
+    private DataSet remove2(final DataSet other, final boolean retain) {
+        final List<String> commonColumnNameList = new ArrayList<>(this._columnNameList);
+        commonColumnNameList.retainAll(other.columnNameList());
+
+        if (N.isNullOrEmpty(commonColumnNameList)) {
+            throw new IllegalArgumentException("These two DataSets don't have common column names: " + this._columnNameList + ", " + other.columnNameList());
+        }
+
+        final int newColumnCount = this.columnNameList().size();
+        final List<String> newColumnNameList = new ArrayList<>(this._columnNameList);
+        final List<List<Object>> newColumnList = new ArrayList<>(newColumnCount);
+
+        for (int i = 0; i < newColumnCount; i++) {
+            newColumnList.add(new ArrayList<>());
+        }
+
+        final int size = size();
+
+        if (size == 0) {
+            return new RowDataSet(newColumnNameList, newColumnList);
+        }
+
+        final int commonColumnCount = commonColumnNameList.size();
+
+        if (commonColumnCount == 1) {
+            final int columnIndex = this.getColumnIndex(commonColumnNameList.get(0));
+            final int otherColumnIndex = other.getColumnIndex(commonColumnNameList.get(0));
+
+            final List<Object> column = _columnList.get(columnIndex);
+            final Set<Object> rowSet = N.newHashSet();
+
+            for (Object e : other.getColumn(otherColumnIndex)) {
+                rowSet.add(getHashKey(e));
+            }
+
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                if (rowSet.contains(getHashKey(column.get(rowIndex))) == retain) {
+                    for (int i = 0; i < newColumnCount; i++) {
+                        newColumnList.get(i).add(_columnList.get(i).get(rowIndex));
+                    }
+                }
+            }
+        } else {
+            final int[] columnIndexes = this.getColumnIndexes(commonColumnNameList);
+            final int[] otherColumnIndexes = other.getColumnIndexes(commonColumnNameList);
+
+            final Set<Object[]> rowSet = new ArrayHashSet<>();
+            Object[] row = null;
+
+            for (int otherRowIndex = 0, otherSize = other.size(); otherRowIndex < otherSize; otherRowIndex++) {
+                row = row == null ? Objectory.createObjectArray(commonColumnCount) : row;
+
+                for (int i = 0; i < commonColumnCount; i++) {
+                    row[i] = other.get(otherRowIndex, otherColumnIndexes[i]);
+                }
+
+                if (rowSet.add(row)) {
+                    row = null;
+                }
+            }
+
+            if (row != null) {
+                Objectory.recycle(row);
+                row = null;
+            }
+
+            row = Objectory.createObjectArray(commonColumnCount);
+
+            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+                for (int i = 0; i < commonColumnCount; i++) {
+                    row[i] = _columnList.get(columnIndexes[i]).get(rowIndex);
+                }
+
+                if (rowSet.contains(row) == retain) {
+                    for (int i = 0; i < newColumnCount; i++) {
+                        newColumnList.get(i).add(_columnList.get(i).get(rowIndex));
+                    }
+                }
+            }
+
+            Objectory.recycle(row);
+            row = null;
+
+            for (Object[] a : rowSet) {
+                Objectory.recycle(a);
+            }
+        }
+
+        return new RowDataSet(newColumnNameList, newColumnList);
+    }
+
+    /**
+     *
+     * @param right
+     * @param columnName
+     * @param refColumnName
+     * @return
+     */
+    @Override
+    public DataSet mergeJoin(final DataSet right, final String columnName, final String refColumnName) {
+        final Map<String, String> onColumnNames = N.asMap(columnName, refColumnName);
+
+        return mergeJoin(right, onColumnNames);
+    }
+
+    /**
+     *
+     * @param right
+     * @param onColumnNames
+     * @return
+     */
+    @Override
+    public DataSet mergeJoin(final DataSet right, final Map<String, String> onColumnNames) {
+        return mergeJoin(right, onColumnNames, false);
+    }
+
+    /**
+     *
+     * @param right
+     * @param columnName
+     * @param refColumnName
+     * @return
+     */
+    @Override
+    public DataSet mergeLeftJoin(final DataSet right, final String columnName, final String refColumnName) {
+        final Map<String, String> onColumnNames = N.asMap(columnName, refColumnName);
+
+        return mergeLeftJoin(right, onColumnNames);
+    }
+
+    /**
+     *
+     * @param right
+     * @param onColumnNames
+     * @return
+     */
+    @Override
+    public DataSet mergeLeftJoin(final DataSet right, final Map<String, String> onColumnNames) {
+        return mergeJoin(right, onColumnNames, true);
+    }
+
+    /**
+     *
+     * @param right
+     * @param onColumnNames
+     * @param isLeftJoin
+     * @return
+     */
+    private DataSet mergeJoin(final DataSet right, final Map<String, String> onColumnNames, final boolean isLeftJoin) {
+        checkJoinOnColumnNames(onColumnNames);
+
+        final int[] leftJoinColumnIndexes = new int[onColumnNames.size()];
+        final int[] rightJoinColumnIndexes = new int[onColumnNames.size()];
+        List<String> rightColumnNames = null;
+
+        if (onColumnNames.size() == 1) {
+            final Map.Entry<String, String> onColumnEntry = onColumnNames.entrySet().iterator().next();
+            leftJoinColumnIndexes[0] = checkColumnName(onColumnEntry.getKey());
+            rightJoinColumnIndexes[0] = checkRefColumnName(right, onColumnEntry.getValue());
+            rightColumnNames = getRightColumnNames(right, onColumnEntry.getValue());
+        } else {
+            rightColumnNames = new ArrayList<>(right.columnNameList());
+            initColumnIndexes(leftJoinColumnIndexes, rightJoinColumnIndexes, right, onColumnNames, rightColumnNames);
+        }
+
+        final List<String> newColumnNameList = new ArrayList<>(_columnNameList.size() + rightColumnNames.size());
+        final List<List<Object>> newColumnList = new ArrayList<>(_columnNameList.size() + rightColumnNames.size());
+
+        initNewColumnList(newColumnNameList, newColumnList, rightColumnNames);
+
+        final List<Object>[] leftKeyColumns = getJoinColumns(this, leftJoinColumnIndexes);
+        final List<Object>[] rightKeyColumns = getJoinColumns(right, rightJoinColumnIndexes);
+        final int leftSize = size();
+        final int rightSize = right.size();
+
+        checkSorted(leftKeyColumns, leftSize, "this DataSet", onColumnNames.keySet());
+        checkSorted(rightKeyColumns, rightSize, "right DataSet", onColumnNames.values());
+
+        final int[] rightColumnIndexes = right.getColumnIndexes(rightColumnNames);
+
+        // the right rows with the same key as current left row: [fromRightRowIndex, toRightRowIndex).
+        int fromRightRowIndex = 0;
+        int toRightRowIndex = 0;
+        int cmp = 0;
+
+        for (int leftRowIndex = 0; leftRowIndex < leftSize; leftRowIndex++) {
+            if (fromRightRowIndex == toRightRowIndex || compareKeys(leftKeyColumns, leftRowIndex, rightKeyColumns, fromRightRowIndex) != 0) {
+                fromRightRowIndex = toRightRowIndex;
+                cmp = 1;
+
+                while (fromRightRowIndex < rightSize && (cmp = compareKeys(leftKeyColumns, leftRowIndex, rightKeyColumns, fromRightRowIndex)) > 0) {
+                    fromRightRowIndex++;
+                }
+
+                toRightRowIndex = fromRightRowIndex;
+
+                if (cmp == 0) {
+                    do {
+                        toRightRowIndex++;
+                    } while (toRightRowIndex < rightSize && compareKeys(leftKeyColumns, leftRowIndex, rightKeyColumns, toRightRowIndex) == 0);
+                }
+            }
+
+            mergeJoin(newColumnList, right, isLeftJoin, leftRowIndex, fromRightRowIndex, toRightRowIndex, rightColumnIndexes);
+        }
+
+        return new RowDataSet(newColumnNameList, newColumnList);
+    }
+
+    /**
+     *
+     * @param newColumnList
+     * @param right
+     * @param isLeftJoin
+     * @param leftRowIndex
+     * @param fromRightRowIndex
+     * @param toRightRowIndex
+     * @param rightColumnIndexes
+     */
+    private void mergeJoin(final List<List<Object>> newColumnList, final DataSet right, final boolean isLeftJoin, final int leftRowIndex,
+            final int fromRightRowIndex, final int toRightRowIndex, final int[] rightColumnIndexes) {
+        final int leftColumnLength = _columnNameList.size();
+        final int rightColumnLength = rightColumnIndexes.length;
+
+        if (fromRightRowIndex < toRightRowIndex) {
+            for (int rightRowIndex = fromRightRowIndex; rightRowIndex < toRightRowIndex; rightRowIndex++) {
+                for (int i = 0; i < leftColumnLength; i++) {
+                    addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
+                }
+
+                for (int i = 0; i < rightColumnLength; i++) {
+                    newColumnList.get(leftColumnLength + i).add(right.get(rightRowIndex, rightColumnIndexes[i]));
+                }
+            }
+        } else if (isLeftJoin) {
+            for (int i = 0; i < leftColumnLength; i++) {
+                addCell(newColumnList.get(i), _columnList.get(i), leftRowIndex);
+            }
+
+            for (int i = 0; i < rightColumnLength; i++) {
+                newColumnList.get(leftColumnLength + i).add(null);
+            }
+        }
+    }
+
+    /**
+     *
+     * @param other
+     * @return
+     */
+    @Override
+    public DataSet sortedUnion(final DataSet other) {
+        final List<String> commonColumnNameList = getCommonColumnNames(other);
+        final List<Object>[] keyColumns = getJoinColumns(this, getColumnIndexes(commonColumnNameList));
+        final List<Object>[] otherKeyColumns = getJoinColumns(other, other.getColumnIndexes(commonColumnNameList));
+        final int size = size();
+        final int otherSize = other.size();
+
+        checkSorted(keyColumns, size, "this DataSet", commonColumnNameList);
+        checkSorted(otherKeyColumns, otherSize, "other DataSet", commonColumnNameList);
+
+        final List<String> newColumnNameList = new ArrayList<>(_columnNameList);
+
+        for (String columnName : other.columnNameList()) {
+            if (containsColumn(columnName) == false) {
+                newColumnNameList.add(columnName);
+            }
+        }
 
-            final Multiset<Object[]> rowSet = new Multiset<>(ArrayHashMap.class);
-            Object[] row = null;
+        final int newColumnCount = newColumnNameList.size();
+        final List<List<Object>> newColumnList = new ArrayList<>(newColumnCount);
 
-            for (int otherRowIndex = 0, otherSize = other.size(); otherRowIndex < otherSize; otherRowIndex++) {
-                row = row == null ? Objectory.createObjectArray(commonColumnCount) : row;
+        for (int i = 0; i < newColumnCount; i++) {
+            newColumnList.add(new ArrayList<>(size + otherSize));
+        }
 
-                for (int i = 0; i < commonColumnCount; i++) {
-                    row[i] = other.get(otherRowIndex, otherColumnIndexes[i]);
-                }
+        final int[] otherColumnIndexes = other.getColumnIndexes(newColumnNameList);
+        int rowIndex = 0;
+        int otherRowIndex = 0;
+        int toRowIndex = 0;
+        int toOtherRowIndex = 0;
+        int cmp = 0;
+
+        while (rowIndex < size || otherRowIndex < otherSize) {
+            cmp = rowIndex == size ? 1 : (otherRowIndex == otherSize ? -1 : compareKeys(keyColumns, rowIndex, otherKeyColumns, otherRowIndex));
+
+            if (cmp < 0) {
+                addRow(newColumnList, rowIndex++);
+            } else if (cmp > 0) {
+                addRow(newColumnList, other, otherRowIndex++, otherColumnIndexes);
+            } else {
+                toRowIndex = rowIndex + 1;
 
-                if (rowSet.getAndAdd(row) == 0) {
-                    row = null;
+                while (toRowIndex < size && compareKeys(keyColumns, rowIndex, keyColumns, toRowIndex) == 0) {
+                    toRowIndex++;
                 }
-            }
-
-            if (row != null) {
-                Objectory.recycle(row);
-                row = null;
-            }
 
-            row = Objectory.createObjectArray(commonColumnCount);
+                toOtherRowIndex = otherRowIndex + 1;
 
-            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
-                for (int i = 0; i < commonColumnCount; i++) {
-                    row[i] = _columnList.get(columnIndexes[i]).get(rowIndex);
+                while (toOtherRowIndex < otherSize && compareKeys(otherKeyColumns, otherRowIndex, otherKeyColumns, toOtherRowIndex) == 0) {
+                    toOtherRowIndex++;
                 }
 
-                if ((rowSet.getAndRemove(row) > 0) == retain) {
-                    for (int i = 0; i < newColumnCount; i++) {
-                        newColumnList.get(i).add(_columnList.get(i).get(rowIndex));
-                    }
+                // same as union: the rows in other DataSet are eliminated by the occurrences of the rows in this DataSet.
+                for (int i = otherRowIndex + (toRowIndex - rowIndex); i < toOtherRowIndex; i++) {
+                    addRow(newColumnList, other, i, otherColumnIndexes);
                 }
-            }
 
-            Objectory.recycle(row);
-            row = null;
+                for (; rowIndex < toRowIndex; rowIndex++) {
+                    addRow(newColumnList, rowIndex);
+                }
 
-            for (Object[] a : rowSet) {
-                Objectory.recycle(a);
+                otherRowIndex = toOtherRowIndex;
             }
         }
 
@@ -10116,12 +10531,12 @@ public class RowDataSet implements DataSet, Cloneable {
 
     /**
      *
-     * @param dataSet
+     * @param other
      * @return
      */
     @Override
-    public DataSet symmetricDifference(DataSet dataSet) {
-        return this.difference(dataSet).merge(dataSet.difference(this));
+    public DataSet sortedIntersect(final DataSet other) {
+        return sortedRetain(other, true);
     }
 
     /**
@@ -10130,106 +10545,171 @@ public class RowDataSet implements DataSet, Cloneable {
      * @return
      */
     @Override
-    public DataSet except(final DataSet other) {
-        return remove2(other, false);
+    public DataSet sortedExcept(final DataSet other) {
+        return sortedRetain(other, false);
     }
 
     /**
-     * Removes the 2.
      *
      * @param other
      * @param retain
      * @return
      */
-    private DataSet remove2(final DataSet other, final boolean retain) {
-        final List<String> commonColumnNameList = new ArrayList<>(this._columnNameList);
-        commonColumnNameList.retainAll(other.columnNameList());
+    private DataSet sortedRetain(final DataSet other, final boolean retain) {
+        final List<String> commonColumnNameList = getCommonColumnNames(other);
+        final List<Object>[] keyColumns = getJoinColumns(this, getColumnIndexes(commonColumnNameList));
+        final List<Object>[] otherKeyColumns = getJoinColumns(other, other.getColumnIndexes(commonColumnNameList));
+        final int size = size();
+        final int otherSize = other.size();
 
-        if (N.isNullOrEmpty(commonColumnNameList)) {
-            throw new IllegalArgumentException("These two DataSets don't have common column names: " + this._columnNameList + ", " + other.columnNameList());
-        }
+        checkSorted(keyColumns, size, "this DataSet", commonColumnNameList);
+        checkSorted(otherKeyColumns, otherSize, "other DataSet", commonColumnNameList);
 
-        final int newColumnCount = this.columnNameList().size();
-        final List<String> newColumnNameList = new ArrayList<>(this._columnNameList);
+        final int newColumnCount = _columnNameList.size();
+        final List<String> newColumnNameList = new ArrayList<>(_columnNameList);
         final List<List<Object>> newColumnList = new ArrayList<>(newColumnCount);
 
         for (int i = 0; i < newColumnCount; i++) {
-            newColumnList.add(new ArrayList<>());
-        }
-
-        final int size = size();
-
-        if (size == 0) {
-            return new RowDataSet(newColumnNameList, newColumnList);
+            newColumnList.add(newColumn(_columnList.get(i), 0));
         }
 
-        final int commonColumnCount = commonColumnNameList.size();
+        int otherRowIndex = 0;
+        int cmp = 0;
 
-        if (commonColumnCount == 1) {
-            final int columnIndex = this.getColumnIndex(commonColumnNameList.get(0));
-            final int otherColumnIndex = other.getColumnIndex(commonColumnNameList.get(0));
+        for (int rowIndex = 0; rowIndex < size; rowIndex++) {
+            // same as intersect: the duplicated rows are removed.
+            if (retain && rowIndex > 0 && compareKeys(keyColumns, rowIndex - 1, keyColumns, rowIndex) == 0) {
+                continue;
+            }
 
-            final List<Object> column = _columnList.get(columnIndex);
-            final Set<Object> rowSet = N.newHashSet();
+            cmp = 1;
 
-            for (Object e : other.getColumn(otherColumnIndex)) {
-                rowSet.add(getHashKey(e));
+            while (otherRowIndex < otherSize && (cmp = compareKeys(keyColumns, rowIndex, otherKeyColumns, otherRowIndex)) > 0) {
+                otherRowIndex++;
             }
 
-            for (int rowIndex = 0; rowIndex < size; rowIndex++) {
-                if (rowSet.contains(getHashKey(column.get(rowIndex))) == retain) {
-                    for (int i = 0; i < newColumnCount; i++) {
-                        newColumnList.get(i).add(_columnList.get(i).get(rowIndex));
-                    }
+            if ((cmp == 0) == retain) {
+                for (int i = 0; i < newColumnCount; i++) {
+                    addCell(newColumnList.get(i), _columnList.get(i), rowIndex);
                 }
             }
-        } else {
-            final int[] columnIndexes = this.getColumnIndexes(commonColumnNameList);
-            final int[] otherColumnIndexes = other.getColumnIndexes(commonColumnNameList);
+        }
 
-            final Set<Object[]> rowSet = new ArrayHashSet<>();
-            Object[] row = null;
+        return new RowDataSet(newColumnNameList, newColumnList);
+    }
 
-            for (int otherRowIndex = 0, otherSize = other.size(); otherRowIndex < otherSize; otherRowIndex++) {
-                row = row == null ? Objectory.createObjectArray(commonColumnCount) : row;
+    /**
+     * Gets the common column names, in the order of the columns in this {@code DataSet}.
+     *
+     * @param other
+     * @return
+     */
+    private List<String> getCommonColumnNames(final DataSet other) {
+        final List<String> commonColumnNameList = new ArrayList<>(this._columnNameList);
+        commonColumnNameList.retainAll(other.columnNameList());
 
-                for (int i = 0; i < commonColumnCount; i++) {
-                    row[i] = other.get(otherRowIndex, otherColumnIndexes[i]);
-                }
+        if (N.isNullOrEmpty(commonColumnNameList)) {
+            throw new IllegalArgumentException("These two DataSets don't have common column names: " + this._columnNameList + ", " + other.columnNameList());
+        }
 
-                if (rowSet.add(row)) {
-                    row = null;
-                }
+        return commonColumnNameList;
+    }
+
+    /**
+     * Adds the row of this {@code DataSet} to {@code newColumnList}, which may have more columns than this {@code DataSet}.
+     *
+     * @param newColumnList
+     * @param rowIndex
+     */
+    private void addRow(final List<List<Object>> newColumnList, final int rowIndex) {
+        final int columnCount = _columnNameList.size();
+
+        for (int i = 0; i < columnCount; i++) {
+            newColumnList.get(i).add(_columnList.get(i).get(rowIndex));
+        }
+
+        for (int i = columnCount, newColumnCount = newColumnList.size(); i < newColumnCount; i++) {
+            newColumnList.get(i).add(null);
+        }
+    }
+
+    /**
+     * Adds the row of {@code other} to {@code newColumnList}.
+     *
+     * @param newColumnList
+     * @param other
+     * @param otherRowIndex
+     * @param otherColumnIndexes the index of each new column in {@code other}, or {@code -1} if it's not included.
+     */
+    private static void addRow(final List<List<Object>> newColumnList, final DataSet other, final int otherRowIndex, final int[] otherColumnIndexes) {
+        for (int i = 0, newColumnCount = newColumnList.size(); i < newColumnCount; i++) {
+            newColumnList.get(i).add(otherColumnIndexes[i] < 0 ? null : other.get(otherRowIndex, otherColumnIndexes[i]));
+        }
+    }
+
+    /**
+     * Compares the keys in natural order, {@code null} first. The keys have been verified to be {@code Comparable} by {@code checkSorted}.
+     *
+     * @param a
+     * @param rowIndexA
+     * @param b
+     * @param rowIndexB
+     * @return
+     * @throws IllegalArgumentException if the keys at the same position are not comparable with each other, e.g. {@code Integer} and {@code Long}.
+     */
+    @SuppressWarnings("rawtypes")
+    private static int compareKeys(final List<Object>[] a, final int rowIndexA, final List<Object>[] b, final int rowIndexB) {
+        int result = 0;
+        Object keyA = null;
+        Object keyB = null;
+
+        for (int i = 0, len = a.length; i < len; i++) {
+            keyA = a[i].get(rowIndexA);
+            keyB = b[i].get(rowIndexB);
+
+            try {
+                result = N.compare((Comparable) keyA, (Comparable) keyB);
+            } catch (ClassCastException e) {
+                throw new IllegalArgumentException("The join/key values: " + N.toString(keyA) + " of type: " + ClassUtil.getCanonicalClassName(keyA.getClass())
+                        + " and " + N.toString(keyB) + " of type: " + ClassUtil.getCanonicalClassName(keyB.getClass()) + " are not comparable", e);
             }
 
-            if (row != null) {
-                Objectory.recycle(row);
-                row = null;
+            if (result != 0) {
+                return result;
             }
+        }
 
-            row = Objectory.createObjectArray(commonColumnCount);
+        return result;
+    }
+
+    /**
+     * Verifies the key values are {@code null} or {@code Comparable}, and the rows are sorted by the key columns, by comparing the adjacent rows.
+     *
+     * @param keyColumns
+     * @param size
+     * @param name
+     * @param keyColumnNames
+     */
+    private static void checkSorted(final List<Object>[] keyColumns, final int size, final String name, final Collection<String> keyColumnNames) {
+        Object key = null;
 
+        for (List<Object> keyColumn : keyColumns) {
             for (int rowIndex = 0; rowIndex < size; rowIndex++) {
-                for (int i = 0; i < commonColumnCount; i++) {
-                    row[i] = _columnList.get(columnIndexes[i]).get(rowIndex);
-                }
+                key = keyColumn.get(rowIndex);
 
-                if (rowSet.contains(row) == retain) {
-                    for (int i = 0; i < newColumnCount; i++) {
-                        newColumnList.get(i).add(_columnList.get(i).get(rowIndex));
-                    }
+                if (key != null && !(key instanceof Comparable)) {
+                    throw new IllegalArgumentException("The values of " + keyColumnNames + " in " + name
+                            + " must be Comparable for merge join or sorted set operations. But found: " + ClassUtil.getCanonicalClassName(key.getClass())
+                            + " at row: " + rowIndex + ". Use the hash based join or set operations instead");
                 }
             }
+        }
 
-            Objectory.recycle(row);
-            row = null;
-
-            for (Object[] a : rowSet) {
-                Objectory.recycle(a);
+        for (int rowIndex = 1; rowIndex < size; rowIndex++) {
+            if (compareKeys(keyColumns, rowIndex - 1, keyColumns, rowIndex) > 0) {
+                throw new IllegalArgumentException("The rows in " + name + " are not sorted by " + keyColumnNames + " at row: " + rowIndex);
             }
         }
-
-        return new RowDataSet(newColumnNameList, newColumnList);
     }
 
     /**
@@ -10291,17 +10771,18 @@ public class RowDataSet implements DataSet, Cloneable {
             }
         }
 
-        for (String columnName : result._columnNameList) {
-            column = result._columnList.get(result.getColumnIndex(columnName));
-            int columnIndex = from.getColumnIndex(columnName);
+        for (int resultColumnIndex = 0, resultColumnCount = result._columnNameList.size(); resultColumnIndex < resultColumnCount; resultColumnIndex++) {
+            int columnIndex = from.getColumnIndex(result._columnNameList.get(resultColumnIndex));
 
             if (columnIndex >= 0) {
                 if (fromRowIndex == 0 && toRowIndex == from.size()) {
-                    column.addAll(from.getColumn(columnIndex));
+                    result.addCells(resultColumnIndex, from.getColumn(columnIndex));
                 } else {
-                    column.addAll(from.getColumn(columnIndex).subList(fromRowIndex, toRowIndex));
+                    result.addCells(resultColumnIndex, from.getColumn(columnIndex).subList(fromRowIndex, toRowIndex));
                 }
             } else {
+                column = result.writableColumn(resultColumnIndex, null);
+
                 for (int i = fromRowIndex; i < toRowIndex; i++) {
                     column.add(null);
                 }
@@ -10600,6 +11081,11 @@ public class RowDataSet implements DataSet, Cloneable {
         return new PaginatedRowDataSet(N.isNullOrEmpty(columnNames) ? _columnNameList : columnNames, pageSize);
     }
 
+    @Override
+    public LazyDataSet plan() {
+        return new LazyRowDataSet(this);
+    }
+
     //    @SuppressWarnings("rawtypes")
     //    @Override
     //    public <T extends Comparable<? super T>> Map<String, T> percentiles(final String columnName) {
@@ -11156,8 +11642,35 @@ public class RowDataSet implements DataSet, Cloneable {
         for (List<Object> column : _columnList) {
             if (column instanceof ArrayList) {
                 ((ArrayList<?>) column).trimToSize();
+            } else if (column instanceof PrimitiveColumn) {
+                ((PrimitiveColumn<?>) column).trimToSize();
+            } else if (column instanceof DictionaryColumn) {
+                ((DictionaryColumn) column).trimToSize();
+            }
+        }
+    }
+
+    /**
+     * Compact.
+     */
+    @Override
+    public void compact() {
+        checkFrozen();
+
+        final int maxDictionarySize = size() / 2;
+        DictionaryColumn dictionaryColumn = null;
+
+        for (int i = 0, columnCount = _columnList.size(); i < columnCount; i++) {
+            dictionaryColumn = DictionaryColumn.encode(_columnList.get(i), maxDictionarySize);
+
+            if (dictionaryColumn != null) {
+                _columnList.set(i, dictionaryColumn);
             }
         }
+
+        trimToSize();
+
+        modCount++;
     }
 
     @Override
@@ -11587,6 +12100,120 @@ public class RowDataSet implements DataSet, Cloneable {
         return obj == null || obj.getClass().isArray() == false ? obj : Wrapper.of(obj);
     }
 
+    /**
+     * Returns the column at the specified index to store the specified value. A {@code PrimitiveColumn} is replaced by an {@code ArrayList}
+     * with the same values if it can't store the value as it is, so the value is never converted or truncated.
+     *
+     * @param columnIndex
+     * @param value
+     * @return
+     */
+    final List<Object> writableColumn(final int columnIndex, final Object value) {
+        final List<Object> column = _columnList.get(columnIndex);
+
+        if (column instanceof PrimitiveColumn && ((PrimitiveColumn<?>) column).accepts(value) == false) {
+            final List<Object> newColumn = new ArrayList<>(column);
+            _columnList.set(columnIndex, newColumn);
+
+            return newColumn;
+        }
+
+        return column;
+    }
+
+    /**
+     *
+     * @param columnIndex
+     * @param rowIndex
+     * @param value
+     * @return the column where the value is set.
+     * @see #writableColumn(int, Object)
+     */
+    private List<Object> setCell(final int columnIndex, final int rowIndex, final Object value) {
+        final List<Object> column = writableColumn(columnIndex, value);
+
+        column.set(rowIndex, value);
+
+        return column;
+    }
+
+    /**
+     *
+     * @param columnIndex
+     * @param values
+     * @return the column where the values are added.
+     * @see #writableColumn(int, Object)
+     */
+    private List<Object> addCells(final int columnIndex, final Collection<?> values) {
+        List<Object> column = _columnList.get(columnIndex);
+
+        for (Object value : values) {
+            if (column instanceof PrimitiveColumn == false) {
+                break;
+            }
+
+            column = writableColumn(columnIndex, value);
+        }
+
+        column.addAll(values);
+
+        return column;
+    }
+
+    /**
+     * Creates a new empty column with the same storage as the specified column: a {@code PrimitiveColumn} for a {@code PrimitiveColumn}, otherwise an {@code ArrayList}.
+     *
+     * @param column
+     * @param initialCapacity
+     * @return
+     */
+    static List<Object> newColumn(final List<Object> column, final int initialCapacity) {
+        if (column instanceof PrimitiveColumn) {
+            return ((PrimitiveColumn<?>) column).newInstance(initialCapacity);
+        } else if (column instanceof DictionaryColumn) {
+            return ((DictionaryColumn) column).newInstance(initialCapacity);
+        } else {
+            return new ArrayList<>(initialCapacity);
+        }
+    }
+
+    /**
+     * Copy the values in the specified range of the column, without boxing them if it's a {@code PrimitiveColumn}.
+     *
+     * @param column
+     * @param fromRowIndex
+     * @param toRowIndex
+     * @return
+     */
+    static List<Object> copyColumn(final List<Object> column, final int fromRowIndex, final int toRowIndex) {
+        if (column instanceof PrimitiveColumn) {
+            return ((PrimitiveColumn<?>) column).copy(fromRowIndex, toRowIndex);
+        } else if (column instanceof DictionaryColumn) {
+            return ((DictionaryColumn) column).copy(fromRowIndex, toRowIndex);
+        } else if (fromRowIndex == 0 && toRowIndex == column.size()) {
+            return new ArrayList<>(column);
+        } else {
+            return new ArrayList<>(column.subList(fromRowIndex, toRowIndex));
+        }
+    }
+
+    /**
+     * Adds the value at {@code rowIndex} of column {@code from} to column {@code to}.
+     *
+     * @param to
+     * @param from
+     * @param rowIndex
+     */
+    static void addCell(final List<Object> to, final List<Object> from, final int rowIndex) {
+        if (to instanceof PrimitiveColumn) {
+            ((PrimitiveColumn<?>) to).addFrom(from, rowIndex);
+        } else if (to instanceof DictionaryColumn) {
+            ((DictionaryColumn) to).addFrom(from, rowIndex);
+        } else {
+            to.add(from.get(rowIndex));
+        }
+    }
+
     /**
      * The Class PaginatedRowDataSet.
      *
@@ -225,6 +225,20 @@ abstract class AbstractJSONParser extends AbstractParser<JSONSerializationConfig
         return stream(elementClass, reader, null);
     }
 
+    @Override
+    public <T extends LazyJSON> T parseLazy(String json) {
+        N.checkArgNotNull(json, "json");
+
+        return (T) LazyJSON.parse(new JSONSource(json));
+    }
+
+    @Override
+    public <T extends LazyJSON> T parseLazy(byte[] json) {
+        N.checkArgNotNull(json, "json");
+
+        return (T) LazyJSON.parse(new JSONSource(json));
+    }
+
     /**
      *
      * @param config
@@ -14,14 +14,19 @@
 
 package com.landawn.abacus.parser;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.lang.reflect.Modifier;
 
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.stream.StreamFilter;
 import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.Attributes;
@@ -32,7 +37,10 @@ import com.landawn.abacus.logging.LoggerFactory;
 import com.landawn.abacus.parser.JSONSerializationConfig.JSC;
 import com.landawn.abacus.parser.ParserUtil.PropInfo;
 import com.landawn.abacus.type.Type;
+import com.landawn.abacus.util.ExceptionalStream;
+import com.landawn.abacus.util.IOUtil;
 import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Throwables;
 import com.landawn.abacus.util.WD;
 import com.landawn.abacus.util.XMLUtil;
 
@@ -82,6 +90,179 @@ abstract class AbstractXMLParser extends AbstractParser<XMLSerializationConfig,
         return deserialize(targetClass, node, null);
     }
 
+    /**
+     *
+     * @param <T>
+     * @param elementClass
+     * @param source
+     * @param elementName
+     * @return
+     */
+    @Override
+    public <T> ExceptionalStream<T, IOException> stream(Class<T> elementClass, InputStream source, String elementName) {
+        return stream(elementClass, source, elementName, null);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param elementClass
+     * @param source
+     * @param elementName
+     * @param config
+     * @return
+     */
+    @Override
+    public <T> ExceptionalStream<T, IOException> stream(Class<T> elementClass, InputStream source, String elementName, XMLDeserializationConfig config) {
+        N.checkArgNotNull(source, "source");
+
+        return stream(elementClass, createXMLStreamReader(source), source, elementName, config);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param elementClass
+     * @param source
+     * @param elementName
+     * @return
+     */
+    @Override
+    public <T> ExceptionalStream<T, IOException> stream(Class<T> elementClass, Reader source, String elementName) {
+        return stream(elementClass, source, elementName, null);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param elementClass
+     * @param source
+     * @param elementName
+     * @param config
+     * @return
+     */
+    @Override
+    public <T> ExceptionalStream<T, IOException> stream(Class<T> elementClass, Reader source, String elementName, XMLDeserializationConfig config) {
+        N.checkArgNotNull(source, "source");
+
+        return stream(elementClass, createXMLStreamReader(source), source, elementName, config);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param elementClass
+     * @param xmlReader
+     * @param source
+     * @param elementName
+     * @param config
+     * @return
+     */
+    private <T> ExceptionalStream<T, IOException> stream(final Class<T> elementClass, final XMLStreamReader xmlReader, final AutoCloseable source,
+            final String elementName, final XMLDeserializationConfig config) {
+        N.checkArgNotNull(elementClass, "elementClass");
+        N.checkArgNotNullOrEmpty(elementName, "elementName");
+
+        return ExceptionalStream.iterate(new Throwables.BooleanSupplier<IOException>() {
+            @Override
+            public boolean getAsBoolean() throws IOException {
+                try {
+                    // The reader is on the END_ELEMENT of last record, or on the event after it if it's read by JAXB.
+                    while (xmlReader.getEventType() != XMLStreamConstants.START_ELEMENT || !elementName.equals(xmlReader.getLocalName())) {
+                        if (!xmlReader.hasNext()) {
+                            return false;
+                        }
+
+                        xmlReader.next();
+                    }
+
+                    return true;
+                } catch (XMLStreamException e) {
+                    throw new ParseException(e);
+                }
+            }
+        }, new Throwables.Supplier<T, IOException>() {
+            @Override
+            public T get() throws IOException {
+                try {
+                    return readElement(elementClass, xmlReader, config);
+                } catch (XMLStreamException e) {
+                    throw new ParseException(e);
+                }
+            }
+        }).onClose(new Throwables.Runnable<IOException>() {
+            @Override
+            public void run() throws IOException {
+                try {
+                    xmlReader.close();
+                } catch (XMLStreamException e) {
+                    throw new ParseException(e);
+                } finally {
+                    IOUtil.closeQuietly(source);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the element the specified reader is on. Only the element is built into a DOM node and deserialized by
+     * {@link #deserialize(Class, Node, XMLDeserializationConfig)}, so the memory used by {@code stream} is bounded by the size of one element.
+     *
+     * @param <T>
+     * @param elementClass
+     * @param xmlReader on the {@code START_ELEMENT} of the element to read.
+     * @param config
+     * @return
+     * @throws XMLStreamException
+     */
+    protected <T> T readElement(Class<T> elementClass, XMLStreamReader xmlReader, XMLDeserializationConfig config) throws XMLStreamException {
+        final DocumentBuilder docBuilder = XMLUtil.createContentParser();
+        final Document doc;
+
+        try {
+            doc = docBuilder.newDocument();
+        } finally {
+            XMLUtil.recycleContentParser(docBuilder);
+        }
+
+        final Element root = doc.createElement(xmlReader.getLocalName());
+        Element current = root;
+        setAttributes(current, xmlReader);
+
+        for (int depth = 1; depth > 0;) {
+            switch (xmlReader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final Element child = doc.createElement(xmlReader.getLocalName());
+                    setAttributes(child, xmlReader);
+                    current.appendChild(child);
+                    current = child;
+                    depth++;
+                    break;
+
+                case XMLStreamConstants.END_ELEMENT:
+                    if (--depth > 0) {
+                        current = (Element) current.getParentNode();
+                    }
+
+                    break;
+
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    current.appendChild(doc.createTextNode(xmlReader.getText()));
+                    break;
+
+                case XMLStreamConstants.END_DOCUMENT:
+                    throw new ParseException("Unclosed element: " + root.getTagName());
+
+                default:
+                    // ignore.
+            }
+        }
+
+        return deserialize(elementClass, root, config);
+    }
+
     /**
      * Creates the XML stream reader.
      *
@@ -89,7 +270,21 @@ abstract class AbstractXMLParser extends AbstractParser<XMLSerializationConfig,
      * @return
      */
     protected XMLStreamReader createXMLStreamReader(Reader br) {
-        return XMLUtil.createFilteredStreamReader(XMLUtil.createXMLStreamReader(br), new StreamFilter() {
+        return createFilteredStreamReader(XMLUtil.createXMLStreamReader(br));
+    }
+
+    /**
+     * Creates the XML stream reader.
+     *
+     * @param is
+     * @return
+     */
+    protected XMLStreamReader createXMLStreamReader(InputStream is) {
+        return createFilteredStreamReader(XMLUtil.createXMLStreamReader(is));
+    }
+
+    private static XMLStreamReader createFilteredStreamReader(XMLStreamReader xmlReader) {
+        return XMLUtil.createFilteredStreamReader(xmlReader, new StreamFilter() {
             @Override
             public boolean accept(XMLStreamReader reader) {
                 return !(reader.isWhiteSpace() || reader.getEventType() == XMLStreamConstants.COMMENT);
@@ -97,6 +292,12 @@ abstract class AbstractXMLParser extends AbstractParser<XMLSerializationConfig,
         });
     }
 
+    private static void setAttributes(final Element element, final XMLStreamReader xmlReader) {
+        for (int i = 0, attrCount = xmlReader.getAttributeCount(); i < attrCount; i++) {
+            element.setAttribute(xmlReader.getAttributeLocalName(i), xmlReader.getAttributeValue(i));
+        }
+    }
+
     /**
      * Gets the prop value.
      *
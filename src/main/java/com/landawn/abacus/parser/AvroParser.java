@@ -27,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Field;
@@ -42,15 +43,20 @@ import org.apache.avro.specific.SpecificDatumReader;
 import org.apache.avro.specific.SpecificDatumWriter;
 import org.apache.avro.specific.SpecificRecord;
 
+import com.landawn.abacus.DataSet;
 import com.landawn.abacus.exception.UncheckedIOException;
 import com.landawn.abacus.parser.ParserUtil.EntityInfo;
 import com.landawn.abacus.type.Type;
 import com.landawn.abacus.util.ByteArrayOutputStream;
 import com.landawn.abacus.util.ClassUtil;
+import com.landawn.abacus.util.ExceptionalStream;
 import com.landawn.abacus.util.IOUtil;
 import com.landawn.abacus.util.Maps;
 import com.landawn.abacus.util.N;
 import com.landawn.abacus.util.Objectory;
+import com.landawn.abacus.util.Throwables;
+import com.landawn.abacus.util.Tuple;
+import com.landawn.abacus.util.Tuple.Tuple2;
 
 /**
  * The content is encoded with Base64 if the target output is String or Writer, otherwise the content is NOT encoded with Base64 if the target output is File or OutputStream.
@@ -62,6 +68,18 @@ import com.landawn.abacus.util.Objectory;
  */
 public final class AvroParser extends AbstractParser<AvroSerializationConfig, AvroDeserializationConfig> {
 
+    private static final int READER_POOL_CAPACITY = IOUtil.CPU_CORES * 2;
+
+    /**
+     * {@code DatumWriter} keeps no state between the records, so it's shared by (record class, schema).
+     */
+    private final Map<Tuple2<Class<?>, Schema>, DatumWriter<?>> datumWriterPool = new ConcurrentHashMap<>();
+
+    /**
+     * {@code DataFileStream} sets the writer schema of the file to the {@code DatumReader}, so a reader is only used by one stream at a time.
+     */
+    private final Map<Tuple2<Class<?>, Schema>, StripedPool<DatumReader<?>>> datumReaderPool = new ConcurrentHashMap<>();
+
     /**
      *
      * @param obj
@@ -121,7 +139,7 @@ public final class AvroParser extends AbstractParser<AvroSerializationConfig, Av
 
         if (obj instanceof SpecificRecord) {
             final SpecificRecord record = (SpecificRecord) obj;
-            final DatumWriter<SpecificRecord> datumWriter = new SpecificDatumWriter<>((Class<SpecificRecord>) record.getClass());
+            final DatumWriter<SpecificRecord> datumWriter = getDatumWriter(record.getClass(), null);
             final DataFileWriter<SpecificRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
 
             try {
@@ -135,7 +153,7 @@ public final class AvroParser extends AbstractParser<AvroSerializationConfig, Av
         } else if (type.isCollection() && ((Collection<Object>) obj).size() > 0 && ((Collection<Object>) obj).iterator().next() instanceof SpecificRecord) {
             final Collection<SpecificRecord> c = (Collection<SpecificRecord>) obj;
             final SpecificRecord record = c.iterator().next();
-            final DatumWriter<SpecificRecord> datumWriter = new SpecificDatumWriter<>((Class<SpecificRecord>) record.getClass());
+            final DatumWriter<SpecificRecord> datumWriter = getDatumWriter(record.getClass(), null);
             final DataFileWriter<SpecificRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
 
             try {
@@ -152,7 +170,7 @@ public final class AvroParser extends AbstractParser<AvroSerializationConfig, Av
         } else if (type.isObjectArray() && ((Object[]) obj).length > 0 && ((Object[]) obj)[0] instanceof SpecificRecord) {
             final Object[] a = (Object[]) obj;
             final SpecificRecord record = (SpecificRecord) a[0];
-            final DatumWriter<SpecificRecord> datumWriter = new SpecificDatumWriter<>((Class<SpecificRecord>) record.getClass());
+            final DatumWriter<SpecificRecord> datumWriter = getDatumWriter(record.getClass(), null);
             final DataFileWriter<SpecificRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
 
             try {
@@ -172,7 +190,20 @@ public final class AvroParser extends AbstractParser<AvroSerializationConfig, Av
             }
 
             final Schema schema = config.getSchema();
-            final DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>(schema);
+
+            if (obj instanceof DataSet) {
+                final AvroRecordWriter writer = writer(schema, os);
+
+                try {
+                    writer.write((DataSet) obj);
+                } finally {
+                    writer.close();
+                }
+
+                return;
+            }
+
+            final DatumWriter<GenericRecord> datumWriter = getDatumWriter(GenericRecord.class, schema);
             final DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
 
             try {
@@ -345,7 +376,7 @@ public final class AvroParser extends AbstractParser<AvroSerializationConfig, Av
         final Type<Object> eleType = config == null ? null : config.getElementType();
 
         if (SpecificRecord.class.isAssignableFrom(targetClass)) {
-            final DatumReader<T> datumReader = new SpecificDatumReader<>(targetClass);
+            final DatumReader<T> datumReader = borrowDatumReader(targetClass, null);
             DataFileStream<T> dataFileReader = null;
             T entity = null;
 
@@ -359,6 +390,7 @@ public final class AvroParser extends AbstractParser<AvroSerializationConfig, Av
                 throw new UncheckedIOException(e);
             } finally {
                 IOUtil.close(dataFileReader);
+                recycle(targetClass, null, datumReader);
             }
 
             return entity;
@@ -367,7 +399,7 @@ public final class AvroParser extends AbstractParser<AvroSerializationConfig, Av
             final Class<Object> eleClass = eleType != null && SpecificRecord.class.isAssignableFrom(eleType.clazz()) ? eleType.clazz()
                     : (Class<Object>) targetClass.getComponentType();
             final Collection<Object> c = targetType.isCollection() ? ((Collection<Object>) N.newInstance(targetClass)) : new ArrayList<>();
-            final DatumReader<Object> datumReader = new SpecificDatumReader<>(eleClass);
+            final DatumReader<Object> datumReader = borrowDatumReader(eleClass, null);
             DataFileStream<Object> dataFileReader = null;
 
             try {
@@ -380,6 +412,7 @@ public final class AvroParser extends AbstractParser<AvroSerializationConfig, Av
                 throw new UncheckedIOException(e);
             } finally {
                 IOUtil.close(dataFileReader);
+                recycle(eleClass, null, datumReader);
             }
 
             return (T) (targetType.isCollection() ? c : c.toArray((Object[]) N.newArray(targetClass.getComponentType(), c.size())));
@@ -389,7 +422,7 @@ public final class AvroParser extends AbstractParser<AvroSerializationConfig, Av
             }
 
             final Schema schema = config.getSchema();
-            final DatumReader<GenericRecord> datumReader = new GenericDatumReader<>(schema);
+            final DatumReader<GenericRecord> datumReader = borrowDatumReader(GenericRecord.class, schema);
             DataFileStream<GenericRecord> dataFileReader = null;
 
             try {
@@ -429,6 +462,7 @@ public final class AvroParser extends AbstractParser<AvroSerializationConfig, Av
                 throw new UncheckedIOException(e);
             } finally {
                 IOUtil.close(dataFileReader);
+                recycle(GenericRecord.class, schema, datumReader);
             }
         }
     }
@@ -446,6 +480,186 @@ public final class AvroParser extends AbstractParser<AvroSerializationConfig, Av
         throw new UnsupportedOperationException();
     }
 
+    /**
+     *
+     * @param <T>
+     * @param elementClass
+     * @param source
+     * @return
+     * @see #stream(Class, InputStream, AvroDeserializationConfig)
+     */
+    public <T> ExceptionalStream<T, IOException> stream(final Class<T> elementClass, final File source) {
+        return stream(elementClass, source, null);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param elementClass
+     * @param source
+     * @param config
+     * @return
+     * @see #stream(Class, InputStream, AvroDeserializationConfig)
+     */
+    public <T> ExceptionalStream<T, IOException> stream(final Class<T> elementClass, final File source, final AvroDeserializationConfig config) {
+        InputStream is = null;
+
+        try {
+            is = new FileInputStream(source);
+
+            return stream(elementClass, is, config);
+        } catch (IOException e) {
+            IOUtil.closeQuietly(is);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            IOUtil.closeQuietly(is);
+            throw e;
+        }
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param elementClass
+     * @param source
+     * @return
+     * @see #stream(Class, InputStream, AvroDeserializationConfig)
+     */
+    public <T> ExceptionalStream<T, IOException> stream(final Class<T> elementClass, final InputStream source) {
+        return stream(elementClass, source, null);
+    }
+
+    /**
+     * The records are decoded one by one when the stream is consumed. The input stream is closed when the returned stream is closed.
+     *
+     * @param <T>
+     * @param elementClass {@code SpecificRecord}, {@code GenericRecord}, entity, {@code Map}, {@code Collection} or array.
+     * @param source
+     * @param config the schema of the file is used to read {@code GenericRecord} if the schema is not specified.
+     * @return
+     */
+    public <T> ExceptionalStream<T, IOException> stream(final Class<T> elementClass, final InputStream source, final AvroDeserializationConfig config) {
+        N.checkArgNotNull(elementClass, "elementClass");
+        N.checkArgNotNull(source, "source");
+
+        final boolean isSpecificRecord = SpecificRecord.class.isAssignableFrom(elementClass);
+        final Class<?> recordClass = isSpecificRecord ? elementClass : GenericRecord.class;
+        final Schema schema = isSpecificRecord || config == null ? null : config.getSchema();
+        final DatumReader<Object> datumReader = borrowDatumReader(recordClass, schema);
+        final DataFileStream<Object> dataFileReader;
+
+        try {
+            dataFileReader = new DataFileStream<>(source, datumReader);
+        } catch (IOException e) {
+            recycle(recordClass, schema, datumReader);
+            throw new UncheckedIOException(e);
+        }
+
+        return ExceptionalStream.iterate(new Throwables.BooleanSupplier<IOException>() {
+            @Override
+            public boolean getAsBoolean() throws IOException {
+                return dataFileReader.hasNext();
+            }
+        }, new Throwables.Supplier<T, IOException>() {
+            @Override
+            public T get() throws IOException {
+                final Object record = dataFileReader.next();
+
+                return isSpecificRecord ? (T) record : fromGenericRecord(elementClass, (GenericRecord) record);
+            }
+        }).onClose(new Throwables.Runnable<IOException>() {
+            @Override
+            public void run() throws IOException {
+                try {
+                    dataFileReader.close();
+                } finally {
+                    recycle(recordClass, schema, datumReader);
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates a writer to write the rows in blocks to the specified output stream.
+     * The {@code DatumWriter} is cached by the schema and shared by the writers created with the same schema.
+     *
+     * @param schema
+     * @param os
+     * @return
+     */
+    public AvroRecordWriter writer(final Schema schema, final OutputStream os) {
+        N.checkArgNotNull(schema, "schema");
+        N.checkArgNotNull(os, "os");
+
+        return new AvroRecordWriter(this.<Object> getDatumWriter(GenericRecord.class, schema), schema, os);
+    }
+
+    /**
+     * Gets the datum writer.
+     *
+     * @param <T>
+     * @param recordClass
+     * @param schema {@code null} for {@code SpecificRecord}.
+     * @return
+     */
+    private <T> DatumWriter<T> getDatumWriter(final Class<?> recordClass, final Schema schema) {
+        final Tuple2<Class<?>, Schema> key = Tuple.<Class<?>, Schema> of(recordClass, schema);
+        DatumWriter<?> datumWriter = datumWriterPool.get(key);
+
+        if (datumWriter == null) {
+            datumWriter = schema == null ? new SpecificDatumWriter<>((Class<Object>) recordClass) : new GenericDatumWriter<>(schema);
+            datumWriterPool.put(key, datumWriter);
+        }
+
+        return (DatumWriter<T>) datumWriter;
+    }
+
+    /**
+     * Borrows a datum reader from the pool, or creates a new one if the pool is empty. It should be returned by {@link #recycle(Class, Schema, DatumReader)}.
+     *
+     * @param <T>
+     * @param recordClass
+     * @param schema {@code null} for {@code SpecificRecord}, or to read {@code GenericRecord} by the schema of the file.
+     * @return
+     */
+    private <T> DatumReader<T> borrowDatumReader(final Class<?> recordClass, final Schema schema) {
+        final StripedPool<DatumReader<?>> pool = datumReaderPool.get(Tuple.<Class<?>, Schema> of(recordClass, schema));
+        final DatumReader<?> datumReader = pool == null ? null : pool.poll();
+
+        if (datumReader != null) {
+            return (DatumReader<T>) datumReader;
+        }
+
+        return SpecificRecord.class.isAssignableFrom(recordClass) ? new SpecificDatumReader<>((Class<T>) recordClass) : new GenericDatumReader<T>(schema);
+    }
+
+    /**
+     *
+     * @param recordClass
+     * @param schema
+     * @param datumReader
+     */
+    private void recycle(final Class<?> recordClass, final Schema schema, final DatumReader<?> datumReader) {
+        // The reader schema of GenericDatumReader is set to the schema of the first file it reads if it's not specified.
+        if (schema == null && !SpecificRecord.class.isAssignableFrom(recordClass)) {
+            return;
+        }
+
+        final Tuple2<Class<?>, Schema> key = Tuple.<Class<?>, Schema> of(recordClass, schema);
+        StripedPool<DatumReader<?>> pool = datumReaderPool.get(key);
+
+        if (pool == null) {
+            pool = new StripedPool<>(READER_POOL_CAPACITY);
+            final StripedPool<DatumReader<?>> existed = datumReaderPool.putIfAbsent(key, pool);
+
+            if (existed != null) {
+                pool = existed;
+            }
+        }
+
+        pool.offer(datumReader);
+    }
+
     /**
      * From generic record.
      *
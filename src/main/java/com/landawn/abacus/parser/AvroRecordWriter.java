@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData.Record;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.io.DatumWriter;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.exception.UncheckedIOException;
+import com.landawn.abacus.parser.ParserUtil.EntityInfo;
+import com.landawn.abacus.parser.ParserUtil.PropInfo;
+import com.landawn.abacus.util.ClassUtil;
+import com.landawn.abacus.util.N;
+
+/**
+ * Writes the rows to an Avro data file by {@link AvroParser#writer(Schema, OutputStream)}. The rows are encoded one by one into the current block,
+ * which is written to the output stream when it reaches the sync interval of {@code DataFileWriter}.
+ * <br />
+ * The row can be {@code IndexedRecord}, entity, {@code Map}, {@code Collection} or {@code Object[]}. One {@code Record} is reused to
+ * convert all the rows, and the properties of entity are read by the schema field positions resolved once for each entity class.
+ * <br />
+ * It's not multi-thread safety.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+public final class AvroRecordWriter implements Closeable, Flushable {
+
+    private final Schema schema;
+
+    private final List<Field> fields;
+
+    private final DataFileWriter<Object> dataFileWriter;
+
+    private final Record record;
+
+    private Class<?> lastEntityClass;
+
+    private PropInfo[] lastPropInfos;
+
+    AvroRecordWriter(final DatumWriter<Object> datumWriter, final Schema schema, final OutputStream os) {
+        this.schema = schema;
+        this.fields = schema.getFields();
+        this.dataFileWriter = new DataFileWriter<>(datumWriter);
+        this.record = new Record(schema);
+
+        try {
+            dataFileWriter.create(schema, os);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     *
+     * @return
+     */
+    public Schema schema() {
+        return schema;
+    }
+
+    /**
+     *
+     * @param row
+     * @return
+     * @throws IllegalArgumentException if the row is a {@code Collection} or {@code Object[]} with more elements than the fields of the schema.
+     */
+    public AvroRecordWriter write(final Object row) {
+        N.checkArgNotNull(row, "row");
+
+        try {
+            dataFileWriter.append(row instanceof IndexedRecord ? row : toRecord(row));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return this;
+    }
+
+    /**
+     *
+     * @param rows
+     * @return
+     */
+    public AvroRecordWriter writeAll(final Collection<?> rows) {
+        if (N.notNullOrEmpty(rows)) {
+            for (Object row : rows) {
+                write(row);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * The values of each row are read from the columns by the schema field names, without creating {@code Map}/entity for the rows.
+     * The field is set to {@code null} if there is no column with the same name.
+     *
+     * @param dataSet
+     * @return
+     */
+    public AvroRecordWriter write(final DataSet dataSet) {
+        N.checkArgNotNull(dataSet, "dataSet");
+
+        final int fieldCount = fields.size();
+        final List<Object>[] columns = new List[fieldCount];
+
+        for (int i = 0; i < fieldCount; i++) {
+            if (dataSet.containsColumn(fields.get(i).name())) {
+                columns[i] = dataSet.getColumn(fields.get(i).name());
+            }
+        }
+
+        try {
+            for (int rowIndex = 0, size = dataSet.size(); rowIndex < size; rowIndex++) {
+                for (int i = 0; i < fieldCount; i++) {
+                    record.put(i, columns[i] == null ? null : columns[i].get(rowIndex));
+                }
+
+                dataFileWriter.append(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes the current block to the output stream.
+     */
+    @Override
+    public void flush() {
+        try {
+            dataFileWriter.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the current block and closes the output stream.
+     */
+    @Override
+    public void close() {
+        try {
+            dataFileWriter.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The returned {@code Record} is reused by the next row. It's fine because {@code DataFileWriter.append} encodes the record immediately.
+     *
+     * @param row
+     * @return
+     */
+    private Record toRecord(final Object row) {
+        final int fieldCount = fields.size();
+
+        if (row instanceof Map) {
+            final Map<String, Object> m = (Map<String, Object>) row;
+
+            for (int i = 0; i < fieldCount; i++) {
+                record.put(i, m.get(fields.get(i).name()));
+            }
+        } else if (row instanceof Collection) {
+            final Collection<Object> c = (Collection<Object>) row;
+
+            if (c.size() > fieldCount) {
+                throw new IllegalArgumentException("The size of row: " + c.size() + " is bigger than the field count: " + fieldCount + " of the schema");
+            }
+
+            int index = 0;
+
+            for (Object e : c) {
+                record.put(index++, e);
+            }
+
+            while (index < fieldCount) {
+                record.put(index++, null);
+            }
+        } else if (row instanceof Object[]) {
+            final Object[] a = (Object[]) row;
+
+            if (a.length > fieldCount) {
+                throw new IllegalArgumentException("The length of row: " + a.length + " is bigger than the field count: " + fieldCount + " of the schema");
+            }
+
+            for (int i = 0; i < fieldCount; i++) {
+                record.put(i, i < a.length ? a[i] : null);
+            }
+        } else if (ClassUtil.isEntity(row.getClass())) {
+            final PropInfo[] propInfos = getPropInfos(row.getClass());
+
+            for (int i = 0; i < fieldCount; i++) {
+                record.put(i, propInfos[i] == null ? null : propInfos[i].getPropValue(row));
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupprted type: " + ClassUtil.getCanonicalClassName(row.getClass()));
+        }
+
+        return record;
+    }
+
+    private PropInfo[] getPropInfos(final Class<?> entityClass) {
+        if (entityClass != lastEntityClass) {
+            final EntityInfo entityInfo = ParserUtil.getEntityInfo(entityClass);
+            final PropInfo[] propInfos = new PropInfo[fields.size()];
+
+            for (int i = 0, len = propInfos.length; i < len; i++) {
+                propInfos[i] = entityInfo.getPropInfo(fields.get(i).name());
+            }
+
+            lastEntityClass = entityClass;
+            lastPropInfos = propInfos;
+        }
+
+        return lastPropInfos;
+    }
+}
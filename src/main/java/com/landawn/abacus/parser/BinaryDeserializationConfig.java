@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+/**
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+public class BinaryDeserializationConfig extends DeserializationConfig<BinaryDeserializationConfig> {
+
+    /**
+     * The Class BDC.
+     */
+    public static final class BDC extends BinaryDeserializationConfig {
+
+        /**
+         *
+         * @return
+         */
+        public static BinaryDeserializationConfig create() {
+            return new BinaryDeserializationConfig();
+        }
+    }
+}
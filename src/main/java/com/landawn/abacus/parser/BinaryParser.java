@@ -0,0 +1,1398 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.core.RowDataSet;
+import com.landawn.abacus.exception.ParseException;
+import com.landawn.abacus.exception.UncheckedIOException;
+import com.landawn.abacus.parser.ParserUtil.EntityInfo;
+import com.landawn.abacus.parser.ParserUtil.PropInfo;
+import com.landawn.abacus.type.Type;
+import com.landawn.abacus.util.BooleanList;
+import com.landawn.abacus.util.ByteList;
+import com.landawn.abacus.util.CharList;
+import com.landawn.abacus.util.Charsets;
+import com.landawn.abacus.util.DoubleList;
+import com.landawn.abacus.util.FloatList;
+import com.landawn.abacus.util.IOUtil;
+import com.landawn.abacus.util.IntList;
+import com.landawn.abacus.util.LongList;
+import com.landawn.abacus.util.Multimap;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.Objectory;
+import com.landawn.abacus.util.SetMultimap;
+import com.landawn.abacus.util.ShortList;
+import com.landawn.abacus.util.Tuple.Tuple2;
+import com.landawn.abacus.util.function.Function;
+
+/**
+ * A compact and self-describing binary format. Each value starts with a one-byte tag: the integers are written as zigzag varints,
+ * the strings are written as length-prefixed UTF-8, and a property name/String map key/column name is written only at its first occurrence
+ * and referred by index after that in the same output.
+ * <br />
+ * {@code DataSet} is written by columns, {@code Multimap} is written as key to values, and the primitive arrays/lists are written without tag for each element.
+ * No class name is written. The values are bound to the target class by {@code EntityInfo}/{@code PropInfo} and {@code Type} when they're read.
+ * The types which are not supported natively are written as String by {@code Type.stringOf} and read by {@code Type.valueOf}.
+ * <br />
+ * The content is encoded with Base64 if the target output is String or Writer, otherwise the content is NOT encoded with Base64 if the target output is File or OutputStream.
+ * Circular reference is not supported.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+public final class BinaryParser extends AbstractParser<BinarySerializationConfig, BinaryDeserializationConfig> {
+
+    static final int NULL = 0;
+
+    static final int TRUE = 1;
+
+    static final int FALSE = 2;
+
+    static final int INT = 3;
+
+    static final int LONG = 4;
+
+    static final int FLOAT = 5;
+
+    static final int DOUBLE = 6;
+
+    static final int CHAR = 7;
+
+    static final int STRING = 8;
+
+    /** The name is followed by its UTF-8 bytes and added to the name table. */
+    static final int NAME = 9;
+
+    /** The index of the name in the name table. */
+    static final int NAME_REF = 10;
+
+    static final int ARRAY = 11;
+
+    static final int MAP = 12;
+
+    /** The properties are followed by {@code END}, so the entity is written in one pass. */
+    static final int ENTITY = 13;
+
+    static final int END = 14;
+
+    static final int DATA_SET = 15;
+
+    static final int MULTIMAP = 16;
+
+    static final int BOOLEAN_ARRAY = 17;
+
+    static final int CHAR_ARRAY = 18;
+
+    static final int BYTE_ARRAY = 19;
+
+    static final int SHORT_ARRAY = 20;
+
+    static final int INT_ARRAY = 21;
+
+    static final int LONG_ARRAY = 22;
+
+    static final int FLOAT_ARRAY = 23;
+
+    static final int DOUBLE_ARRAY = 24;
+
+    private static final BinarySerializationConfig defaultBinarySerializationConfig = new BinarySerializationConfig();
+
+    private static final BinaryDeserializationConfig defaultBinaryDeserializationConfig = new BinaryDeserializationConfig();
+
+    BinaryParser() {
+    }
+
+    /**
+     *
+     * @param obj
+     * @param config
+     * @return
+     */
+    @Override
+    public String serialize(Object obj, BinarySerializationConfig config) {
+        return N.base64Encode(encode(obj, config));
+    }
+
+    /**
+     *
+     * @param file
+     * @param obj
+     * @param config
+     */
+    @Override
+    public void serialize(File file, Object obj, BinarySerializationConfig config) {
+        OutputStream os = null;
+
+        try {
+            if (!file.exists()) {
+                file.createNewFile();
+            }
+
+            os = new FileOutputStream(file);
+
+            serialize(os, obj, config);
+
+            os.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            IOUtil.close(os);
+        }
+    }
+
+    /**
+     *
+     * @param os
+     * @param obj
+     * @param config
+     */
+    @Override
+    public void serialize(OutputStream os, Object obj, BinarySerializationConfig config) {
+        final BinaryOutput output = new BinaryOutput(os);
+
+        try {
+            write(output, obj, check(config));
+
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     *
+     * @param writer
+     * @param obj
+     * @param config
+     */
+    @Override
+    public void serialize(Writer writer, Object obj, BinarySerializationConfig config) {
+        try {
+            writer.write(serialize(obj, config));
+
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     *
+     * @param obj
+     * @return
+     */
+    public byte[] encode(final Object obj) {
+        return encode(obj, null);
+    }
+
+    /**
+     *
+     * @param obj
+     * @param config
+     * @return
+     */
+    public byte[] encode(final Object obj, final BinarySerializationConfig config) {
+        final BinaryOutput output = new BinaryOutput(null);
+
+        try {
+            write(output, obj, check(config));
+
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param st
+     * @param config
+     * @return
+     */
+    @Override
+    public <T> T deserialize(Class<T> targetClass, String st, BinaryDeserializationConfig config) {
+        return decode(targetClass, N.base64Decode(st), config);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param file
+     * @param config
+     * @return
+     */
+    @Override
+    public <T> T deserialize(Class<T> targetClass, File file, BinaryDeserializationConfig config) {
+        InputStream is = null;
+
+        try {
+            is = new FileInputStream(file);
+
+            return deserialize(targetClass, is, config);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            IOUtil.close(is);
+        }
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param is
+     * @param config
+     * @return
+     */
+    @Override
+    public <T> T deserialize(Class<T> targetClass, InputStream is, BinaryDeserializationConfig config) {
+        final BinaryInput input = new BinaryInput(is);
+
+        try {
+            return (T) read(input, N.typeOf(targetClass), check(config));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param reader
+     * @param config
+     * @return
+     */
+    @Override
+    public <T> T deserialize(Class<T> targetClass, Reader reader, BinaryDeserializationConfig config) {
+        return deserialize(targetClass, IOUtil.readString(reader), config);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param bytes
+     * @return
+     */
+    public <T> T decode(final Class<T> targetClass, final byte[] bytes) {
+        return decode(targetClass, bytes, null);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param targetClass
+     * @param bytes
+     * @param config
+     * @return
+     */
+    public <T> T decode(final Class<T> targetClass, final byte[] bytes, final BinaryDeserializationConfig config) {
+        try {
+            return (T) read(new BinaryInput(bytes), N.typeOf(targetClass), check(config));
+        } catch (IOException e) {
+            // should never happen.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     *
+     * @param output
+     * @param obj
+     * @param config
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    void write(final BinaryOutput output, final Object obj, final BinarySerializationConfig config) throws IOException {
+        if (obj == null) {
+            output.writeTag(NULL);
+            return;
+        }
+
+        final Class<?> cls = obj.getClass();
+
+        if (cls == String.class) {
+            output.writeTag(STRING);
+            output.writeString((String) obj);
+        } else if (cls == Integer.class || cls == Short.class || cls == Byte.class) {
+            output.writeTag(INT);
+            output.writeZigZagInt(((Number) obj).intValue());
+        } else if (cls == Long.class) {
+            output.writeTag(LONG);
+            output.writeZigZagLong(((Long) obj).longValue());
+        } else if (cls == Double.class) {
+            output.writeTag(DOUBLE);
+            output.writeFixedLong(Double.doubleToLongBits(((Double) obj).doubleValue()));
+        } else if (cls == Float.class) {
+            output.writeTag(FLOAT);
+            output.writeFixedInt(Float.floatToIntBits(((Float) obj).floatValue()));
+        } else if (cls == Boolean.class) {
+            output.writeTag(((Boolean) obj).booleanValue() ? TRUE : FALSE);
+        } else if (cls == Character.class) {
+            output.writeTag(CHAR);
+            output.writeVarInt(((Character) obj).charValue());
+        } else {
+            final Type<Object> type = N.typeOf(cls);
+
+            if (type.isPrimitiveArray()) {
+                writePrimitiveArray(output, obj);
+            } else if (type.isPrimitiveList()) {
+                writePrimitiveList(output, obj);
+            } else if (type.isEntity()) {
+                writeEntity(output, obj, config);
+            } else if (type.isMap()) {
+                writeMap(output, (Map<Object, Object>) obj, config);
+            } else if (type.isCollection()) {
+                writeCollection(output, (Collection<Object>) obj, config);
+            } else if (type.isObjectArray()) {
+                final Object[] a = (Object[]) obj;
+
+                output.writeTag(ARRAY);
+                output.writeVarInt(a.length);
+
+                for (Object e : a) {
+                    write(output, e, config);
+                }
+            } else if (type.isDataSet()) {
+                writeDataSet(output, (DataSet) obj, config);
+            } else if (obj instanceof Multimap) {
+                writeMultimap(output, (Multimap<Object, Object, Collection<Object>>) obj, config);
+            } else {
+                output.writeTag(STRING);
+                output.writeString(type.stringOf(obj));
+            }
+        }
+    }
+
+    private void writeEntity(final BinaryOutput output, final Object entity, final BinarySerializationConfig config) throws IOException {
+        final Class<?> cls = entity.getClass();
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(cls);
+        final PropInfo[] propInfos = config.isSkipTransientField() ? entityInfo.nonTransientSeriPropInfos : entityInfo.jsonXmlSerializablePropInfos;
+        final Collection<String> ignoredPropNames = config.getIgnoredPropNames(cls);
+        final Exclusion exclusion = config.getExclusion();
+        Object propValue = null;
+
+        output.writeTag(ENTITY);
+
+        for (PropInfo propInfo : propInfos) {
+            if (ignoredPropNames != null && ignoredPropNames.contains(propInfo.name)) {
+                continue;
+            }
+
+            propValue = propInfo.getPropValue(entity);
+
+            if ((exclusion == Exclusion.NULL && propValue == null) || (exclusion == Exclusion.DEFAULT && propInfo.type.isDefaultValue(propValue))) {
+                continue;
+            }
+
+            output.writeName(propInfo.name);
+            write(output, propValue, config);
+        }
+
+        output.writeTag(END);
+    }
+
+    private void writeMap(final BinaryOutput output, final Map<Object, Object> m, final BinarySerializationConfig config) throws IOException {
+        output.writeTag(MAP);
+        output.writeVarInt(m.size());
+
+        for (Map.Entry<Object, Object> entry : m.entrySet()) {
+            writeKey(output, entry.getKey(), config);
+            write(output, entry.getValue(), config);
+        }
+    }
+
+    private void writeCollection(final BinaryOutput output, final Collection<Object> c, final BinarySerializationConfig config) throws IOException {
+        output.writeTag(ARRAY);
+        output.writeVarInt(c.size());
+
+        for (Object e : c) {
+            write(output, e, config);
+        }
+    }
+
+    private void writeDataSet(final BinaryOutput output, final DataSet dataSet, final BinarySerializationConfig config) throws IOException {
+        final List<String> columnNameList = dataSet.columnNameList();
+        final int columnCount = columnNameList.size();
+
+        output.writeTag(DATA_SET);
+        output.writeVarInt(columnCount);
+
+        for (String columnName : columnNameList) {
+            output.writeName(columnName);
+        }
+
+        output.writeVarInt(dataSet.size());
+
+        for (int i = 0; i < columnCount; i++) {
+            for (Object e : dataSet.getColumn(i)) {
+                write(output, e, config);
+            }
+        }
+    }
+
+    private void writeMultimap(final BinaryOutput output, final Multimap<Object, Object, Collection<Object>> multimap,
+            final BinarySerializationConfig config) throws IOException {
+        output.writeTag(MULTIMAP);
+        output.writeVarInt(multimap.size());
+
+        for (Map.Entry<Object, Collection<Object>> entry : multimap.entrySet()) {
+            writeKey(output, entry.getKey(), config);
+            writeCollection(output, entry.getValue(), config);
+        }
+    }
+
+    private void writeKey(final BinaryOutput output, final Object key, final BinarySerializationConfig config) throws IOException {
+        if (key instanceof String) {
+            output.writeName((String) key);
+        } else {
+            write(output, key, config);
+        }
+    }
+
+    private static void writePrimitiveArray(final BinaryOutput output, final Object a) throws IOException {
+        final Class<?> cls = a.getClass();
+
+        if (cls == boolean[].class) {
+            writePrimitives(output, BOOLEAN_ARRAY, a, ((boolean[]) a).length);
+        } else if (cls == char[].class) {
+            writePrimitives(output, CHAR_ARRAY, a, ((char[]) a).length);
+        } else if (cls == byte[].class) {
+            writePrimitives(output, BYTE_ARRAY, a, ((byte[]) a).length);
+        } else if (cls == short[].class) {
+            writePrimitives(output, SHORT_ARRAY, a, ((short[]) a).length);
+        } else if (cls == int[].class) {
+            writePrimitives(output, INT_ARRAY, a, ((int[]) a).length);
+        } else if (cls == long[].class) {
+            writePrimitives(output, LONG_ARRAY, a, ((long[]) a).length);
+        } else if (cls == float[].class) {
+            writePrimitives(output, FLOAT_ARRAY, a, ((float[]) a).length);
+        } else {
+            writePrimitives(output, DOUBLE_ARRAY, a, ((double[]) a).length);
+        }
+    }
+
+    /**
+     * The elements are written from the backing array of the list without copying.
+     *
+     * @param output
+     * @param list
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private static void writePrimitiveList(final BinaryOutput output, final Object list) throws IOException {
+        if (list instanceof BooleanList) {
+            writePrimitives(output, BOOLEAN_ARRAY, ((BooleanList) list).array(), ((BooleanList) list).size());
+        } else if (list instanceof CharList) {
+            writePrimitives(output, CHAR_ARRAY, ((CharList) list).array(), ((CharList) list).size());
+        } else if (list instanceof ByteList) {
+            writePrimitives(output, BYTE_ARRAY, ((ByteList) list).array(), ((ByteList) list).size());
+        } else if (list instanceof ShortList) {
+            writePrimitives(output, SHORT_ARRAY, ((ShortList) list).array(), ((ShortList) list).size());
+        } else if (list instanceof IntList) {
+            writePrimitives(output, INT_ARRAY, ((IntList) list).array(), ((IntList) list).size());
+        } else if (list instanceof LongList) {
+            writePrimitives(output, LONG_ARRAY, ((LongList) list).array(), ((LongList) list).size());
+        } else if (list instanceof FloatList) {
+            writePrimitives(output, FLOAT_ARRAY, ((FloatList) list).array(), ((FloatList) list).size());
+        } else if (list instanceof DoubleList) {
+            writePrimitives(output, DOUBLE_ARRAY, ((DoubleList) list).array(), ((DoubleList) list).size());
+        } else {
+            throw new ParseException("Unsupported primitive list: " + list.getClass().getName());
+        }
+    }
+
+    private static void writePrimitives(final BinaryOutput output, final int tag, final Object a, final int len) throws IOException {
+        output.writeTag(tag);
+        output.writeVarInt(len);
+
+        switch (tag) {
+            case BOOLEAN_ARRAY: {
+                final boolean[] arr = (boolean[]) a;
+                output.ensure(len);
+
+                for (int i = 0; i < len; i++) {
+                    output.buf[output.count++] = arr[i] ? (byte) 1 : (byte) 0;
+                }
+
+                break;
+            }
+
+            case CHAR_ARRAY: {
+                final char[] arr = (char[]) a;
+
+                for (int i = 0; i < len; i++) {
+                    output.writeVarInt(arr[i]);
+                }
+
+                break;
+            }
+
+            case BYTE_ARRAY:
+                output.writeBytes((byte[]) a, 0, len);
+                break;
+
+            case SHORT_ARRAY: {
+                final short[] arr = (short[]) a;
+
+                for (int i = 0; i < len; i++) {
+                    output.writeZigZagInt(arr[i]);
+                }
+
+                break;
+            }
+
+            case INT_ARRAY: {
+                final int[] arr = (int[]) a;
+
+                for (int i = 0; i < len; i++) {
+                    output.writeZigZagInt(arr[i]);
+                }
+
+                break;
+            }
+
+            case LONG_ARRAY: {
+                final long[] arr = (long[]) a;
+
+                for (int i = 0; i < len; i++) {
+                    output.writeZigZagLong(arr[i]);
+                }
+
+                break;
+            }
+
+            case FLOAT_ARRAY: {
+                final float[] arr = (float[]) a;
+
+                for (int i = 0; i < len; i++) {
+                    output.writeFixedInt(Float.floatToIntBits(arr[i]));
+                }
+
+                break;
+            }
+
+            default: {
+                final double[] arr = (double[]) a;
+
+                for (int i = 0; i < len; i++) {
+                    output.writeFixedLong(Double.doubleToLongBits(arr[i]));
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @param input
+     * @param type
+     * @param config
+     * @return
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    Object read(final BinaryInput input, final Type<?> type, final BinaryDeserializationConfig config) throws IOException {
+        return read(input, input.readTag(), type, config);
+    }
+
+    private Object read(final BinaryInput input, final int tag, final Type<?> type, final BinaryDeserializationConfig config) throws IOException {
+        switch (tag) {
+            case NULL:
+                return type.defaultValue();
+
+            case TRUE:
+                return convert(Boolean.TRUE, type);
+
+            case FALSE:
+                return convert(Boolean.FALSE, type);
+
+            case INT:
+                return convert(input.readZigZagInt(), type);
+
+            case LONG:
+                return convert(input.readZigZagLong(), type);
+
+            case FLOAT:
+                return convert(Float.intBitsToFloat(input.readFixedInt()), type);
+
+            case DOUBLE:
+                return convert(Double.longBitsToDouble(input.readFixedLong()), type);
+
+            case CHAR:
+                return convert((char) input.readVarInt(), type);
+
+            case STRING:
+            case NAME:
+            case NAME_REF: {
+                final String str = input.readString(tag);
+
+                return type.isString() || type.clazz() == Object.class ? str : type.valueOf(str);
+            }
+
+            case ARRAY:
+                return readCollection(input, type, config);
+
+            case MAP:
+                return readProps(input, input.readVarInt(), type, config);
+
+            case ENTITY:
+                return readProps(input, -1, type, config);
+
+            case DATA_SET:
+                return readDataSet(input, type, config);
+
+            case MULTIMAP:
+                return readMultimap(input, type, config);
+
+            case BOOLEAN_ARRAY:
+            case CHAR_ARRAY:
+            case BYTE_ARRAY:
+            case SHORT_ARRAY:
+            case INT_ARRAY:
+            case LONG_ARRAY:
+            case FLOAT_ARRAY:
+            case DOUBLE_ARRAY:
+                return convertPrimitiveArray(readPrimitiveArray(input, tag), type);
+
+            default:
+                throw new ParseException("Unknown tag: " + tag);
+        }
+    }
+
+    private Object readCollection(final BinaryInput input, final Type<?> type, final BinaryDeserializationConfig config) throws IOException {
+        final int size = input.readVarInt();
+
+        if (type.isObjectArray()) {
+            final Type<?> eleType = type.getElementType();
+            final Object[] a = N.newArray(type.clazz().getComponentType(), size);
+
+            for (int i = 0; i < size; i++) {
+                a[i] = read(input, eleType, config);
+            }
+
+            return a;
+        }
+
+        Type<?> eleType = type.isCollection() ? type.getElementType() : null;
+
+        if ((eleType == null || eleType.clazz() == Object.class) && config.getElementType() != null) {
+            eleType = config.getElementType();
+        }
+
+        if (eleType == null) {
+            eleType = objType;
+        }
+
+        if (type.isCollection()) {
+            final Tuple2<Function<Class<?>, Object>, Function<Object, Object>> creatorAndConvertor = getCreatorAndConvertorForTargetType(
+                    type.clazz() == Collection.class ? List.class : type.clazz(), null);
+            final Collection<Object> c = (Collection<Object>) creatorAndConvertor._1.apply(type.clazz() == Collection.class ? List.class : type.clazz());
+
+            for (int i = 0; i < size; i++) {
+                c.add(read(input, eleType, config));
+            }
+
+            return creatorAndConvertor._2.apply(c);
+        }
+
+        final List<Object> list = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            list.add(read(input, eleType, config));
+        }
+
+        if (type.isPrimitiveArray()) {
+            return type.collection2Array(list);
+        } else if (type.isPrimitiveList()) {
+            final Type<Object> arrayType = N.typeOf(type.getElementType().clazz().getName() + "[]");
+
+            return convertPrimitiveArray(arrayType.collection2Array(list), type);
+        } else if (type.clazz() == Object.class) {
+            return list;
+        } else {
+            return N.convert(list, type);
+        }
+    }
+
+    /**
+     * Reads the entries of {@code MAP} or the properties of {@code ENTITY} into an entity or a {@code Map}.
+     *
+     * @param input
+     * @param size -1 if the entries are ended by {@code END}.
+     * @param type
+     * @param config
+     * @return
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private Object readProps(final BinaryInput input, final int size, final Type<?> type, final BinaryDeserializationConfig config) throws IOException {
+        int tag = 0;
+
+        if (type.isEntity()) {
+            final Class<?> cls = type.clazz();
+            final EntityInfo entityInfo = ParserUtil.getEntityInfo(cls);
+            final Collection<String> ignoredPropNames = config.getIgnoredPropNames(cls);
+            final Object result = entityInfo.createEntityResult();
+            String propName = null;
+            PropInfo propInfo = null;
+
+            for (int i = 0; size < 0 || i < size; i++) {
+                if ((tag = input.readTag()) == END) {
+                    break;
+                }
+
+                propName = (String) read(input, tag, strType, config);
+                propInfo = entityInfo.getPropInfo(propName);
+
+                if (propInfo == null || (ignoredPropNames != null && ignoredPropNames.contains(propName))) {
+                    if (propInfo == null && !config.isIgnoreUnmatchedProperty()) {
+                        throw new ParseException("Unknown property: " + propName + " in class: " + cls.getName());
+                    }
+
+                    read(input, objType, config);
+                } else {
+                    propInfo.setPropValue(result, read(input, propInfo.jsonXmlType, config));
+                }
+            }
+
+            return entityInfo.finishEntityResult(result);
+        }
+
+        final Type<?>[] parameterTypes = type.isMap() ? type.getParameterTypes() : null;
+        Type<?> keyType = parameterTypes == null ? null : parameterTypes[0];
+        Type<?> valueType = parameterTypes == null ? null : parameterTypes[1];
+
+        if ((keyType == null || keyType.clazz() == Object.class) && config.getMapKeyType() != null) {
+            keyType = config.getMapKeyType();
+        }
+
+        if ((valueType == null || valueType.clazz() == Object.class) && config.getMapValueType() != null) {
+            valueType = config.getMapValueType();
+        }
+
+        keyType = keyType == null ? objType : keyType;
+        valueType = valueType == null ? objType : valueType;
+
+        final Class<?> mapClass = type.isMap() ? type.clazz() : Map.class;
+        final Tuple2<Function<Class<?>, Object>, Function<Object, Object>> creatorAndConvertor = getCreatorAndConvertorForTargetType(mapClass, null);
+        final Map<Object, Object> m = type.isMap() ? (Map<Object, Object>) creatorAndConvertor._1.apply(mapClass) : N.newLinkedHashMap();
+        Object key = null;
+
+        for (int i = 0; size < 0 || i < size; i++) {
+            if ((tag = input.readTag()) == END) {
+                break;
+            }
+
+            key = read(input, tag, keyType, config);
+
+            m.put(key, read(input, key instanceof String && config.hasPropType((String) key) ? config.getPropType((String) key) : valueType, config));
+        }
+
+        if (type.isMap()) {
+            return creatorAndConvertor._2.apply(m);
+        } else if (type.clazz() == Object.class) {
+            return m;
+        } else {
+            return N.convert(m, type);
+        }
+    }
+
+    private Object readDataSet(final BinaryInput input, final Type<?> type, final BinaryDeserializationConfig config) throws IOException {
+        final int columnCount = input.readVarInt();
+        final List<String> columnNameList = new ArrayList<>(columnCount);
+
+        for (int i = 0; i < columnCount; i++) {
+            columnNameList.add((String) read(input, strType, config));
+        }
+
+        final int size = input.readVarInt();
+        final List<List<Object>> columnList = new ArrayList<>(columnCount);
+        Type<?> columnType = null;
+        List<Object> column = null;
+
+        for (int i = 0; i < columnCount; i++) {
+            columnType = config.hasPropType(columnNameList.get(i)) ? config.getPropType(columnNameList.get(i)) : objType;
+            column = new ArrayList<>(size);
+
+            for (int j = 0; j < size; j++) {
+                column.add(read(input, columnType, config));
+            }
+
+            columnList.add(column);
+        }
+
+        final DataSet dataSet = new RowDataSet(columnNameList, columnList);
+
+        return type.clazz() == Object.class || type.isDataSet() ? dataSet : N.convert(dataSet, type);
+    }
+
+    private Object readMultimap(final BinaryInput input, final Type<?> type, final BinaryDeserializationConfig config) throws IOException {
+        final Type<?>[] parameterTypes = Multimap.class.isAssignableFrom(type.clazz()) ? type.getParameterTypes() : null;
+        final Type<?> keyType = parameterTypes == null ? objType : parameterTypes[0];
+        final Type<?> eleType = parameterTypes == null ? objType
+                : (parameterTypes[1].isCollection() ? parameterTypes[1].getElementType() : parameterTypes[1]);
+
+        final Multimap<Object, Object, ? extends Collection<Object>> multimap = SetMultimap.class.isAssignableFrom(type.clazz()) ? N.newSetMultimap()
+                : N.newListMultimap();
+        final int keyCount = input.readVarInt();
+        Object key = null;
+        int size = 0;
+
+        for (int i = 0; i < keyCount; i++) {
+            key = read(input, keyType, config);
+
+            if (input.readTag() != ARRAY) {
+                throw new ParseException("Values of Multimap are expected");
+            }
+
+            size = input.readVarInt();
+
+            for (int j = 0; j < size; j++) {
+                multimap.put(key, read(input, eleType, config));
+            }
+        }
+
+        return type.clazz() == Object.class || type.clazz().isInstance(multimap) ? multimap : N.convert(multimap, type);
+    }
+
+    private static Object readPrimitiveArray(final BinaryInput input, final int tag) throws IOException {
+        final int len = input.readVarInt();
+
+        switch (tag) {
+            case BOOLEAN_ARRAY: {
+                final boolean[] a = new boolean[len];
+
+                for (int i = 0; i < len; i++) {
+                    a[i] = input.readByte() != 0;
+                }
+
+                return a;
+            }
+
+            case CHAR_ARRAY: {
+                final char[] a = new char[len];
+
+                for (int i = 0; i < len; i++) {
+                    a[i] = (char) input.readVarInt();
+                }
+
+                return a;
+            }
+
+            case BYTE_ARRAY:
+                return input.readBytes(len);
+
+            case SHORT_ARRAY: {
+                final short[] a = new short[len];
+
+                for (int i = 0; i < len; i++) {
+                    a[i] = (short) input.readZigZagInt();
+                }
+
+                return a;
+            }
+
+            case INT_ARRAY: {
+                final int[] a = new int[len];
+
+                for (int i = 0; i < len; i++) {
+                    a[i] = input.readZigZagInt();
+                }
+
+                return a;
+            }
+
+            case LONG_ARRAY: {
+                final long[] a = new long[len];
+
+                for (int i = 0; i < len; i++) {
+                    a[i] = input.readZigZagLong();
+                }
+
+                return a;
+            }
+
+            case FLOAT_ARRAY: {
+                final float[] a = new float[len];
+
+                for (int i = 0; i < len; i++) {
+                    a[i] = Float.intBitsToFloat(input.readFixedInt());
+                }
+
+                return a;
+            }
+
+            default: {
+                final double[] a = new double[len];
+
+                for (int i = 0; i < len; i++) {
+                    a[i] = Double.longBitsToDouble(input.readFixedLong());
+                }
+
+                return a;
+            }
+        }
+    }
+
+    private static Object convertPrimitiveArray(final Object a, final Type<?> type) {
+        final Class<?> cls = type.clazz();
+
+        if (cls == Object.class || cls.isInstance(a)) {
+            return a;
+        } else if (type.isPrimitiveList()) {
+            if (cls == BooleanList.class && a instanceof boolean[]) {
+                return BooleanList.of((boolean[]) a);
+            } else if (cls == CharList.class && a instanceof char[]) {
+                return CharList.of((char[]) a);
+            } else if (cls == ByteList.class && a instanceof byte[]) {
+                return ByteList.of((byte[]) a);
+            } else if (cls == ShortList.class && a instanceof short[]) {
+                return ShortList.of((short[]) a);
+            } else if (cls == IntList.class && a instanceof int[]) {
+                return IntList.of((int[]) a);
+            } else if (cls == LongList.class && a instanceof long[]) {
+                return LongList.of((long[]) a);
+            } else if (cls == FloatList.class && a instanceof float[]) {
+                return FloatList.of((float[]) a);
+            } else if (cls == DoubleList.class && a instanceof double[]) {
+                return DoubleList.of((double[]) a);
+            }
+        } else if (type.isCollection() || type.isObjectArray() || type.isPrimitiveArray()) {
+            final List<Object> list = new ArrayList<>();
+            N.typeOf(a.getClass()).array2Collection(list, a);
+
+            if (type.isCollection()) {
+                final Tuple2<Function<Class<?>, Object>, Function<Object, Object>> creatorAndConvertor = getCreatorAndConvertorForTargetType(
+                        cls == Collection.class ? List.class : cls, null);
+                final Collection<Object> c = (Collection<Object>) creatorAndConvertor._1.apply(cls == Collection.class ? List.class : cls);
+
+                for (Object e : list) {
+                    c.add(convert(e, type.getElementType()));
+                }
+
+                return creatorAndConvertor._2.apply(c);
+            } else {
+                final Type<?> eleType = type.getElementType();
+
+                for (int i = 0, size = list.size(); i < size; i++) {
+                    list.set(i, convert(list.get(i), eleType));
+                }
+
+                return type.collection2Array(list);
+            }
+        }
+
+        return N.convert(a, type);
+    }
+
+    private static Object convert(final Object value, final Type<?> type) {
+        final Class<?> cls = type.clazz();
+
+        return cls == Object.class || cls == value.getClass() ? value : N.convert(value, type);
+    }
+
+    private BinarySerializationConfig check(final BinarySerializationConfig config) {
+        return config == null ? defaultBinarySerializationConfig : config;
+    }
+
+    private BinaryDeserializationConfig check(final BinaryDeserializationConfig config) {
+        return config == null ? defaultBinaryDeserializationConfig : config;
+    }
+
+    static final class BinaryOutput {
+        private final OutputStream os;
+
+        private final byte[] pooledBuf;
+
+        private final Map<String, Integer> nameIndexMap = new HashMap<>();
+
+        byte[] buf;
+
+        int count;
+
+        BinaryOutput(final OutputStream os) {
+            this.os = os;
+            this.pooledBuf = Objectory.createByteArrayBuffer();
+            this.buf = pooledBuf;
+        }
+
+        void writeTag(final int tag) throws IOException {
+            ensure(1);
+            buf[count++] = (byte) tag;
+        }
+
+        /**
+         * The name is written with its index in the name table if it has been written.
+         *
+         * @param name
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        void writeName(final String name) throws IOException {
+            final Integer index = nameIndexMap.get(name);
+
+            if (index == null) {
+                nameIndexMap.put(name, nameIndexMap.size());
+                writeTag(NAME);
+                writeString(name);
+            } else {
+                writeTag(NAME_REF);
+                writeVarInt(index.intValue());
+            }
+        }
+
+        void writeVarInt(int v) throws IOException {
+            ensure(5);
+
+            while ((v & ~0x7F) != 0) {
+                buf[count++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+
+            buf[count++] = (byte) v;
+        }
+
+        void writeVarLong(long v) throws IOException {
+            ensure(10);
+
+            while ((v & ~0x7FL) != 0) {
+                buf[count++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+
+            buf[count++] = (byte) v;
+        }
+
+        void writeZigZagInt(final int v) throws IOException {
+            writeVarInt((v << 1) ^ (v >> 31));
+        }
+
+        void writeZigZagLong(final long v) throws IOException {
+            writeVarLong((v << 1) ^ (v >> 63));
+        }
+
+        void writeFixedInt(final int v) throws IOException {
+            ensure(4);
+            buf[count++] = (byte) (v >>> 24);
+            buf[count++] = (byte) (v >>> 16);
+            buf[count++] = (byte) (v >>> 8);
+            buf[count++] = (byte) v;
+        }
+
+        void writeFixedLong(final long v) throws IOException {
+            writeFixedInt((int) (v >>> 32));
+            writeFixedInt((int) v);
+        }
+
+        void writeBytes(final byte[] b, final int off, final int len) throws IOException {
+            ensure(len);
+            N.copy(b, off, buf, count, len);
+            count += len;
+        }
+
+        /**
+         * The length of UTF-8 bytes is calculated first, then the chars are encoded to the buffer directly.
+         *
+         * @param str
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        void writeString(final String str) throws IOException {
+            final int len = str.length();
+            int utf8Len = len;
+            char ch = 0;
+
+            for (int i = 0; i < len; i++) {
+                ch = str.charAt(i);
+
+                if (ch < 0x80) {
+                    // one byte.
+                } else if (ch < 0x800) {
+                    utf8Len += 1;
+                } else if (Character.isHighSurrogate(ch) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    utf8Len += 2;
+                    i++;
+                } else {
+                    utf8Len += 2;
+                }
+            }
+
+            writeVarInt(utf8Len);
+            ensure(utf8Len);
+
+            final byte[] buf = this.buf;
+            int count = this.count;
+            int cp = 0;
+
+            for (int i = 0; i < len; i++) {
+                ch = str.charAt(i);
+
+                if (ch < 0x80) {
+                    buf[count++] = (byte) ch;
+                } else if (ch < 0x800) {
+                    buf[count++] = (byte) (0xC0 | (ch >> 6));
+                    buf[count++] = (byte) (0x80 | (ch & 0x3F));
+                } else if (Character.isHighSurrogate(ch) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    cp = Character.toCodePoint(ch, str.charAt(++i));
+                    buf[count++] = (byte) (0xF0 | (cp >> 18));
+                    buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[count++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    buf[count++] = (byte) (0xE0 | (ch >> 12));
+                    buf[count++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                    buf[count++] = (byte) (0x80 | (ch & 0x3F));
+                }
+            }
+
+            this.count = count;
+        }
+
+        /**
+         * Makes sure there is space for {@code n} bytes in the buffer. The buffer is written to the output stream if there is one, otherwise it's expanded.
+         *
+         * @param n
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        void ensure(final int n) throws IOException {
+            if (count + n > buf.length) {
+                if (os != null && count > 0) {
+                    os.write(buf, 0, count);
+                    count = 0;
+                }
+
+                if (count + n > buf.length) {
+                    final byte[] newBuf = new byte[Math.max(count + n, buf.length * 2)];
+                    N.copy(buf, 0, newBuf, 0, count);
+                    buf = newBuf;
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            if (count > 0) {
+                os.write(buf, 0, count);
+                count = 0;
+            }
+
+            os.flush();
+        }
+
+        byte[] toByteArray() {
+            return N.copyOfRange(buf, 0, count);
+        }
+
+        void close() {
+            Objectory.recycle(pooledBuf);
+        }
+    }
+
+    static final class BinaryInput {
+        private final InputStream is;
+
+        private final byte[] pooledBuf;
+
+        private final List<String> nameList = new ArrayList<>();
+
+        private byte[] buf;
+
+        private int pos;
+
+        private int limit;
+
+        BinaryInput(final InputStream is) {
+            this.is = is;
+            this.pooledBuf = Objectory.createByteArrayBuffer();
+            this.buf = pooledBuf;
+        }
+
+        BinaryInput(final byte[] bytes) {
+            this.is = null;
+            this.pooledBuf = null;
+            this.buf = bytes;
+            this.limit = bytes.length;
+        }
+
+        int readTag() throws IOException {
+            return readByte();
+        }
+
+        int readByte() throws IOException {
+            require(1);
+
+            return buf[pos++] & 0xFF;
+        }
+
+        /**
+         *
+         * @param tag {@code STRING}, {@code NAME} or {@code NAME_REF}.
+         * @return
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        String readString(final int tag) throws IOException {
+            if (tag == NAME_REF) {
+                final int index = readVarInt();
+
+                if (index >= nameList.size()) {
+                    throw new ParseException("Invalid name reference: " + index);
+                }
+
+                return nameList.get(index);
+            }
+
+            final int len = readVarInt();
+            require(len);
+
+            final String str = new String(buf, pos, len, Charsets.UTF_8);
+            pos += len;
+
+            if (tag == NAME) {
+                nameList.add(str);
+            }
+
+            return str;
+        }
+
+        int readVarInt() throws IOException {
+            int result = 0;
+            int b = 0;
+
+            for (int shift = 0; shift < 32; shift += 7) {
+                b = readByte();
+                result |= (b & 0x7F) << shift;
+
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+
+            throw new ParseException("Malformed varint");
+        }
+
+        long readVarLong() throws IOException {
+            long result = 0;
+            int b = 0;
+
+            for (int shift = 0; shift < 64; shift += 7) {
+                b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+
+            throw new ParseException("Malformed varint");
+        }
+
+        int readZigZagInt() throws IOException {
+            final int v = readVarInt();
+
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        long readZigZagLong() throws IOException {
+            final long v = readVarLong();
+
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        int readFixedInt() throws IOException {
+            require(4);
+
+            final byte[] buf = this.buf;
+            final int v = ((buf[pos] & 0xFF) << 24) | ((buf[pos + 1] & 0xFF) << 16) | ((buf[pos + 2] & 0xFF) << 8) | (buf[pos + 3] & 0xFF);
+            pos += 4;
+
+            return v;
+        }
+
+        long readFixedLong() throws IOException {
+            return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+        }
+
+        byte[] readBytes(final int len) throws IOException {
+            require(len);
+
+            final byte[] bytes = N.copyOfRange(buf, pos, pos + len);
+            pos += len;
+
+            return bytes;
+        }
+
+        /**
+         * Makes sure there are {@code n} bytes available in the buffer. The buffer is expanded if it's smaller than {@code n}.
+         *
+         * @param n
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        private void require(final int n) throws IOException {
+            if (limit - pos >= n) {
+                return;
+            }
+
+            if (is == null) {
+                throw new ParseException("Unexpected end of input");
+            }
+
+            if (n > buf.length) {
+                final byte[] newBuf = new byte[n];
+                N.copy(buf, pos, newBuf, 0, limit - pos);
+                buf = newBuf;
+            } else if (pos > 0) {
+                N.copy(buf, pos, buf, 0, limit - pos);
+            }
+
+            limit -= pos;
+            pos = 0;
+            int read = 0;
+
+            while (limit < n) {
+                if ((read = is.read(buf, limit, buf.length - limit)) < 0) {
+                    throw new ParseException("Unexpected end of input");
+                }
+
+                limit += read;
+            }
+        }
+
+        void close() {
+            if (pooledBuf != null) {
+                Objectory.recycle(pooledBuf);
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.landawn.abacus.util.DateTimeFormat;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.NamingPolicy;
+
+/**
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+public class BinarySerializationConfig extends SerializationConfig<BinarySerializationConfig> {
+
+    public BinarySerializationConfig() {
+    }
+
+    /**
+     * Gets the char quotation.
+     *
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public char getCharQuotation() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sets the char quotation.
+     *
+     * @param charQuotation
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public BinarySerializationConfig setCharQuotation(char charQuotation) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the string quotation.
+     *
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public char getStringQuotation() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sets the string quotation.
+     *
+     * @param stringQuotation
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public BinarySerializationConfig setStringQuotation(char stringQuotation) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The default format is: <code>LONG</code>.
+     *
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public DateTimeFormat getDateTimeFormat() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sets the date time format.
+     *
+     * @param dateTimeFormat
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public BinarySerializationConfig setDateTimeFormat(DateTimeFormat dateTimeFormat) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks if is pretty format.
+     *
+     * @return true, if is pretty format
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public boolean isPrettyFormat() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sets the pretty format.
+     *
+     * @param prettyFormat
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public BinarySerializationConfig setPrettyFormat(boolean prettyFormat) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the indentation.
+     *
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public String getIndentation() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sets the indentation.
+     *
+     * @param indentation
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public BinarySerializationConfig setIndentation(String indentation) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the prop naming policy.
+     *
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public NamingPolicy getPropNamingPolicy() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sets the prop naming policy.
+     *
+     * @param propNamingPolicy
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public BinarySerializationConfig setPropNamingPolicy(NamingPolicy propNamingPolicy) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Support circular reference.
+     *
+     * @return true, if successful
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public boolean supportCircularReference() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Support circular reference.
+     *
+     * @param supportCircularReference
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public BinarySerializationConfig supportCircularReference(boolean supportCircularReference) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     *
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public boolean writeBigDecimalAsPlain() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     *
+     * @param writeBigDecimalAsPlain
+     * @return
+     * @deprecated UnsupportedOperationException
+     */
+    @Deprecated
+    @Override
+    public BinarySerializationConfig writeBigDecimalAsPlain(boolean writeBigDecimalAsPlain) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 17;
+        h = 31 * h + N.hashCode(getIgnoredPropNames());
+        h = 31 * h + N.hashCode(getExclusion());
+        h = 31 * h + N.hashCode(isSkipTransientField());
+
+        return h;
+    }
+
+    /**
+     *
+     * @param obj
+     * @return true, if successful
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj instanceof BinarySerializationConfig) {
+            BinarySerializationConfig other = (BinarySerializationConfig) obj;
+
+            if (N.equals(getIgnoredPropNames(), other.getIgnoredPropNames()) && N.equals(getExclusion(), other.getExclusion())
+                    && N.equals(isSkipTransientField(), other.isSkipTransientField())) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "{ignoredPropNames=" + N.toString(getIgnoredPropNames()) + ", exclusion=" + N.toString(getExclusion()) + ", skipTransientField="
+                + N.toString(isSkipTransientField()) + "}";
+    }
+
+    /**
+     * The Class BSC.
+     */
+    public static final class BSC extends BinarySerializationConfig {
+
+        /**
+         *
+         * @return
+         */
+        public static BinarySerializationConfig create() {
+            return new BinarySerializationConfig();
+        }
+
+        /**
+         *
+         * @param exclusion
+         * @param ignoredPropNames
+         * @return
+         */
+        public static BinarySerializationConfig of(Exclusion exclusion, Map<Class<?>, Collection<String>> ignoredPropNames) {
+            return create().setExclusion(exclusion).setIgnoredPropNames(ignoredPropNames);
+        }
+    }
+}
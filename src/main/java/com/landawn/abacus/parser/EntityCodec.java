@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import com.landawn.abacus.annotation.Internal;
+
+/**
+ * The base class of the property accessors generated by {@code EntityCodecGenerator} for an entity class.
+ * The properties are identified by {@code PropInfo.fieldOrder}. The generated methods call the getters/setters or access the fields directly in a {@code switch},
+ * and {@link #indexOf(int)} dispatches the hash code of the property name read by the JSON parser to the property index in a {@code switch}.
+ * <br />
+ * It must be public because the generated classes are defined in the package of the entity class.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ * @see ParserUtil#setCodegenEnabled(boolean)
+ */
+@Internal
+public abstract class EntityCodec {
+
+    protected EntityCodec() {
+    }
+
+    /**
+     *
+     * @param entity
+     * @param propIndex
+     * @return
+     */
+    public abstract Object get(Object entity, int propIndex);
+
+    /**
+     * The value must be an instance of the property type, or the wrapper type of the primitive property type. Otherwise {@code ClassCastException} is thrown.
+     *
+     * @param entity
+     * @param propIndex
+     * @param propValue
+     */
+    public abstract void set(Object entity, int propIndex, Object propValue);
+
+    /**
+     *
+     * @param nameHashCode the hash code of the property name, calculated by {@code ParserUtil.hashCode(char[])}.
+     * @return the index of the property, or {@code -1} if no property or more than one property has the name hash code.
+     */
+    public abstract int indexOf(int nameHashCode);
+
+    /**
+     *
+     * @param propIndex
+     * @return
+     */
+    protected static RuntimeException unsupported(final int propIndex) {
+        return new IllegalArgumentException("No generated accessor for property: " + propIndex);
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import com.landawn.abacus.parser.ParserUtil.PropInfo;
+import com.landawn.abacus.util.ClassUtil;
+import com.landawn.abacus.util.N;
+
+/**
+ * Generates a subclass of {@code EntityCodec} for an entity class by ASM, which is defined in the package of the entity class by a child class loader
+ * of the entity class loader. Only the public getters/setters/fields are accessed by the generated code.
+ * The other properties are accessed by {@code PropInfo} as before.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+final class EntityCodecGenerator implements Opcodes {
+
+    private static final String CODEC_NAME = Type.getInternalName(EntityCodec.class);
+
+    private static final String CODEC_CLASS_NAME_SUFFIX = "$$AbacusEntityCodec";
+
+    private EntityCodecGenerator() {
+        // singleton.
+    }
+
+    /**
+     * Generates the codec for the specified entity class, and sets it to the {@code PropInfo}s whose getter/setter or field is accessed by the generated code.
+     *
+     * @param cls
+     * @param propInfos
+     * @return {@code null} if the codec can't be generated for the entity class.
+     */
+    static EntityCodec generate(final Class<?> cls, final PropInfo[] propInfos) {
+        if (!isAccessible(cls) || cls.getClassLoader() == null || cls.getName().startsWith("java.")) {
+            return null;
+        }
+
+        final int len = propInfos.length;
+        final boolean[] getters = new boolean[len];
+        final boolean[] setters = new boolean[len];
+        boolean hasAccessor = false;
+
+        for (int i = 0; i < len; i++) {
+            getters[i] = isGetterSupported(propInfos[i]);
+            setters[i] = isSetterSupported(propInfos[i]);
+            hasAccessor |= getters[i] || setters[i];
+        }
+
+        if (!hasAccessor) {
+            return null;
+        }
+
+        final String className = cls.getName() + CODEC_CLASS_NAME_SUFFIX;
+        final String internalName = className.replace('.', '/');
+        final String entityName = Type.getInternalName(cls);
+
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_6, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, internalName, null, CODEC_NAME, null);
+
+        generateConstructor(cw);
+        generateGet(cw, entityName, propInfos, getters);
+        generateSet(cw, entityName, propInfos, setters);
+        generateIndexOf(cw, propInfos);
+
+        cw.visitEnd();
+
+        final EntityCodec codec;
+
+        try {
+            final Class<?> codecClass = new CodecClassLoader(cls.getClassLoader()).define(className, cw.toByteArray());
+            codec = (EntityCodec) codecClass.getDeclaredConstructor().newInstance();
+        } catch (Throwable e) {
+            if (ParserUtil.logger.isWarnEnabled()) {
+                ParserUtil.logger.warn(e, "Failed to generate EntityCodec for class: {}", ClassUtil.getCanonicalClassName(cls));
+            }
+
+            return null;
+        }
+
+        for (int i = 0; i < len; i++) {
+            propInfos[i].getterCodec = getters[i] ? codec : null;
+            propInfos[i].setterCodec = setters[i] ? codec : null;
+        }
+
+        return codec;
+    }
+
+    private static boolean isGetterSupported(final PropInfo propInfo) {
+        return isFieldGetter(propInfo) || (propInfo.getMethod != null && isAccessible(propInfo.getMethod));
+    }
+
+    private static boolean isSetterSupported(final PropInfo propInfo) {
+        return isFieldSetter(propInfo) || (propInfo.setMethod != null && isAccessible(propInfo.setMethod)
+                && isAccessible(propInfo.setMethod.getParameterTypes()[0]));
+    }
+
+    /**
+     * The field is read directly only if it's public. {@code isFieldAccessible} is also {@code true} for the private fields
+     * made accessible by {@code setAccessible(true)}, which can't be accessed by the generated class, so the public getter is used for them.
+     *
+     * @param propInfo
+     * @return
+     */
+    private static boolean isFieldGetter(final PropInfo propInfo) {
+        return propInfo.isFieldAccessible && isAccessible(propInfo.field);
+    }
+
+    private static boolean isFieldSetter(final PropInfo propInfo) {
+        return propInfo.isFieldAccessible && isAccessible(propInfo.field) && !Modifier.isFinal(propInfo.field.getModifiers())
+                && isAccessible(propInfo.field.getType());
+    }
+
+    private static boolean isAccessible(final Member member) {
+        final int modifiers = member.getModifiers();
+
+        return Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) && Modifier.isPublic(member.getDeclaringClass().getModifiers());
+    }
+
+    private static boolean isAccessible(Class<?> cls) {
+        while (cls.isArray()) {
+            cls = cls.getComponentType();
+        }
+
+        return cls.isPrimitive() || Modifier.isPublic(cls.getModifiers());
+    }
+
+    private static void generateConstructor(final ClassWriter cw) {
+        final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, CODEC_NAME, "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * <pre>
+     * public Object get(Object entity, int propIndex) {
+     *     Entity e = (Entity) entity;
+     *     switch (propIndex) {
+     *         case 0: return e.getId(); // boxed if it's primitive.
+     *         ...
+     *         default: throw unsupported(propIndex);
+     *     }
+     * }
+     * </pre>
+     */
+    private static void generateGet(final ClassWriter cw, final String entityName, final PropInfo[] propInfos, final boolean[] getters) {
+        final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "get", "(Ljava/lang/Object;I)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, entityName);
+        mv.visitVarInsn(ASTORE, 3);
+
+        final Label defaultLabel = new Label();
+        final Label[] labels = newLabels(getters, defaultLabel);
+
+        if (labels.length > 0) {
+            mv.visitVarInsn(ILOAD, 2);
+            mv.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+
+            for (int i = 0, len = labels.length; i < len; i++) {
+                if (!getters[i]) {
+                    continue;
+                }
+
+                final PropInfo propInfo = propInfos[i];
+                Class<?> propClass = null;
+
+                mv.visitLabel(labels[i]);
+                mv.visitVarInsn(ALOAD, 3);
+
+                if (isFieldGetter(propInfo)) {
+                    final Field field = propInfo.field;
+                    propClass = field.getType();
+                    mv.visitFieldInsn(GETFIELD, entityName, field.getName(), Type.getDescriptor(propClass));
+                } else {
+                    final Method getMethod = propInfo.getMethod;
+                    propClass = getMethod.getReturnType();
+                    mv.visitMethodInsn(INVOKEVIRTUAL, entityName, getMethod.getName(), Type.getMethodDescriptor(getMethod), false);
+                }
+
+                box(mv, propClass);
+                mv.visitInsn(ARETURN);
+            }
+        }
+
+        mv.visitLabel(defaultLabel);
+        throwUnsupported(mv);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * <pre>
+     * public void set(Object entity, int propIndex, Object propValue) {
+     *     Entity e = (Entity) entity;
+     *     switch (propIndex) {
+     *         case 0: e.setId(((Long) propValue).longValue()); return;
+     *         ...
+     *         default: throw unsupported(propIndex);
+     *     }
+     * }
+     * </pre>
+     */
+    private static void generateSet(final ClassWriter cw, final String entityName, final PropInfo[] propInfos, final boolean[] setters) {
+        final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "set", "(Ljava/lang/Object;ILjava/lang/Object;)V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, entityName);
+        mv.visitVarInsn(ASTORE, 4);
+
+        final Label defaultLabel = new Label();
+        final Label[] labels = newLabels(setters, defaultLabel);
+
+        if (labels.length > 0) {
+            mv.visitVarInsn(ILOAD, 2);
+            mv.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+
+            for (int i = 0, len = labels.length; i < len; i++) {
+                if (!setters[i]) {
+                    continue;
+                }
+
+                final PropInfo propInfo = propInfos[i];
+
+                mv.visitLabel(labels[i]);
+                mv.visitVarInsn(ALOAD, 4);
+                mv.visitVarInsn(ALOAD, 3);
+
+                if (isFieldSetter(propInfo)) {
+                    final Field field = propInfo.field;
+                    unbox(mv, field.getType());
+                    mv.visitFieldInsn(PUTFIELD, entityName, field.getName(), Type.getDescriptor(field.getType()));
+                } else {
+                    final Method setMethod = propInfo.setMethod;
+                    unbox(mv, setMethod.getParameterTypes()[0]);
+                    mv.visitMethodInsn(INVOKEVIRTUAL, entityName, setMethod.getName(), Type.getMethodDescriptor(setMethod), false);
+
+                    // fluent setter.
+                    final Type returnType = Type.getReturnType(setMethod);
+
+                    if (returnType.getSize() == 1) {
+                        mv.visitInsn(POP);
+                    } else if (returnType.getSize() == 2) {
+                        mv.visitInsn(POP2);
+                    }
+                }
+
+                mv.visitInsn(RETURN);
+            }
+        }
+
+        mv.visitLabel(defaultLabel);
+        throwUnsupported(mv);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * <pre>
+     * public int indexOf(int nameHashCode) {
+     *     switch (nameHashCode) {
+     *         case 3355: return 0; // "id"
+     *         ...
+     *         default: return -1;
+     *     }
+     * }
+     * </pre>
+     */
+    private static void generateIndexOf(final ClassWriter cw, final PropInfo[] propInfos) {
+        // hash code -> property index. -1 if more than one property has the hash code.
+        final Map<Integer, Integer> indexMap = new TreeMap<>();
+        int hashCode = 0;
+
+        for (int i = 0, len = propInfos.length; i < len; i++) {
+            hashCode = ParserUtil.hashCode(propInfos[i].jsonNameTags[ParserUtil.defaultNameIndex].name);
+            indexMap.put(hashCode, indexMap.containsKey(hashCode) ? -1 : i);
+        }
+
+        final int[] keys = new int[indexMap.size()];
+        final int[] values = new int[indexMap.size()];
+        int idx = 0;
+
+        for (Map.Entry<Integer, Integer> entry : indexMap.entrySet()) {
+            keys[idx] = entry.getKey();
+            values[idx] = entry.getValue();
+            idx++;
+        }
+
+        final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "indexOf", "(I)I", null, null);
+        mv.visitCode();
+
+        final Label defaultLabel = new Label();
+        final Label[] labels = new Label[keys.length];
+
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = new Label();
+        }
+
+        mv.visitVarInsn(ILOAD, 1);
+        mv.visitLookupSwitchInsn(defaultLabel, keys, labels);
+
+        for (int i = 0; i < labels.length; i++) {
+            mv.visitLabel(labels[i]);
+            push(mv, values[i]);
+            mv.visitInsn(IRETURN);
+        }
+
+        mv.visitLabel(defaultLabel);
+        mv.visitInsn(ICONST_M1);
+        mv.visitInsn(IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * Creates the labels of {@code tableswitch} on the property index, up to the last supported property. The unsupported ones go to the default label.
+     */
+    private static Label[] newLabels(final boolean[] supported, final Label defaultLabel) {
+        int len = supported.length;
+
+        while (len > 0 && !supported[len - 1]) {
+            len--;
+        }
+
+        final Label[] labels = new Label[len];
+
+        for (int i = 0; i < len; i++) {
+            labels[i] = supported[i] ? new Label() : defaultLabel;
+        }
+
+        return labels;
+    }
+
+    private static void throwUnsupported(final MethodVisitor mv) {
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitMethodInsn(INVOKESTATIC, CODEC_NAME, "unsupported", "(I)Ljava/lang/RuntimeException;", false);
+        mv.visitInsn(ATHROW);
+    }
+
+    private static void push(final MethodVisitor mv, final int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    private static void box(final MethodVisitor mv, final Class<?> cls) {
+        if (cls.isPrimitive()) {
+            final Class<?> wrapperClass = N.wrap(cls);
+            final String wrapperName = Type.getInternalName(wrapperClass);
+
+            mv.visitMethodInsn(INVOKESTATIC, wrapperName, "valueOf", "(" + Type.getDescriptor(cls) + ")L" + wrapperName + ";", false);
+        }
+    }
+
+    private static void unbox(final MethodVisitor mv, final Class<?> cls) {
+        if (cls.isPrimitive()) {
+            final String wrapperName = Type.getInternalName(N.wrap(cls));
+
+            mv.visitTypeInsn(CHECKCAST, wrapperName);
+            mv.visitMethodInsn(INVOKEVIRTUAL, wrapperName, cls.getName() + "Value", "()" + Type.getDescriptor(cls), false);
+        } else if (!cls.equals(Object.class)) {
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(cls));
+        }
+    }
+
+    /**
+     * Loads the entity classes by the class loader of the entity class, and {@code EntityCodec} by the class loader of this library.
+     */
+    private static final class CodecClassLoader extends ClassLoader {
+        CodecClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (name.equals(EntityCodec.class.getName())) {
+                return EntityCodec.class;
+            }
+
+            return super.loadClass(name, resolve);
+        }
+
+        Class<?> define(final String name, final byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length, EntityCodec.class.getProtectionDomain());
+        }
+    }
+}
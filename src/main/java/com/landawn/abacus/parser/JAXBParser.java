@@ -27,6 +27,7 @@ import java.util.Map;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Node;
 
@@ -344,4 +345,28 @@ final class JAXBParser extends AbstractXMLParser {
             throw new ParseException(e);
         }
     }
+
+    /**
+     * The element is unmarshalled from the reader directly, which is left on the event after the {@code END_ELEMENT} of the element.
+     *
+     * @param <T>
+     * @param elementClass
+     * @param xmlReader
+     * @param config
+     * @return
+     */
+    @Override
+    protected <T> T readElement(Class<T> elementClass, XMLStreamReader xmlReader, XMLDeserializationConfig config) {
+        if (config != null && N.notNullOrEmpty(config.getIgnoredPropNames())) {
+            throw new ParseException("'ignoredPropNames' is not supported");
+        }
+
+        Unmarshaller unmarshaller = XMLUtil.createUnmarshaller(elementClass);
+
+        try {
+            return unmarshaller.unmarshal(xmlReader, elementClass).getValue();
+        } catch (JAXBException e) {
+            throw new ParseException(e);
+        }
+    }
 }
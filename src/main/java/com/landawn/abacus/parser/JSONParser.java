@@ -21,6 +21,7 @@ import java.io.Reader;
 import java.util.Collection;
 import java.util.Map;
 
+import com.landawn.abacus.annotation.Beta;
 import com.landawn.abacus.util.ExceptionalStream;
 
 /**
@@ -192,4 +193,27 @@ public interface JSONParser extends Parser<JSONSerializationConfig, JSONDeserial
      * @return
      */
     <T> ExceptionalStream<T, IOException> stream(Class<T> elementClass, Reader source, JSONDeserializationConfig config);
+
+    /**
+     * Parses the JSON object or array lazily: only the offsets of the members/elements are found when it's accessed,
+     * and a value is decoded when it's accessed by key, index or path.
+     *
+     * @param <T> {@code LazyJSONObject} or {@code LazyJSONArray}
+     * @param json
+     * @return
+     * @see LazyJSON
+     */
+    @Beta
+    <T extends LazyJSON> T parseLazy(String json);
+
+    /**
+     * Parses the UTF-8 encoded JSON object or array lazily, without decoding the bytes to chars except the values accessed.
+     *
+     * @param <T> {@code LazyJSONObject} or {@code LazyJSONArray}
+     * @param json
+     * @return
+     * @see #parseLazy(String)
+     */
+    @Beta
+    <T extends LazyJSON> T parseLazy(byte[] json);
 }
@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import java.math.BigInteger;
+
+import com.landawn.abacus.exception.ParseException;
+import com.landawn.abacus.util.Charsets;
+import com.landawn.abacus.util.IntList;
+
+/**
+ * The JSON text of {@code LazyJSON}, a {@code String} or UTF-8 bytes. The structural characters are ASCII,
+ * so the offsets of the tokens are found by same code on both, and only the values accessed are decoded.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+final class JSONSource {
+
+    private final String str;
+
+    private final byte[] bytes;
+
+    private final int length;
+
+    JSONSource(final String str) {
+        this.str = str;
+        this.bytes = null;
+        this.length = str.length();
+    }
+
+    JSONSource(final byte[] bytes) {
+        this.str = null;
+        this.bytes = bytes;
+        this.length = bytes.length;
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     *
+     * @param index
+     * @return the char or the unsigned byte at the specified index.
+     */
+    int at(final int index) {
+        return str == null ? bytes[index] & 0xff : str.charAt(index);
+    }
+
+    int skipWhitespace(int index) {
+        int ch = 0;
+
+        while (index < length && ((ch = at(index)) == ' ' || ch == '\n' || ch == '\r' || ch == '\t')) {
+            index++;
+        }
+
+        return index;
+    }
+
+    /**
+     *
+     * @param index the index of the opening quotation.
+     * @return the index after the closing quotation.
+     */
+    int skipString(final int index) {
+        int ch = 0;
+
+        for (int i = index + 1; i < length; i++) {
+            ch = at(i);
+
+            if (ch == '\\') {
+                i++;
+            } else if (ch == '"') {
+                return i + 1;
+            }
+        }
+
+        throw new ParseException("Unterminated string at: " + index);
+    }
+
+    /**
+     * The nested objects/arrays are skipped by counting the brackets, without checking their content.
+     *
+     * @param index the index of the first char of the value.
+     * @return the index after the value.
+     */
+    int skipValue(final int index) {
+        if (index >= length) {
+            throw new ParseException("Value is expected at: " + index);
+        }
+
+        int ch = at(index);
+
+        if (ch == '"') {
+            return skipString(index);
+        } else if (ch == '{' || ch == '[') {
+            int depth = 0;
+
+            for (int i = index; i < length; i++) {
+                ch = at(i);
+
+                if (ch == '"') {
+                    i = skipString(i) - 1;
+                } else if (ch == '{' || ch == '[') {
+                    depth++;
+                } else if ((ch == '}' || ch == ']') && --depth == 0) {
+                    return i + 1;
+                }
+            }
+
+            throw new ParseException("Unclosed '" + (char) at(index) + "' at: " + index);
+        } else {
+            int i = index;
+
+            while (i < length && (ch = at(i)) != ',' && ch != '}' && ch != ']' && ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t') {
+                i++;
+            }
+
+            if (i == index) {
+                throw new ParseException("Unexpected character '" + (char) ch + "' at: " + index);
+            }
+
+            return i;
+        }
+    }
+
+    /**
+     * Finds the members of the object in the range: [{@code start}, {@code end}).
+     *
+     * @param start the index of '{'.
+     * @param end the index after '}'.
+     * @return five ints for each member: the start/end index of key without quotations, 1 if the key has escaped chars otherwise 0, the start/end index of value.
+     */
+    int[] indexObject(final int start, final int end) {
+        final IntList index = new IntList();
+        int i = skipWhitespace(start + 1);
+
+        if (i < end && at(i) == '}') {
+            return checkEnd(i, end, '}', index);
+        }
+
+        int keyEnd = 0;
+        int valueEnd = 0;
+
+        while (i < end) {
+            if (at(i) != '"') {
+                throw new ParseException("Property name is expected at: " + i);
+            }
+
+            keyEnd = skipString(i);
+            index.add(i + 1);
+            index.add(keyEnd - 1);
+            index.add(hasEscape(i + 1, keyEnd - 1) ? 1 : 0);
+
+            i = skipWhitespace(keyEnd);
+
+            if (i >= end || at(i) != ':') {
+                throw new ParseException("':' is expected at: " + i);
+            }
+
+            i = skipWhitespace(i + 1);
+            valueEnd = skipValue(i);
+            index.add(i);
+            index.add(valueEnd);
+
+            i = skipWhitespace(valueEnd);
+
+            if (i < end && at(i) == ',') {
+                i = skipWhitespace(i + 1);
+            } else {
+                return checkEnd(i, end, '}', index);
+            }
+        }
+
+        throw new ParseException("Unclosed '{' at: " + start);
+    }
+
+    /**
+     * Finds the elements of the array in the range: [{@code start}, {@code end}).
+     *
+     * @param start the index of '['.
+     * @param end the index after ']'.
+     * @return two ints for each element: the start/end index of the element.
+     */
+    int[] indexArray(final int start, final int end) {
+        final IntList index = new IntList();
+        int i = skipWhitespace(start + 1);
+
+        if (i < end && at(i) == ']') {
+            return checkEnd(i, end, ']', index);
+        }
+
+        int valueEnd = 0;
+
+        while (i < end) {
+            valueEnd = skipValue(i);
+            index.add(i);
+            index.add(valueEnd);
+
+            i = skipWhitespace(valueEnd);
+
+            if (i < end && at(i) == ',') {
+                i = skipWhitespace(i + 1);
+            } else {
+                return checkEnd(i, end, ']', index);
+            }
+        }
+
+        throw new ParseException("Unclosed '[' at: " + start);
+    }
+
+    private int[] checkEnd(final int index, final int end, final char expected, final IntList result) {
+        if (index != end - 1 || at(index) != expected) {
+            throw new ParseException("Unexpected character '" + (index < length ? String.valueOf((char) at(index)) : "EOF") + "' at: " + index);
+        }
+
+        return result.toArray();
+    }
+
+    /**
+     * Decodes the value in the range: [{@code start}, {@code end}).
+     *
+     * @param start
+     * @param end
+     * @return {@code String}, {@code Integer}, {@code Long}, {@code BigInteger}, {@code Double}, {@code Boolean}, {@code null},
+     *         or {@code LazyJSONObject}/{@code LazyJSONArray} for object/array.
+     */
+    Object decode(final int start, final int end) {
+        final int ch = at(start);
+
+        switch (ch) {
+            case '"':
+                return decodeString(start + 1, end - 1, true);
+
+            case '{':
+                return new LazyJSONObject(this, start, end);
+
+            case '[':
+                return new LazyJSONArray(this, start, end);
+
+            default:
+                final String text = substring(start, end);
+
+                if ("null".equals(text)) {
+                    return null;
+                } else if ("true".equals(text)) {
+                    return Boolean.TRUE;
+                } else if ("false".equals(text)) {
+                    return Boolean.FALSE;
+                }
+
+                return decodeNumber(text, start);
+        }
+    }
+
+    /**
+     *
+     * @param start
+     * @param end
+     * @param unescape
+     * @return
+     */
+    String decodeString(final int start, final int end, final boolean unescape) {
+        final String text = substring(start, end);
+
+        return unescape && text.indexOf('\\') >= 0 ? unescape(text) : text;
+    }
+
+    /**
+     * Checks if the chars in the range are equal to the specified key, without decoding them.
+     *
+     * @param start
+     * @param end
+     * @param key
+     * @return
+     */
+    boolean matches(final int start, final int end, final String key) {
+        final int len = key.length();
+
+        if (str != null) {
+            return end - start == len && str.regionMatches(start, key, 0, len);
+        }
+
+        if (end - start == len) {
+            int i = 0;
+
+            for (char ch = 0; i < len; i++) {
+                ch = key.charAt(i);
+
+                if (ch >= 128) {
+                    break;
+                } else if (bytes[start + i] != ch) {
+                    return false;
+                }
+            }
+
+            if (i == len) {
+                return true;
+            }
+        } else if (end - start < len) {
+            return false;
+        }
+
+        // non-ASCII key.
+        final byte[] keyBytes = key.getBytes(Charsets.UTF_8);
+
+        if (keyBytes.length != end - start) {
+            return false;
+        }
+
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (bytes[start + i] != keyBytes[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    String substring(final int start, final int end) {
+        return str == null ? new String(bytes, start, end - start, Charsets.UTF_8) : str.substring(start, end);
+    }
+
+    private boolean hasEscape(final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (at(i) == '\\') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Number decodeNumber(final String text, final int start) {
+        try {
+            if (text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+                return Double.valueOf(text);
+            }
+
+            if (text.length() < 19) {
+                final long lng = Long.parseLong(text);
+
+                return lng >= Integer.MIN_VALUE && lng <= Integer.MAX_VALUE ? (Number) Integer.valueOf((int) lng) : (Number) Long.valueOf(lng);
+            }
+
+            final BigInteger bigInteger = new BigInteger(text);
+
+            return bigInteger.bitLength() < 64 ? (Number) Long.valueOf(bigInteger.longValue()) : (Number) bigInteger;
+        } catch (NumberFormatException e) {
+            throw new ParseException("Invalid value '" + text + "' at: " + start);
+        }
+    }
+
+    private static String unescape(final String text) {
+        final int len = text.length();
+        final StringBuilder sb = new StringBuilder(len);
+        char ch = 0;
+
+        for (int i = 0; i < len; i++) {
+            ch = text.charAt(i);
+
+            if (ch != '\\' || i == len - 1) {
+                sb.append(ch);
+                continue;
+            }
+
+            ch = text.charAt(++i);
+
+            switch (ch) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+
+                case 'f':
+                    sb.append('\f');
+                    break;
+
+                case 'n':
+                    sb.append('\n');
+                    break;
+
+                case 'r':
+                    sb.append('\r');
+                    break;
+
+                case 't':
+                    sb.append('\t');
+                    break;
+
+                case 'u':
+                    if (i + 4 >= len) {
+                        throw new ParseException("Invalid unicode escape: " + text.substring(i - 1));
+                    }
+
+                    // not by Integer.parseInt, which throws NumberFormatException for an invalid digit and accepts a sign.
+                    int code = 0;
+
+                    for (int j = i + 1; j < i + 5; j++) {
+                        final int digit = Character.digit(text.charAt(j), 16);
+
+                        if (digit < 0) {
+                            throw new ParseException("Invalid unicode escape: " + text.substring(i - 1, i + 5));
+                        }
+
+                        code = (code << 4) | digit;
+                    }
+
+                    sb.append((char) code);
+                    i += 4;
+                    break;
+
+                default:
+                    // '"', '\\', '/', '\''
+                    sb.append(ch);
+            }
+        }
+
+        return sb.toString();
+    }
+}
@@ -167,18 +167,23 @@ public final class KryoParser extends AbstractParser<KryoSerializationConfig, Kr
 
     private static final int BUFFER_SIZE = 8192;
 
-    private static final List<Output> outputPool = new ArrayList<>(POOL_SIZE);
+    /** The max number of the pooled {@code Kryo}/{@code Input}/{@code Output} objects. */
+    private static final int POOL_CAPACITY = Math.min(POOL_SIZE, IOUtil.CPU_CORES * 4);
 
-    private static final List<Input> inputPool = new ArrayList<>(POOL_SIZE);
+    /** The key in {@code Kryo.getContext()} of the pool which the {@code Kryo} is created for. */
+    private static final Object KRYO_POOL_KEY = new Object();
+
+    private static final StripedPool<Output> outputPool = new StripedPool<>(POOL_CAPACITY);
+
+    private static final StripedPool<Input> inputPool = new StripedPool<>(POOL_CAPACITY);
 
     private final Set<Class<?>> kryoClassSet = new HashSet<>();
     private final Map<Class<?>, Integer> kryoClassIdMap = new ConcurrentHashMap<>();
     private final Map<Class<?>, Serializer<?>> kryoClassSerializerMap = new ConcurrentHashMap<>();
     private final Map<Class<?>, Tuple2<Serializer<?>, Integer>> kryoClassSerializerIdMap = new ConcurrentHashMap<>();
 
-    private final Map<Kryo, Kryo> xPool = new IdentityHashMap<>();
-
-    private final List<Kryo> kryoPool = new ArrayList<>(POOL_SIZE);
+    /** It's replaced by a new pool when a class is registered, so the {@code Kryo}s created before are discarded. */
+    private volatile StripedPool<Kryo> kryoPool = new StripedPool<>(POOL_CAPACITY);
 
     KryoParser() {
     }
@@ -504,6 +509,42 @@ public final class KryoParser extends AbstractParser<KryoSerializationConfig, Kr
         }
     }
 
+    /**
+     * Encodes the objects one by one with the same {@code Kryo} and {@code Output}. Each of the returned byte arrays can be decoded by {@link #decode(byte[])}.
+     *
+     * @param c
+     * @return
+     */
+    public List<byte[]> encodeAll(Collection<?> c) {
+        final List<byte[]> result = new ArrayList<>(N.size(c));
+
+        if (N.isNullOrEmpty(c)) {
+            return result;
+        }
+
+        final ByteArrayOutputStream os = Objectory.createByteArrayOutputStream();
+        Output output = createOutput();
+        Kryo kryo = createKryo();
+
+        try {
+            for (Object obj : c) {
+                os.reset();
+                output.setOutputStream(os);
+                kryo.writeClassAndObject(output, obj);
+
+                output.flush();
+
+                result.add(os.toByteArray());
+            }
+
+            return result;
+        } finally {
+            Objectory.recycle(os);
+            recycle(output);
+            recycle(kryo);
+        }
+    }
+
     /**
      *
      * @param <T>
@@ -528,22 +569,20 @@ public final class KryoParser extends AbstractParser<KryoSerializationConfig, Kr
     public void register(Class<?> type) {
         N.checkArgNotNull(type, "type");
 
-        synchronized (kryoPool) {
+        synchronized (kryoClassSet) {
             kryoClassSet.add(type);
 
-            xPool.clear();
-            kryoPool.clear();
+            kryoPool = new StripedPool<>(POOL_CAPACITY);
         }
     }
 
     public void register(Class<?> type, int id) {
         N.checkArgNotNull(type, "type");
 
-        synchronized (kryoPool) {
+        synchronized (kryoClassSet) {
             kryoClassIdMap.put(type, id);
 
-            xPool.clear();
-            kryoPool.clear();
+            kryoPool = new StripedPool<>(POOL_CAPACITY);
         }
     }
 
@@ -551,11 +590,10 @@ public final class KryoParser extends AbstractParser<KryoSerializationConfig, Kr
         N.checkArgNotNull(type, "type");
         N.checkArgNotNull(serializer, "serializer");
 
-        synchronized (kryoPool) {
+        synchronized (kryoClassSet) {
             kryoClassSerializerMap.put(type, serializer);
 
-            xPool.clear();
-            kryoPool.clear();
+            kryoPool = new StripedPool<>(POOL_CAPACITY);
         }
     }
 
@@ -563,11 +601,10 @@ public final class KryoParser extends AbstractParser<KryoSerializationConfig, Kr
         N.checkArgNotNull(type, "type");
         N.checkArgNotNull(serializer, "serializer");
 
-        synchronized (kryoPool) {
+        synchronized (kryoClassSet) {
             kryoClassSerializerIdMap.put(type, Tuple.of(serializer, id));
 
-            xPool.clear();
-            kryoPool.clear();
+            kryoPool = new StripedPool<>(POOL_CAPACITY);
         }
     }
 
@@ -757,10 +794,13 @@ public final class KryoParser extends AbstractParser<KryoSerializationConfig, Kr
     }
 
     protected Kryo createKryo() {
-        synchronized (kryoPool) {
-            if (kryoPool.size() > 0) {
-                return kryoPool.remove(kryoPool.size() - 1);
-            }
+        final Kryo pooled = kryoPool.poll();
+
+        if (pooled != null) {
+            return pooled;
+        }
+
+        synchronized (kryoClassSet) {
             final Kryo kryo = new Kryo();
 
             kryo.setRegistrationRequired(false);
@@ -817,7 +857,7 @@ public final class KryoParser extends AbstractParser<KryoSerializationConfig, Kr
                 }
             }
 
-            xPool.put(kryo, kryo);
+            kryo.getContext().put(KRYO_POOL_KEY, kryoPool);
 
             return kryo;
         }
@@ -828,20 +868,18 @@ public final class KryoParser extends AbstractParser<KryoSerializationConfig, Kr
             return;
         }
 
-        synchronized (kryoPool) {
-            if (kryoPool.size() < POOL_SIZE && xPool.containsKey(kryo)) {
-                kryoPool.add(kryo);
-            }
+        final StripedPool<Kryo> pool = kryoPool;
+
+        // the Kryo created before the latest registration is discarded.
+        if (kryo.getContext().get(KRYO_POOL_KEY) == pool) {
+            pool.offer(kryo);
         }
     }
 
     protected static Output createOutput() {
-        synchronized (outputPool) {
-            if (outputPool.size() > 0) {
-                return outputPool.remove(outputPool.size() - 1);
-            }
-            return new Output(BUFFER_SIZE);
-        }
+        final Output output = outputPool.poll();
+
+        return output == null ? new Output(BUFFER_SIZE) : output;
     }
 
     protected static void recycle(Output output) {
@@ -849,21 +887,14 @@ public final class KryoParser extends AbstractParser<KryoSerializationConfig, Kr
             return;
         }
 
-        synchronized (outputPool) {
-            if (outputPool.size() < POOL_SIZE) {
-                output.setOutputStream(null);
-                outputPool.add(output);
-            }
-        }
+        output.setOutputStream(null);
+        outputPool.offer(output);
     }
 
     protected static Input createInput() {
-        synchronized (inputPool) {
-            if (inputPool.size() > 0) {
-                return inputPool.remove(inputPool.size() - 1);
-            }
-            return new Input(BUFFER_SIZE);
-        }
+        final Input input = inputPool.poll();
+
+        return input == null ? new Input(BUFFER_SIZE) : input;
     }
 
     protected static void recycle(Input input) {
@@ -871,11 +902,7 @@ public final class KryoParser extends AbstractParser<KryoSerializationConfig, Kr
             return;
         }
 
-        synchronized (inputPool) {
-            if (inputPool.size() < POOL_SIZE) {
-                input.setInputStream(null);
-                inputPool.add(input);
-            }
-        }
+        input.setInputStream(null);
+        inputPool.offer(input);
     }
 }
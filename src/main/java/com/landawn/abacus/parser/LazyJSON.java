@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import java.util.Arrays;
+
+import com.landawn.abacus.exception.ParseException;
+import com.landawn.abacus.util.N;
+
+/**
+ * A read-only view of a JSON object or array, created by {@link JSONParser#parseLazy(String)}.
+ * Only the offsets of the members/elements are found when the object/array is accessed the first time, and a value is decoded when it's accessed
+ * by key, index or path. The nested objects/arrays are skipped by counting the brackets until they are accessed.
+ * So the parts of the JSON text not accessed are never decoded, nor fully validated.
+ * <br />
+ * The values are: {@code String}, {@code Integer}, {@code Long}, {@code BigInteger}, {@code Double}, {@code Boolean}, {@code null},
+ * {@code LazyJSONObject} and {@code LazyJSONArray}.
+ * <br />
+ * It's not multi-thread safety.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+public abstract class LazyJSON {
+
+    static final Object UNDECODED = new Object();
+
+    final JSONSource source;
+
+    /** The index of '{' or '['. */
+    final int start;
+
+    /** The index after '}' or ']'. */
+    final int end;
+
+    /** The offsets found by {@code JSONSource.indexObject/indexArray}. */
+    private int[] index;
+
+    private Object[] values;
+
+    LazyJSON(final JSONSource source, final int start, final int end) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     *
+     * @param source
+     * @return
+     * @throws ParseException if the JSON text is not an object or array.
+     */
+    static LazyJSON parse(final JSONSource source) {
+        final int from = source.skipWhitespace(0);
+
+        if (from >= source.length() || (source.at(from) != '{' && source.at(from) != '[')) {
+            throw new ParseException("JSON object or array is expected at: " + from);
+        }
+
+        final int to = source.skipValue(from);
+
+        if (source.skipWhitespace(to) != source.length()) {
+            throw new ParseException("Unexpected character '" + (char) source.at(source.skipWhitespace(to)) + "' at: " + source.skipWhitespace(to));
+        }
+
+        return source.at(from) == '{' ? new LazyJSONObject(source, from, to) : new LazyJSONArray(source, from, to);
+    }
+
+    /**
+     *
+     * @return the number of members of the object or elements of the array.
+     */
+    public int size() {
+        return index().length / stride();
+    }
+
+    /**
+     *
+     * @return true, if it's empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Gets the value by the specified path, e.g. {@code "user.addresses[0].city"}.
+     *
+     * @param path
+     * @return {@code null} if the value is {@code null} or not found.
+     */
+    public Object getByPath(final String path) {
+        N.checkArgNotNull(path, "path");
+
+        final int len = path.length();
+        Object current = this;
+        int i = 0;
+        int j = 0;
+
+        while (i < len && current != null) {
+            final char ch = path.charAt(i);
+
+            if (ch == '.') {
+                i++;
+            } else if (ch == '[') {
+                j = path.indexOf(']', i);
+
+                if (j < 0) {
+                    throw new IllegalArgumentException("Invalid path: " + path);
+                }
+
+                final int idx = Integer.parseInt(path.substring(i + 1, j).trim());
+
+                current = current instanceof LazyJSONArray && idx >= 0 && idx < ((LazyJSONArray) current).size() ? ((LazyJSONArray) current).get(idx) : null;
+                i = j + 1;
+            } else {
+                j = i;
+
+                while (j < len && path.charAt(j) != '.' && path.charAt(j) != '[') {
+                    j++;
+                }
+
+                current = current instanceof LazyJSONObject ? ((LazyJSONObject) current).get(path.substring(i, j)) : null;
+                i = j;
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param path
+     * @param targetClass
+     * @return
+     * @see #getByPath(String)
+     */
+    public <T> T getByPath(final String path, final Class<T> targetClass) {
+        return N.convert(getByPath(path), targetClass);
+    }
+
+    /**
+     *
+     * @return the JSON text of the object/array.
+     */
+    @Override
+    public String toString() {
+        return source.substring(start, end);
+    }
+
+    abstract int stride();
+
+    abstract int[] buildIndex();
+
+    final int[] index() {
+        if (index == null) {
+            index = buildIndex();
+        }
+
+        return index;
+    }
+
+    /**
+     *
+     * @param i the index of the member/element.
+     * @return
+     */
+    final Object value(final int i) {
+        if (values == null) {
+            values = new Object[size()];
+            Arrays.fill(values, UNDECODED);
+        }
+
+        if (values[i] == UNDECODED) {
+            final int valueStart = index[i * stride() + stride() - 2];
+            final int valueEnd = index[i * stride() + stride() - 1];
+
+            values[i] = source.decode(valueStart, valueEnd);
+        }
+
+        return values[i];
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import com.landawn.abacus.util.N;
+
+/**
+ * A lazy view of JSON array. The element is decoded when it's accessed the first time.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ * @see LazyJSON
+ */
+public final class LazyJSONArray extends LazyJSON {
+
+    private static final int STRIDE = 2;
+
+    LazyJSONArray(final JSONSource source, final int start, final int end) {
+        super(source, start, end);
+    }
+
+    /**
+     *
+     * @param index
+     * @return
+     * @throws IndexOutOfBoundsException
+     */
+    public Object get(final int index) {
+        N.checkIndex(index, size());
+
+        return value(index);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param index
+     * @param targetClass
+     * @return the element converted to the target type, or the default value of the target type if the element is {@code null}.
+     */
+    public <T> T get(final int index, final Class<T> targetClass) {
+        return N.convert(get(index), targetClass);
+    }
+
+    /**
+     *
+     * @param index
+     * @return the JSON text if the element is an object or array.
+     */
+    public String getString(final int index) {
+        final Object value = get(index);
+
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     *
+     * @param index
+     * @return
+     */
+    public int getInt(final int index) {
+        return get(index, int.class);
+    }
+
+    /**
+     *
+     * @param index
+     * @return
+     */
+    public long getLong(final int index) {
+        return get(index, long.class);
+    }
+
+    /**
+     *
+     * @param index
+     * @return
+     */
+    public double getDouble(final int index) {
+        return get(index, double.class);
+    }
+
+    /**
+     *
+     * @param index
+     * @return
+     */
+    public boolean getBoolean(final int index) {
+        return get(index, boolean.class);
+    }
+
+    /**
+     *
+     * @param index
+     * @return
+     * @throws ClassCastException if the element is not an object.
+     */
+    public LazyJSONObject getJSONObject(final int index) {
+        return (LazyJSONObject) get(index);
+    }
+
+    /**
+     *
+     * @param index
+     * @return
+     * @throws ClassCastException if the element is not an array.
+     */
+    public LazyJSONArray getJSONArray(final int index) {
+        return (LazyJSONArray) get(index);
+    }
+
+    @Override
+    int stride() {
+        return STRIDE;
+    }
+
+    @Override
+    int[] buildIndex() {
+        return source.indexArray(start, end);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import java.util.Set;
+
+import com.landawn.abacus.util.N;
+
+/**
+ * A lazy view of JSON object. The keys are compared with the JSON text without decoding, and the value is decoded when it's accessed the first time.
+ * If there are duplicated keys, the first one is returned.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ * @see LazyJSON
+ */
+public final class LazyJSONObject extends LazyJSON {
+
+    private static final int STRIDE = 5;
+
+    LazyJSONObject(final JSONSource source, final int start, final int end) {
+        super(source, start, end);
+    }
+
+    /**
+     *
+     * @param key
+     * @return
+     */
+    public boolean containsKey(final String key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     *
+     * @return the keys in the order they appear in the JSON text.
+     */
+    public Set<String> keySet() {
+        final int[] index = index();
+        final Set<String> keys = N.newLinkedHashSet(size());
+
+        for (int i = 0, len = index.length; i < len; i += STRIDE) {
+            keys.add(source.decodeString(index[i], index[i + 1], index[i + 2] == 1));
+        }
+
+        return keys;
+    }
+
+    /**
+     *
+     * @param key
+     * @return {@code null} if the value is {@code null} or the key is not found.
+     */
+    public Object get(final String key) {
+        final int i = indexOf(key);
+
+        return i < 0 ? null : value(i);
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param key
+     * @param targetClass
+     * @return the value converted to the target type, or the default value of the target type if the value is {@code null} or the key is not found.
+     */
+    public <T> T get(final String key, final Class<T> targetClass) {
+        return N.convert(get(key), targetClass);
+    }
+
+    /**
+     *
+     * @param key
+     * @return the JSON text if the value is an object or array.
+     */
+    public String getString(final String key) {
+        final Object value = get(key);
+
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     *
+     * @param key
+     * @return
+     */
+    public int getInt(final String key) {
+        return get(key, int.class);
+    }
+
+    /**
+     *
+     * @param key
+     * @return
+     */
+    public long getLong(final String key) {
+        return get(key, long.class);
+    }
+
+    /**
+     *
+     * @param key
+     * @return
+     */
+    public double getDouble(final String key) {
+        return get(key, double.class);
+    }
+
+    /**
+     *
+     * @param key
+     * @return
+     */
+    public boolean getBoolean(final String key) {
+        return get(key, boolean.class);
+    }
+
+    /**
+     *
+     * @param key
+     * @return
+     * @throws ClassCastException if the value is not an object.
+     */
+    public LazyJSONObject getJSONObject(final String key) {
+        return (LazyJSONObject) get(key);
+    }
+
+    /**
+     *
+     * @param key
+     * @return
+     * @throws ClassCastException if the value is not an array.
+     */
+    public LazyJSONArray getJSONArray(final String key) {
+        return (LazyJSONArray) get(key);
+    }
+
+    @Override
+    int stride() {
+        return STRIDE;
+    }
+
+    @Override
+    int[] buildIndex() {
+        return source.indexObject(start, end);
+    }
+
+    private int indexOf(final String key) {
+        N.checkArgNotNull(key, "key");
+
+        final int[] index = index();
+
+        for (int i = 0, len = index.length; i < len; i += STRIDE) {
+            if (index[i + 2] == 1 ? key.equals(source.decodeString(index[i], index[i + 1], true)) : source.matches(index[i], index[i + 1], key)) {
+                return i / STRIDE;
+            }
+        }
+
+        return -1;
+    }
+}
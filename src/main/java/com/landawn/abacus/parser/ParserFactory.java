@@ -175,6 +175,15 @@ public final class ParserFactory {
         return new KryoParser();
     }
 
+    /**
+     * Creates a new Parser object.
+     *
+     * @return
+     */
+    public static BinaryParser createBinaryParser() {
+        return new BinaryParser();
+    }
+
     /**
      * Creates a new Parser object.
      *
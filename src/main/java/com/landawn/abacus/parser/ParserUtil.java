@@ -14,8 +14,15 @@
 
 package com.landawn.abacus.parser;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -30,10 +37,25 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import com.landawn.abacus.DirtyMarker;
 import com.landawn.abacus.annotation.AccessFieldByMethod;
@@ -48,14 +70,18 @@ import com.landawn.abacus.annotation.Transient;
 import com.landawn.abacus.annotation.Type.EnumBy;
 import com.landawn.abacus.annotation.Type.Scope;
 import com.landawn.abacus.core.DirtyMarkerUtil;
+import com.landawn.abacus.exception.UncheckedIOException;
 import com.landawn.abacus.logging.Logger;
 import com.landawn.abacus.logging.LoggerFactory;
 import com.landawn.abacus.type.ObjectType;
 import com.landawn.abacus.type.Type;
 import com.landawn.abacus.type.TypeFactory;
 import com.landawn.abacus.util.CharacterWriter;
+import com.landawn.abacus.util.Charsets;
+import com.landawn.abacus.util.ContinuableFuture;
 import com.landawn.abacus.util.ClassUtil;
 import com.landawn.abacus.util.DateUtil;
+import com.landawn.abacus.util.IOUtil;
 import com.landawn.abacus.util.ImmutableList;
 import com.landawn.abacus.util.ImmutableMap;
 import com.landawn.abacus.util.InternalUtil;
@@ -95,11 +121,30 @@ public final class ParserUtil {
     @SuppressWarnings("deprecation")
     private static final int POOL_SIZE = InternalUtil.POOL_SIZE;
 
-    private static final int defaultNameIndex = NamingPolicy.LOWER_CAMEL_CASE.ordinal();
+    static final int defaultNameIndex = NamingPolicy.LOWER_CAMEL_CASE.ordinal();
 
     // ...
     private static final Map<Class<?>, EntityInfo> entityInfoPool = new ObjectPool<>(POOL_SIZE);
 
+    /** The locks to create the {@code EntityInfo} of the classes. A lock is removed after the {@code EntityInfo} is created. */
+    private static final ConcurrentMap<Class<?>, Object> entityInfoLockPool = new ConcurrentHashMap<>();
+
+    /**
+     * Increased, with the lock of {@code entityInfoPool}, when the cached {@code EntityInfo}s are removed by the change of the settings.
+     * The {@code EntityInfo} created before the change is not put into {@code entityInfoPool}.
+     */
+    private static volatile int entityInfoGeneration = 0;
+
+    private static final String PRELOAD_INFO_SEPARATOR = "\t";
+
+    private static final String PRELOAD_INFO_CLASS_HEADER = "# className\tfingerprint";
+
+    private static final String PRELOAD_INFO_HEADER = "# className\tpropName\tfield\tgetMethod\tsetMethod";
+
+    private static volatile boolean isCodegenEnabled = false;
+
+    private static volatile boolean isLambdaAccessorEnabled = false;
+
     private ParserUtil() {
         // Singleton.
     }
@@ -393,12 +438,35 @@ public final class ParserUtil {
         EntityInfo entityInfo = entityInfoPool.get(cls);
 
         if (entityInfo == null) {
-            synchronized (entityInfoPool) {
-                entityInfo = entityInfoPool.get(cls);
+            Object lock = entityInfoLockPool.get(cls);
 
-                if (entityInfo == null) {
-                    entityInfo = new EntityInfo(cls);
-                    entityInfoPool.put(cls, entityInfo);
+            if (lock == null) {
+                lock = new Object();
+                final Object existing = entityInfoLockPool.putIfAbsent(cls, lock);
+                lock = existing == null ? lock : existing;
+            }
+
+            // EntityInfo is created with the lock of the class, not the lock of entityInfoPool, so different classes can be loaded in parallel.
+            synchronized (lock) {
+                try {
+                    entityInfo = entityInfoPool.get(cls);
+
+                    if (entityInfo == null) {
+                        // read before the settings are read by EntityInfo.
+                        final int generation = entityInfoGeneration;
+
+                        entityInfo = new EntityInfo(cls);
+
+                        synchronized (entityInfoPool) {
+                            // not cached if the settings have been changed since it's created.
+                            if (generation == entityInfoGeneration) {
+                                entityInfoPool.put(cls, entityInfo);
+                            }
+                        }
+                    }
+                } finally {
+                    // the threads waiting for the lock will find the EntityInfo in entityInfoPool.
+                    entityInfoLockPool.remove(cls, lock);
                 }
             }
         }
@@ -406,6 +474,322 @@ public final class ParserUtil {
         return entityInfo;
     }
 
+    /**
+     * Creates the {@code EntityInfo}s of the specified entity classes by multiple threads, so the first serialization/deserialization of these classes
+     * won't pay for the reflection. The {@code EntityInfo}s which have been created are skipped.
+     *
+     * @param classes
+     * @see #savePreloadInfo(Collection, File)
+     * @see #preload(File)
+     */
+    public static void preload(final Collection<Class<?>> classes) {
+        if (N.isNullOrEmpty(classes)) {
+            return;
+        }
+
+        final List<Class<?>> classList = new ArrayList<>(classes.size());
+
+        for (Class<?> cls : classes) {
+            if (!entityInfoPool.containsKey(cls) && ClassUtil.isEntity(cls)) {
+                classList.add(cls);
+            }
+        }
+
+        final int threadNum = Math.min(IOUtil.CPU_CORES, classList.size());
+
+        if (threadNum <= 1) {
+            for (Class<?> cls : classList) {
+                getEntityInfo(cls);
+            }
+
+            return;
+        }
+
+        final AtomicInteger cursor = new AtomicInteger();
+        final List<Callable<Void>> tasks = new ArrayList<>(threadNum);
+
+        for (int i = 0; i < threadNum; i++) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    int idx = 0;
+
+                    while ((idx = cursor.getAndIncrement()) < classList.size()) {
+                        getEntityInfo(classList.get(idx));
+                    }
+
+                    return null;
+                }
+            });
+        }
+
+        for (ContinuableFuture<Void> future : N.asyncExecute(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw N.toRuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Saves the property fields and get/set methods of the specified entity classes, which can be loaded by {@link #preload(File)}
+     * at startup without scanning the methods of the classes. It's usually called at build time.
+     * <br />
+     * For each class, the fingerprint of its declared fields and methods is saved in a line: {@code className, fingerprint},
+     * followed by one line per property: {@code className, propName, fieldClassName#fieldName, getMethodClassName#getMethodName, setMethodClassName#setMethodName},
+     * separated by tab.
+     *
+     * @param classes
+     * @param file
+     */
+    public static void savePreloadInfo(final Collection<Class<?>> classes, final File file) {
+        Writer writer = null;
+
+        try {
+            writer = IOUtil.newBufferedWriter(file);
+
+            savePreloadInfo(classes, writer);
+        } finally {
+            IOUtil.close(writer);
+        }
+    }
+
+    /**
+     *
+     * @param classes
+     * @param writer
+     * @see #savePreloadInfo(Collection, File)
+     */
+    public static void savePreloadInfo(final Collection<Class<?>> classes, final Writer writer) {
+        try {
+            writer.write(PRELOAD_INFO_CLASS_HEADER);
+            writer.write(IOUtil.LINE_SEPARATOR);
+            writer.write(PRELOAD_INFO_HEADER);
+            writer.write(IOUtil.LINE_SEPARATOR);
+
+            for (Class<?> cls : classes) {
+                if (!ClassUtil.isEntity(cls)) {
+                    continue;
+                }
+
+                writer.write(cls.getName());
+                writer.write(PRELOAD_INFO_SEPARATOR);
+                writer.write(fingerprintOf(cls));
+                writer.write(IOUtil.LINE_SEPARATOR);
+
+                final Map<String, Field> propFields = ClassUtil.getPropFields(cls);
+                final Map<String, Method> propGetMethods = ClassUtil.getPropGetMethods(cls);
+                final Map<String, Method> propSetMethods = ClassUtil.getPropSetMethods(cls);
+
+                for (String propName : ClassUtil.getPropNameList(cls)) {
+                    final Field field = propFields.get(propName);
+                    final Method getMethod = propGetMethods.get(propName);
+                    final Method setMethod = propSetMethods.get(propName);
+
+                    writer.write(cls.getName());
+                    writer.write(PRELOAD_INFO_SEPARATOR);
+                    writer.write(propName);
+                    writer.write(PRELOAD_INFO_SEPARATOR);
+                    writer.write(field == null ? "" : field.getDeclaringClass().getName() + '#' + field.getName());
+                    writer.write(PRELOAD_INFO_SEPARATOR);
+                    writer.write(getMethod == null ? "" : getMethod.getDeclaringClass().getName() + '#' + getMethod.getName());
+                    writer.write(PRELOAD_INFO_SEPARATOR);
+                    writer.write(setMethod == null ? "" : setMethod.getDeclaringClass().getName() + '#' + setMethod.getName());
+                    writer.write(IOUtil.LINE_SEPARATOR);
+                }
+            }
+
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads the property fields and get/set methods saved by {@link #savePreloadInfo(Collection, File)}, and then creates the {@code EntityInfo}s
+     * by {@link #preload(Collection)}. The fields/methods are looked up by name, instead of scanning all the methods of the classes.
+     * The class is scanned as usual if its fingerprint is different from the saved one, or its saved fields/methods are not found,
+     * for example, the class has been changed after the info is saved.
+     *
+     * @param file
+     */
+    public static void preload(final File file) {
+        Reader reader = null;
+
+        try {
+            reader = IOUtil.newBufferedReader(file);
+
+            preload(reader);
+        } finally {
+            IOUtil.close(reader);
+        }
+    }
+
+    /**
+     *
+     * @param reader
+     * @see #preload(File)
+     */
+    @SuppressWarnings("deprecation")
+    public static void preload(final Reader reader) {
+        final Map<String, List<String[]>> propLinesMap = new LinkedHashMap<>();
+        final Map<String, String> fingerprintMap = new HashMap<>();
+
+        for (String line : IOUtil.readAllLines(reader)) {
+            if (N.isNullOrEmpty(line) || line.charAt(0) == '#') {
+                continue;
+            }
+
+            final String[] strs = line.split(PRELOAD_INFO_SEPARATOR, -1);
+            List<String[]> propLines = propLinesMap.get(strs[0]);
+
+            if (propLines == null) {
+                propLines = new ArrayList<>();
+                propLinesMap.put(strs[0], propLines);
+            }
+
+            if (strs.length == 2) {
+                fingerprintMap.put(strs[0], strs[1]);
+            } else {
+                propLines.add(strs);
+            }
+        }
+
+        final List<Class<?>> classes = new ArrayList<>(propLinesMap.size());
+
+        for (Map.Entry<String, List<String[]>> entry : propLinesMap.entrySet()) {
+            final Class<?> cls;
+
+            try {
+                cls = ClassUtil.forClass(entry.getKey());
+            } catch (Exception e) {
+                logger.warn("Class not found: " + entry.getKey() + " in the preload info");
+                continue;
+            }
+
+            if (!fingerprintOf(cls).equals(fingerprintMap.get(entry.getKey()))) {
+                logger.info("Class: " + entry.getKey() + " has been changed after the preload info is saved. It will be scanned");
+
+                classes.add(cls);
+                continue;
+            }
+
+            final Map<String, Field> propFieldMap = new LinkedHashMap<>();
+            final Map<String, Method> propGetMethodMap = new LinkedHashMap<>();
+            final Map<String, Method> propSetMethodMap = new LinkedHashMap<>();
+
+            try {
+                Method getMethod = null;
+
+                for (String[] strs : entry.getValue()) {
+                    getMethod = null;
+
+                    if (strs.length > 2 && N.notNullOrEmpty(strs[2])) {
+                        propFieldMap.put(strs[1], getPreloadMember(strs[2]).getDeclaredField(strs[2].substring(strs[2].indexOf('#') + 1)));
+                    }
+
+                    if (strs.length > 3 && N.notNullOrEmpty(strs[3])) {
+                        getMethod = getPreloadMember(strs[3]).getDeclaredMethod(strs[3].substring(strs[3].indexOf('#') + 1));
+                        propGetMethodMap.put(strs[1], getMethod);
+                    }
+
+                    if (strs.length > 4 && N.notNullOrEmpty(strs[4]) && getMethod != null) {
+                        propSetMethodMap.put(strs[1],
+                                getPreloadMember(strs[4]).getDeclaredMethod(strs[4].substring(strs[4].indexOf('#') + 1), getMethod.getReturnType()));
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to load the preload info of class: " + entry.getKey() + ". It will be scanned: " + e.getMessage());
+
+                classes.add(cls);
+                continue;
+            }
+
+            ClassUtil.registerPropGetSetMethods(cls, propFieldMap, propGetMethodMap, propSetMethodMap);
+
+            classes.add(cls);
+        }
+
+        preload(classes);
+    }
+
+    private static Class<?> getPreloadMember(final String str) {
+        return ClassUtil.forClass(str.substring(0, str.indexOf('#')));
+    }
+
+    /**
+     * Returns the hash of the declared fields and methods, with their modifiers, types and annotation types, of the specified class
+     * and its super classes/interfaces. It's changed if a property field or get/set method is added, removed or changed.
+     *
+     * @param cls
+     * @return
+     */
+    static String fingerprintOf(final Class<?> cls) {
+        final Set<Class<?>> types = new LinkedHashSet<>();
+        final List<String> members = new ArrayList<>();
+
+        addTypes(cls, types);
+
+        for (Class<?> type : types) {
+            members.add(type.getName() + annotationTypesOf(type.getDeclaredAnnotations()));
+
+            for (Field field : type.getDeclaredFields()) {
+                if (!field.isSynthetic()) {
+                    members.add(type.getName() + '#' + field.toGenericString() + annotationTypesOf(field.getDeclaredAnnotations()));
+                }
+            }
+
+            for (Method method : type.getDeclaredMethods()) {
+                if (!method.isSynthetic()) {
+                    members.add(type.getName() + '#' + method.toGenericString() + annotationTypesOf(method.getDeclaredAnnotations()));
+                }
+            }
+        }
+
+        // the order of the declared fields/methods is not specified.
+        N.sort(members);
+
+        // 64-bit FNV-1a.
+        long hash = 0xcbf29ce484222325L;
+
+        for (String member : members) {
+            for (int i = 0, len = member.length(); i < len; i++) {
+                hash = (hash ^ member.charAt(i)) * 0x100000001b3L;
+            }
+
+            hash = (hash ^ '\n') * 0x100000001b3L;
+        }
+
+        return Long.toHexString(hash);
+    }
+
+    private static void addTypes(final Class<?> cls, final Set<Class<?>> types) {
+        if (cls == null || cls == Object.class || !types.add(cls)) {
+            return;
+        }
+
+        addTypes(cls.getSuperclass(), types);
+
+        for (Class<?> intf : cls.getInterfaces()) {
+            addTypes(intf, types);
+        }
+    }
+
+    private static String annotationTypesOf(final Annotation[] annotations) {
+        if (annotations.length == 0) {
+            return "";
+        }
+
+        final StringBuilder sb = new StringBuilder();
+
+        for (Annotation annotation : annotations) {
+            sb.append(" @").append(annotation.annotationType().getName());
+        }
+
+        return sb.toString();
+    }
+
     static int hashCode(char[] a) {
         int result = 1;
 
@@ -440,10 +824,64 @@ public final class ParserUtil {
     @Internal
     public static void refreshEntityPropInfo(Class<?> cls) {
         synchronized (entityInfoPool) {
+            entityInfoGeneration++;
             entityInfoPool.remove(cls);
         }
     }
 
+    /**
+     * Enables/disables the property accessors generated for the entity classes by ASM, which are used to get/set the property values
+     * and to find the property by the name read by the JSON parser. It only works if ASM is available.
+     * The cached {@code EntityInfo}s are removed, so the change is applied to the {@code EntityInfo}s created after this call.
+     * The {@code EntityInfo}s being created during this call are not cached.
+     *
+     * @param enabled
+     * @see EntityCodec
+     */
+    @Beta
+    public static void setCodegenEnabled(final boolean enabled) {
+        synchronized (entityInfoPool) {
+            isCodegenEnabled = enabled;
+            entityInfoGeneration++;
+            entityInfoPool.clear();
+        }
+    }
+
+    /**
+     * Checks if the generated property accessors are enabled.
+     *
+     * @return true, if it's enabled by {@link #setCodegenEnabled(boolean)}
+     */
+    @Beta
+    public static boolean isCodegenEnabled() {
+        return isCodegenEnabled;
+    }
+
+    /**
+     * Enables/disables the property accessors generated by {@code LambdaMetafactory}, which call the public get/set methods of the entity classes
+     * through {@code Function}/{@code BiConsumer} instead of {@code Method.invoke} or ReflectASM. ReflectASM is used by default if it's available,
+     * otherwise reflection is used. The cached {@code EntityInfo}s are removed, so the change is applied to the {@code EntityInfo}s created after this call.
+     *
+     * @param enabled
+     */
+    @Beta
+    public static void setLambdaAccessorEnabled(final boolean enabled) {
+        synchronized (entityInfoPool) {
+            isLambdaAccessorEnabled = enabled;
+            entityInfoGeneration++;
+            entityInfoPool.clear();
+        }
+    }
+
+    /**
+     * Checks if the property accessors generated by {@code LambdaMetafactory} are enabled.
+     *
+     * @return true, if it's enabled by {@link #setLambdaAccessorEnabled(boolean)}
+     */
+    public static boolean isLambdaAccessorEnabled() {
+        return isLambdaAccessorEnabled;
+    }
+
     public static class EntityInfo implements JSONReader.SymbolReader {
 
         /**
@@ -503,6 +941,9 @@ public final class ParserUtil {
 
         private final boolean isDirtyMarker;
 
+        /** The generated property accessors, or {@code null} if codegen is disabled or not supported by the entity class. */
+        private final EntityCodec codec;
+
         @SuppressWarnings("deprecation")
         EntityInfo(Class<?> cls) {
             simpleClassName = ClassUtil.getSimpleClassName(cls);
@@ -544,8 +985,12 @@ public final class ParserUtil {
                 field = ClassUtil.getPropField(cls, propName);
                 getMethod = ClassUtil.getPropGetMethod(cls, propName);
 
-                propInfo = ASMUtil.isASMAvailable() ? new ASMPropInfo(propName, field, getMethod, jsonXmlConfig, annotations, idx, false)
-                        : new PropInfo(propName, field, getMethod, jsonXmlConfig, annotations, idx, false);
+                if (isLambdaAccessorEnabled) {
+                    propInfo = new LambdaPropInfo(propName, field, getMethod, jsonXmlConfig, annotations, idx, false);
+                } else {
+                    propInfo = ASMUtil.isASMAvailable() ? new ASMPropInfo(propName, field, getMethod, jsonXmlConfig, annotations, idx, false)
+                            : new PropInfo(propName, field, getMethod, jsonXmlConfig, annotations, idx, false);
+                }
 
                 propInfos[idx++] = propInfo;
                 propInfoMap.put(propName, propInfo);
@@ -701,6 +1146,8 @@ public final class ParserUtil {
             }
 
             this.isDirtyMarker = DirtyMarker.class.isAssignableFrom(this.clazz);
+
+            this.codec = isCodegenEnabled && !isImmutable && ASMUtil.isASMAvailable() ? EntityCodecGenerator.generate(cls, propInfos) : null;
         }
 
         /**
@@ -963,7 +1410,10 @@ public final class ParserUtil {
             }
 
             if (propInfo == null) {
-                propInfo = hashPropInfoMap.get(ParserUtil.hashCode(cbuf, fromIndex, toIndex));
+                final int hashCode = ParserUtil.hashCode(cbuf, fromIndex, toIndex);
+                final int propIndex = codec == null ? -1 : codec.indexOf(hashCode);
+
+                propInfo = propIndex >= 0 ? propInfos[propIndex] : hashPropInfoMap.get(hashCode);
             }
 
             if (propInfo != null) {
@@ -996,6 +1446,66 @@ public final class ParserUtil {
             return propInfo;
         }
 
+        /**
+         * Reads the prop info by the UTF-8 bytes of the property name, without decoding them to {@code char}s if the name is ASCII.
+         *
+         * @param buf
+         * @param fromIndex
+         * @param toIndex
+         * @return
+         */
+        public PropInfo readPropInfo(final byte[] buf, final int fromIndex, final int toIndex) {
+            final int len = toIndex - fromIndex;
+
+            if (len == 0) {
+                return null;
+            }
+
+            int hashCode = 1;
+            int bits = 0;
+
+            for (int i = fromIndex; i < toIndex; i++) {
+                hashCode = 31 * hashCode + buf[i];
+                bits |= buf[i];
+            }
+
+            if (bits < 0) {
+                // non-ASCII name.
+                final char[] cbuf = new String(buf, fromIndex, len, Charsets.UTF_8).toCharArray();
+
+                return readPropInfo(cbuf, 0, cbuf.length);
+            }
+
+            // the hash code of the ASCII bytes is same as the one of chars.
+            PropInfo propInfo = null;
+
+            if (len < propInfoArray.length) {
+                propInfo = propInfoArray[len];
+            }
+
+            if (propInfo == null) {
+                final int propIndex = codec == null ? -1 : codec.indexOf(hashCode);
+
+                propInfo = propIndex >= 0 ? propInfos[propIndex] : hashPropInfoMap.get(hashCode);
+            }
+
+            if (propInfo != null) {
+                final byte[] tmp = propInfo.jsonNameTags[defaultNameIndex].utf8Name;
+
+                if (tmp.length != len) {
+                    return null;
+                }
+
+                for (int i = 0; i < len; i++) {
+                    if (buf[i + fromIndex] != tmp[i]) {
+                        return null;
+                    }
+                }
+            }
+
+            return propInfo;
+        }
+
         // @Override
         // public PropInfo readPropInfo(String str, int fromIndex, int toIndex) {
         // if (N.isCharsOfStringReadable()) {
@@ -1224,6 +1734,12 @@ public final class ParserUtil {
 
         boolean isImmutableEntity;
 
+        /** Set by {@code EntityCodecGenerator} if the getter/field of this property is accessed by the generated code. */
+        EntityCodec getterCodec;
+
+        /** Set by {@code EntityCodecGenerator} if the setter/field of this property is accessed by the generated code. */
+        EntityCodec setterCodec;
+
         @SuppressWarnings("deprecation")
         PropInfo(String propName) {
             this.declaringClass = null;
@@ -1372,6 +1888,10 @@ public final class ParserUtil {
                 return (T) ((Object[]) obj)[fieldOrder];
             }
 
+            if (getterCodec != null) {
+                return (T) getterCodec.get(obj, fieldOrder);
+            }
+
             try {
                 return (T) (isFieldAccessible ? field.get(obj) : getMethod.invoke(obj));
             } catch (Exception e) {
@@ -1393,6 +1913,11 @@ public final class ParserUtil {
 
             propValue = propValue == null ? type.defaultValue() : propValue;
 
+            if (setterCodec != null) {
+                setByCodec(obj, propValue);
+                return;
+            }
+
             try {
                 if (isFieldAccessible) {
                     field.set(obj, propValue);
@@ -1424,6 +1949,20 @@ public final class ParserUtil {
             }
         }
 
+        /**
+         * Sets the value by the generated setter. The value is converted to the property type if it's not an instance of the property type.
+         *
+         * @param obj
+         * @param propValue
+         */
+        void setByCodec(final Object obj, final Object propValue) {
+            try {
+                setterCodec.set(obj, fieldOrder, propValue);
+            } catch (ClassCastException e) {
+                setterCodec.set(obj, fieldOrder, N.convert(propValue, jsonXmlType));
+            }
+        }
+
         static final Map<Class<?>, DateTimeReaderWriter<?>> propFuncMap = new HashMap<>();
 
         static {
@@ -2051,6 +2590,10 @@ public final class ParserUtil {
         @Override
         @SuppressWarnings("unchecked")
         public <T> T getPropValue(Object obj) {
+            if (getterCodec != null) {
+                return (T) getterCodec.get(obj, fieldOrder);
+            }
+
             return (T) ((fieldAccessIndex > -1) ? fieldAccess.get(obj, fieldAccessIndex) : methodAccess.invoke(obj, getMethodAccessIndex));
         }
 
@@ -2069,6 +2612,11 @@ public final class ParserUtil {
 
             propValue = propValue == null ? type.defaultValue() : propValue;
 
+            if (setterCodec != null) {
+                setByCodec(obj, propValue);
+                return;
+            }
+
             try {
                 if (fieldAccessIndex > -1) {
                     fieldAccess.set(obj, fieldAccessIndex, propValue);
@@ -2101,6 +2649,234 @@ public final class ParserUtil {
         }
     }
 
+    /**
+     * The get/set methods are called by the {@code Function}/{@code BiConsumer} generated by {@code LambdaMetafactory}, which can be inlined by JIT.
+     * The {@code int}/{@code long}/{@code double} properties are read/written by {@code ToIntFunction}/{@code ObjIntConsumer}... without boxing in the call.
+     * It falls back to {@code ASMPropInfo}, or {@code PropInfo} if ReflectASM is not available, if the method is not public,
+     * or it's not visible to the class loader of {@code ParserUtil}.
+     */
+    static class LambdaPropInfo extends PropInfo {
+        private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        private final Function<Object, Object> getter;
+
+        private final ToIntFunction<Object> intGetter;
+
+        private final ToLongFunction<Object> longGetter;
+
+        private final ToDoubleFunction<Object> doubleGetter;
+
+        private final BiConsumer<Object, Object> setter;
+
+        private final ObjIntConsumer<Object> intSetter;
+
+        private final ObjLongConsumer<Object> longSetter;
+
+        private final ObjDoubleConsumer<Object> doubleSetter;
+
+        /** The {@code ASMPropInfo} for the get/set method which can't be called by lambda. {@code null} if there is no such method or ReflectASM is not available. */
+        private final PropInfo fallback;
+
+        LambdaPropInfo(final String name, final Field field, final Method getMethod, final JsonXmlConfig jsonXmlConfig,
+                final ImmutableMap<Class<? extends Annotation>, Annotation> classAnnotations, final int fieldOrder, final boolean isImmutableEntity) {
+            super(name, field, getMethod, jsonXmlConfig, classAnnotations, fieldOrder, isImmutableEntity);
+
+            final Class<?> propClass = isLambdaAccessible(getMethod) ? getMethod.getReturnType() : null;
+            final Class<?> getterClass = propClass == null ? null : getMethod.getDeclaringClass();
+
+            intGetter = propClass == int.class
+                    ? createLambda(ToIntFunction.class, "applyAsInt", MethodType.methodType(int.class, Object.class), getMethod,
+                            MethodType.methodType(int.class, getterClass))
+                    : null;
+
+            longGetter = propClass == long.class
+                    ? createLambda(ToLongFunction.class, "applyAsLong", MethodType.methodType(long.class, Object.class), getMethod,
+                            MethodType.methodType(long.class, getterClass))
+                    : null;
+
+            doubleGetter = propClass == double.class
+                    ? createLambda(ToDoubleFunction.class, "applyAsDouble", MethodType.methodType(double.class, Object.class), getMethod,
+                            MethodType.methodType(double.class, getterClass))
+                    : null;
+
+            getter = propClass != null && propClass != int.class && propClass != long.class && propClass != double.class
+                    ? createLambda(Function.class, "apply", MethodType.methodType(Object.class, Object.class), getMethod,
+                            MethodType.methodType(N.wrap(propClass), getterClass))
+                    : null;
+
+            final Class<?> paramClass = isLambdaAccessible(setMethod) ? setMethod.getParameterTypes()[0] : null;
+            final Class<?> setterClass = paramClass == null ? null : setMethod.getDeclaringClass();
+
+            intSetter = paramClass == int.class
+                    ? createLambda(ObjIntConsumer.class, "accept", MethodType.methodType(void.class, Object.class, int.class), setMethod,
+                            MethodType.methodType(void.class, setterClass, int.class))
+                    : null;
+
+            longSetter = paramClass == long.class
+                    ? createLambda(ObjLongConsumer.class, "accept", MethodType.methodType(void.class, Object.class, long.class), setMethod,
+                            MethodType.methodType(void.class, setterClass, long.class))
+                    : null;
+
+            doubleSetter = paramClass == double.class
+                    ? createLambda(ObjDoubleConsumer.class, "accept", MethodType.methodType(void.class, Object.class, double.class), setMethod,
+                            MethodType.methodType(void.class, setterClass, double.class))
+                    : null;
+
+            setter = paramClass != null && paramClass != int.class && paramClass != long.class && paramClass != double.class
+                    ? createLambda(BiConsumer.class, "accept", MethodType.methodType(void.class, Object.class, Object.class), setMethod,
+                            MethodType.methodType(void.class, setterClass, N.wrap(paramClass)))
+                    : null;
+
+            fallback = (hasGetterLambda() && hasSetterLambda()) || !ASMUtil.isASMAvailable() ? null
+                    : new ASMPropInfo(name, field, getMethod, jsonXmlConfig, classAnnotations, fieldOrder, isImmutableEntity);
+        }
+
+        /**
+         * Gets the prop value.
+         *
+         * @param <T>
+         * @param obj
+         * @return
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getPropValue(Object obj) {
+            if (isImmutableEntity && obj instanceof Object[]) {
+                return (T) ((Object[]) obj)[fieldOrder];
+            }
+
+            if (getterCodec != null) {
+                return (T) getterCodec.get(obj, fieldOrder);
+            } else if (getter != null) {
+                return (T) getter.apply(obj);
+            } else if (intGetter != null) {
+                return (T) Integer.valueOf(intGetter.applyAsInt(obj));
+            } else if (longGetter != null) {
+                return (T) Long.valueOf(longGetter.applyAsLong(obj));
+            } else if (doubleGetter != null) {
+                return (T) Double.valueOf(doubleGetter.applyAsDouble(obj));
+            } else if (fallback != null) {
+                return fallback.getPropValue(obj);
+            }
+
+            return super.getPropValue(obj);
+        }
+
+        /**
+         * Sets the prop value.
+         *
+         * @param obj
+         * @param propValue
+         */
+        @Override
+        public void setPropValue(final Object obj, Object propValue) {
+            if (isImmutableEntity || setterCodec != null) {
+                super.setPropValue(obj, propValue);
+                return;
+            } else if (!hasSetterLambda()) {
+                if (fallback != null) {
+                    fallback.setPropValue(obj, propValue);
+                } else {
+                    super.setPropValue(obj, propValue);
+                }
+
+                return;
+            }
+
+            propValue = propValue == null ? type.defaultValue() : propValue;
+
+            try {
+                setByLambda(obj, propValue);
+            } catch (ClassCastException e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn(e, "Failed to set value for field: {} in class: {}", field, declaringClass);
+                }
+
+                setByLambda(obj, N.convert(propValue, jsonXmlType));
+            }
+        }
+
+        private boolean hasGetterLambda() {
+            return getter != null || intGetter != null || longGetter != null || doubleGetter != null;
+        }
+
+        private boolean hasSetterLambda() {
+            return setter != null || intSetter != null || longSetter != null || doubleSetter != null;
+        }
+
+        private void setByLambda(final Object obj, final Object propValue) {
+            if (setter != null) {
+                setter.accept(obj, propValue);
+            } else if (intSetter != null) {
+                intSetter.accept(obj, ((Integer) propValue).intValue());
+            } else if (longSetter != null) {
+                longSetter.accept(obj, ((Long) propValue).longValue());
+            } else {
+                doubleSetter.accept(obj, ((Double) propValue).doubleValue());
+            }
+        }
+
+        /**
+         * The generated class calls the method as a class in the package of {@code ParserUtil}, so the method, its declaring class and
+         * the types in its signature must be public and visible to the class loader of {@code ParserUtil}.
+         *
+         * @param method
+         * @return
+         */
+        private static boolean isLambdaAccessible(final Method method) {
+            if (method == null || !Modifier.isPublic(method.getModifiers()) || !isVisible(method.getReturnType())) {
+                return false;
+            }
+
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                if (!isVisible(parameterType)) {
+                    return false;
+                }
+            }
+
+            for (Class<?> cls = method.getDeclaringClass(); cls != null; cls = cls.getEnclosingClass()) {
+                if (!Modifier.isPublic(cls.getModifiers())) {
+                    return false;
+                }
+            }
+
+            return isVisible(method.getDeclaringClass());
+        }
+
+        private static boolean isVisible(Class<?> cls) {
+            while (cls.isArray()) {
+                cls = cls.getComponentType();
+            }
+
+            if (cls.isPrimitive()) {
+                return true;
+            }
+
+            try {
+                return Class.forName(cls.getName(), false, ParserUtil.class.getClassLoader()) == cls;
+            } catch (Throwable e) {
+                return false;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T createLambda(final Class<?> samClass, final String samMethodName, final MethodType samMethodType, final Method method,
+                final MethodType instantiatedMethodType) {
+            try {
+                final CallSite callSite = LambdaMetafactory.metafactory(lookup, samMethodName, MethodType.methodType(samClass), samMethodType,
+                        lookup.unreflect(method), instantiatedMethodType);
+
+                return (T) callSite.getTarget().invoke();
+            } catch (Throwable e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn(e, "Failed to create lambda for method: {}. Reflection is used", method);
+                }
+
+                return null;
+            }
+        }
+    }
+
     static class JsonNameTag {
         final char[] name;
         final char[] nameWithColon;
@@ -2108,6 +2884,9 @@ public final class ParserUtil {
         final char[] quotedName;
         final char[] quotedNameWithColon;
         final char[] quotedNameNull;
+        final byte[] utf8Name;
+        final byte[] utf8NameWithColon;
+        final byte[] utf8QuotedNameWithColon;
 
         public JsonNameTag(String name) {
             this.name = name.toCharArray();
@@ -2116,6 +2895,9 @@ public final class ParserUtil {
             this.quotedName = ("\"" + name + "\"").toCharArray();
             this.quotedNameWithColon = ("\"" + name + "\":").toCharArray();
             this.quotedNameNull = ("\"" + name + "\":null").toCharArray();
+            this.utf8Name = name.getBytes(Charsets.UTF_8);
+            this.utf8NameWithColon = (name + ":").getBytes(Charsets.UTF_8);
+            this.utf8QuotedNameWithColon = ("\"" + name + "\":").getBytes(Charsets.UTF_8);
         }
 
         @Override
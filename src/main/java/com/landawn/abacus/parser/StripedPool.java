@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free pool of reusable objects. Each slot holds at most one object, and a thread starts from the slot selected by its id,
+ * so the threads mostly take/return the objects from/to their own slots without contention. The slots next to it are tried if the slot is empty/occupied.
+ * The object is dropped if all the tried slots are occupied.
+ *
+ * @author Haiyang Li
+ * @param <E>
+ * @since 2.3.12
+ */
+final class StripedPool<E> {
+
+    private static final int MAX_PROBES = 4;
+
+    private final AtomicReferenceArray<E> slots;
+
+    private final int mask;
+
+    /**
+     *
+     * @param capacity the max number of objects in the pool, rounded up to the power of 2.
+     */
+    StripedPool(final int capacity) {
+        int n = 1;
+
+        while (n < capacity) {
+            n <<= 1;
+        }
+
+        this.slots = new AtomicReferenceArray<>(n);
+        this.mask = n - 1;
+    }
+
+    /**
+     *
+     * @return {@code null} if no object is found in the tried slots.
+     */
+    E poll() {
+        final int h = slotOfCurrentThread();
+        E e = null;
+
+        for (int i = 0, idx = 0; i < MAX_PROBES; i++) {
+            idx = (h + i) & mask;
+
+            if (slots.get(idx) != null && (e = slots.getAndSet(idx, null)) != null) {
+                return e;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     *
+     * @param e
+     * @return {@code false} if all the tried slots are occupied and the object is dropped.
+     */
+    boolean offer(final E e) {
+        final int h = slotOfCurrentThread();
+
+        for (int i = 0, idx = 0; i < MAX_PROBES; i++) {
+            idx = (h + i) & mask;
+
+            if (slots.get(idx) == null && slots.compareAndSet(idx, null, e)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    void clear() {
+        for (int i = 0, len = slots.length(); i < len; i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private static int slotOfCurrentThread() {
+        final long id = Thread.currentThread().getId();
+        final int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+
+        return h ^ (h >>> 16);
+    }
+}
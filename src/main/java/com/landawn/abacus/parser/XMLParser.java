@@ -14,12 +14,15 @@
 
 package com.landawn.abacus.parser;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.util.Map;
 
 import org.w3c.dom.Node;
 
+import com.landawn.abacus.util.ExceptionalStream;
+
 /**
  *
  * @author Haiyang Li
@@ -75,4 +78,51 @@ public interface XMLParser extends Parser<XMLSerializationConfig, XMLDeserializa
      * @return
      */
     <T> T deserialize(Map<String, Class<?>> nodeClasses, Node node, XMLDeserializationConfig config);
+
+    /**
+     *
+     * @param <T>
+     * @param elementClass
+     * @param source
+     * @param elementName
+     * @return
+     * @see #stream(Class, InputStream, String, XMLDeserializationConfig)
+     */
+    <T> ExceptionalStream<T, IOException> stream(Class<T> elementClass, InputStream source, String elementName);
+
+    /**
+     * Pulls the elements with the specified name one by one from the source by {@code XMLStreamReader}. Only one element is read into memory at a time,
+     * so it can be used to iterate the records in a huge XML file. The source is closed when the returned stream is closed.
+     *
+     * @param <T>
+     * @param elementClass
+     * @param source
+     * @param elementName the local name of the repeated elements to read, at any level.
+     * @param config
+     * @return
+     */
+    <T> ExceptionalStream<T, IOException> stream(Class<T> elementClass, InputStream source, String elementName, XMLDeserializationConfig config);
+
+    /**
+     *
+     * @param <T>
+     * @param elementClass
+     * @param source
+     * @param elementName
+     * @return
+     * @see #stream(Class, InputStream, String, XMLDeserializationConfig)
+     */
+    <T> ExceptionalStream<T, IOException> stream(Class<T> elementClass, Reader source, String elementName);
+
+    /**
+     *
+     * @param <T>
+     * @param elementClass
+     * @param source
+     * @param elementName
+     * @param config
+     * @return
+     * @see #stream(Class, InputStream, String, XMLDeserializationConfig)
+     */
+    <T> ExceptionalStream<T, IOException> stream(Class<T> elementClass, Reader source, String elementName, XMLDeserializationConfig config);
 }
@@ -24,6 +24,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import com.landawn.abacus.logging.Logger;
 import com.landawn.abacus.logging.LoggerFactory;
 import com.landawn.abacus.util.ClassUtil;
+import com.landawn.abacus.util.ExceptionUtil;
 import com.landawn.abacus.util.MoreExecutors;
 
 /**
@@ -41,6 +42,8 @@ public abstract class AbstractPool implements Pool {
 
     static final float DEFAULT_BALANCE_FACTOR = 0.2f;
 
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
     static final ScheduledExecutorService scheduledExecutor;
     static {
         final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(64);
@@ -58,6 +61,24 @@ public abstract class AbstractPool implements Pool {
 
     final AtomicLong evictionCount = new AtomicLong();
 
+    final AtomicLong rejectionCount = new AtomicLong();
+
+    final AtomicLong vacationCount = new AtomicLong();
+
+    final AtomicLong expirationCount = new AtomicLong();
+
+    final AtomicLong waitCount = new AtomicLong();
+
+    final AtomicLong waitTime = new AtomicLong();
+
+    volatile PoolListener listener;
+
+    volatile LatencyHistogram putLatency;
+
+    volatile LatencyHistogram getLatency;
+
+    volatile LatencyHistogram waitLatency;
+
     final ReentrantLock lock = new ReentrantLock();
 
     final Condition notEmpty = lock.newCondition();
@@ -147,6 +168,34 @@ public abstract class AbstractPool implements Pool {
         return evictionCount.get();
     }
 
+    /**
+     *
+     * @param listener
+     */
+    @Override
+    public void setListener(PoolListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     *
+     * @param enabled
+     */
+    @Override
+    public synchronized void setLatencyHistogramEnabled(boolean enabled) {
+        if (enabled) {
+            if (putLatency == null) {
+                getLatency = new LatencyHistogram();
+                waitLatency = new LatencyHistogram();
+                putLatency = new LatencyHistogram();
+            }
+        } else {
+            putLatency = null;
+            getLatency = null;
+            waitLatency = null;
+        }
+    }
+
     /**
      * Checks if is empty.
      *
@@ -176,6 +225,133 @@ public abstract class AbstractPool implements Pool {
         }
     }
 
+    /**
+     * Returns the current time in nanoseconds if the latency histograms are enabled or there is a listener, otherwise {@code NOT_TIMED}.
+     *
+     * @return
+     */
+    long startTime() {
+        return putLatency != null || listener != null ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     *
+     * @param success
+     * @param startTime
+     */
+    void recordPut(boolean success, long startTime) {
+        if (!success) {
+            rejectionCount.incrementAndGet();
+        }
+
+        if (startTime != NOT_TIMED) {
+            final long elapsedTime = System.nanoTime() - startTime;
+            final LatencyHistogram histogram = putLatency;
+
+            if (histogram != null) {
+                histogram.record(elapsedTime);
+            }
+
+            final PoolListener l = listener;
+
+            if (l != null) {
+                try {
+                    l.onPut(this, success, elapsedTime);
+                } catch (Exception e) {
+                    logger.warn(ExceptionUtil.getMessage(e));
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @param hit
+     * @param startTime
+     */
+    void recordGet(boolean hit, long startTime) {
+        if (startTime != NOT_TIMED) {
+            final long elapsedTime = System.nanoTime() - startTime;
+            final LatencyHistogram histogram = getLatency;
+
+            if (histogram != null) {
+                histogram.record(elapsedTime);
+            }
+
+            final PoolListener l = listener;
+
+            if (l != null) {
+                try {
+                    l.onGet(this, hit, elapsedTime);
+                } catch (Exception e) {
+                    logger.warn(ExceptionUtil.getMessage(e));
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @param nanos the time waited on {@code notEmpty/notFull}.
+     */
+    void recordWait(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+
+        waitCount.incrementAndGet();
+        waitTime.addAndGet(nanos);
+
+        final LatencyHistogram histogram = waitLatency;
+
+        if (histogram != null) {
+            histogram.record(nanos);
+        }
+
+        final PoolListener l = listener;
+
+        if (l != null) {
+            try {
+                l.onWait(this, nanos);
+            } catch (Exception e) {
+                logger.warn(ExceptionUtil.getMessage(e));
+            }
+        }
+    }
+
+    /**
+     *
+     * @param value
+     */
+    void recordEviction(Poolable value) {
+        final PoolListener l = listener;
+
+        if (l != null) {
+            try {
+                l.onEviction(this, value);
+            } catch (Exception e) {
+                logger.warn(ExceptionUtil.getMessage(e));
+            }
+        }
+    }
+
+    /**
+     *
+     * @param maxMemorySize
+     * @param usedMemorySize
+     * @return
+     */
+    PoolStats toStats(long maxMemorySize, long usedMemorySize) {
+        final LatencyHistogram putHistogram = putLatency;
+        final LatencyHistogram getHistogram = getLatency;
+        final LatencyHistogram waitHistogram = waitLatency;
+
+        return new PoolStats(evictionPolicy, capacity, size(), putCount.get(), rejectionCount.get(), hitCount.get(), missCount.get(), evictionCount.get(),
+                vacationCount.get(), expirationCount.get(), waitCount.get(), waitTime.get(), maxMemorySize, usedMemorySize,
+                putHistogram == null ? null : putHistogram.copy(), getHistogram == null ? null : getHistogram.copy(),
+                waitHistogram == null ? null : waitHistogram.copy());
+    }
+
     /**
      *
      * @throws Throwable the throwable
@@ -0,0 +1,869 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.pool;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.landawn.abacus.util.ClassUtil;
+import com.landawn.abacus.util.ExceptionUtil;
+import com.landawn.abacus.util.IOUtil;
+import com.landawn.abacus.util.N;
+
+/**
+ * A keyed pool for high concurrency. The entries are distributed to the segments by the hash code of the keys, and each segment is guarded by its own lock,
+ * so the threads accessing the keys in different segments don't block each other.
+ * <br />
+ * When the pool is full, or the {@code MemoryMeasure} budget is exceeded, the entries with the lowest priority by the {@code EvictionPolicy}
+ * are removed from the next segment ({@code balanceFactor} of the entries in that segment), instead of scanning the whole pool.
+ * So the eviction is amortized by the segments and it's approximate for the whole pool.
+ * The expired entries are removed when they're accessed by {@code get}, or by the scheduled eviction which locks one segment at a time.
+ * Each segment indexes its keys by expiration time in its own {@code TimerWheel}, so the eviction only visits the entries whose expiration time is reached,
+ * instead of scanning the segments.
+ * <br />
+ * The capacity is a soft limit: it may be exceeded a little by the concurrent {@code put}s.
+ * <br />
+ * For {@code EvictionPolicy.TINY_LFU}, each segment has its own frequency sketch and window for the keys in it.
+ *
+ * @author Haiyang Li
+ * @param <K> the key type
+ * @param <E>
+ * @since 2.3.12
+ */
+public class ConcurrentKeyedObjectPool<K, E extends Poolable> extends AbstractPool implements KeyedObjectPool<K, E> {
+
+    private static final long serialVersionUID = -4361826462165186372L;
+
+    private final long maxMemorySize;
+
+    private final KeyedObjectPool.MemoryMeasure<K, E> memoryMeasure;
+
+    private final AtomicLong usedMemorySize = new AtomicLong();
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final AtomicInteger vacateCursor = new AtomicInteger();
+
+    final Segment<K, E>[] segments;
+
+    final int segmentMask;
+
+    final Comparator<Map.Entry<K, E>> cmp;
+
+    ScheduledFuture<?> scheduleFuture;
+
+    protected ConcurrentKeyedObjectPool(int capacity, long evictDelay, EvictionPolicy evictionPolicy) {
+        this(capacity, evictDelay, evictionPolicy, true, DEFAULT_BALANCE_FACTOR, 0, null);
+    }
+
+    protected ConcurrentKeyedObjectPool(int capacity, long evictDelay, EvictionPolicy evictionPolicy, boolean autoBalance, float balanceFactor,
+            long maxMemorySize, KeyedObjectPool.MemoryMeasure<K, E> memoryMeasure) {
+        this(capacity, evictDelay, evictionPolicy, autoBalance, balanceFactor, maxMemorySize, memoryMeasure, IOUtil.CPU_CORES * 4);
+    }
+
+    /**
+     *
+     * @param capacity
+     * @param evictDelay
+     * @param evictionPolicy
+     * @param autoBalance
+     * @param balanceFactor
+     * @param maxMemorySize
+     * @param memoryMeasure
+     * @param concurrencyLevel the number of segments, rounded up to the power of 2. It's not greater than the capacity.
+     */
+    @SuppressWarnings("unchecked")
+    protected ConcurrentKeyedObjectPool(int capacity, long evictDelay, EvictionPolicy evictionPolicy, boolean autoBalance, float balanceFactor,
+            long maxMemorySize, KeyedObjectPool.MemoryMeasure<K, E> memoryMeasure, int concurrencyLevel) {
+        super(capacity, evictDelay, evictionPolicy, autoBalance, balanceFactor);
+
+        this.maxMemorySize = maxMemorySize;
+        this.memoryMeasure = memoryMeasure;
+
+        int segmentCount = 1;
+
+        while (segmentCount < concurrencyLevel && segmentCount < capacity) {
+            segmentCount <<= 1;
+        }
+
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+
+        final int segmentMaxSize = capacity / segmentCount + 1;
+        final boolean tinyLFU = this.evictionPolicy == EvictionPolicy.TINY_LFU;
+
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(Math.min(1000, segmentMaxSize), segmentMaxSize, tinyLFU, evictDelay > 0);
+        }
+
+        switch (this.evictionPolicy) {
+            case LAST_ACCESS_TIME:
+
+                cmp = new Comparator<Map.Entry<K, E>>() {
+                    @Override
+                    public int compare(Map.Entry<K, E> o1, Map.Entry<K, E> o2) {
+                        return Long.compare(o1.getValue().activityPrint().getLastAccessTime(), o2.getValue().activityPrint().getLastAccessTime());
+                    }
+                };
+
+                break;
+
+            case ACCESS_COUNT:
+                cmp = new Comparator<Map.Entry<K, E>>() {
+                    @Override
+                    public int compare(Map.Entry<K, E> o1, Map.Entry<K, E> o2) {
+                        return Long.compare(o1.getValue().activityPrint().getAccessCount(), o2.getValue().activityPrint().getAccessCount());
+                    }
+                };
+
+                break;
+
+            case EXPIRATION_TIME:
+                cmp = new Comparator<Map.Entry<K, E>>() {
+                    @Override
+                    public int compare(Map.Entry<K, E> o1, Map.Entry<K, E> o2) {
+                        return Long.compare(o1.getValue().activityPrint().getExpirationTime(), o2.getValue().activityPrint().getExpirationTime());
+                    }
+                };
+
+                break;
+
+            case TINY_LFU:
+                // only the entries in the same segment are compared, under the lock of the segment.
+                cmp = new Comparator<Map.Entry<K, E>>() {
+                    @Override
+                    public int compare(Map.Entry<K, E> o1, Map.Entry<K, E> o2) {
+                        final FrequencySketch sketch = segmentFor(o1.getKey()).sketch;
+                        final int result = Integer.compare(sketch.frequency(o1.getKey()), sketch.frequency(o2.getKey()));
+
+                        return result == 0
+                                ? Long.compare(o1.getValue().activityPrint().getLastAccessTime(), o2.getValue().activityPrint().getLastAccessTime())
+                                : result;
+                    }
+                };
+
+                break;
+
+            default:
+                throw new RuntimeException("Unsupproted eviction policy: " + evictionPolicy.name());
+        }
+
+        if (evictDelay > 0) {
+            final Runnable evictTask = new Runnable() {
+                @Override
+                public void run() {
+                    // Evict from the pool
+                    try {
+                        evict();
+                    } catch (Exception e) {
+                        // ignore
+                        if (logger.isWarnEnabled()) {
+                            logger.warn(ExceptionUtil.getMessage(e));
+                        }
+                    }
+                }
+            };
+
+            scheduleFuture = scheduledExecutor.scheduleWithFixedDelay(evictTask, evictDelay, evictDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     *
+     * @param key
+     * @param e
+     * @return true, if successful
+     */
+    @Override
+    public boolean put(K key, E e) {
+        final long startTime = startTime();
+        boolean success = false;
+
+        try {
+            success = doPut(key, e);
+        } finally {
+            recordPut(success, startTime);
+        }
+
+        return success;
+    }
+
+    private boolean doPut(K key, E e) {
+        assertNotClosed();
+
+        if (key == null || e == null) {
+            throw new NullPointerException();
+        }
+
+        if (e.activityPrint().isExpired()) {
+            return false;
+        }
+
+        putCount.incrementAndGet();
+
+        final long memorySize = memoryMeasure == null ? 0 : memoryMeasure.sizeOf(key, e);
+
+        if (memoryMeasure != null && memorySize > maxMemorySize) {
+            return false;
+        }
+
+        // replacing the value of an existing key doesn't increase the count, and the memory of the old value is released.
+        final E existing = peek(key);
+        final boolean replacing = existing != null;
+        final long neededMemorySize = replacing && memoryMeasure != null ? memorySize - memoryMeasure.sizeOf(key, existing) : memorySize;
+
+        if (isFull(neededMemorySize, replacing)) {
+            if (autoBalance) {
+                vacateForPut(neededMemorySize, replacing);
+
+                if (memoryMeasure != null && usedMemorySize.get() + neededMemorySize > maxMemorySize) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+
+        final Segment<K, E> segment = segmentFor(key);
+        E oldValue = null;
+
+        segment.lock.lock();
+
+        try {
+            oldValue = segment.map.put(key, e);
+
+            if (oldValue == null) {
+                count.incrementAndGet();
+            }
+
+            if (segment.sketch != null) {
+                segment.sketch.increment(key);
+                segment.addToWindow(key);
+            }
+
+            if (segment.timerWheel != null) {
+                segment.timerWheel.schedule(key, TimerWheel.expirationTimeOf(e.activityPrint()));
+            }
+
+            if (memoryMeasure != null) {
+                usedMemorySize.addAndGet(memorySize);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+
+        if (oldValue != null) {
+            destroy(key, oldValue);
+        }
+
+        return true;
+    }
+
+    /**
+     *
+     * @param key
+     * @param e
+     * @param autoDestroyOnFailedToPut
+     * @return true, if successful
+     */
+    @Override
+    public boolean put(K key, E e, boolean autoDestroyOnFailedToPut) {
+        boolean sucess = false;
+
+        try {
+            sucess = put(key, e);
+        } finally {
+            if (autoDestroyOnFailedToPut && sucess == false && e != null) {
+                e.destroy();
+            }
+        }
+
+        return sucess;
+    }
+
+    /**
+     * The expired object is removed and destroyed, and {@code null} is returned.
+     *
+     * @param key
+     * @return
+     */
+    @Override
+    public E get(K key) {
+        assertNotClosed();
+
+        final long startTime = startTime();
+        final Segment<K, E> segment = segmentFor(key);
+        E e = null;
+        E expired = null;
+
+        segment.lock.lock();
+
+        try {
+            e = segment.map.get(key);
+
+            if (segment.sketch != null) {
+                segment.sketch.increment(key);
+            }
+
+            if (e != null) {
+                final ActivityPrint activityPrint = e.activityPrint();
+
+                if (activityPrint.isExpired()) {
+                    segment.map.remove(key);
+                    segment.unindex(key);
+                    count.decrementAndGet();
+                    expired = e;
+                    e = null;
+                } else {
+                    activityPrint.updateLastAccessTime();
+                    activityPrint.updateAccessCount();
+                }
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+
+        if (expired != null) {
+            destroy(key, expired);
+            expirationCount.incrementAndGet();
+        }
+
+        if (e != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+
+        recordGet(e != null, startTime);
+
+        return e;
+    }
+
+    /**
+     *
+     * @param key
+     * @return
+     */
+    @Override
+    public E remove(K key) {
+        assertNotClosed();
+
+        final Segment<K, E> segment = segmentFor(key);
+        E e = null;
+
+        segment.lock.lock();
+
+        try {
+            e = segment.map.remove(key);
+
+            if (e != null) {
+                count.decrementAndGet();
+                segment.unindex(key);
+
+                ActivityPrint activityPrint = e.activityPrint();
+                activityPrint.updateLastAccessTime();
+                activityPrint.updateAccessCount();
+
+                if (memoryMeasure != null) {
+                    usedMemorySize.addAndGet(-memoryMeasure.sizeOf(key, e));
+                }
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+
+        return e;
+    }
+
+    /**
+     *
+     * @param key
+     * @return
+     */
+    @Override
+    public E peek(K key) {
+        assertNotClosed();
+
+        final Segment<K, E> segment = segmentFor(key);
+
+        segment.lock.lock();
+
+        try {
+            return segment.map.get(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     *
+     * @param key
+     * @return true, if successful
+     */
+    @Override
+    public boolean containsKey(K key) {
+        assertNotClosed();
+
+        final Segment<K, E> segment = segmentFor(key);
+
+        segment.lock.lock();
+
+        try {
+            return segment.map.containsKey(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     *
+     * @param e
+     * @return true, if successful
+     */
+    @Override
+    public boolean containsValue(E e) {
+        assertNotClosed();
+
+        for (Segment<K, E> segment : segments) {
+            segment.lock.lock();
+
+            try {
+                if (segment.map.containsValue(e)) {
+                    return true;
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        assertNotClosed();
+
+        final Set<K> result = N.newHashSet(size());
+
+        for (Segment<K, E> segment : segments) {
+            segment.lock.lock();
+
+            try {
+                result.addAll(segment.map.keySet());
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Collection<E> values() {
+        assertNotClosed();
+
+        final List<E> result = new ArrayList<>(size());
+
+        for (Segment<K, E> segment : segments) {
+            segment.lock.lock();
+
+            try {
+                result.addAll(segment.map.values());
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Locks all the segments.
+     */
+    @Override
+    public void lock() {
+        for (Segment<K, E> segment : segments) {
+            segment.lock.lock();
+        }
+    }
+
+    /**
+     * Unlocks all the segments.
+     */
+    @Override
+    public void unlock() {
+        for (int i = segments.length - 1; i >= 0; i--) {
+            segments[i].lock.unlock();
+        }
+    }
+
+    /**
+     * Clear.
+     */
+    @Override
+    public void clear() {
+        assertNotClosed();
+
+        removeAll();
+    }
+
+    /**
+     * Close.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+
+        isClosed = true;
+
+        try {
+            if (scheduleFuture != null) {
+                scheduleFuture.cancel(true);
+            }
+        } finally {
+            removeAll();
+        }
+    }
+
+    /**
+     * Removes {@code balanceFactor} of the entries from each segment, one segment at a time.
+     */
+    @Override
+    public void vacate() {
+        assertNotClosed();
+
+        for (Segment<K, E> segment : segments) {
+            vacate(segment, false);
+        }
+    }
+
+    @Override
+    public PoolStats stats() {
+        return toStats(maxMemorySize, usedMemorySize.get());
+    }
+
+    @Override
+    public int size() {
+        // assertNotClosed();
+
+        return count.get();
+    }
+
+    @Override
+    public String toString() {
+        final Map<K, E> m = new HashMap<>();
+
+        for (Segment<K, E> segment : segments) {
+            segment.lock.lock();
+
+            try {
+                m.putAll(segment.map);
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+
+        return m.toString();
+    }
+
+    /**
+     * Removes the entries from the next segments in turn, until there is space for the new entry or all the segments have been tried.
+     *
+     * @param memorySize the memory size of the new entry.
+     * @param replacing {@code true} if the new entry replaces the value of an existing key.
+     */
+    protected void vacateForPut(final long memorySize, final boolean replacing) {
+        for (int i = 0, len = segments.length; i < len && isFull(memorySize, replacing); i++) {
+            vacate(segments[vacateCursor.getAndIncrement() & segmentMask], true);
+        }
+    }
+
+    /**
+     * Removes {@code balanceFactor} of the entries from the specified segment. The number of entries to remove is calculated
+     * under the lock of the segment.
+     *
+     * @param segment
+     * @param forPut {@code true} to remove at least one entry if the segment is not empty.
+     */
+    protected void vacate(final Segment<K, E> segment, final boolean forPut) {
+        Map<K, E> removingObjects = null;
+
+        segment.lock.lock();
+
+        try {
+            final Map<K, E> map = segment.map;
+            final int vacationNumber = forPut ? Math.max(1, (int) (map.size() * balanceFactor)) : (int) (map.size() * balanceFactor);
+
+            if (map.size() == 0 || vacationNumber <= 0) {
+                return;
+            } else if (vacationNumber >= map.size()) {
+                removingObjects = new HashMap<>(map);
+                map.clear();
+                segment.clearIndex();
+            } else {
+                // The entries in the window are kept unless there are not enough entries out of the window.
+                final Set<K> window = segment.window;
+                final boolean skipWindow = window != null && map.size() - window.size() >= vacationNumber;
+                final Queue<Map.Entry<K, E>> heap = new PriorityQueue<>(vacationNumber, Collections.reverseOrder(cmp));
+
+                for (Map.Entry<K, E> entry : map.entrySet()) {
+                    if (skipWindow && window.contains(entry.getKey())) {
+                        continue;
+                    }
+
+                    if (heap.size() < vacationNumber) {
+                        heap.offer(entry);
+                    } else if (cmp.compare(entry, heap.peek()) < 0) {
+                        heap.poll();
+                        heap.offer(entry);
+                    }
+                }
+
+                removingObjects = N.newHashMap(heap.size());
+
+                for (Map.Entry<K, E> entry : heap) {
+                    removingObjects.put(entry.getKey(), entry.getValue());
+                }
+
+                for (K key : removingObjects.keySet()) {
+                    map.remove(key);
+                    segment.unindex(key);
+                }
+            }
+
+            count.addAndGet(-removingObjects.size());
+        } finally {
+            segment.lock.unlock();
+        }
+
+        if (removingObjects != null) {
+            vacationCount.addAndGet(removingObjects.size());
+        }
+
+        destroyAll(removingObjects);
+    }
+
+    /**
+     * Removes the expired entries. The segments are locked one by one, and only the keys whose expiration time is reached
+     * in the timer wheel of the segment are checked. The ones accessed after they were scheduled are rescheduled by their new expiration time.
+     */
+    protected void evict() {
+        final long now = System.currentTimeMillis();
+
+        for (Segment<K, E> segment : segments) {
+            Map<K, E> removingObjects = null;
+
+            segment.lock.lock();
+
+            try {
+                final TimerWheel<K> timerWheel = segment.timerWheel;
+                final Collection<K> keys = timerWheel == null ? new ArrayList<>(segment.map.keySet()) : timerWheel.advance(now);
+                E e = null;
+
+                for (K key : keys) {
+                    e = segment.map.get(key);
+
+                    if (e == null) {
+                        continue;
+                    } else if (e.activityPrint().isExpired()) {
+                        if (removingObjects == null) {
+                            removingObjects = new HashMap<>();
+                        }
+
+                        removingObjects.put(key, e);
+                    } else if (timerWheel != null) {
+                        timerWheel.schedule(key, TimerWheel.expirationTimeOf(e.activityPrint()));
+                    }
+                }
+
+                if (removingObjects != null) {
+                    for (K key : removingObjects.keySet()) {
+                        segment.map.remove(key);
+                        segment.unindex(key);
+                    }
+
+                    count.addAndGet(-removingObjects.size());
+                    expirationCount.addAndGet(removingObjects.size());
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+
+            destroyAll(removingObjects);
+        }
+    }
+
+    /**
+     *
+     * @param key
+     * @param value
+     */
+    protected void destroy(K key, E value) {
+        evictionCount.incrementAndGet();
+
+        if (value != null) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Destroying cached object " + ClassUtil.getSimpleClassName(value.getClass()) + " with activity print: " + value.activityPrint());
+            }
+
+            if (memoryMeasure != null) {
+                usedMemorySize.addAndGet(-memoryMeasure.sizeOf(key, value));
+            }
+
+            try {
+                value.destroy();
+            } catch (Exception e) {
+
+                if (logger.isWarnEnabled()) {
+                    logger.warn(ExceptionUtil.getMessage(e));
+                }
+            }
+
+            recordEviction(value);
+        }
+    }
+
+    /**
+     *
+     * @param map
+     */
+    protected void destroyAll(Map<K, E> map) {
+        if (N.notNullOrEmpty(map)) {
+            for (Map.Entry<K, E> entry : map.entrySet()) {
+                destroy(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private boolean isFull(final long memorySize, final boolean replacing) {
+        return (!replacing && count.get() >= capacity) || (memoryMeasure != null && usedMemorySize.get() + memorySize > maxMemorySize);
+    }
+
+    private Segment<K, E> segmentFor(final Object key) {
+        final int h = key.hashCode();
+
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    /**
+     * Removes the all.
+     */
+    private void removeAll() {
+        for (Segment<K, E> segment : segments) {
+            Map<K, E> removingObjects = null;
+
+            segment.lock.lock();
+
+            try {
+                removingObjects = new HashMap<>(segment.map);
+                segment.map.clear();
+                segment.clearIndex();
+
+                count.addAndGet(-removingObjects.size());
+            } finally {
+                segment.lock.unlock();
+            }
+
+            destroyAll(removingObjects);
+        }
+    }
+
+    static final class Segment<K, E> implements java.io.Serializable {
+
+        private static final long serialVersionUID = 4185417254826536591L;
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        final Map<K, E> map;
+
+        /** Only for {@code EvictionPolicy.TINY_LFU}. */
+        final FrequencySketch sketch;
+
+        /** The most recently added keys in this segment. Only for {@code EvictionPolicy.TINY_LFU}. */
+        final Set<K> window;
+
+        final int windowCapacity;
+
+        /** The keys in this segment indexed by their expiration time. Only if {@code evictDelay > 0}. */
+        final TimerWheel<K> timerWheel;
+
+        Segment(final int initialCapacity, final int maxSize, final boolean tinyLFU, final boolean timed) {
+            this.map = new HashMap<>(initialCapacity);
+            this.timerWheel = timed ? new TimerWheel<K>(System.currentTimeMillis()) : null;
+
+            if (tinyLFU) {
+                this.sketch = new FrequencySketch(maxSize);
+                this.window = new LinkedHashSet<>();
+                this.windowCapacity = Math.max(1, maxSize / 100);
+            } else {
+                this.sketch = null;
+                this.window = null;
+                this.windowCapacity = 0;
+            }
+        }
+
+        void addToWindow(final K key) {
+            if (window.add(key) && window.size() > windowCapacity) {
+                final Iterator<K> iter = window.iterator();
+                iter.next();
+                iter.remove();
+            }
+        }
+
+        /**
+         * Removes the specified key from the window and the timer wheel.
+         *
+         * @param key
+         */
+        void unindex(final K key) {
+            if (window != null) {
+                window.remove(key);
+            }
+
+            if (timerWheel != null) {
+                timerWheel.deschedule(key);
+            }
+        }
+
+        void clearIndex() {
+            if (window != null) {
+                window.clear();
+            }
+
+            if (timerWheel != null) {
+                timerWheel.clear();
+            }
+        }
+    }
+}
@@ -32,5 +32,13 @@ public enum EvictionPolicy {
     /**
      * Field ACCESSED_COUNT.
      */
-    ACCESS_COUNT;
+    ACCESS_COUNT,
+    /**
+     * Window TinyLFU. The most recently added entries are kept in a small window (1% of the capacity).
+     * The other entries are evicted by the access frequency estimated by a count-min sketch which is aged periodically,
+     * then by the last access time.
+     *
+     * @since 2.3.12
+     */
+    TINY_LFU;
 }
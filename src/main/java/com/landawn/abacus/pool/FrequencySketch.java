@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.pool;
+
+import java.io.Serializable;
+
+/**
+ * A count-min sketch with four 4-bit counters per key, used by {@link EvictionPolicy#TINY_LFU} to estimate how often a key is accessed.
+ * All the counters are halved after {@code 10 * capacity} increments, so the frequency of once-hot keys decays over time.
+ * <br />
+ * It's not thread-safe. The callers must hold the pool lock.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ */
+final class FrequencySketch implements Serializable {
+
+    private static final long serialVersionUID = -1577206389436389498L;
+
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+
+    private final int tableMask;
+
+    private final int sampleSize;
+
+    private int size;
+
+    /**
+     *
+     * @param capacity the expected number of entries in the pool.
+     */
+    FrequencySketch(final int capacity) {
+        final int maximum = Math.max(capacity, 16);
+        int tableSize = 1;
+
+        while (tableSize < maximum && tableSize < (1 << 30)) {
+            tableSize <<= 1;
+        }
+
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = (int) Math.min(10L * maximum, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated access frequency of the specified key, from 0 to 15.
+     *
+     * @param key
+     * @return
+     */
+    int frequency(final Object key) {
+        final int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            final long h = rehash(hash, i);
+            final int shift = offsetOf(h) << 2;
+
+            frequency = Math.min(frequency, (int) ((table[indexOf(h)] >>> shift) & 0xFL));
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Increments the counters of the specified key if they are not saturated.
+     *
+     * @param key
+     */
+    void increment(final Object key) {
+        final int hash = spread(key.hashCode());
+        boolean added = false;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            final long h = rehash(hash, i);
+            final int index = indexOf(h);
+            final int shift = offsetOf(h) << 2;
+
+            if (((table[index] >>> shift) & 0xFL) < MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Halves all the counters.
+     */
+    void reset() {
+        for (int i = 0, len = table.length; i < len; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+
+        size >>>= 1;
+    }
+
+    /**
+     * Clears all the counters.
+     */
+    void clear() {
+        for (int i = 0, len = table.length; i < len; i++) {
+            table[i] = 0;
+        }
+
+        size = 0;
+    }
+
+    private int indexOf(final long h) {
+        return (int) h & tableMask;
+    }
+
+    private static int offsetOf(final long h) {
+        return (int) (h >>> 40) & 15;
+    }
+
+    private static long rehash(final int hash, final int i) {
+        long h = (hash + SEEDS[i]) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 29;
+
+        return h;
+    }
+
+    private static int spread(final int h) {
+        return (h ^ (h >>> 16)) * 0x45d9f3b;
+    }
+}
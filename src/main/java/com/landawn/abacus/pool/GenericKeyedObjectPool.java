@@ -17,8 +17,11 @@ package com.landawn.abacus.pool;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
@@ -52,6 +55,17 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
 
     final Comparator<Map.Entry<K, E>> cmp;
 
+    /** The access frequency of keys, only for {@code EvictionPolicy.TINY_LFU}. */
+    final FrequencySketch sketch;
+
+    /** The most recently added keys, which are not evicted by {@code vacate}. Only for {@code EvictionPolicy.TINY_LFU}. */
+    final Set<K> window;
+
+    final int windowCapacity;
+
+    /** The keys indexed by the expiration time of their values, only if {@code evictDelay > 0}. */
+    final TimerWheel<K> timerWheel;
+
     ScheduledFuture<?> scheduleFuture;
 
     protected GenericKeyedObjectPool(int capacity, long evictDelay, EvictionPolicy evictionPolicy) {
@@ -75,6 +89,18 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
         this.memoryMeasure = memoryMeasure;
         this.pool = new HashMap<>((capacity > 1000) ? 1000 : capacity);
 
+        if (this.evictionPolicy == EvictionPolicy.TINY_LFU) {
+            this.sketch = new FrequencySketch(capacity);
+            this.window = new LinkedHashSet<>();
+            this.windowCapacity = Math.max(1, capacity / 100);
+        } else {
+            this.sketch = null;
+            this.window = null;
+            this.windowCapacity = 0;
+        }
+
+        this.timerWheel = evictDelay > 0 ? new TimerWheel<K>(System.currentTimeMillis()) : null;
+
         switch (this.evictionPolicy) {
             case LAST_ACCESS_TIME:
 
@@ -107,6 +133,20 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
 
                 break;
 
+            case TINY_LFU:
+                cmp = new Comparator<Map.Entry<K, E>>() {
+                    @Override
+                    public int compare(Map.Entry<K, E> o1, Map.Entry<K, E> o2) {
+                        final int result = Integer.compare(sketch.frequency(o1.getKey()), sketch.frequency(o2.getKey()));
+
+                        return result == 0
+                                ? Long.compare(o1.getValue().activityPrint().getLastAccessTime(), o2.getValue().activityPrint().getLastAccessTime())
+                                : result;
+                    }
+                };
+
+                break;
+
             default:
                 throw new RuntimeException("Unsupproted eviction policy: " + evictionPolicy.name());
         }
@@ -139,6 +179,19 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
      */
     @Override
     public boolean put(K key, E e) {
+        final long startTime = startTime();
+        boolean success = false;
+
+        try {
+            success = doPut(key, e);
+        } finally {
+            recordPut(success, startTime);
+        }
+
+        return success;
+    }
+
+    private boolean doPut(K key, E e) {
         assertNotClosed();
 
         if (key == null || e == null) {
@@ -154,6 +207,10 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
         lock.lock();
 
         try {
+            if (sketch != null) {
+                sketch.increment(key);
+            }
+
             if (pool.size() >= capacity || usedMemorySize > maxMemorySize) {
                 if (autoBalance) {
                     vacate();
@@ -179,6 +236,14 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
                     usedMemorySize += memorySize;
                 }
 
+                if (window != null) {
+                    addToWindow(key);
+                }
+
+                if (timerWheel != null) {
+                    timerWheel.schedule(key, TimerWheel.expirationTimeOf(e.activityPrint()));
+                }
+
                 notEmpty.signal();
 
                 return true;
@@ -219,6 +284,7 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
     public E get(K key) {
         assertNotClosed();
 
+        final long startTime = startTime();
         E e = null;
 
         lock.lock();
@@ -226,6 +292,20 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
         try {
             e = pool.get(key);
 
+            if (sketch != null) {
+                sketch.increment(key);
+            }
+
+            if (e != null && e.activityPrint().isExpired()) {
+                pool.remove(key);
+                unindex(key);
+                destroy(key, e);
+                expirationCount.incrementAndGet();
+                notFull.signal();
+
+                e = null;
+            }
+
             if (e != null) {
                 ActivityPrint activityPrint = e.activityPrint();
                 activityPrint.updateLastAccessTime();
@@ -239,6 +319,8 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
             return e;
         } finally {
             lock.unlock();
+
+            recordGet(e != null, startTime);
         }
     }
 
@@ -267,6 +349,8 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
                     usedMemorySize -= memoryMeasure.sizeOf(key, e);
                 }
 
+                unindex(key);
+
                 notFull.signal();
             }
 
@@ -404,6 +488,11 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
         }
     }
 
+    @Override
+    public PoolStats stats() {
+        return toStats(maxMemorySize, usedMemorySize);
+    }
+
     @Override
     public int size() {
         // assertNotClosed();
@@ -440,12 +529,22 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
         int size = pool.size();
 
         if (vacationNumber >= size) {
+            vacationCount.addAndGet(size);
             destroyAll(new HashMap<>(pool));
             pool.clear();
+            clearIndex();
         } else {
-            final Queue<Map.Entry<K, E>> heap = new PriorityQueue<>(vacationNumber, cmp);
+            // The entries in the window are kept unless there are not enough entries out of the window.
+            final boolean skipWindow = window != null && size - window.size() >= vacationNumber;
+
+            // max heap of the entries to remove: the top one is replaced if a smaller one is found.
+            final Queue<Map.Entry<K, E>> heap = new PriorityQueue<>(vacationNumber, Collections.reverseOrder(cmp));
 
             for (Map.Entry<K, E> entry : pool.entrySet()) {
+                if (skipWindow && window.contains(entry.getKey())) {
+                    continue;
+                }
+
                 if (heap.size() < vacationNumber) {
                     heap.offer(entry);
                 } else if (cmp.compare(entry, heap.peek()) < 0) {
@@ -457,17 +556,23 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
             final Map<K, E> removingObjects = N.newHashMap(heap.size());
 
             for (Map.Entry<K, E> entry : heap) {
-                pool.remove(entry.getKey());
                 removingObjects.put(entry.getKey(), entry.getValue());
             }
 
+            for (K key : removingObjects.keySet()) {
+                pool.remove(key);
+                unindex(key);
+            }
+
+            vacationCount.addAndGet(removingObjects.size());
             destroyAll(removingObjects);
         }
     }
 
     /**
-     * scan the object pool to find the idle object which inactive time greater than permitted the inactive time for it
-     * or it's time out.
+     * Removes the idle objects which inactive time greater than permitted the inactive time for it or it's time out.
+     * Only the keys whose expiration time is reached in the timer wheel are checked, instead of scanning the object pool.
+     * The ones accessed after they were scheduled are rescheduled by their new expiration time.
      * 
      */
     @SuppressWarnings("null")
@@ -477,21 +582,34 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
         Map<K, E> removingObjects = null;
 
         try {
-            for (Map.Entry<K, E> entry : pool.entrySet()) {
-                if (entry.getValue().activityPrint().isExpired()) {
+            final Collection<K> keys = timerWheel == null ? pool.keySet() : timerWheel.advance(System.currentTimeMillis());
+            E e = null;
+
+            for (K key : keys) {
+                e = pool.get(key);
+
+                if (e == null) {
+                    continue;
+                }
+
+                if (e.activityPrint().isExpired()) {
                     if (removingObjects == null) {
                         removingObjects = Objectory.createMap();
                     }
 
-                    removingObjects.put(entry.getKey(), entry.getValue());
+                    removingObjects.put(key, e);
+                } else if (timerWheel != null) {
+                    timerWheel.schedule(key, TimerWheel.expirationTimeOf(e.activityPrint()));
                 }
             }
 
             if (N.notNullOrEmpty(removingObjects)) {
                 for (K key : removingObjects.keySet()) {
                     pool.remove(key);
+                    unindex(key);
                 }
 
+                expirationCount.addAndGet(removingObjects.size());
                 destroyAll(removingObjects);
 
                 notFull.signalAll();
@@ -528,6 +646,8 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
                     logger.warn(ExceptionUtil.getMessage(e));
                 }
             }
+
+            recordEviction(value);
         }
     }
 
@@ -543,6 +663,44 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
         }
     }
 
+    /**
+     * Adds the key to the window. The oldest key is moved out of the window, to be evicted by its frequency, if the window is full.
+     *
+     * @param key
+     */
+    private void addToWindow(K key) {
+        if (window.add(key) && window.size() > windowCapacity) {
+            final Iterator<K> iter = window.iterator();
+            iter.next();
+            iter.remove();
+        }
+    }
+
+    /**
+     * Removes the key from the window and the timer wheel.
+     *
+     * @param key
+     */
+    private void unindex(K key) {
+        if (window != null) {
+            window.remove(key);
+        }
+
+        if (timerWheel != null) {
+            timerWheel.deschedule(key);
+        }
+    }
+
+    private void clearIndex() {
+        if (window != null) {
+            window.clear();
+        }
+
+        if (timerWheel != null) {
+            timerWheel.clear();
+        }
+    }
+
     /**
      * Removes the all.
      */
@@ -553,6 +711,7 @@ public class GenericKeyedObjectPool<K, E extends Poolable> extends AbstractPool
             destroyAll(new HashMap<>(pool));
 
             pool.clear();
+            clearIndex();
 
             notFull.signalAll();
         } finally {
@@ -15,11 +15,10 @@
 package com.landawn.abacus.pool;
 
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.Deque;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Queue;
@@ -47,10 +46,24 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
 
     private volatile long usedMemorySize = 0;
 
-    final Deque<E> pool;
+    final EntryStack<E> pool;
 
     final Comparator<E> cmp;
 
+    final Comparator<Entry<E>> entryCmp;
+
+    /** The access frequency of objects, only for {@code EvictionPolicy.TINY_LFU}. */
+    final FrequencySketch sketch;
+
+    /** The number of the most recently added objects on the head of the pool, which are not evicted by {@code vacate}. */
+    final int windowCapacity;
+
+    /**
+     * The entries of the objects indexed by their expiration time, only if {@code evictDelay > 0}. The entries, instead of the objects,
+     * are scheduled, so the equal objects in the pool have their own schedules, and the expired ones can be removed from the pool by their entries.
+     */
+    final TimerWheel<Entry<E>> timerWheel;
+
     ScheduledFuture<?> scheduleFuture;
 
     protected GenericObjectPool(int capacity, long evictDelay, EvictionPolicy evictionPolicy) {
@@ -71,7 +84,17 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
 
         this.maxMemorySize = maxMemorySize;
         this.memoryMeasure = memoryMeasure;
-        this.pool = new ArrayDeque<>((capacity > 1000) ? 1000 : capacity);
+        this.pool = new EntryStack<>();
+
+        if (this.evictionPolicy == EvictionPolicy.TINY_LFU) {
+            this.sketch = new FrequencySketch(capacity);
+            this.windowCapacity = Math.max(1, capacity / 100);
+        } else {
+            this.sketch = null;
+            this.windowCapacity = 0;
+        }
+
+        this.timerWheel = evictDelay > 0 ? new TimerWheel<Entry<E>>(System.currentTimeMillis()) : null;
 
         switch (this.evictionPolicy) {
             // =============================================== For Priority Queue
@@ -107,10 +130,29 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
 
                 break;
 
+            case TINY_LFU:
+                cmp = new Comparator<E>() {
+                    @Override
+                    public int compare(E o1, E o2) {
+                        final int result = Integer.compare(sketch.frequency(o1), sketch.frequency(o2));
+
+                        return result == 0 ? Long.compare(o1.activityPrint().getLastAccessTime(), o2.activityPrint().getLastAccessTime()) : result;
+                    }
+                };
+
+                break;
+
             default:
                 throw new RuntimeException("Unsupproted eviction policy: " + evictionPolicy.name());
         }
 
+        this.entryCmp = new Comparator<Entry<E>>() {
+            @Override
+            public int compare(Entry<E> o1, Entry<E> o2) {
+                return cmp.compare(o1.value, o2.value);
+            }
+        };
+
         if (evictDelay > 0) {
             final Runnable evictTask = new Runnable() {
                 @Override
@@ -138,6 +180,19 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
      */
     @Override
     public boolean add(E e) {
+        final long startTime = startTime();
+        boolean success = false;
+
+        try {
+            success = doAdd(e);
+        } finally {
+            recordPut(success, startTime);
+        }
+
+        return success;
+    }
+
+    private boolean doAdd(E e) {
         assertNotClosed();
 
         if (e == null) {
@@ -153,6 +208,10 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
         lock.lock();
 
         try {
+            if (sketch != null) {
+                sketch.increment(e);
+            }
+
             if (pool.size() >= capacity) {
                 if (autoBalance) {
                     vacate();
@@ -166,7 +225,11 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
 
                 return false;
             } else {
-                pool.push(e);
+                final Entry<E> entry = pool.push(e);
+
+                if (timerWheel != null) {
+                    timerWheel.schedule(entry, TimerWheel.expirationTimeOf(e.activityPrint()));
+                }
 
                 if (memoryMeasure != null) {
                     usedMemorySize += memoryMeasure.sizeOf(e);
@@ -212,6 +275,19 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
      */
     @Override
     public boolean add(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        final long startTime = startTime();
+        boolean success = false;
+
+        try {
+            success = doAdd(e, timeout, unit);
+        } finally {
+            recordPut(success, startTime);
+        }
+
+        return success;
+    }
+
+    private boolean doAdd(E e, long timeout, TimeUnit unit) throws InterruptedException {
         assertNotClosed();
 
         if (e == null) {
@@ -225,9 +301,15 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
         putCount.incrementAndGet();
 
         long nanos = unit.toNanos(timeout);
+        long waited = 0;
+
         lock.lock();
 
         try {
+            if (sketch != null) {
+                sketch.increment(e);
+            }
+
             if ((pool.size() >= capacity) && autoBalance) {
                 vacate();
             }
@@ -239,7 +321,11 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
 
                         return false;
                     } else {
-                        pool.push(e);
+                        final Entry<E> entry = pool.push(e);
+
+                        if (timerWheel != null) {
+                            timerWheel.schedule(entry, TimerWheel.expirationTimeOf(e.activityPrint()));
+                        }
 
                         if (memoryMeasure != null) {
                             usedMemorySize += memoryMeasure.sizeOf(e);
@@ -255,10 +341,14 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
                     return false;
                 }
 
+                final long remaining = nanos;
                 nanos = notFull.awaitNanos(nanos);
+                waited += remaining - nanos;
             }
         } finally {
             lock.unlock();
+
+            recordWait(waited);
         }
     }
 
@@ -290,18 +380,23 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
     public E take() {
         assertNotClosed();
 
+        final long startTime = startTime();
         E e = null;
 
         lock.lock();
 
         try {
-            e = pool.size() > 0 ? pool.pop() : null;
+            e = popNotExpired();
 
             if (e != null) {
                 ActivityPrint activityPrint = e.activityPrint();
                 activityPrint.updateLastAccessTime();
                 activityPrint.updateAccessCount();
 
+                if (sketch != null) {
+                    sketch.increment(e);
+                }
+
                 if (memoryMeasure != null) {
                     usedMemorySize -= memoryMeasure.sizeOf(e);
                 }
@@ -314,6 +409,8 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
             }
         } finally {
             lock.unlock();
+
+            recordGet(e != null, startTime);
         }
 
         return e;
@@ -330,20 +427,26 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
     public E take(long timeout, TimeUnit unit) throws InterruptedException {
         assertNotClosed();
 
+        final long startTime = startTime();
         E e = null;
         long nanos = unit.toNanos(timeout);
+        long waited = 0;
 
         lock.lock();
 
         try {
             while (true) {
-                e = pool.size() > 0 ? pool.pop() : null;
+                e = popNotExpired();
 
                 if (e != null) {
                     ActivityPrint activityPrint = e.activityPrint();
                     activityPrint.updateLastAccessTime();
                     activityPrint.updateAccessCount();
 
+                    if (sketch != null) {
+                        sketch.increment(e);
+                    }
+
                     if (memoryMeasure != null) {
                         usedMemorySize -= memoryMeasure.sizeOf(e);
                     }
@@ -361,10 +464,15 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
                     return null;
                 }
 
+                final long remaining = nanos;
                 nanos = notEmpty.awaitNanos(nanos);
+                waited += remaining - nanos;
             }
         } finally {
             lock.unlock();
+
+            recordWait(waited);
+            recordGet(e != null, startTime);
         }
     }
 
@@ -434,6 +542,11 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
         }
     }
 
+    @Override
+    public PoolStats stats() {
+        return toStats(maxMemorySize, usedMemorySize);
+    }
+
     @Override
     public int size() {
         // assertNotClosed();
@@ -470,31 +583,55 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
         int size = pool.size();
 
         if (vacationNumber >= size) {
-            destroyAll(new ArrayList<>(pool));
+            vacationCount.addAndGet(size);
+            destroyAll(pool.values());
             pool.clear();
+
+            if (timerWheel != null) {
+                timerWheel.clear();
+            }
         } else {
-            final Queue<E> heap = new PriorityQueue<>(vacationNumber, cmp);
+            // The objects are pushed to the head of the pool. The ones in the window are kept unless there are not enough objects out of the window.
+            int skipCount = windowCapacity > 0 && size - windowCapacity >= vacationNumber ? windowCapacity : 0;
+
+            // max heap of the objects to remove: the top one is replaced if a smaller one is found.
+            final Queue<Entry<E>> heap = new PriorityQueue<>(vacationNumber, Collections.reverseOrder(entryCmp));
+
+            for (Entry<E> entry = pool.first(); entry != null; entry = pool.next(entry)) {
+                if (skipCount > 0) {
+                    skipCount--;
+                    continue;
+                }
 
-            for (E e : pool) {
                 if (heap.size() < vacationNumber) {
-                    heap.offer(e);
-                } else if (cmp.compare(e, heap.peek()) < 0) {
+                    heap.offer(entry);
+                } else if (entryCmp.compare(entry, heap.peek()) < 0) {
                     heap.poll();
-                    heap.offer(e);
+                    heap.offer(entry);
                 }
             }
 
-            for (E e : heap) {
-                pool.remove(e);
+            final List<E> removingObjects = new ArrayList<>(heap.size());
+
+            for (Entry<E> entry : heap) {
+                pool.remove(entry);
+
+                if (timerWheel != null) {
+                    timerWheel.deschedule(entry);
+                }
+
+                removingObjects.add(entry.value);
             }
 
-            destroyAll(heap);
+            vacationCount.addAndGet(removingObjects.size());
+            destroyAll(removingObjects);
         }
     }
 
     /**
-     * scan the object pool to find the idle object which inactive time greater than permitted the inactive time for it
-     * or it's time out.
+     * Removes the idle objects which inactive time greater than permitted the inactive time for it or it's time out.
+     * Only the objects whose expiration time is reached in the timer wheel are checked, instead of scanning the object pool,
+     * and they're removed from the pool by their entries. The ones accessed after they were scheduled are rescheduled by their new expiration time.
      * 
      */
     protected void evict() {
@@ -503,18 +640,23 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
         List<E> removingObjects = null;
 
         try {
-            for (E e : pool) {
-                if (e.activityPrint().isExpired()) {
+            final Collection<Entry<E>> c = timerWheel == null ? pool.entries() : timerWheel.advance(System.currentTimeMillis());
+
+            for (Entry<E> entry : c) {
+                if (entry.value.activityPrint().isExpired()) {
                     if (removingObjects == null) {
                         removingObjects = Objectory.createList();
                     }
 
-                    removingObjects.add(e);
+                    pool.remove(entry);
+                    removingObjects.add(entry.value);
+                } else if (timerWheel != null) {
+                    timerWheel.schedule(entry, TimerWheel.expirationTimeOf(entry.value.activityPrint()));
                 }
             }
 
             if (N.notNullOrEmpty(removingObjects)) {
-                pool.removeAll(removingObjects);
+                expirationCount.addAndGet(removingObjects.size());
 
                 destroyAll(removingObjects);
 
@@ -551,6 +693,8 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
                     logger.warn(ExceptionUtil.getMessage(e));
                 }
             }
+
+            recordEviction(value);
         }
     }
 
@@ -566,6 +710,36 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
         }
     }
 
+    /**
+     * Pops the object on the head of the pool. The expired ones on the head are destroyed.
+     *
+     * @return {@code null} if there is no object which is not expired in the pool.
+     */
+    private E popNotExpired() {
+        E e = null;
+
+        while (pool.size() > 0) {
+            final Entry<E> entry = pool.pop();
+            e = entry.value;
+
+            if (timerWheel != null) {
+                timerWheel.deschedule(entry);
+            }
+
+            if (e.activityPrint().isExpired()) {
+                destroy(e);
+                expirationCount.incrementAndGet();
+                notFull.signal();
+
+                e = null;
+            } else {
+                break;
+            }
+        }
+
+        return e;
+    }
+
     /**
      * Removes the all.
      */
@@ -573,10 +747,14 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
         lock.lock();
 
         try {
-            destroyAll(new ArrayList<>(pool));
+            destroyAll(pool.values());
 
             pool.clear();
 
+            if (timerWheel != null) {
+                timerWheel.clear();
+            }
+
             notFull.signalAll();
         } finally {
             lock.unlock();
@@ -613,4 +791,193 @@ public class GenericObjectPool<E extends Poolable> extends AbstractPool implemen
             lock.unlock();
         }
     }
+
+    /**
+     * The entry of an object in the pool.
+     *
+     * @param <E>
+     */
+    static final class Entry<E> implements java.io.Serializable {
+
+        private static final long serialVersionUID = 6937204913362788104L;
+
+        final E value;
+
+        transient Entry<E> prev;
+
+        transient Entry<E> next;
+
+        Entry(final E value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * The objects in the pool, linked by their entries. The objects are pushed to and popped from the head, and an object can be removed
+     * by its entry without scanning the stack. The same object can be pushed more than once, and each time it has a new entry.
+     * <br />
+     * It's not thread-safe. The callers must hold the pool lock.
+     *
+     * @param <E>
+     */
+    static final class EntryStack<E> implements java.io.Serializable {
+
+        private static final long serialVersionUID = -1847326937457810316L;
+
+        private transient Entry<E> head = newHead();
+
+        private transient int size = 0;
+
+        Entry<E> push(final E e) {
+            final Entry<E> entry = new Entry<>(e);
+
+            entry.prev = head;
+            entry.next = head.next;
+            head.next.prev = entry;
+            head.next = entry;
+            size++;
+
+            return entry;
+        }
+
+        /**
+         *
+         * @return the entry on the head, or {@code null} if it's empty.
+         */
+        Entry<E> pop() {
+            final Entry<E> entry = first();
+
+            if (entry != null) {
+                remove(entry);
+            }
+
+            return entry;
+        }
+
+        /**
+         *
+         * @param entry
+         * @return {@code false} if the entry has been removed.
+         */
+        boolean remove(final Entry<E> entry) {
+            if (entry.prev == null) {
+                return false;
+            }
+
+            entry.prev.next = entry.next;
+            entry.next.prev = entry.prev;
+            entry.prev = entry.next = null;
+            size--;
+
+            return true;
+        }
+
+        Entry<E> first() {
+            return head.next == head ? null : head.next;
+        }
+
+        /**
+         *
+         * @param entry
+         * @return the entry after the specified one, or {@code null} if it's the last one.
+         */
+        Entry<E> next(final Entry<E> entry) {
+            return entry.next == head ? null : entry.next;
+        }
+
+        boolean contains(final Object e) {
+            for (Entry<E> entry = first(); entry != null; entry = next(entry)) {
+                if (N.equals(entry.value, e)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        List<Entry<E>> entries() {
+            final List<Entry<E>> result = new ArrayList<>(size);
+
+            for (Entry<E> entry = first(); entry != null; entry = next(entry)) {
+                result.add(entry);
+            }
+
+            return result;
+        }
+
+        List<E> values() {
+            final List<E> result = new ArrayList<>(size);
+
+            for (Entry<E> entry = first(); entry != null; entry = next(entry)) {
+                result.add(entry.value);
+            }
+
+            return result;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            for (Entry<E> entry = first(); entry != null;) {
+                final Entry<E> next = next(entry);
+                entry.prev = entry.next = null;
+                entry = next;
+            }
+
+            head.prev = head.next = head;
+            size = 0;
+        }
+
+        @Override
+        public String toString() {
+            return values().toString();
+        }
+
+        private static <E> Entry<E> newHead() {
+            final Entry<E> head = new Entry<>(null);
+            head.prev = head.next = head;
+
+            return head;
+        }
+
+        /**
+         * The entries are written one by one from the head, instead of by the links recursively.
+         *
+         * @param os
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        private void writeObject(java.io.ObjectOutputStream os) throws java.io.IOException {
+            os.defaultWriteObject();
+            os.writeInt(size);
+
+            for (Entry<E> entry = first(); entry != null; entry = next(entry)) {
+                os.writeObject(entry);
+            }
+        }
+
+        /**
+         *
+         * @param is
+         * @throws IOException Signals that an I/O exception has occurred.
+         * @throws ClassNotFoundException the class not found exception
+         */
+        @SuppressWarnings("unchecked")
+        private void readObject(java.io.ObjectInputStream is) throws java.io.IOException, ClassNotFoundException {
+            is.defaultReadObject();
+
+            head = newHead();
+
+            for (int i = 0, len = is.readInt(); i < len; i++) {
+                final Entry<E> entry = (Entry<E>) is.readObject();
+
+                entry.prev = head.prev;
+                entry.next = head;
+                head.prev.next = entry;
+                head.prev = entry;
+                size++;
+            }
+        }
+    }
 }
@@ -83,4 +83,29 @@ public interface Pool extends Serializable {
      * @return
      */
     long evictionCount();
+
+    /**
+     * Returns a snapshot of the statistics of this pool.
+     *
+     * @return
+     * @since 2.3.12
+     */
+    PoolStats stats();
+
+    /**
+     * Sets the listener of the operations on this pool. {@code null} to remove the listener.
+     *
+     * @param listener
+     * @since 2.3.12
+     */
+    void setListener(PoolListener listener);
+
+    /**
+     * Enables/disables the latency histograms of {@code put/add}, {@code get/take} and the waits. They're disabled by default.
+     *
+     * @param enabled
+     * @since 2.3.12
+     * @see PoolStats#getPutLatency()
+     */
+    void setLatencyHistogramEnabled(boolean enabled);
 }
@@ -100,7 +100,7 @@ public abstract class PoolFactory {
      * @param <E>
      * @param capacity
      * @param evictDelay
-     * @param evictionPolicy default value is <code>EvictionPolicy.LAST_ACCESS_TIME</code>
+     * @param evictionPolicy default value is <code>EvictionPolicy.LAST_ACCESS_TIME</code>. <code>EvictionPolicy.TINY_LFU</code> is recommended for the pools used as caches.
      * @param autoBalance default value is <code>true</code>
      * @param balanceFactor default value is <code>0.2</code>
      * @param maxMemorySize
@@ -192,7 +192,7 @@ public abstract class PoolFactory {
      * @param <E>
      * @param capacity
      * @param evictDelay
-     * @param evictionPolicy default value is <code>EvictionPolicy.LAST_ACCESS_TIME</code>
+     * @param evictionPolicy default value is <code>EvictionPolicy.LAST_ACCESS_TIME</code>. <code>EvictionPolicy.TINY_LFU</code> is recommended for the pools used as caches.
      * @param autoBalance default value is <code>true</code>
      * @param balanceFactor default value is <code>0.2</code>
      * @param maxMemorySize
@@ -203,4 +203,53 @@ public abstract class PoolFactory {
             boolean autoBalance, float balanceFactor, long maxMemorySize, KeyedObjectPool.MemoryMeasure<K, E> memoryMeasure) {
         return new GenericKeyedObjectPool<>(capacity, evictDelay, evictionPolicy, autoBalance, balanceFactor, maxMemorySize, memoryMeasure);
     }
+
+    /**
+     * Creates a new Pool object for high concurrency, which can be used as a keyed cache.
+     *
+     * @param <K> the key type
+     * @param <E>
+     * @param capacity
+     * @return
+     * @see ConcurrentKeyedObjectPool
+     */
+    public static <K, E extends Poolable> KeyedObjectPool<K, E> createConcurrentKeyedObjectPool(int capacity) {
+        return new ConcurrentKeyedObjectPool<>(capacity, AbstractPool.DEFAULT_EVICT_DELAY, EvictionPolicy.LAST_ACCESS_TIME);
+    }
+
+    /**
+     * Creates a new Pool object for high concurrency, which can be used as a keyed cache.
+     *
+     * @param <K> the key type
+     * @param <E>
+     * @param capacity
+     * @param evictDelay
+     * @param evictionPolicy
+     * @return
+     * @see ConcurrentKeyedObjectPool
+     */
+    public static <K, E extends Poolable> KeyedObjectPool<K, E> createConcurrentKeyedObjectPool(int capacity, long evictDelay,
+            EvictionPolicy evictionPolicy) {
+        return new ConcurrentKeyedObjectPool<>(capacity, evictDelay, evictionPolicy);
+    }
+
+    /**
+     * Creates a new Pool object for high concurrency, which can be used as a keyed cache.
+     *
+     * @param <K> the key type
+     * @param <E>
+     * @param capacity
+     * @param evictDelay
+     * @param evictionPolicy default value is <code>EvictionPolicy.LAST_ACCESS_TIME</code>. <code>EvictionPolicy.TINY_LFU</code> is recommended for the pools used as caches.
+     * @param autoBalance default value is <code>true</code>
+     * @param balanceFactor default value is <code>0.2</code>
+     * @param maxMemorySize
+     * @param memoryMeasure
+     * @return
+     * @see ConcurrentKeyedObjectPool
+     */
+    public static <K, E extends Poolable> KeyedObjectPool<K, E> createConcurrentKeyedObjectPool(int capacity, long evictDelay,
+            EvictionPolicy evictionPolicy, boolean autoBalance, float balanceFactor, long maxMemorySize, KeyedObjectPool.MemoryMeasure<K, E> memoryMeasure) {
+        return new ConcurrentKeyedObjectPool<>(capacity, evictDelay, evictionPolicy, autoBalance, balanceFactor, maxMemorySize, memoryMeasure);
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.pool;
+
+/**
+ * The listener of the pool operations, e.g. to export the metrics of the pool. It's called synchronously by the thread executing the operation,
+ * so it should be quick. The exceptions thrown by it are logged and ignored.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ * @see Pool#setListener(PoolListener)
+ */
+public interface PoolListener {
+
+    /**
+     * Called after {@code put/add}.
+     *
+     * @param pool
+     * @param success {@code false} if the object is rejected by the pool.
+     * @param elapsedTime in nanoseconds.
+     */
+    void onPut(Pool pool, boolean success, long elapsedTime);
+
+    /**
+     * Called after {@code get/take}.
+     *
+     * @param pool
+     * @param hit
+     * @param elapsedTime in nanoseconds.
+     */
+    void onGet(Pool pool, boolean hit, long elapsedTime);
+
+    /**
+     * Called after {@code add/take} with timeout waited for the pool to be not full/empty.
+     *
+     * @param pool
+     * @param waitTime in nanoseconds.
+     */
+    void onWait(Pool pool, long waitTime);
+
+    /**
+     * Called when an object is removed from the pool and destroyed.
+     *
+     * @param pool
+     * @param value
+     */
+    void onEviction(Pool pool, Poolable value);
+}
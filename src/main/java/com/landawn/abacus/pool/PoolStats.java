@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.pool;
+
+import java.io.Serializable;
+
+/**
+ * A snapshot of the statistics of a pool.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ * @see Pool#stats()
+ */
+public final class PoolStats implements Serializable {
+
+    private static final long serialVersionUID = -3186722296318914085L;
+
+    private final EvictionPolicy evictionPolicy;
+
+    private final int capacity;
+
+    private final int size;
+
+    private final long putCount;
+
+    private final long rejectionCount;
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    private final long vacationCount;
+
+    private final long expirationCount;
+
+    private final long waitCount;
+
+    private final long waitTime;
+
+    private final long maxMemorySize;
+
+    private final long usedMemorySize;
+
+    private final LatencyHistogram putLatency;
+
+    private final LatencyHistogram getLatency;
+
+    private final LatencyHistogram waitLatency;
+
+    PoolStats(EvictionPolicy evictionPolicy, int capacity, int size, long putCount, long rejectionCount, long hitCount, long missCount, long evictionCount,
+            long vacationCount, long expirationCount, long waitCount, long waitTime, long maxMemorySize, long usedMemorySize, LatencyHistogram putLatency,
+            LatencyHistogram getLatency, LatencyHistogram waitLatency) {
+        this.evictionPolicy = evictionPolicy;
+        this.capacity = capacity;
+        this.size = size;
+        this.putCount = putCount;
+        this.rejectionCount = rejectionCount;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.vacationCount = vacationCount;
+        this.expirationCount = expirationCount;
+        this.waitCount = waitCount;
+        this.waitTime = waitTime;
+        this.maxMemorySize = maxMemorySize;
+        this.usedMemorySize = usedMemorySize;
+        this.putLatency = putLatency;
+        this.getLatency = getLatency;
+        this.waitLatency = waitLatency;
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of {@code put/add} calls.
+     *
+     * @return
+     */
+    public long getPutCount() {
+        return putCount;
+    }
+
+    /**
+     * Returns the number of the objects rejected by {@code put/add}: the pool is full, the memory is exceeded, it's timeout or the object is expired.
+     *
+     * @return
+     */
+    public long getRejectionCount() {
+        return rejectionCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns {@code hitCount / (hitCount + missCount)}, or {@code 0} if there is no {@code get/take}.
+     *
+     * @return
+     */
+    public double getHitRate() {
+        final long total = hitCount + missCount;
+
+        return total == 0 ? 0d : (double) hitCount / total;
+    }
+
+    /**
+     * Returns the number of the objects destroyed by the pool, for any reason.
+     *
+     * @return
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of the objects removed by {@code vacate}, selected by the {@code EvictionPolicy}.
+     *
+     * @return
+     */
+    public long getVacationCount() {
+        return vacationCount;
+    }
+
+    /**
+     * Returns the number of the objects removed because they're expired.
+     *
+     * @return
+     */
+    public long getExpirationCount() {
+        return expirationCount;
+    }
+
+    /**
+     * Returns the number of {@code add/take} calls with timeout which waited for the pool to be not full/empty.
+     *
+     * @return
+     */
+    public long getWaitCount() {
+        return waitCount;
+    }
+
+    /**
+     * Returns the total wait time in nanoseconds.
+     *
+     * @return
+     */
+    public long getWaitTime() {
+        return waitTime;
+    }
+
+    /**
+     * Returns {@code 0} if there is no {@code MemoryMeasure}.
+     *
+     * @return
+     */
+    public long getMaxMemorySize() {
+        return maxMemorySize;
+    }
+
+    public long getUsedMemorySize() {
+        return usedMemorySize;
+    }
+
+    /**
+     * Returns the latencies of {@code put/add}, or {@code null} if the latency histograms are not enabled.
+     *
+     * @return
+     * @see Pool#setLatencyHistogramEnabled(boolean)
+     */
+    public LatencyHistogram getPutLatency() {
+        return putLatency;
+    }
+
+    /**
+     * Returns the latencies of {@code get/take}, or {@code null} if the latency histograms are not enabled.
+     *
+     * @return
+     * @see Pool#setLatencyHistogramEnabled(boolean)
+     */
+    public LatencyHistogram getGetLatency() {
+        return getLatency;
+    }
+
+    /**
+     * Returns the wait time of {@code add/take} with timeout, or {@code null} if the latency histograms are not enabled.
+     *
+     * @return
+     * @see Pool#setLatencyHistogramEnabled(boolean)
+     */
+    public LatencyHistogram getWaitLatency() {
+        return waitLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "{evictionPolicy=" + evictionPolicy + ", capacity=" + capacity + ", size=" + size + ", putCount=" + putCount + ", rejectionCount="
+                + rejectionCount + ", hitCount=" + hitCount + ", missCount=" + missCount + ", hitRate=" + getHitRate() + ", evictionCount=" + evictionCount
+                + ", vacationCount=" + vacationCount + ", expirationCount=" + expirationCount + ", waitCount=" + waitCount + ", waitTime=" + waitTime
+                + ", maxMemorySize=" + maxMemorySize + ", usedMemorySize=" + usedMemorySize + ", putLatency=" + putLatency + ", getLatency=" + getLatency
+                + ", waitLatency=" + waitLatency + "}";
+    }
+}
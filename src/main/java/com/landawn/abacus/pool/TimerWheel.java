@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.pool;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hierarchical timer wheel which indexes the pooled objects by their expiration time, so the expired objects can be found
+ * without scanning the whole pool. The wheels have the buckets of about 1 second, 1 minute, 1 hour and 1 day.
+ * The objects in a bucket of an upper wheel are moved down to the lower wheels when the time of the bucket is reached.
+ * <br />
+ * The items are identified by {@code equals}. So {@code ObjectPool} schedules the entries of the pooled objects, which are only equal to themselves,
+ * instead of the objects, because the equal objects in the pool must expire independently.
+ * <br />
+ * It's not thread-safe. The callers must hold the pool lock.
+ *
+ * @author Haiyang Li
+ * @param <T> the type of the pool key, or the entry of the pooled object for {@code ObjectPool}.
+ * @since 2.3.12
+ */
+final class TimerWheel<T> implements Serializable {
+
+    private static final long serialVersionUID = 5183512440651938377L;
+
+    /** The bucket count of each wheel. The last one is for the objects which are expired after about 6 days. */
+    private static final int[] BUCKETS = { 64, 64, 32, 4, 1 };
+
+    /** The bucket time span, in milliseconds, of each wheel: 2^10 (~1s), 2^16 (~1m), 2^22 (~1h), 2^27 (~1.5d), 2^29 (~6d). */
+    private static final int[] SHIFTS = { 10, 16, 22, 27, 29 };
+
+    private final Node<T>[][] wheel;
+
+    private final Map<T, Node<T>> nodes = new HashMap<>();
+
+    private long time;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(final long currentTime) {
+        this.wheel = new Node[BUCKETS.length][];
+
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new Node[BUCKETS[i]];
+
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                wheel[i][j] = new Node<>(null, 0);
+            }
+        }
+
+        this.time = currentTime;
+    }
+
+    /**
+     * Returns the time when the object with the specified {@code ActivityPrint} becomes expired,
+     * by its live time and max idle time.
+     *
+     * @param activityPrint
+     * @return
+     */
+    static long expirationTimeOf(final ActivityPrint activityPrint) {
+        final long liveExpirationTime = activityPrint.getExpirationTime();
+        final long lastAccessTime = activityPrint.getLastAccessTime();
+        final long idleExpirationTime = (Long.MAX_VALUE - lastAccessTime) <= activityPrint.getMaxIdleTime() ? Long.MAX_VALUE
+                : lastAccessTime + activityPrint.getMaxIdleTime() + 1;
+
+        return Math.min(liveExpirationTime == Long.MAX_VALUE ? Long.MAX_VALUE : liveExpirationTime + 1, idleExpirationTime);
+    }
+
+    /**
+     * Schedules the specified item to be expired at the specified time. The previous schedule of the item is replaced.
+     *
+     * @param item
+     * @param expirationTime
+     */
+    void schedule(final T item, final long expirationTime) {
+        Node<T> node = nodes.get(item);
+
+        if (node == null) {
+            node = new Node<>(item, expirationTime);
+            nodes.put(item, node);
+        } else {
+            node.unlink();
+            node.time = expirationTime;
+        }
+
+        link(findBucket(expirationTime), node);
+    }
+
+    /**
+     *
+     * @param item
+     * @return {@code true} if the item was scheduled.
+     */
+    boolean deschedule(final T item) {
+        final Node<T> node = nodes.remove(item);
+
+        if (node == null) {
+            return false;
+        }
+
+        node.unlink();
+
+        return true;
+    }
+
+    /**
+     * Advances the wheels to the specified time, and returns the items whose expiration time is reached. They are descheduled.
+     * Only the buckets passed since the last advance are visited.
+     *
+     * @param currentTime
+     * @return
+     */
+    List<T> advance(final long currentTime) {
+        final long previousTime = time;
+        List<T> expired = null;
+
+        time = currentTime;
+
+        for (int i = 0; i < SHIFTS.length; i++) {
+            final long previousTicks = previousTime >>> SHIFTS[i];
+            final long currentTicks = currentTime >>> SHIFTS[i];
+
+            if (currentTicks - previousTicks <= 0) {
+                break;
+            }
+
+            expired = expire(i, previousTicks, currentTicks, expired);
+        }
+
+        return expired == null ? new ArrayList<T>(0) : expired;
+    }
+
+    /**
+     * Deschedules all the items.
+     */
+    void clear() {
+        for (Node<T>[] buckets : wheel) {
+            for (Node<T> sentinel : buckets) {
+                sentinel.prev = sentinel.next = sentinel;
+            }
+        }
+
+        nodes.clear();
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    private List<T> expire(final int index, final long previousTicks, final long currentTicks, List<T> expired) {
+        final Node<T>[] buckets = wheel[index];
+        final int mask = buckets.length - 1;
+        final int steps = (int) Math.min(currentTicks - previousTicks + 1, buckets.length);
+        final int start = (int) (previousTicks & mask);
+
+        for (int i = start, end = start + steps; i < end; i++) {
+            final Node<T> sentinel = buckets[i & mask];
+            Node<T> node = sentinel.next;
+
+            sentinel.prev = sentinel.next = sentinel;
+
+            while (node != sentinel) {
+                final Node<T> next = node.next;
+                node.prev = node.next = null;
+
+                if (node.time <= time) {
+                    nodes.remove(node.item);
+
+                    if (expired == null) {
+                        expired = new ArrayList<>();
+                    }
+
+                    expired.add(node.item);
+                } else {
+                    // move it down to a lower wheel.
+                    link(findBucket(node.time), node);
+                }
+
+                node = next;
+            }
+        }
+
+        return expired;
+    }
+
+    private Node<T> findBucket(final long expirationTime) {
+        final long duration = expirationTime - time;
+        final int last = wheel.length - 1;
+
+        for (int i = 0; i < last; i++) {
+            if (duration < (1L << SHIFTS[i + 1])) {
+                final long ticks = Math.max(expirationTime, time) >>> SHIFTS[i];
+
+                return wheel[i][(int) (ticks & (wheel[i].length - 1))];
+            }
+        }
+
+        return wheel[last][0];
+    }
+
+    private static <T> void link(final Node<T> sentinel, final Node<T> node) {
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    static final class Node<T> implements Serializable {
+
+        private static final long serialVersionUID = -2620164358711446528L;
+
+        final T item;
+
+        long time;
+
+        Node<T> prev;
+
+        Node<T> next;
+
+        Node(final T item, final long time) {
+            this.item = item;
+            this.time = time;
+            this.prev = this;
+            this.next = this;
+        }
+
+        void unlink() {
+            if (prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = next = null;
+            }
+        }
+    }
+}
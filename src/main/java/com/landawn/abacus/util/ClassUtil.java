@@ -2698,206 +2698,264 @@ public final class ClassUtil {
     }
 
     /**
-     * Load prop get set method list.
+     * Load prop get set method list. The methods are scanned without holding the lock, so different classes can be loaded in parallel.
      *
      * @param cls
      */
     private static void loadPropGetSetMethodList(final Class<?> cls) {
-        synchronized (entityDeclaredPropGetMethodPool) {
-            if (entityDeclaredPropGetMethodPool.containsKey(cls)) {
-                return;
-            }
+        if (entityDeclaredPropGetMethodPool.containsKey(cls)) {
+            return;
+        }
 
-            Object instance = null;
+        Object instance = null;
 
-            if (registeredXMLBindingClassList.containsKey(cls)) {
-                try {
-                    instance = cls.newInstance();
-                } catch (Exception e) {
-                    if (logger.isWarnEnabled()) {
-                        logger.warn("Failed to new instance of class: " + cls.getCanonicalName() + " to check setter method by getter method");
-                    }
+        if (registeredXMLBindingClassList.containsKey(cls)) {
+            try {
+                instance = cls.newInstance();
+            } catch (Exception e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("Failed to new instance of class: " + cls.getCanonicalName() + " to check setter method by getter method");
                 }
-
-                registeredXMLBindingClassList.put(cls, true);
             }
 
-            Map<String, Field> propFieldMap = new LinkedHashMap<>();
-            Map<String, Method> propGetMethodMap = new LinkedHashMap<>();
-            Map<String, Method> propSetMethodMap = new LinkedHashMap<>();
+            registeredXMLBindingClassList.put(cls, true);
+        }
 
-            final List<Class<?>> allClasses = new ArrayList<>();
-            allClasses.add(cls);
-            Class<?> superClass = null;
+        Map<String, Field> propFieldMap = new LinkedHashMap<>();
+        Map<String, Method> propGetMethodMap = new LinkedHashMap<>();
+        Map<String, Method> propSetMethodMap = new LinkedHashMap<>();
 
-            while ((superClass = allClasses.get(allClasses.size() - 1).getSuperclass()) != null && !superClass.equals(Object.class)) {
-                allClasses.add(superClass);
-            }
+        final List<Class<?>> allClasses = new ArrayList<>();
+        allClasses.add(cls);
+        Class<?> superClass = null;
 
-            Class<?> clazz = null;
-            Method setMethod = null;
+        while ((superClass = allClasses.get(allClasses.size() - 1).getSuperclass()) != null && !superClass.equals(Object.class)) {
+            allClasses.add(superClass);
+        }
 
-            for (int i = allClasses.size() - 1; i >= 0; i--) {
-                clazz = allClasses.get(i);
+        Class<?> clazz = null;
+        Method setMethod = null;
 
-                if (registeredNonEntityClass.containsKey(clazz)) {
-                    continue;
-                }
+        for (int i = allClasses.size() - 1; i >= 0; i--) {
+            clazz = allClasses.get(i);
 
-                final Map<String, String> staticFinalFields = getPublicStaticStringFields(clazz);
+            if (registeredNonEntityClass.containsKey(clazz)) {
+                continue;
+            }
 
-                String propName = null;
+            final Map<String, String> staticFinalFields = getPublicStaticStringFields(clazz);
 
-                // sort the methods by the order of declared fields
-                for (Field field : clazz.getDeclaredFields()) {
-                    for (Method method : clazz.getMethods()) {
-                        if (isFieldGetMethod(method, field)) {
-                            propName = getPropNameByMethod(method);
+            String propName = null;
 
-                            if (!field.equals(getDeclaredField(clazz, propName))) {
-                                propName = field.getName();
-                            }
+            // sort the methods by the order of declared fields
+            for (Field field : clazz.getDeclaredFields()) {
+                for (Method method : clazz.getMethods()) {
+                    if (isFieldGetMethod(method, field)) {
+                        propName = getPropNameByMethod(method);
 
-                            propName = (staticFinalFields.get(propName) != null) ? staticFinalFields.get(propName) : propName;
+                        if (!field.equals(getDeclaredField(clazz, propName))) {
+                            propName = field.getName();
+                        }
 
-                            if (propGetMethodMap.containsKey(propName)) {
-                                break;
-                            }
+                        propName = (staticFinalFields.get(propName) != null) ? staticFinalFields.get(propName) : propName;
 
-                            setMethod = getSetMethod(method);
+                        if (propGetMethodMap.containsKey(propName)) {
+                            break;
+                        }
 
-                            if (setMethod != null) {
-                                // ClassUtil.setAccessibleQuietly(field, true);
-                                ClassUtil.setAccessibleQuietly(method, true);
-                                ClassUtil.setAccessibleQuietly(setMethod, true);
+                        setMethod = getSetMethod(method);
 
-                                propFieldMap.put(propName, field);
-                                propGetMethodMap.put(propName, method);
-                                propSetMethodMap.put(propName, setMethod);
+                        if (setMethod != null) {
+                            // ClassUtil.setAccessibleQuietly(field, true);
+                            ClassUtil.setAccessibleQuietly(method, true);
+                            ClassUtil.setAccessibleQuietly(setMethod, true);
 
-                                break;
-                            }
+                            propFieldMap.put(propName, field);
+                            propGetMethodMap.put(propName, method);
+                            propSetMethodMap.put(propName, setMethod);
 
-                            if (isJAXBGetMethod(instance, method) || annotatedWithEntity(cls) || isRecord(clazz)) {
-                                // ClassUtil.setAccessibleQuietly(field, true);
-                                ClassUtil.setAccessibleQuietly(method, true);
+                            break;
+                        }
 
-                                propFieldMap.put(propName, field);
-                                propGetMethodMap.put(propName, method);
+                        if (isJAXBGetMethod(instance, method) || annotatedWithEntity(cls) || isRecord(clazz)) {
+                            // ClassUtil.setAccessibleQuietly(field, true);
+                            ClassUtil.setAccessibleQuietly(method, true);
 
-                                break;
-                            }
+                            propFieldMap.put(propName, field);
+                            propGetMethodMap.put(propName, method);
+
+                            break;
                         }
                     }
+                }
 
-                    if (Modifier.isPublic(field.getModifiers()) && !Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
-                        propName = field.getName();
-                        propName = (staticFinalFields.get(propName) != null) ? staticFinalFields.get(propName) : propName;
+                if (Modifier.isPublic(field.getModifiers()) && !Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+                    propName = field.getName();
+                    propName = (staticFinalFields.get(propName) != null) ? staticFinalFields.get(propName) : propName;
 
-                        if (!propGetMethodMap.containsKey(propName)) {
-                            ClassUtil.setAccessibleQuietly(field, true);
+                    if (!propGetMethodMap.containsKey(propName)) {
+                        ClassUtil.setAccessibleQuietly(field, true);
 
-                            propFieldMap.put(propName, field);
-                        }
+                        propFieldMap.put(propName, field);
                     }
                 }
+            }
 
-                for (Method method : clazz.getMethods()) {
-                    if (isGetMethod(method)) {
-                        propName = getPropNameByMethod(method);
-                        propName = (staticFinalFields.get(propName) != null) ? staticFinalFields.get(propName) : propName;
+            for (Method method : clazz.getMethods()) {
+                if (isGetMethod(method)) {
+                    propName = getPropNameByMethod(method);
+                    propName = (staticFinalFields.get(propName) != null) ? staticFinalFields.get(propName) : propName;
 
-                        if (propGetMethodMap.containsKey(propName)) {
-                            continue;
-                        }
+                    if (propGetMethodMap.containsKey(propName)) {
+                        continue;
+                    }
 
-                        setMethod = getSetMethod(method);
+                    setMethod = getSetMethod(method);
 
-                        if (setMethod != null && !propGetMethodMap.containsValue(method)) {
-                            ClassUtil.setAccessibleQuietly(method, true);
-                            ClassUtil.setAccessibleQuietly(setMethod, true);
+                    if (setMethod != null && !propGetMethodMap.containsValue(method)) {
+                        ClassUtil.setAccessibleQuietly(method, true);
+                        ClassUtil.setAccessibleQuietly(setMethod, true);
 
-                            propGetMethodMap.put(propName, method);
-                            propSetMethodMap.put(propName, setMethod);
+                        propGetMethodMap.put(propName, method);
+                        propSetMethodMap.put(propName, setMethod);
 
-                            continue;
-                        }
+                        continue;
+                    }
 
-                        if ((isJAXBGetMethod(instance, method) || annotatedWithEntity(cls) || isRecord(clazz)) && !propGetMethodMap.containsValue(method)) {
-                            ClassUtil.setAccessibleQuietly(method, true);
+                    if ((isJAXBGetMethod(instance, method) || annotatedWithEntity(cls) || isRecord(clazz)) && !propGetMethodMap.containsValue(method)) {
+                        ClassUtil.setAccessibleQuietly(method, true);
 
-                            propGetMethodMap.put(propName, method);
+                        propGetMethodMap.put(propName, method);
 
-                            continue;
-                        }
+                        continue;
                     }
                 }
             }
+        }
 
-            for (Class<?> key : registeredNonPropGetSetMethodPool.keySet()) {
-                if (key.isAssignableFrom(cls)) {
-                    final Set<String> set = registeredNonPropGetSetMethodPool.get(key);
-                    final List<String> methodNames = new ArrayList<>(propGetMethodMap.keySet());
+        synchronized (entityDeclaredPropGetMethodPool) {
+            if (entityDeclaredPropGetMethodPool.containsKey(cls)) {
+                return;
+            }
 
-                    for (String nonPropName : set) {
-                        for (String propName : methodNames) {
-                            if (propName.equalsIgnoreCase(nonPropName)) {
-                                propFieldMap.remove(propName);
-                                propGetMethodMap.remove(propName);
-                                propSetMethodMap.remove(propName);
+            putPropGetSetMethodList(cls, propFieldMap, propGetMethodMap, propSetMethodMap);
+        }
+    }
 
-                                break;
-                            }
+    /**
+     * Registers the property fields/methods found by {@code loadPropGetSetMethodList}/{@code registerPropGetSetMethods}.
+     * It must be called with the lock of {@code entityDeclaredPropGetMethodPool}.
+     *
+     * @param cls
+     * @param propFieldMap
+     * @param propGetMethodMap
+     * @param propSetMethodMap
+     */
+    private static void putPropGetSetMethodList(final Class<?> cls, final Map<String, Field> propFieldMap, final Map<String, Method> propGetMethodMap,
+            final Map<String, Method> propSetMethodMap) {
+        for (Class<?> key : registeredNonPropGetSetMethodPool.keySet()) {
+            if (key.isAssignableFrom(cls)) {
+                final Set<String> set = registeredNonPropGetSetMethodPool.get(key);
+                final List<String> methodNames = new ArrayList<>(propGetMethodMap.keySet());
+
+                for (String nonPropName : set) {
+                    for (String propName : methodNames) {
+                        if (propName.equalsIgnoreCase(nonPropName)) {
+                            propFieldMap.remove(propName);
+                            propGetMethodMap.remove(propName);
+                            propSetMethodMap.remove(propName);
+
+                            break;
                         }
                     }
                 }
             }
+        }
 
-            // for Double-Checked Locking is Broke initialize it before
-            final ImmutableMap<String, Field> unmodifiableFieldMap = ImmutableMap.of(propFieldMap);
-            unmodifiableFieldMap.keySet();
-            entityDeclaredPropFieldPool.put(cls, unmodifiableFieldMap);
+        // for Double-Checked Locking is Broke initialize it before
+        final ImmutableMap<String, Field> unmodifiableFieldMap = ImmutableMap.of(propFieldMap);
+        unmodifiableFieldMap.keySet();
+        entityDeclaredPropFieldPool.put(cls, unmodifiableFieldMap);
 
-            // put it into map.
-            final Map<String, Field> tempFieldMap = new ObjectPool<>(N.max(64, propFieldMap.size()));
-            tempFieldMap.putAll(propFieldMap);
-            entityPropFieldPool.put(cls, tempFieldMap);
+        // put it into map.
+        final Map<String, Field> tempFieldMap = new ObjectPool<>(N.max(64, propFieldMap.size()));
+        tempFieldMap.putAll(propFieldMap);
+        entityPropFieldPool.put(cls, tempFieldMap);
 
-            final ImmutableMap<String, Method> unmodifiableGetMethodMap = ImmutableMap.of(propGetMethodMap);
-            unmodifiableGetMethodMap.keySet();
-            entityDeclaredPropGetMethodPool.put(cls, unmodifiableGetMethodMap);
+        final ImmutableMap<String, Method> unmodifiableGetMethodMap = ImmutableMap.of(propGetMethodMap);
+        unmodifiableGetMethodMap.keySet();
+        entityDeclaredPropGetMethodPool.put(cls, unmodifiableGetMethodMap);
 
-            if (entityPropGetMethodPool.get(cls) == null) {
-                Map<String, Method> tmp = new ObjectPool<>(N.max(64, propGetMethodMap.size()));
-                tmp.putAll(propGetMethodMap);
-                entityPropGetMethodPool.put(cls, tmp);
-            } else {
-                entityPropGetMethodPool.get(cls).putAll(propGetMethodMap);
-            }
+        if (entityPropGetMethodPool.get(cls) == null) {
+            Map<String, Method> tmp = new ObjectPool<>(N.max(64, propGetMethodMap.size()));
+            tmp.putAll(propGetMethodMap);
+            entityPropGetMethodPool.put(cls, tmp);
+        } else {
+            entityPropGetMethodPool.get(cls).putAll(propGetMethodMap);
+        }
 
-            // for Double-Checked Locking is Broke initialize it before
-            // put it into map.
-            final ImmutableMap<String, Method> unmodifiableSetMethodMap = ImmutableMap.of(propSetMethodMap);
-            unmodifiableSetMethodMap.keySet();
-            entityDeclaredPropSetMethodPool.put(cls, unmodifiableSetMethodMap);
+        // for Double-Checked Locking is Broke initialize it before
+        // put it into map.
+        final ImmutableMap<String, Method> unmodifiableSetMethodMap = ImmutableMap.of(propSetMethodMap);
+        unmodifiableSetMethodMap.keySet();
+        entityDeclaredPropSetMethodPool.put(cls, unmodifiableSetMethodMap);
 
-            if (entityPropSetMethodPool.get(cls) == null) {
-                Map<String, Method> tmp = new ObjectPool<>(N.max(64, propSetMethodMap.size()));
-                tmp.putAll(propSetMethodMap);
-                entityPropSetMethodPool.put(cls, tmp);
-            } else {
-                entityPropSetMethodPool.get(cls).putAll(propSetMethodMap);
+        if (entityPropSetMethodPool.get(cls) == null) {
+            Map<String, Method> tmp = new ObjectPool<>(N.max(64, propSetMethodMap.size()));
+            tmp.putAll(propSetMethodMap);
+            entityPropSetMethodPool.put(cls, tmp);
+        } else {
+            entityPropSetMethodPool.get(cls).putAll(propSetMethodMap);
+        }
+
+        final List<String> propNameList = new ArrayList<>(propFieldMap.keySet());
+
+        for (String propName : propGetMethodMap.keySet()) {
+            if (!propNameList.contains(propName)) {
+                propNameList.add(propName);
             }
+        }
+
+        entityDeclaredPropNameListPool.put(cls, ImmutableList.of(propNameList));
+    }
 
-            final List<String> propNameList = new ArrayList<>(propFieldMap.keySet());
+    /**
+     * Registers the property fields and get/set methods of the specified entity class, which are usually loaded from the metadata saved by
+     * {@code ParserUtil.savePreloadInfo}, so the methods of the class won't be scanned. It does nothing if the properties of the class have been loaded.
+     *
+     * @param cls
+     * @param propFieldMap
+     * @param propGetMethodMap
+     * @param propSetMethodMap
+     * @return {@code false} if the properties of the class have been loaded.
+     * @deprecated internal use only.
+     */
+    @Deprecated
+    @Internal
+    public static boolean registerPropGetSetMethods(final Class<?> cls, final Map<String, Field> propFieldMap, final Map<String, Method> propGetMethodMap,
+            final Map<String, Method> propSetMethodMap) {
+        synchronized (entityDeclaredPropGetMethodPool) {
+            if (entityDeclaredPropGetMethodPool.containsKey(cls)) {
+                return false;
+            }
 
-            for (String propName : propGetMethodMap.keySet()) {
-                if (!propNameList.contains(propName)) {
-                    propNameList.add(propName);
+            for (Field field : propFieldMap.values()) {
+                if (Modifier.isPublic(field.getModifiers())) {
+                    ClassUtil.setAccessibleQuietly(field, true);
                 }
             }
 
-            entityDeclaredPropNameListPool.put(cls, ImmutableList.of(propNameList));
+            for (Method method : propGetMethodMap.values()) {
+                ClassUtil.setAccessibleQuietly(method, true);
+            }
+
+            for (Method method : propSetMethodMap.values()) {
+                ClassUtil.setAccessibleQuietly(method, true);
+            }
+
+            putPropGetSetMethodList(cls, new LinkedHashMap<>(propFieldMap), new LinkedHashMap<>(propGetMethodMap), new LinkedHashMap<>(propSetMethodMap));
+
+            return true;
         }
     }
 
@@ -29,6 +29,8 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.landawn.abacus.annotation.Beta;
 import com.landawn.abacus.annotation.Internal;
@@ -37,6 +39,11 @@ import com.landawn.abacus.logging.Logger;
 import com.landawn.abacus.logging.LoggerFactory;
 
 /**
+ * The objects are recycled by the shared bounded queues. In front of each queue, there is a small lock-free magazine for each stripe of threads
+ * (selected by thread id), so the threads don't contend on the queue lock in most of the cases. The stripes are not {@code ThreadLocal}s,
+ * so the memory doesn't grow with the number of threads, e.g. virtual threads.
+ * <br />
+ * The char/byte array buffers greater than {@code BUFFER_SIZE}, up to {@code BUFFER_SIZE * 16}, are recycled by size classes of powers of 2.
  *
  * @author Haiyang Li
  * @since 0.8
@@ -63,34 +70,72 @@ public final class Objectory {
 
     private static final int MAX_ARRAY_LENGTH = IOUtil.IS_PLATFORM_ANDROID ? 128 : 1024;
 
-    private static final Queue<List<?>> listPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final int STRIPE_COUNT;
 
-    private static final Queue<Set<?>> setPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    static {
+        int stripeCount = 1;
 
-    private static final Queue<Set<?>> linkedHashSetPool = new ArrayBlockingQueue<>(POOL_SIZE);
+        while (stripeCount < IOUtil.CPU_CORES * 2 && stripeCount < 64) {
+            stripeCount <<= 1;
+        }
+
+        STRIPE_COUNT = stripeCount;
+    }
+
+    private static final int MAGAZINE_SIZE = 2;
+
+    private static final int LARGE_BUFFER_CLASS_COUNT = 4;
+
+    private static final int MAX_LARGE_BUFFER_SIZE = BUFFER_SIZE << LARGE_BUFFER_CLASS_COUNT;
+
+    private static final LongAdder hitCount = new LongAdder();
+
+    private static final LongAdder missCount = new LongAdder();
+
+    private static final Magazine<List<?>> listPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
 
-    private static final Queue<Map<?, ?>> mapPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Magazine<Set<?>> setPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
 
-    private static final Queue<Map<?, ?>> linkedHashMapPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Magazine<Set<?>> linkedHashSetPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
+
+    private static final Magazine<Map<?, ?>> mapPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
+
+    private static final Magazine<Map<?, ?>> linkedHashMapPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
 
     @SuppressWarnings("unchecked")
     private static final Queue<Object[]>[] objectArrayPool = new Queue[POOLABLE_SIZE + 1];
 
-    private static final Queue<char[]> charArrayBufferPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Magazine<char[]> charArrayBufferPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
+
+    private static final Magazine<byte[]> byteArrayBufferPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
+
+    /** The size classes of {@code BUFFER_SIZE * 2, * 4, * 8, * 16}. Only shared queues, with {@code 4, 2, 1, 1} buffers at most. */
+    @SuppressWarnings("unchecked")
+    private static final Magazine<char[]>[] largeCharArrayBufferPools = new Magazine[LARGE_BUFFER_CLASS_COUNT];
+
+    @SuppressWarnings("unchecked")
+    private static final Magazine<byte[]>[] largeByteArrayBufferPools = new Magazine[LARGE_BUFFER_CLASS_COUNT];
+
+    static {
+        for (int i = 0; i < LARGE_BUFFER_CLASS_COUNT; i++) {
+            largeCharArrayBufferPools[i] = new Magazine<>(Math.max(1, 4 >> i), 0);
+            largeByteArrayBufferPools[i] = new Magazine<>(Math.max(1, 4 >> i), 0);
+        }
+    }
 
-    private static final Queue<byte[]> byteArrayBufferPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Magazine<StringBuilder> stringBuilderPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
 
-    private static final Queue<StringBuilder> stringBuilderPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Magazine<ByteArrayOutputStream> byteArrayOutputStreamPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
 
-    private static final Queue<ByteArrayOutputStream> byteArrayOutputStreamPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Magazine<BufferedWriter> bufferedWriterPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
 
-    private static final Queue<BufferedWriter> bufferedWriterPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Magazine<BufferedXMLWriter> bufferedXMLWriterPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
 
-    private static final Queue<BufferedXMLWriter> bufferedXMLWriterPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Magazine<BufferedJSONWriter> bufferedJSONWriterPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
 
-    private static final Queue<BufferedJSONWriter> bufferedJSONWriterPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Magazine<UTF8JSONWriter> utf8JSONWriterPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
 
-    private static final Queue<BufferedReader> bufferedReaderPool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Magazine<BufferedReader> bufferedReaderPool = new Magazine<>(POOL_SIZE, MAGAZINE_SIZE);
 
     /**
      * Creates the list.
@@ -214,9 +259,16 @@ public final class Objectory {
      */
     public static char[] createCharArrayBuffer(int capacity) {
         if (capacity > BUFFER_SIZE) {
-            // logCreated("createCharArrayBuffer");
+            if (capacity > MAX_LARGE_BUFFER_SIZE) {
+                // logCreated("createCharArrayBuffer");
+
+                return new char[capacity];
+            }
+
+            final int index = largeBufferClassOf(capacity);
+            final char[] cbuf = largeCharArrayBufferPools[index].poll();
 
-            return new char[capacity];
+            return cbuf == null ? new char[BUFFER_SIZE << (index + 1)] : cbuf;
         }
 
         char[] cbuf = charArrayBufferPool.poll();
@@ -247,9 +299,16 @@ public final class Objectory {
      */
     public static byte[] createByteArrayBuffer(int capacity) {
         if (capacity > BUFFER_SIZE) {
-            // logCreated("createByteArrayBuffer");
+            if (capacity > MAX_LARGE_BUFFER_SIZE) {
+                // logCreated("createByteArrayBuffer");
 
-            return new byte[capacity];
+                return new byte[capacity];
+            }
+
+            final int index = largeBufferClassOf(capacity);
+            final byte[] bbuf = largeByteArrayBufferPools[index].poll();
+
+            return bbuf == null ? new byte[BUFFER_SIZE << (index + 1)] : bbuf;
         }
 
         byte[] bbuf = byteArrayBufferPool.poll();
@@ -506,6 +565,45 @@ public final class Objectory {
         return bw;
     }
 
+    /**
+     * Creates the UTF-8 JSON writer, which writes the bytes to a buffer.
+     *
+     * @return
+     */
+    public static UTF8JSONWriter createUTF8JSONWriter() {
+        UTF8JSONWriter bw = utf8JSONWriterPool.poll();
+
+        if (bw == null) {
+            logCreated("createUTF8JSONWriter");
+
+            bw = new UTF8JSONWriter();
+        } else {
+            bw.reinit();
+        }
+
+        return bw;
+    }
+
+    /**
+     * Creates the UTF-8 JSON writer.
+     *
+     * @param os
+     * @return
+     */
+    public static UTF8JSONWriter createUTF8JSONWriter(OutputStream os) {
+        UTF8JSONWriter bw = utf8JSONWriterPool.poll();
+
+        if (bw == null) {
+            logCreated("createUTF8JSONWriter");
+
+            bw = new UTF8JSONWriter(os);
+        } else {
+            bw.reinit(os);
+        }
+
+        return bw;
+    }
+
     /**
      * Creates the buffered reader.
      *
@@ -566,6 +664,39 @@ public final class Objectory {
         }
     }
 
+    /**
+     * Returns the number of the objects/buffers taken from the magazines or the shared queues.
+     *
+     * @return
+     */
+    public static long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of the objects/buffers which are created because there is nothing to recycle in the magazines and the shared queues.
+     *
+     * @return
+     */
+    public static long missCount() {
+        return missCount.sum();
+    }
+
+    /**
+     *
+     * @param capacity greater than {@code BUFFER_SIZE} and not greater than {@code MAX_LARGE_BUFFER_SIZE}.
+     * @return the index of the size class {@code BUFFER_SIZE << (index + 1)}.
+     */
+    private static int largeBufferClassOf(int capacity) {
+        int index = 0;
+
+        while ((BUFFER_SIZE << (index + 1)) < capacity) {
+            index++;
+        }
+
+        return index;
+    }
+
     /**
      *
      * @param methodName
@@ -586,10 +717,8 @@ public final class Objectory {
             return;
         }
 
-        if (listPool.size() < POOL_SIZE) {
-            list.clear();
-            listPool.add(list);
-        }
+        list.clear();
+        listPool.offer(list);
     }
 
     /**
@@ -602,15 +731,11 @@ public final class Objectory {
         }
 
         if (set instanceof LinkedHashSet) {
-            if (linkedHashSetPool.size() < POOL_SIZE) {
-                set.clear();
-                linkedHashSetPool.add(set);
-            }
+            set.clear();
+            linkedHashSetPool.offer(set);
         } else {
-            if (setPool.size() < POOL_SIZE) {
-                set.clear();
-                setPool.add(set);
-            }
+            set.clear();
+            setPool.offer(set);
         }
     }
 
@@ -624,15 +749,11 @@ public final class Objectory {
         }
 
         if (map instanceof LinkedHashMap) {
-            if (linkedHashMapPool.size() < POOL_SIZE) {
-                map.clear();
-                linkedHashMapPool.add(map);
-            }
+            map.clear();
+            linkedHashMapPool.offer(map);
         } else {
-            if (mapPool.size() < POOL_SIZE) {
-                map.clear();
-                mapPool.add(map);
-            }
+            map.clear();
+            mapPool.offer(map);
         }
     }
 
@@ -664,11 +785,20 @@ public final class Objectory {
      * @param cbuf
      */
     public static void recycle(char[] cbuf) {
-        if ((cbuf == null) || (cbuf.length > BUFFER_SIZE)) {
+        if (cbuf == null) {
             return;
         }
 
-        charArrayBufferPool.add(cbuf);
+        if (cbuf.length <= BUFFER_SIZE) {
+            charArrayBufferPool.offer(cbuf);
+        } else if (cbuf.length <= MAX_LARGE_BUFFER_SIZE) {
+            final int index = largeBufferClassOf(cbuf.length);
+
+            // only the buffers created by the size class are recycled.
+            if (cbuf.length == BUFFER_SIZE << (index + 1)) {
+                largeCharArrayBufferPools[index].offer(cbuf);
+            }
+        }
     }
 
     /**
@@ -676,11 +806,20 @@ public final class Objectory {
      * @param bbuf
      */
     public static void recycle(byte[] bbuf) {
-        if ((bbuf == null) || (bbuf.length > BUFFER_SIZE)) {
+        if (bbuf == null) {
             return;
         }
 
-        byteArrayBufferPool.add(bbuf);
+        if (bbuf.length <= BUFFER_SIZE) {
+            byteArrayBufferPool.offer(bbuf);
+        } else if (bbuf.length <= MAX_LARGE_BUFFER_SIZE) {
+            final int index = largeBufferClassOf(bbuf.length);
+
+            // only the buffers created by the size class are recycled.
+            if (bbuf.length == BUFFER_SIZE << (index + 1)) {
+                largeByteArrayBufferPools[index].offer(bbuf);
+            }
+        }
     }
 
     /**
@@ -692,10 +831,8 @@ public final class Objectory {
             return;
         }
 
-        if (stringBuilderPool.size() < POOL_SIZE) {
-            sb.setLength(0);
-            stringBuilderPool.add(sb);
-        }
+        sb.setLength(0);
+        stringBuilderPool.offer(sb);
     }
 
     /**
@@ -707,10 +844,8 @@ public final class Objectory {
             return;
         }
 
-        if (byteArrayOutputStreamPool.size() < POOL_SIZE) {
-            os.reset();
-            byteArrayOutputStreamPool.add(os);
-        }
+        os.reset();
+        byteArrayOutputStreamPool.offer(os);
     }
 
     /**
@@ -729,7 +864,7 @@ public final class Objectory {
         }
 
         bw._reset();
-        bufferedWriterPool.add(bw);
+        bufferedWriterPool.offer(bw);
     }
 
     /**
@@ -748,7 +883,7 @@ public final class Objectory {
         }
 
         bw._reset();
-        bufferedXMLWriterPool.add(bw);
+        bufferedXMLWriterPool.offer(bw);
     }
 
     /**
@@ -767,7 +902,26 @@ public final class Objectory {
         }
 
         bw._reset();
-        bufferedJSONWriterPool.add(bw);
+        bufferedJSONWriterPool.offer(bw);
+    }
+
+    /**
+     *
+     * @param bw
+     */
+    public static void recycle(UTF8JSONWriter bw) {
+        if (bw == null) {
+            return;
+        }
+
+        try {
+            bw.flushBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        bw._reset();
+        utf8JSONWriterPool.offer(bw);
     }
 
     /**
@@ -780,6 +934,78 @@ public final class Objectory {
         }
 
         br._reset();
-        bufferedReaderPool.add(br);
+        bufferedReaderPool.offer(br);
+    }
+
+    /**
+     * A shared bounded queue, with a few slots for each stripe of threads in front of it.
+     * The slots are taken/filled by CAS, so the threads in different stripes never contend with each other.
+     *
+     * @param <T>
+     */
+    static final class Magazine<T> {
+
+        /** The slots of a stripe are padded to a cache line (64 bytes), to avoid false sharing between the stripes. */
+        private static final int STRIPE_STRIDE = 16;
+
+        private final AtomicReferenceArray<T> slots;
+
+        private final int magazineSize;
+
+        private final Queue<T> queue;
+
+        Magazine(int queueSize, int magazineSize) {
+            this.slots = magazineSize == 0 ? null : new AtomicReferenceArray<T>(STRIPE_COUNT * STRIPE_STRIDE);
+            this.magazineSize = magazineSize;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        T poll() {
+            if (slots != null) {
+                final int base = stripeIndex();
+                T e = null;
+
+                for (int i = base, to = base + magazineSize; i < to; i++) {
+                    e = slots.get(i);
+
+                    if (e != null && slots.compareAndSet(i, e, null)) {
+                        hitCount.increment();
+
+                        return e;
+                    }
+                }
+            }
+
+            final T e = queue.poll();
+
+            if (e == null) {
+                missCount.increment();
+            } else {
+                hitCount.increment();
+            }
+
+            return e;
+        }
+
+        boolean offer(T e) {
+            if (slots != null) {
+                final int base = stripeIndex();
+
+                for (int i = base, to = base + magazineSize; i < to; i++) {
+                    if (slots.get(i) == null && slots.compareAndSet(i, null, e)) {
+                        return true;
+                    }
+                }
+            }
+
+            return queue.offer(e);
+        }
+
+        private static int stripeIndex() {
+            final long id = Thread.currentThread().getId();
+            final int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+
+            return ((h ^ (h >>> 16)) & (STRIPE_COUNT - 1)) * STRIPE_STRIDE;
+        }
     }
 }
@@ -0,0 +1,514 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import com.landawn.abacus.exception.UncheckedIOException;
+
+/**
+ * The byte version of {@code BufferedJSONWriter}: the characters are encoded to UTF-8 and escaped in one pass into a {@code byte[]} buffer,
+ * and numbers are written as ASCII digits, without {@code char[]} buffer or {@code OutputStreamWriter}.
+ * The escaped characters are same as the ones escaped by {@code BufferedJSONWriter}.
+ * <br />
+ * It's not multi-thread safety.
+ *
+ * @author Haiyang Li
+ * @since 2.3.12
+ * @see Objectory#createUTF8JSONWriter(OutputStream)
+ */
+public final class UTF8JSONWriter implements Closeable, Flushable {
+
+    /** The max number of bytes written for one {@code char}: {@code "\\u2028"}. */
+    private static final int MAX_BYTES_PER_CHAR = 6;
+
+    private static final byte[][] REPLACEMENT_BYTES = new byte[128][];
+
+    static {
+        for (int i = 0; i < 128; i++) {
+            if (BufferedJSONWriter.REPLACEMENT_CHARS[i] != null) {
+                REPLACEMENT_BYTES[i] = new String(BufferedJSONWriter.REPLACEMENT_CHARS[i]).getBytes(Charsets.UTF_8);
+            }
+        }
+    }
+
+    private static final byte[] NULL_BYTES = "null".getBytes(Charsets.UTF_8);
+
+    private static final byte[] TRUE_BYTES = "true".getBytes(Charsets.UTF_8);
+
+    private static final byte[] FALSE_BYTES = "false".getBytes(Charsets.UTF_8);
+
+    private static final byte[] MIN_LONG_BYTES = String.valueOf(Long.MIN_VALUE).getBytes(Charsets.UTF_8);
+
+    private OutputStream out;
+
+    private byte[] buf;
+
+    private int count = 0;
+
+    private boolean isClosed = false;
+
+    UTF8JSONWriter() {
+        this.buf = Objectory.createByteArrayBuffer();
+    }
+
+    UTF8JSONWriter(OutputStream os) {
+        this.out = os;
+        this.buf = Objectory.createByteArrayBuffer();
+    }
+
+    /**
+     *
+     * @param b
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void write(byte b) throws IOException {
+        if (count == buf.length) {
+            ensureCapacity(1);
+        }
+
+        buf[count++] = b;
+    }
+
+    /**
+     *
+     * @param b
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    /**
+     * Writes the bytes, which are supposed to be UTF-8 encoded JSON, e.g. the property names encoded in advance.
+     *
+     * @param b
+     * @param off
+     * @param len
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (len > buf.length - count) {
+            if (out != null && len >= buf.length) {
+                flushBuffer();
+                out.write(b, off, len);
+                return;
+            }
+
+            ensureCapacity(len);
+        }
+
+        N.copy(b, off, buf, count, len);
+        count += len;
+    }
+
+    /**
+     *
+     * @param b
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void write(boolean b) throws IOException {
+        write(b ? TRUE_BYTES : FALSE_BYTES);
+    }
+
+    /**
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void writeNull() throws IOException {
+        write(NULL_BYTES);
+    }
+
+    /**
+     *
+     * @param i
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void writeInt(int i) throws IOException {
+        write((long) i);
+    }
+
+    /**
+     * Writes the ASCII digits of the specified value directly into the buffer.
+     *
+     * @param lng
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void write(long lng) throws IOException {
+        if (lng == Long.MIN_VALUE) {
+            write(MIN_LONG_BYTES);
+            return;
+        }
+
+        if (buf.length - count < 20) {
+            ensureCapacity(20);
+        }
+
+        if (lng < 0) {
+            buf[count++] = '-';
+            lng = -lng;
+        }
+
+        final int len = digits(lng);
+        int pos = count + len;
+
+        while (lng >= 10) {
+            buf[--pos] = (byte) ('0' + (lng % 10));
+            lng /= 10;
+        }
+
+        buf[--pos] = (byte) ('0' + lng);
+
+        count += len;
+    }
+
+    /**
+     *
+     * @param f
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void write(float f) throws IOException {
+        writeAscii(String.valueOf(f));
+    }
+
+    /**
+     *
+     * @param d
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void write(double d) throws IOException {
+        writeAscii(String.valueOf(d));
+    }
+
+    /**
+     * Writes the UTF-8 bytes of the specified char without escaping.
+     *
+     * @param ch
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void write(char ch) throws IOException {
+        if (buf.length - count < MAX_BYTES_PER_CHAR) {
+            ensureCapacity(MAX_BYTES_PER_CHAR);
+        }
+
+        encode(ch, false);
+    }
+
+    /**
+     * Writes the UTF-8 bytes of the specified String without escaping.
+     *
+     * @param str
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void write(String str) throws IOException {
+        if (str == null) {
+            write(NULL_BYTES);
+        } else {
+            encode(str, 0, str.length(), false);
+        }
+    }
+
+    /**
+     * Writes the UTF-8 bytes of the specified char, escaped if it's required by JSON.
+     *
+     * @param ch
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void writeCharacter(char ch) throws IOException {
+        if (buf.length - count < MAX_BYTES_PER_CHAR) {
+            ensureCapacity(MAX_BYTES_PER_CHAR);
+        }
+
+        encode(ch, true);
+    }
+
+    /**
+     * Writes the UTF-8 bytes of the specified String, with the characters escaped if it's required by JSON.
+     *
+     * @param str
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void writeCharacter(String str) throws IOException {
+        if (str == null) {
+            write(NULL_BYTES);
+        } else {
+            encode(str, 0, str.length(), true);
+        }
+    }
+
+    /**
+     *
+     * @param cbuf
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void writeCharacter(char[] cbuf) throws IOException {
+        writeCharacter(cbuf, 0, cbuf.length);
+    }
+
+    /**
+     *
+     * @param cbuf
+     * @param off
+     * @param len
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void writeCharacter(char[] cbuf, int off, int len) throws IOException {
+        final int end = off + Math.min(cbuf.length - off, len);
+        char ch = 0;
+
+        for (int i = off; i < end; i++) {
+            ch = cbuf[i];
+
+            if (buf.length - count < MAX_BYTES_PER_CHAR) {
+                ensureCapacity(MAX_BYTES_PER_CHAR);
+            }
+
+            if (Character.isHighSurrogate(ch) && i + 1 < end && Character.isLowSurrogate(cbuf[i + 1])) {
+                encodeSurrogatePair(ch, cbuf[++i]);
+            } else {
+                encode(ch, true);
+            }
+        }
+    }
+
+    /**
+     *
+     * @return the number of bytes in the buffer, which are not flushed to the {@code OutputStream} yet.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     *
+     * @return the bytes written to this writer if it's not created with an {@code OutputStream}.
+     */
+    public byte[] toByteArray() {
+        if (out != null) {
+            throw new UnsupportedOperationException("The bytes have been written to the OutputStream");
+        }
+
+        return Arrays.copyOf(buf, count);
+    }
+
+    /**
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @Override
+    public void close() throws IOException {
+        if (isClosed) {
+            return;
+        }
+
+        try {
+            flush();
+
+            IOUtil.close(out);
+        } finally {
+            _reset();
+            isClosed = true;
+        }
+    }
+
+    /**
+     *
+     * @return
+     * @throws UncheckedIOException the unchecked IO exception
+     */
+    @Override
+    public String toString() throws UncheckedIOException {
+        if (out != null) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return out.toString();
+        } else {
+            return new String(buf, 0, count, Charsets.UTF_8);
+        }
+    }
+
+    /**
+     * Flush buffer.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    void flushBuffer() throws IOException {
+        if (out != null && count > 0) {
+            out.write(buf, 0, count);
+            count = 0;
+        }
+    }
+
+    /**
+     * Reinit.
+     */
+    void reinit() {
+        this.isClosed = false;
+        this.buf = Objectory.createByteArrayBuffer();
+    }
+
+    /**
+     *
+     * @param os
+     */
+    void reinit(OutputStream os) {
+        reinit();
+        this.out = os;
+    }
+
+    /**
+     * Reset.
+     */
+    void _reset() {
+        if (buf.length > 0) {
+            Objectory.recycle(buf);
+            buf = N.EMPTY_BYTE_ARRAY;
+        }
+
+        count = 0;
+        out = null;
+    }
+
+    private void writeAscii(final String str) throws IOException {
+        final int len = str.length();
+
+        if (buf.length - count < len) {
+            ensureCapacity(len);
+        }
+
+        for (int i = 0; i < len; i++) {
+            buf[count++] = (byte) str.charAt(i);
+        }
+    }
+
+    private void encode(final String str, final int from, final int to, final boolean escape) throws IOException {
+        char ch = 0;
+
+        for (int i = from; i < to; i++) {
+            ch = str.charAt(i);
+
+            if (buf.length - count < MAX_BYTES_PER_CHAR) {
+                ensureCapacity(MAX_BYTES_PER_CHAR);
+            }
+
+            if (ch < 128 && (escape == false || REPLACEMENT_BYTES[ch] == null)) {
+                // fast path for ASCII.
+                buf[count++] = (byte) ch;
+            } else if (Character.isHighSurrogate(ch) && i + 1 < to && Character.isLowSurrogate(str.charAt(i + 1))) {
+                encodeSurrogatePair(ch, str.charAt(++i));
+            } else {
+                encode(ch, escape);
+            }
+        }
+    }
+
+    /**
+     * At least {@code MAX_BYTES_PER_CHAR} bytes must be available in the buffer.
+     */
+    private void encode(final char ch, final boolean escape) {
+        if (ch < 128) {
+            if (escape && REPLACEMENT_BYTES[ch] != null) {
+                final byte[] replacement = REPLACEMENT_BYTES[ch];
+                N.copy(replacement, 0, buf, count, replacement.length);
+                count += replacement.length;
+            } else {
+                buf[count++] = (byte) ch;
+            }
+        } else if (ch < 0x800) {
+            buf[count++] = (byte) (0xc0 | (ch >> 6));
+            buf[count++] = (byte) (0x80 | (ch & 0x3f));
+        } else if (Character.isSurrogate(ch)) {
+            // unpaired surrogate, same as String.getBytes(UTF_8).
+            buf[count++] = '?';
+        } else if (escape && ch <= BufferedJSONWriter.LENGTH_OF_REPLACEMENT_CHARS && BufferedJSONWriter.REPLACEMENT_CHARS[ch] != null) {
+            for (char e : BufferedJSONWriter.REPLACEMENT_CHARS[ch]) {
+                buf[count++] = (byte) e;
+            }
+        } else {
+            buf[count++] = (byte) (0xe0 | (ch >> 12));
+            buf[count++] = (byte) (0x80 | ((ch >> 6) & 0x3f));
+            buf[count++] = (byte) (0x80 | (ch & 0x3f));
+        }
+    }
+
+    private void encodeSurrogatePair(final char high, final char low) {
+        final int codePoint = Character.toCodePoint(high, low);
+
+        buf[count++] = (byte) (0xf0 | (codePoint >> 18));
+        buf[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        buf[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        buf[count++] = (byte) (0x80 | (codePoint & 0x3f));
+    }
+
+    /**
+     * Makes sure there are at least {@code len} bytes available in the buffer, by flushing the buffer to the {@code OutputStream} or expanding it.
+     */
+    private void ensureCapacity(final int len) throws IOException {
+        if (out != null) {
+            flushBuffer();
+        }
+
+        if (buf.length - count < len) {
+            final int newCapacity = Math.max(buf.length * 2, count + Math.max(len, Objectory.BUFFER_SIZE));
+
+            if (newCapacity < 0) {
+                throw new OutOfMemoryError();
+            }
+
+            final byte[] tmp = Arrays.copyOf(buf, newCapacity);
+
+            Objectory.recycle(buf);
+
+            buf = tmp;
+        }
+    }
+
+    private static int digits(final long lng) {
+        long p = 10;
+
+        for (int i = 1; i < 19; i++) {
+            if (lng < p) {
+                return i;
+            }
+
+            p = 10 * p;
+        }
+
+        return 19;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.util.N;
+
+public class ColumnIndexTest {
+
+    private static DataSet dataSet(final int index) {
+        final List<List<Object>> columnList = new ArrayList<>();
+        columnList.add(N.<Object> asList(3, 1, null, 2, 4, 2, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        columnList.add(N.<Object> asList(3d, 1d, null, 2d, 4d, 2.5d, 9007199254740992d, -1d));
+
+        final DataSet ds = new ColumnarDataSet(N.asList("i", "d"), columnList);
+
+        if (index > 0) {
+            ds.createIndex("i", index == 2);
+            ds.createIndex("d", index == 2);
+        }
+
+        return ds;
+    }
+
+    private static List<Object> lookup(final DataSet ds, final String columnName, final Object value) {
+        return new ArrayList<>(ds.lookup(columnName, value).getColumn(columnName));
+    }
+
+    private static List<Object> lookup(final DataSet ds, final String columnName, final Object fromValue, final Object toValue) {
+        return new ArrayList<>(ds.lookup(columnName, fromValue, toValue).getColumn(columnName));
+    }
+
+    @Test
+    public void test_lookup() {
+        // no index, hash index, sorted index.
+        for (int index = 0; index < 3; index++) {
+            final DataSet ds = dataSet(index);
+
+            assertEquals(N.asList(2, 2), lookup(ds, "i", 2));
+            assertEquals(N.asList(2, 2), lookup(ds, "i", 2L));
+            assertEquals(N.asList(2, 2), lookup(ds, "i", 2.0d));
+            assertEquals(N.asList(2, 2), lookup(ds, "i", new BigDecimal("2.00")));
+            assertEquals(N.asList(), lookup(ds, "i", 2.5d));
+            assertEquals(N.asList(), lookup(ds, "i", 2.5f));
+            // would be 2 if it's narrowed to int.
+            assertEquals(N.asList(), lookup(ds, "i", (1L << 32) + 2));
+            assertEquals(N.asList(), lookup(ds, "i", Long.MAX_VALUE));
+            assertEquals(N.asList(), lookup(ds, "i", Double.NaN));
+            assertEquals(N.asList(Integer.MAX_VALUE), lookup(ds, "i", (long) Integer.MAX_VALUE));
+            assertEquals(N.asList((Object) null), lookup(ds, "i", null));
+
+            assertEquals(N.asList(2.5d), lookup(ds, "d", 2.5f));
+            assertEquals(N.asList(2d), lookup(ds, "d", 2));
+            assertEquals(N.asList(9007199254740992d), lookup(ds, "d", 9007199254740992L));
+            // 2^53 + 1 can't be represented by double, would be 2^53 if it's rounded.
+            assertEquals(N.asList(), lookup(ds, "d", 9007199254740993L));
+        }
+    }
+
+    @Test
+    public void test_lookup_range() {
+        for (int index = 0; index < 3; index += 2) {
+            final DataSet ds = dataSet(index);
+
+            assertEquals(N.asList(3, 2, 2), lookup(ds, "i", 1.5d, 3.5d));
+            assertEquals(N.asList(1, 2, 2), lookup(ds, "i", 0.5d, 2.5d));
+            assertEquals(N.asList(3, 4, Integer.MAX_VALUE), lookup(ds, "i", 2.1d, null));
+            assertEquals(N.asList(3, 1, 2, 4, 2, Integer.MIN_VALUE, Integer.MAX_VALUE), lookup(ds, "i", Long.MIN_VALUE, Long.MAX_VALUE));
+            assertEquals(N.asList(Integer.MIN_VALUE), lookup(ds, "i", Double.NEGATIVE_INFINITY, -1L));
+            assertEquals(N.asList(), lookup(ds, "i", Long.MAX_VALUE, null));
+            assertEquals(N.asList(), lookup(ds, "i", (1L << 32) + 1, (1L << 32) + 3));
+            assertEquals(N.asList(Integer.MAX_VALUE), lookup(ds, "i", (long) Integer.MAX_VALUE, Long.MAX_VALUE));
+
+            assertEquals(N.asList(2d, 2.5d), lookup(ds, "d", 2, 3L));
+            assertEquals(N.asList(9007199254740992d), lookup(ds, "d", 9007199254740991L, 9007199254740993L));
+            assertEquals(N.asList(), lookup(ds, "d", 9007199254740993L, null));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.parser.KryoParser;
+import com.landawn.abacus.parser.ParserFactory;
+import com.landawn.abacus.util.N;
+
+public class ColumnarDataSetTest {
+
+    private static ColumnarDataSet dataSet() {
+        final List<List<Object>> columnList = new ArrayList<>();
+        columnList.add(N.<Object> asList(1, 2, null, 4));
+        columnList.add(N.<Object> asList(1L, null, 3L, 4L));
+        columnList.add(N.<Object> asList(1.5d, 2.5d, 3.5d, null));
+        columnList.add(N.<Object> asList("a", "b", null, "d"));
+
+        return new ColumnarDataSet(N.asList("int", "long", "double", "string"), columnList);
+    }
+
+    @Test
+    public void test_columns() {
+        final ColumnarDataSet ds = dataSet();
+
+        assertTrue(ds._columnList.get(0) instanceof PrimitiveColumn.IntColumn);
+        assertTrue(ds._columnList.get(1) instanceof PrimitiveColumn.LongColumn);
+        assertTrue(ds._columnList.get(2) instanceof PrimitiveColumn.DoubleColumn);
+        assertFalse(ds._columnList.get(3) instanceof PrimitiveColumn);
+
+        assertEquals(N.asList(1, 2, null, 4), ds.getColumn("int"));
+        assertNull(ds.get(2, 0));
+        assertEquals(Long.valueOf(3L), ds.get(2, 1));
+
+        ds.absolute(2);
+        assertEquals(0, ds.getInt(0));
+        assertEquals(3L, ds.getLong(1));
+    }
+
+    @Test
+    public void test_set_noTruncation() {
+        final ColumnarDataSet ds = dataSet();
+
+        ds.set(0, 0, 7);
+        assertTrue(ds._columnList.get(0) instanceof PrimitiveColumn);
+        assertEquals(Integer.valueOf(7), ds.get(0, 0));
+
+        ds.set(1, 0, Long.MAX_VALUE);
+        assertFalse(ds._columnList.get(0) instanceof PrimitiveColumn);
+        assertEquals(N.asList(7, Long.MAX_VALUE, null, 4), ds.getColumn("int"));
+
+        ds.set(0, 2, "x");
+        assertEquals(N.asList("x", 2.5d, 3.5d, null), ds.getColumn("double"));
+    }
+
+    @Test
+    public void test_mixedTypes() {
+        final List<List<Object>> columnList = new ArrayList<>();
+        columnList.add(N.<Object> asList(1, 2L));
+
+        final ColumnarDataSet ds = new ColumnarDataSet(N.asList("a"), columnList);
+
+        assertFalse(ds._columnList.get(0) instanceof PrimitiveColumn);
+        assertEquals(N.asList(1, 2L), ds.getColumn("a"));
+    }
+
+    @Test
+    public void test_merge() {
+        final ColumnarDataSet ds = dataSet();
+        final DataSet other = N.newDataSet(N.asList("int", "double", "other"), new Object[][] { { 5L, null, "x" }, { null, 6, "y" } });
+
+        final DataSet result = ds.merge(other);
+
+        assertEquals(6, result.size());
+        assertEquals(N.asList(1, 2, null, 4, 5L, null), result.getColumn("int"));
+        assertEquals(N.asList(1L, null, 3L, 4L, null, null), result.getColumn("long"));
+        assertEquals(N.asList(1.5d, 2.5d, 3.5d, null, null, 6), result.getColumn("double"));
+        assertEquals(N.asList(null, null, null, null, "x", "y"), result.getColumn("other"));
+
+        // the source is not changed.
+        assertEquals(4, ds.size());
+        assertTrue(ds._columnList.get(0) instanceof PrimitiveColumn);
+
+        final DataSet sameTypes = ds.merge(dataSet(), 1, 3);
+        assertEquals(N.asList(1, 2, null, 4, 2, null), sameTypes.getColumn("int"));
+    }
+
+    @Test
+    public void test_clone() {
+        final ColumnarDataSet ds = dataSet();
+        ds.compact();
+
+        assertEquals(ds, ds.clone());
+        assertEquals(ds.copy(), ds.clone());
+    }
+
+    @Test
+    public void test_kryo() {
+        final KryoParser kryoParser = ParserFactory.createKryoParser();
+        final List<Object>[] columns = new List[] { PrimitiveColumn.of(int.class, N.asList(1, null, 3)), PrimitiveColumn.of(long.class, N.asList(1L, 2L)),
+                PrimitiveColumn.of(double.class, N.asList(1.5d, null)), PrimitiveColumn.of(float.class, N.asList(1.5f)),
+                PrimitiveColumn.of(short.class, N.asList((short) 1)), PrimitiveColumn.of(byte.class, N.asList((byte) 1, null)),
+                PrimitiveColumn.of(char.class, N.asList('a', 'b')), PrimitiveColumn.of(boolean.class, N.asList(true, null, false)),
+                DictionaryColumn.encode(N.<Object> asList("a", null, "b", "a"), 16) };
+
+        for (List<Object> column : columns) {
+            final List<Object> copy = kryoParser.clone(column);
+
+            assertEquals(column.getClass(), copy.getClass());
+            assertEquals(column, copy);
+
+            final List<Object> decoded = kryoParser.decode(kryoParser.encode(column));
+
+            assertEquals(column.getClass(), decoded.getClass());
+            assertEquals(column, decoded);
+        }
+    }
+}
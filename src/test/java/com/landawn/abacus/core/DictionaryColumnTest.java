@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.util.N;
+
+public class DictionaryColumnTest {
+
+    @Test
+    public void test_encode() {
+        final DictionaryColumn column = DictionaryColumn.encode(N.<Object> asList("a", null, "b", "a", "c"), 3);
+
+        assertEquals(N.asList("a", null, "b", "a", "c"), column);
+        assertEquals(3, column.dictionarySize());
+        assertEquals(column.code(0), column.code(3));
+        assertEquals(DictionaryColumn.NULL, column.code(1));
+
+        for (int i = 0; i < column.size(); i++) {
+            assertEquals(N.deepHashCode(column.get(i)), column.hashCode(i));
+        }
+
+        assertNull(DictionaryColumn.encode(N.<Object> asList("a", "b", "c", "d"), 3));
+        assertNull(DictionaryColumn.encode(N.<Object> asList("a", 1), 3));
+        assertNull(DictionaryColumn.encode(column, 3));
+        assertNull(DictionaryColumn.encode(PrimitiveColumn.of(int.class, N.asList(1, 2)), 3));
+    }
+
+    @Test
+    public void test_update() {
+        final DictionaryColumn column = DictionaryColumn.encode(N.<Object> asList("a", "b"), 10);
+
+        assertEquals("a", column.set(0, "c"));
+        column.add("a");
+        column.add(0, null);
+        assertEquals(N.asList(null, "c", "b", "a"), column);
+
+        assertEquals("c", column.remove(1));
+        assertEquals(N.asList(null, "b", "a"), column);
+
+        column.clear();
+        assertTrue(column.isEmpty());
+    }
+
+    @Test
+    public void test_copy_on_write() {
+        final DictionaryColumn column = DictionaryColumn.encode(N.<Object> asList("a", "b", "a"), 10);
+        final DictionaryColumn copy = column.copy(1, 3);
+
+        assertEquals(N.asList("b", "a"), copy);
+        assertTrue(copy.equals(1, column, 0));
+        assertFalse(copy.equals(0, column, 0));
+
+        // the new value is added to the copied dictionary of the copy, the original one is not changed.
+        copy.add("x");
+        assertEquals(2, column.dictionarySize());
+        assertEquals(3, copy.dictionarySize());
+        assertEquals(N.asList("a", "b", "a"), column);
+
+        column.add("y");
+        assertEquals(N.asList("b", "a", "x"), copy);
+        assertTrue(copy.equals(1, column, 0));
+        assertFalse(copy.equals(2, column, 3));
+
+        final DictionaryColumn other = column.newInstance(2);
+        other.addFrom(column, 1);
+        other.addFrom(N.<Object> asList("z"), 0);
+        assertEquals(N.asList("b", "z"), other);
+    }
+
+    @Test
+    public void test_reorder() {
+        final DictionaryColumn column = DictionaryColumn.encode(N.<Object> asList("a", "b", null, "c"), 10);
+
+        column.reorder(new int[] { 2, 0, 3, 1 });
+
+        assertEquals(N.asList(null, "a", "c", "b"), column);
+    }
+
+    private static DataSet dataSet() {
+        final Object[][] rows = new Object[100][];
+
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[] { i, i % 7 == 0 ? null : "c" + (i % 5), "u" + i };
+        }
+
+        return N.newDataSet(N.asList("id", "category", "unique"), rows);
+    }
+
+    @Test
+    public void test_compact() {
+        final DataSet ds = dataSet();
+        final DataSet compacted = dataSet();
+
+        compacted.compact();
+
+        final List<List<Object>> columnList = ((RowDataSet) compacted)._columnList;
+        assertTrue(columnList.get(1) instanceof DictionaryColumn);
+        assertFalse(columnList.get(2) instanceof DictionaryColumn);
+
+        assertEquals(ds, compacted);
+        assertEquals(ds.distinctBy("category"), compacted.distinctBy("category"));
+        assertEquals(ds.filter("category", (String c) -> "c1".equals(c)), compacted.filter("category", (String c) -> "c1".equals(c)));
+
+        final DataSet sorted = ds.copy();
+        sorted.sortBy(N.asList("category", "id"));
+        final DataSet compactedSorted = compacted.copy();
+        compactedSorted.sortBy(N.asList("category", "id"));
+        assertEquals(sorted, compactedSorted);
+
+        // the columns copied from the same encoded column are joined by the codes.
+        final DataSet right = compacted.copy(N.asList("category"), 0, 10);
+        right.renameColumn("category", "rightCategory");
+        final DataSet joined = compacted.innerJoin(right, "category", "rightCategory");
+        final DataSet expectedRight = ds.copy(N.asList("category"), 0, 10);
+        expectedRight.renameColumn("category", "rightCategory");
+        final DataSet expectedJoined = ds.innerJoin(expectedRight, "category", "rightCategory");
+        assertEquals(expectedJoined, joined);
+
+        compacted.set(0, 1, "new");
+        assertEquals("new", compacted.get(0, 1));
+        assertEquals(null, right.get(0, 0));
+    }
+}
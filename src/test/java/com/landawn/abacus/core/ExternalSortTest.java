@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.SpillOptions;
+import com.landawn.abacus.util.ExceptionalStream;
+import com.landawn.abacus.util.IOUtil;
+import com.landawn.abacus.util.N;
+
+public class ExternalSortTest {
+
+    private File tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("abacus-sortBy-test").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        IOUtil.deleteAllIfExists(tempDir);
+    }
+
+    private static DataSet dataSet(final int size) {
+        final Object[][] rows = new Object[size][];
+
+        for (int i = 0; i < size; i++) {
+            rows[i] = new Object[] { i % 5 == 0 ? null : (i * 7) % 11, "s" + (i % 3), i, new Date(i) };
+        }
+
+        return N.newDataSet(N.asList("key", "str", "id", "date"), rows);
+    }
+
+    private SpillOptions spillOptions(final int maxRowsInMemory) {
+        return SpillOptions.create().setMaxRowsInMemory(maxRowsInMemory).setTempDir(tempDir);
+    }
+
+    private void assertNoTempFile() {
+        assertEquals(0, N.len(tempDir.listFiles()));
+    }
+
+    @Test
+    public void test_sortBy() {
+        for (int maxRowsInMemory : new int[] { 1, 3, 7, 100 }) {
+            for (boolean compressed : new boolean[] { false, true }) {
+                final DataSet ds = dataSet(50);
+                final DataSet expected = ds.copy();
+                expected.sortBy(N.asList("key", "str"));
+
+                final DataSet result = ds.sortBy(N.asList("key", "str"), null, spillOptions(maxRowsInMemory).setCompressed(compressed));
+
+                // stable: the rows with equal keys are in the order of "id".
+                assertEquals(expected, result);
+                assertEquals(dataSet(50), ds);
+                assertNoTempFile();
+            }
+        }
+    }
+
+    @Test
+    public void test_sortBy_sharesValues() {
+        final DataSet ds = dataSet(20);
+        final DataSet result = ds.sortBy(N.asList("id"), new Comparator<Object[]>() {
+            @Override
+            public int compare(final Object[] a, final Object[] b) {
+                return Integer.compare((Integer) b[0], (Integer) a[0]);
+            }
+        }, spillOptions(3));
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(19 - i, (int) result.get(i, 2));
+            assertSame(ds.get(19 - i, 3), result.get(i, 3));
+        }
+    }
+
+    @Test
+    public void test_sortBy_primitiveColumns() {
+        final DataSet ds = ColumnarDataSet.from(dataSet(30));
+        final DataSet expected = ds.copy();
+        expected.sortBy(N.asList("key"));
+
+        final DataSet result = ds.sortBy(N.asList("key"), null, spillOptions(4));
+
+        assertEquals(expected, result);
+        assertTrue(((RowDataSet) result)._columnList.get(2) instanceof PrimitiveColumn);
+        assertNoTempFile();
+    }
+
+    @Test
+    public void test_streamSortedBy() throws IOException {
+        final DataSet ds = dataSet(50);
+        final DataSet expected = ds.copy();
+        expected.sortBy(N.asList("key"));
+
+        final List<Object[]> rows = new ArrayList<>();
+
+        try (ExceptionalStream<Object[], IOException> stream = ds.streamSortedBy(N.asList("key"), null, spillOptions(6))) {
+            stream.forEach(row -> rows.add(row));
+        }
+
+        assertEquals(50, rows.size());
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(expected.get(i, 2), rows.get(i)[2]);
+        }
+
+        assertNoTempFile();
+    }
+
+    @Test
+    public void test_streamSortedBy_closed() throws IOException {
+        final ExceptionalStream<Object[], IOException> stream = dataSet(50).streamSortedBy(N.asList("key"), null, spillOptions(6));
+
+        stream.limit(3).count();
+
+        assertNoTempFile();
+    }
+
+    @Test
+    public void test_streamSortedBy_abandoned() throws IOException {
+        final ExceptionalStream<Object[], IOException> stream = dataSet(50).streamSortedBy(N.asList("key"), null, spillOptions(6));
+
+        // the temporary files are deleted once they're opened, even if the stream is never read or closed.
+        if (!System.getProperty("os.name").toLowerCase().startsWith("windows")) {
+            assertNoTempFile();
+        }
+
+        stream.close();
+        assertNoTempFile();
+    }
+
+    @Test
+    public void test_sortBy_exception() {
+        final DataSet ds = dataSet(50);
+        final RuntimeException error = new RuntimeException();
+        final Comparator<Object[]> cmp = new Comparator<Object[]>() {
+            private int count = 0;
+
+            @Override
+            public int compare(final Object[] a, final Object[] b) {
+                // fails in the merge, after all the runs are spilled.
+                if (++count > 200) {
+                    throw error;
+                }
+
+                return Integer.compare((Integer) a[0], (Integer) b[0]);
+            }
+        };
+
+        try {
+            ds.sortBy(N.asList("id"), cmp, spillOptions(5));
+            fail("Should throw RuntimeException");
+        } catch (RuntimeException e) {
+            assertSame(error, e);
+        }
+
+        assertNoTempFile();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.util.N;
+
+public class JoinIndexTest {
+
+    @SuppressWarnings("unchecked")
+    private static List<Object>[] columns(final List<?>... columns) {
+        return (List<Object>[]) columns;
+    }
+
+    @Test
+    public void test_index() {
+        final List<Object>[] keyColumns = columns(N.asList("a", "b", "a", null, "c", null, "a"));
+        final JoinIndex index = new JoinIndex(keyColumns, 7);
+
+        assertEquals(N.asList(0, 1, 3, 4), index.groupHeads().toList());
+        assertEquals(3, index.count(0));
+        assertEquals(2, index.count(3));
+
+        final List<Object>[] probe = columns(N.asList("a", null, "x"));
+        assertEquals(0, index.find(probe, 0));
+        assertEquals(2, index.next(0));
+        assertEquals(6, index.next(2));
+        assertEquals(-1, index.next(6));
+        assertEquals(3, index.find(probe, 1));
+        assertEquals(-1, index.find(probe, 2));
+    }
+
+    @Test
+    public void test_multi_column_keys() {
+        final List<Object>[] keyColumns = columns(N.asList(1, 1, 2, 1), N.asList("a", "b", "a", "a"));
+        final JoinIndex index = new JoinIndex(keyColumns, 4);
+
+        assertEquals(3, index.groupHeads().size());
+
+        final List<Object>[] probe = columns(N.asList(1, 2), N.asList("a", "b"));
+        assertEquals(0, index.find(probe, 0));
+        assertEquals(3, index.next(0));
+        assertEquals(-1, index.find(probe, 1));
+    }
+
+    @Test
+    public void test_match_both_sides() {
+        final List<Object>[] small = columns(N.asList(3, 1, 3));
+        final List<Object>[] big = columns(N.asList(1, 2, 3, 3, 1, 4));
+
+        // the index is built on the smaller side, and the matches are the same from both sides.
+        final JoinIndex.Matches matches = JoinIndex.match(big, 6, small, 3);
+        final JoinIndex.Matches matches2 = JoinIndex.match(big, 6, new JoinIndex(big, 6), small, 3, null);
+
+        assertArrayEquals(new int[] { 0, 1, 1, 3, 5, 6, 6 }, matches.offsets);
+        assertArrayEquals(matches.offsets, matches2.offsets);
+
+        for (int leftRowIndex = 0; leftRowIndex < 6; leftRowIndex++) {
+            assertArrayEquals(N.copyOfRange(matches.rowIndexes, matches.fromIndex(leftRowIndex), matches.toIndex(leftRowIndex)),
+                    N.copyOfRange(matches2.rowIndexes, matches2.fromIndex(leftRowIndex), matches2.toIndex(leftRowIndex)));
+        }
+
+        assertArrayEquals(new int[] { 0, 2 }, N.copyOfRange(matches.rowIndexes, matches.fromIndex(2), matches.toIndex(2)));
+
+        final JoinIndex.Matches matches3 = JoinIndex.match(small, 3, big, 6);
+        assertArrayEquals(new int[] { 0, 2, 4, 6 }, matches3.offsets);
+        assertArrayEquals(new int[] { 2, 3, 0, 4, 2, 3 }, N.copyOfRange(matches3.rowIndexes, 0, 6));
+    }
+
+    @Test
+    public void test_primitive_and_object_columns() {
+        final List<List<Object>> columnList = new ArrayList<>();
+        columnList.add(N.<Object> asList(1, 2, null, 3));
+        columnList.add(N.<Object> asList("a", "b", "c", "d"));
+        final ColumnarDataSet left = new ColumnarDataSet(N.asList("id", "name"), columnList);
+        assertTrue(left._columnList.get(0) instanceof PrimitiveColumn);
+
+        final DataSet right = N.newDataSet(N.asList("rid", "value"), new Object[][] { { 3, "x" }, { null, "y" }, { 1, "z" }, { 1, "w" } });
+        final DataSet rowLeft = N.newDataSet(N.asList("id", "name"), new Object[][] { { 1, "a" }, { 2, "b" }, { null, "c" }, { 3, "d" } });
+
+        assertEquals(4, rowLeft.innerJoin(right, "id", "rid").size());
+        assertEquals(rowLeft.innerJoin(right, "id", "rid"), left.innerJoin(right, "id", "rid"));
+        assertEquals(rowLeft.leftJoin(right, "id", "rid"), left.leftJoin(right, "id", "rid"));
+        assertEquals(rowLeft.rightJoin(right, "id", "rid"), left.rightJoin(right, "id", "rid"));
+        assertEquals(rowLeft.fullJoin(right, "id", "rid"), left.fullJoin(right, "id", "rid"));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.LazyDataSet;
+import com.landawn.abacus.util.N;
+
+public class LazyRowDataSetTest {
+
+    private static DataSet orders() {
+        return N.newDataSet(N.asList("orderId", "customerId", "amount"),
+                new Object[][] { { 1, 10, 100 }, { 2, 20, 50 }, { 3, 10, 70 }, { 4, 30, 20 }, { 5, 20, 300 }, { 6, 40, 10 } });
+    }
+
+    private static DataSet customers() {
+        return N.newDataSet(N.asList("id", "name"), new Object[][] { { 10, "a" }, { 20, "b" }, { 30, "c" } });
+    }
+
+    @Test
+    public void test_filter_select_sort() {
+        final DataSet orders = orders();
+
+        final DataSet result = orders.plan()
+                .filter("amount", (Integer amount) -> amount >= 50)
+                .addColumn("double", "amount", (Integer amount) -> amount * 2)
+                .sortBy("customerId")
+                .select(N.asList("orderId", "double"))
+                .collect();
+
+        final DataSet expected = orders.filter("amount", (Integer amount) -> amount >= 50);
+        expected.addColumn("double", "amount", (Integer amount) -> amount * 2);
+        expected.sortBy("customerId");
+
+        assertEquals(N.asList("orderId", "double"), result.columnNameList());
+        assertEquals(expected.getColumn("orderId"), result.getColumn("orderId"));
+        assertEquals(expected.getColumn("double"), result.getColumn("double"));
+        assertEquals(N.asList(1, 3, 2, 5), result.getColumn("orderId"));
+    }
+
+    @Test
+    public void test_lazy_and_pruned() {
+        final DataSet orders = orders();
+        final AtomicInteger filterCount = new AtomicInteger();
+        final AtomicInteger funcCount = new AtomicInteger();
+
+        final LazyDataSet plan = orders.plan()
+                .addColumn("unused", "amount", (Integer amount) -> {
+                    funcCount.incrementAndGet();
+                    return amount;
+                })
+                .filter("amount", (Integer amount) -> {
+                    filterCount.incrementAndGet();
+                    return amount > 60;
+                })
+                .select(N.asList("orderId"));
+
+        assertEquals(0, filterCount.get());
+        assertEquals(N.asList("orderId"), plan.columnNameList());
+
+        final DataSet result = plan.collect();
+
+        assertEquals(N.asList(1, 3, 5), result.getColumn("orderId"));
+        assertEquals(orders.size(), filterCount.get());
+        // the new column is not used by the result.
+        assertEquals(0, funcCount.get());
+    }
+
+    @Test
+    public void test_filter_pushed_below_join() {
+        final DataSet orders = orders();
+        final DataSet customers = customers();
+
+        final DataSet result = orders.plan()
+                .innerJoin(customers, N.asMap("customerId", "id"))
+                .filter("amount", (Integer amount) -> amount >= 70)
+                .filter("name", (String name) -> !"b".equals(name))
+                .collect();
+
+        final DataSet expected = orders.innerJoin(customers, N.asMap("customerId", "id"));
+
+        assertEquals(expected.columnNameList(), result.columnNameList());
+        assertEquals(N.asList(1, 3), result.getColumn("orderId"));
+        assertEquals(N.asList("a", "a"), result.getColumn("name"));
+    }
+
+    @Test
+    public void test_filter_on_left_join() {
+        final DataSet orders = orders();
+        final DataSet customers = customers();
+
+        // the filter on the right columns can't be pushed below the left join: the rows without match have null values.
+        final DataSet result = orders.plan()
+                .leftJoin(customers, N.asMap("customerId", "id"))
+                .filter("name", (String name) -> name == null)
+                .collect();
+
+        assertEquals(N.asList(6), result.getColumn("orderId"));
+    }
+
+    @Test
+    public void test_distinctBy() {
+        final DataSet result = orders().plan().distinctBy("customerId").select(N.asList("orderId")).collect();
+
+        assertEquals(N.asList(1, 2, 4, 6), result.getColumn("orderId"));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.util.IOUtil;
+import com.landawn.abacus.util.N;
+
+public class MappedDataSetTest {
+
+    private File tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("abacus-binary-test").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        IOUtil.deleteAllIfExists(tempDir);
+    }
+
+    private static DataSet dataSet(final int size) {
+        final Object[][] rows = new Object[size][];
+
+        for (int i = 0; i < size; i++) {
+            rows[i] = new Object[] { i % 2 == 0, (char) ('a' + i % 26), (byte) i, (short) (i * 3), i % 7 == 0 ? null : i * 1000, (long) i << 33, i / 4f,
+                    i % 13 == 0 ? null : i / 3d, i % 5 == 0 ? null : "s" + i, i % 3 == 0 ? null : BigDecimal.valueOf(i, 2) };
+        }
+
+        return N.newDataSet(N.asList("boolean", "char", "byte", "short", "int", "long", "float", "double", "string", "decimal"), rows);
+    }
+
+    @Test
+    public void test_round_trip() {
+        final DataSet ds = dataSet(200);
+        final File file = new File(tempDir, "ds.bin");
+
+        ds.toBinary(file);
+
+        final MappedDataSet mapped = MappedDataSet.open(file);
+
+        assertEquals(ds.columnNameList(), mapped.columnNameList());
+        assertEquals(ds.size(), mapped.size());
+
+        for (String columnName : ds.columnNameList()) {
+            assertEquals(columnName, ds.getColumn(columnName), mapped.getColumn(columnName));
+        }
+
+        // the null values after the first 64 rows.
+        assertEquals(null, mapped.get(196, 4));
+        assertEquals(null, mapped.get(195, 7));
+        assertEquals(null, mapped.get(195, 8));
+    }
+
+    @Test
+    public void test_sub_range_and_columns() {
+        final DataSet ds = dataSet(100);
+        final File file = new File(tempDir, "ds.bin");
+
+        ds.toBinary(file, N.asList("int", "string"), 10, 30);
+
+        final MappedDataSet mapped = MappedDataSet.open(file);
+
+        assertEquals(N.asList("int", "string"), mapped.columnNameList());
+        assertEquals(20, mapped.size());
+        assertEquals(ds.copy(N.asList("int", "string"), 10, 30).getColumn("int"), mapped.getColumn("int"));
+        assertEquals(ds.copy(N.asList("int", "string"), 10, 30).getColumn("string"), mapped.getColumn("string"));
+    }
+
+    @Test
+    public void test_empty() {
+        final DataSet ds = dataSet(0);
+        final File file = new File(tempDir, "empty.bin");
+
+        ds.toBinary(file);
+
+        final MappedDataSet mapped = MappedDataSet.open(file);
+
+        assertEquals(ds.columnNameList(), mapped.columnNameList());
+        assertEquals(0, mapped.size());
+    }
+
+    @Test
+    public void test_frozen_and_heap_results() {
+        final DataSet ds = dataSet(50);
+        final File file = new File(tempDir, "ds.bin");
+
+        ds.toBinary(file);
+
+        final MappedDataSet mapped = MappedDataSet.open(file);
+
+        assertTrue(mapped.frozen());
+
+        try {
+            mapped.set(0, 0, false);
+            fail("IllegalStateException should be thrown");
+        } catch (IllegalStateException e) {
+            // expected.
+        }
+
+        final DataSet filtered = mapped.filter("int", (Integer value) -> value != null && value > 20000);
+        assertEquals(ds.filter("int", (Integer value) -> value != null && value > 20000), filtered);
+
+        filtered.set(0, 0, false);
+        assertEquals(false, filtered.get(0, 0));
+    }
+
+    @Test
+    public void test_output_stream() throws IOException {
+        final DataSet ds = dataSet(30);
+        final File file = new File(tempDir, "ds.bin");
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        ds.toBinary(os);
+        Files.write(file.toPath(), os.toByteArray());
+
+        assertEquals(ds.getColumn("decimal"), MappedDataSet.open(file).getColumn("decimal"));
+    }
+
+    @Test
+    public void test_invalid_file() throws IOException {
+        final File file = new File(tempDir, "invalid.bin");
+        Files.write(file.toPath(), "not a binary DataSet file".getBytes());
+
+        try {
+            MappedDataSet.open(file);
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected.
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.util.N;
+
+public class MergeJoinTest {
+
+    @Test
+    public void test_mergeJoin() {
+        final DataSet left = N.newDataSet(N.asList("id", "a"), new Object[][] { { null, "a0" }, { 1, "a1" }, { 2, "a2" }, { 2, "a3" }, { 4, "a4" } });
+        final DataSet right = N.newDataSet(N.asList("rid", "b"), new Object[][] { { null, "b0" }, { 2, "b1" }, { 2, "b2" }, { 3, "b3" }, { 4, "b4" } });
+
+        assertEquals(left.innerJoin(right, "id", "rid"), left.mergeJoin(right, "id", "rid"));
+        assertEquals(left.leftJoin(right, "id", "rid"), left.mergeLeftJoin(right, "id", "rid"));
+    }
+
+    @Test
+    public void test_sorted_set_operations() {
+        final DataSet a = N.newDataSet(N.asList("id"), new Object[][] { { 1 }, { 2 }, { 3 } });
+        final DataSet b = N.newDataSet(N.asList("id"), new Object[][] { { 2 }, { 3 }, { 4 } });
+
+        assertEquals(N.asList(1, 2, 3, 4), a.sortedUnion(b).getColumn("id"));
+        assertEquals(N.asList(2, 3), a.sortedIntersect(b).getColumn("id"));
+        assertEquals(N.asList(1), a.sortedExcept(b).getColumn("id"));
+    }
+
+    @Test
+    public void test_not_sorted() {
+        final DataSet left = N.newDataSet(N.asList("id"), new Object[][] { { 2 }, { 1 } });
+        final DataSet right = N.newDataSet(N.asList("rid"), new Object[][] { { 1 } });
+
+        try {
+            left.mergeJoin(right, "id", "rid");
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("not sorted"));
+        }
+    }
+
+    @Test
+    public void test_non_comparable_keys() {
+        final DataSet left = N.newDataSet(N.asList("id"), new Object[][] { { new Object() } });
+        final DataSet right = N.newDataSet(N.asList("rid"), new Object[][] { { 1 } });
+
+        try {
+            left.mergeJoin(right, "id", "rid");
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("Comparable"));
+        }
+
+        // Integer and Long are not comparable with each other.
+        final DataSet longs = N.newDataSet(N.asList("rid"), new Object[][] { { 1L } });
+        final DataSet ints = N.newDataSet(N.asList("id"), new Object[][] { { 1 } });
+
+        try {
+            ints.mergeJoin(longs, "id", "rid");
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("not comparable"));
+        }
+    }
+}
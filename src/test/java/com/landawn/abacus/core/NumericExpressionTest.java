@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.landawn.abacus.ColumnExpression;
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.util.N;
+
+public class NumericExpressionTest {
+
+    private static ColumnarDataSet dataSet() {
+        final List<List<Object>> columnList = new ArrayList<>();
+        columnList.add(N.<Object> asList(1, 2, null, 4));
+        columnList.add(N.<Object> asList(10L, 20L, 30L, 40L));
+        columnList.add(N.<Object> asList(0.5d, 1.5d, 2.5d, 3.5d));
+        columnList.add(N.<Object> asList('a', 'b', 'c', 'd'));
+        columnList.add(N.<Object> asList(true, false, true, false));
+        columnList.add(N.<Object> asList(1, 2L, 3.5d, null));
+        columnList.add(N.<Object> asList("a", "b", "c", "d"));
+
+        return new ColumnarDataSet(N.asList("int", "long", "double", "char", "boolean", "mixed", "string"), columnList);
+    }
+
+    @Test
+    public void test_arithmetic() {
+        final DataSet ds = dataSet();
+
+        assertEquals(7L, ds.col("int").sumAsLong());
+        assertEquals(3L, ds.col("int").count());
+        assertEquals(100L, ds.col("long").sumAsLong());
+        assertEquals(8.0d, ds.col("double").sum(), 0.0d);
+        assertEquals(6.5d, ds.col("mixed").sum(), 0.0d);
+
+        assertEquals(14L + 3L * 10L, ds.col("int").mul(2).add(10).sumAsLong());
+        assertEquals(1.0d, ds.col("long").div(ds.col("long")).mean().get(), 0.0d);
+        assertEquals(-100L, ds.col("long").negate().sumAsLong());
+        assertEquals(100L, ds.col("long").negate().abs().sumAsLong());
+        assertEquals(40L, ds.col("long").max().get(), 0.0d);
+
+        final double[] values = ds.col("int").add(ds.col("double")).toArray();
+        assertEquals(1.5d, values[0], 0.0d);
+        assertTrue(Double.isNaN(values[2]));
+
+        ds.addColumn("total", ds.col("int").mul(ds.col("long")));
+        assertTrue(ds.getColumn("total") instanceof PrimitiveColumn.LongColumn);
+        assertEquals(N.asList(10L, 40L, null, 160L), ds.getColumn("total"));
+    }
+
+    @Test
+    public void test_overflow() {
+        final List<List<Object>> columnList = new ArrayList<>();
+        columnList.add(N.<Object> asList(1L, Long.MAX_VALUE, 3L, Long.MIN_VALUE));
+        columnList.add(N.<Object> asList(2L, 2L, 2L, 2L));
+        final DataSet ds = new ColumnarDataSet(N.asList("a", "b"), columnList);
+
+        assertArrayEquals(new double[] { 3d, Long.MAX_VALUE + 2d, 5d, Long.MIN_VALUE + 2d }, ds.col("a").add(ds.col("b")).toArray(), 0.0d);
+        assertArrayEquals(new double[] { 2d, Long.MAX_VALUE * 2d, 6d, Long.MIN_VALUE * 2d }, ds.col("a").mul(ds.col("b")).toArray(), 0.0d);
+        assertArrayEquals(new double[] { 4d, Long.MAX_VALUE * 4d, 12d, Long.MIN_VALUE * 4d }, ds.col("a").mul(4).toArray(), 0.0d);
+        assertArrayEquals(new double[] { -1d, -Long.MAX_VALUE, -3d, -(double) Long.MIN_VALUE }, ds.col("a").negate().toArray(), 0.0d);
+        assertEquals(-(double) Long.MIN_VALUE, ds.col("a").abs().max().get(), 0.0d);
+        assertEquals(Long.MIN_VALUE - 1d, ds.col("a").sub(1).min().get(), 0.0d);
+
+        ds.addColumn("c", ds.col("a").add(-2));
+        assertTrue(ds.getColumn("c") instanceof PrimitiveColumn.DoubleColumn);
+        assertEquals(-1d, (Double) ds.get(0, 2), 0.0d);
+        assertEquals(Long.MIN_VALUE - 2d, (Double) ds.get(3, 2), 0.0d);
+    }
+
+    @Test
+    public void test_column_resolved_by_name() {
+        final DataSet ds = dataSet();
+        final ColumnExpression expr = ds.col("long").add(1);
+
+        assertEquals(104L, expr.sumAsLong());
+
+        ds.removeColumn("long");
+        ds.addColumn("long", N.asList(1L, 2L, 3L, 4L));
+
+        assertEquals(14L, expr.sumAsLong());
+
+        ds.removeColumn("long");
+
+        try {
+            expr.sumAsLong();
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            // expected.
+        }
+    }
+
+    @Test
+    public void test_non_numeric_column() {
+        final DataSet ds = dataSet();
+
+        for (String columnName : N.asList("char", "boolean", "string")) {
+            try {
+                ds.col(columnName);
+                fail("IllegalArgumentException should be thrown for column: " + columnName);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains(columnName));
+            }
+        }
+
+        final ColumnExpression expr = ds.col("mixed");
+        ds.set(3, 5, "x");
+
+        try {
+            expr.sum();
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("mixed"));
+        }
+    }
+}
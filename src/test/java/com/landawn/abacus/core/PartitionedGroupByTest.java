@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.util.N;
+import com.landawn.abacus.util.stream.Collectors;
+
+public class PartitionedGroupByTest {
+
+    private static DataSet dataSet(final int size) {
+        final Object[][] rows = new Object[size][];
+
+        for (int i = 0; i < size; i++) {
+            rows[i] = new Object[] { i % 7, i % 3 == 0 ? 1 : 2, i };
+        }
+
+        return N.newDataSet(N.asList("a", "b", "v"), rows);
+    }
+
+    @Test
+    public void test_parallelGroupBy() {
+        for (int size : new int[] { 0, 10, PartitionedGroupBy.MIN_PARTITION_SIZE * 4 + 1 }) {
+            final DataSet ds = dataSet(size);
+
+            assertEquals(ds.groupBy(N.asList("a", "b"), "vs", "v", Collectors.toList()),
+                    ds.parallelGroupBy(N.asList("a", "b"), "vs", "v", Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void test_parallelRollup_toList() {
+        // the group (a=1, b=2) has more rows than (a=1, b=1), so Collectors.toList() would fold the smaller list into the bigger one.
+        final DataSet ds = N.newDataSet(N.asList("a", "b", "v"),
+                new Object[][] { { 1, 1, 10 }, { 1, 2, 20 }, { 1, 2, 21 }, { 1, 2, 22 }, { 2, 1, 30 }, { 1, 1, 11 } });
+
+        final List<DataSet> result = ds.parallelRollup(N.asList("a", "b"), "vs", "v", Collectors.toList()).toList();
+
+        assertEquals(2, result.size());
+        assertEquals(ds.groupBy(N.asList("a", "b"), "vs", "v", Collectors.toList()), result.get(0));
+        assertEquals(N.asList(N.asList(10, 11), N.asList(20, 21, 22), N.asList(30)), result.get(0).getColumn("vs"));
+        assertEquals(ds.groupBy(N.asList("a"), "vs", "v", Collectors.toList()), result.get(1));
+        assertEquals(N.asList(N.asList(10, 20, 21, 22, 11), N.asList(30)), result.get(1).getColumn("vs"));
+    }
+
+    @Test
+    public void test_parallelCube_toList() {
+        for (int size : new int[] { 20, PartitionedGroupBy.MIN_PARTITION_SIZE * 4 + 1 }) {
+            final DataSet ds = dataSet(size);
+            final List<DataSet> result = ds.parallelCube(N.asList("a", "b"), "vs", "v", Collectors.toList()).toList();
+
+            assertEquals(3, result.size());
+            assertEquals(ds.groupBy(N.asList("a", "b"), "vs", "v", Collectors.toList()), result.get(0));
+
+            for (DataSet groups : result.subList(1, 3)) {
+                assertEquals(ds.groupBy(groups.columnNameList().subList(0, 1), "vs", "v", Collectors.toList()), groups);
+            }
+        }
+    }
+
+    @Test
+    public void test_parallelRollup_count() {
+        final DataSet ds = dataSet(PartitionedGroupBy.MIN_PARTITION_SIZE * 2 + 1);
+        final List<DataSet> result = ds.parallelRollup(N.asList("a", "b"), "count", "v", Collectors.counting()).toList();
+
+        assertEquals(ds.groupBy(N.asList("a", "b"), "count", "v", Collectors.counting()), result.get(0));
+        assertEquals(ds.groupBy(N.asList("a"), "count", "v", Collectors.counting()), result.get(1));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.junit.Test;
+
+import com.landawn.abacus.util.N;
+
+public class AvroParserTest {
+
+    private static final Schema SCHEMA = new Schema.Parser().parse("{\"type\": \"record\", \"name\": \"Account\", \"fields\": ["
+            + "{\"name\": \"name\", \"type\": [\"null\", \"string\"]}, {\"name\": \"age\", \"type\": [\"null\", \"int\"]}]}");
+
+    private final AvroParser parser = ParserFactory.createAvroParser();
+
+    @Test
+    public void test_writer() throws Exception {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        try (AvroRecordWriter writer = parser.writer(SCHEMA, os)) {
+            writer.write(N.asMap("name", "a", "age", 1));
+            writer.write(N.asList("b", 2));
+            writer.write(new Object[] { "c" });
+        }
+
+        final List<Map> rows = parser.stream(Map.class, new ByteArrayInputStream(os.toByteArray())).toList();
+
+        assertEquals(3, rows.size());
+        assertEquals("a", String.valueOf(rows.get(0).get("name")));
+        assertEquals(1, rows.get(0).get("age"));
+        assertEquals("b", String.valueOf(rows.get(1).get("name")));
+        assertEquals(2, rows.get(1).get("age"));
+        assertEquals("c", String.valueOf(rows.get(2).get("name")));
+        assertEquals(null, rows.get(2).get("age"));
+    }
+
+    @Test
+    public void test_writer_row_bigger_than_schema() {
+        final AvroRecordWriter writer = parser.writer(SCHEMA, new ByteArrayOutputStream());
+
+        try {
+            writer.write(N.asList("a", 1, "x"));
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("field count: 2"));
+        }
+
+        try {
+            writer.write(new Object[] { "a", 1, "x" });
+            fail("IllegalArgumentException should be thrown");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("field count: 2"));
+        }
+
+        writer.close();
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.landawn.abacus.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.Test;
+
+import com.landawn.abacus.DataSet;
+import com.landawn.abacus.exception.ParseException;
+import com.landawn.abacus.parser.BinaryDeserializationConfig.BDC;
+import com.landawn.abacus.parser.BinarySerializationConfig.BSC;
+import com.landawn.abacus.util.IntList;
+import com.landawn.abacus.util.ListMultimap;
+import com.landawn.abacus.util.N;
+
+public class BinaryParserTest {
+
+    private final BinaryParser parser = ParserFactory.createBinaryParser();
+
+    private static Bean newBean(final int i) {
+        final Bean bean = new Bean();
+        bean.setId(i);
+        bean.setAmount(-1234567890123L * i);
+        bean.setName("name-\u00e9-" + i);
+        bean.setRate(i / 3d);
+        bean.setActive(i % 2 == 0);
+        bean.setPrice(new BigDecimal("12.345").multiply(BigDecimal.valueOf(i)));
+        bean.setTags(N.asList("a", "b" + i));
+        bean.setScores(N.asMap("math", i, "art", -i));
+        bean.setCodes(new int[] { i, -i, Integer.MAX_VALUE, Integer.MIN_VALUE });
+
+        return bean;
+    }
+
+    @Test
+    public void test_scalars() {
+        final Object[] values = { "abc", "", "\u4e2d\ud83d\ude00", 0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 0L, Long.MAX_VALUE, Long.MIN_VALUE, 1.5d,
+                Double.NaN, -0.25f, true, false, 'c', '\u4e2d' };
+
+        for (Object value : values) {
+            assertEquals(value, parser.decode(Object.class, parser.encode(value)));
+            assertEquals(value, parser.decode(value.getClass(), parser.encode(value)));
+        }
+
+        assertNull(parser.decode(Object.class, parser.encode(null)));
+        assertEquals(Integer.valueOf(0), parser.decode(int.class, parser.encode(null)));
+
+        // converted to the target type.
+        assertEquals(Long.valueOf(7), parser.decode(Long.class, parser.encode(7)));
+        assertEquals(new BigDecimal("1.5"), parser.decode(BigDecimal.class, parser.encode(new BigDecimal("1.5"))));
+    }
+
+    @Test
+    public void test_varint() {
+        // small ints are written in one byte after the tag.
+        assertEquals(2, parser.encode(1).length);
+        assertEquals(2, parser.encode(-1).length);
+        assertEquals(2, parser.encode(63).length);
+        assertEquals(3, parser.encode(64).length);
+        assertEquals(2, parser.encode(-3L).length);
+    }
+
+    @Test
+    public void test_entity() {
+        final Bean bean = newBean(3);
+        bean.setChild(newBean(4));
+
+        final Bean copy = parser.decode(Bean.class, parser.encode(bean));
+
+        assertEquals(bean, copy);
+        assertEquals(bean.getChild(), copy.getChild());
+
+        final Bean empty = parser.decode(Bean.class, parser.encode(new Bean()));
+        assertEquals(new Bean(), empty);
+    }
+
+    @Test
+    public void test_nameReference() {
+        final List<Bean> beans = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            beans.add(newBean(i));
+        }
+
+        final byte[] bytes = parser.encode(beans);
+        int total = 0;
+
+        for (Bean bean : beans) {
+            total += parser.encode(bean).length;
+        }
+
+        // the property names are written only once.
+        assertTrue(bytes.length < total - 99 * "scores".length());
+
+        final BinaryDeserializationConfig config = BDC.create().setElementType(Bean.class);
+        assertEquals(beans, parser.decode(List.class, bytes, config));
+    }
+
+    @Test
+    public void test_collections() {
+        final Map<String, Object> map = N.asLinkedHashMap("a", 1, "b", N.asList("x", null, 2L), "c", N.asMap("a", true));
+        assertEquals(map, parser.decode(Map.class, parser.encode(map)));
+        assertEquals(map, parser.decode(Object.class, parser.encode(map)));
+
+        final Object[] a = { "a", 1, null };
+        assertArrayEquals(a, parser.decode(Object[].class, parser.encode(a)));
+        assertEquals(Arrays.asList(a), parser.decode(List.class, parser.encode(a)));
+
+        final Map<Integer, String> intKeyMap = N.asMap(1, "a", 2, "b");
+        assertEquals(intKeyMap, parser.decode(Map.class, parser.encode(intKeyMap)));
+    }
+
+    @Test
+    public void test_primitiveArrays() {
+        final Object[] arrays = { new boolean[] { true, false }, new char[] { 'a', '\u4e2d' }, new byte[] { 1, -1, 127 }, new short[] { -1, 300 },
+                new int[] { 0, -1, Integer.MIN_VALUE }, new long[] { Long.MAX_VALUE, -2 }, new float[] { 1.5f, Float.NaN },
+                new double[] { -0.5d, Double.MAX_VALUE }, new int[0] };
+
+        for (Object array : arrays) {
+            final Object copy = parser.decode(array.getClass(), parser.encode(array));
+            assertTrue(N.toString(array), Objects.deepEquals(array, copy));
+        }
+
+        final IntList intList = IntList.of(3, -2, 1);
+        intList.remove(1);
+
+        assertEquals(intList, parser.decode(IntList.class, parser.encode(intList)));
+        assertArrayEquals(new int[] { 3, -2 }, parser.decode(int[].class, parser.encode(intList)));
+        assertEquals(IntList.of(1, 2), parser.decode(IntList.class, parser.encode(new int[] { 1, 2 })));
+    }
+
+    @Test
+    public void test_dataSet() {
+        final DataSet ds = N.newDataSet(N.asList("id", "name", "price"),
+                new Object[][] { { 1, "a", 1.5d }, { 2, null, 2.5d }, { 3, "c", null } });
+
+        final DataSet copy = parser.decode(DataSet.class, parser.encode(ds));
+
+        assertEquals(ds.columnNameList(), copy.columnNameList());
+        assertEquals(ds, copy);
+    }
+
+    @Test
+    public void test_multimap() {
+        final ListMultimap<String, Integer> multimap = N.newListMultimap();
+        multimap.put("a", 1);
+        multimap.put("a", 2);
+        multimap.put("b", 3);
+
+        assertEquals(multimap, parser.decode(ListMultimap.class, parser.encode(multimap)));
+    }
+
+    @Test
+    public void test_config() {
+        final Bean bean = newBean(2);
+
+        final BinarySerializationConfig sc = BSC.of(Exclusion.NULL, N.<Class<?>, Collection<String>> asMap(Bean.class, N.asList("name")));
+        final Bean copy = parser.decode(Bean.class, parser.encode(bean, sc));
+
+        assertNull(copy.getName());
+        assertEquals(bean.getId(), copy.getId());
+
+        final Bean copy2 = parser.decode(Bean.class, parser.encode(bean), BDC.create().setIgnoredPropNames(N.asList("amount")));
+        assertEquals(0, copy2.getAmount());
+        assertEquals(bean.getName(), copy2.getName());
+    }
+
+    @Test
+    public void test_unknownProperty() {
+        final byte[] bytes = parser.encode(N.asMap("id", 1, "unknown", N.asList(1, 2)));
+
+        try {
+            parser.decode(Bean.class, bytes);
+            throw new AssertionError("ParseException is expected");
+        } catch (ParseException e) {
+            // expected.
+        }
+
+        assertEquals(1, parser.decode(Bean.class, bytes, BDC.create().setIgnoreUnmatchedProperty(true)).getId());
+    }
+
+    @Test
+    public void test_invalidInput() {
+        final byte[] bytes = parser.encode(newBean(1));
+
+        try {
+            parser.decode(Bean.class, Arrays.copyOf(bytes, bytes.length - 1));
+            throw new AssertionError("ParseException is expected");
+        } catch (ParseException e) {
+            // expected.
+        }
+
+        try {
+            parser.decode(Object.class, new byte[] { (byte) 100 });
+            throw new AssertionError("ParseException is expected");
+        } catch (ParseException e) {
+            // expected.
+        }
+    }
+
+    @Test
+    public void test_serialize() {
+        final Bean bean = newBean(5);
+
+        assertEquals(bean, parser.deserialize(Bean.class, parser.serialize(bean)));
+
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        parser.serialize(os, bean);
+
+        assertArrayEquals(parser.encode(bean), os.toByteArray());
+        assertEquals(bean, parser.deserialize(Bean.class, new ByteArrayInputStream(os.toByteArray())));
+    }
+
+    public static class Bean {
+        private int id;
+        private long amount;
+        private String name;
+        private double rate;
+        private boolean active;
+        private BigDecimal price;
+        private List<String> tags;
+        private Map<String, Integer> scores;
+        private int[] codes;
+        private Bean child;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public void setAmount(long amount) {
+            this.amount = amount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Map<String, Integer> getScores() {
+            return scores;
+        }
+
+        public void setScores(Map<String, Integer> scores) {
+            this.scores = scores;
+        }
+
+        public int[] getCodes() {
+            return codes;
+        }
+
+        public void setCodes(int[] codes) {
+            this.codes = codes;
+        }
+
+        public Bean getChild() {
+            return child;
+        }
+
+        public void setChild(Bean child) {
+            this.child = child;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, amount, name);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (obj instanceof Bean) {
+                final Bean other = (Bean) obj;
+
+                return id == other.id && amount == other.amount && Objects.equals(name, other.name) && Double.compare(rate, other.rate) == 0
+                        && active == other.active && Objects.equals(price, other.price) && Objects.equals(tags, other.tags)
+                        && Objects.equals(scores, other.scores) && Arrays.equals(codes, other.codes) && Objects.equals(child, other.child);
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.landawn.abacus.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.landawn.abacus.parser.ParserUtil.EntityInfo;
+import com.landawn.abacus.parser.ParserUtil.PropInfo;
+import com.landawn.abacus.util.N;
+
+public class EntityCodecTest {
+
+    private boolean enabled;
+
+    @Before
+    public void setUp() {
+        enabled = ParserUtil.isCodegenEnabled();
+        ParserUtil.setCodegenEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        ParserUtil.setCodegenEnabled(enabled);
+    }
+
+    @Test
+    public void test_getAndSet() {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(Bean.class);
+        final Bean bean = new Bean();
+
+        for (PropInfo propInfo : entityInfo.propInfoList) {
+            assertNotNull(propInfo.name, propInfo.getterCodec);
+            assertNotNull(propInfo.name, propInfo.setterCodec);
+        }
+
+        entityInfo.setPropValue(bean, "id", 7);
+        entityInfo.setPropValue(bean, "amount", 12345678901L);
+        entityInfo.setPropValue(bean, "active", true);
+        entityInfo.setPropValue(bean, "price", 1.5d);
+        entityInfo.setPropValue(bean, "name", "abc");
+        entityInfo.setPropValue(bean, "codes", new int[] { 1, 2 });
+        entityInfo.setPropValue(bean, "tags", N.asList("x", "y"));
+
+        assertEquals(7, bean.getId());
+        assertEquals(12345678901L, bean.getAmount());
+        assertTrue(bean.isActive());
+        assertEquals(1.5d, bean.getPrice(), 0);
+        assertEquals("abc", bean.getName());
+        assertArrayEquals(new int[] { 1, 2 }, bean.getCodes());
+        assertEquals(N.asList("x", "y"), bean.getTags());
+
+        assertEquals(Integer.valueOf(7), entityInfo.getPropValue(bean, "id"));
+        assertEquals(Long.valueOf(12345678901L), entityInfo.getPropValue(bean, "amount"));
+        assertEquals(Boolean.TRUE, entityInfo.getPropValue(bean, "active"));
+        assertEquals(Double.valueOf(1.5d), entityInfo.getPropValue(bean, "price"));
+        assertEquals("abc", entityInfo.getPropValue(bean, "name"));
+        assertSame(bean.getCodes(), entityInfo.getPropValue(bean, "codes"));
+        assertSame(bean.getTags(), entityInfo.getPropValue(bean, "tags"));
+    }
+
+    @Test
+    public void test_set_nullAndConversion() {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(Bean.class);
+        final Bean bean = new Bean();
+        bean.setId(3);
+        bean.setName("abc");
+
+        // null is set as the default value of the primitive type.
+        entityInfo.setPropValue(bean, "id", null);
+        entityInfo.setPropValue(bean, "name", null);
+
+        assertEquals(0, bean.getId());
+        assertNull(bean.getName());
+
+        // the value which is not an instance of the property type is converted.
+        entityInfo.setPropValue(bean, "id", "12");
+        entityInfo.setPropValue(bean, "amount", 5);
+
+        assertEquals(12, bean.getId());
+        assertEquals(5L, bean.getAmount());
+    }
+
+    @Test
+    public void test_readPropInfo() {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(Bean.class);
+
+        for (PropInfo propInfo : entityInfo.propInfoList) {
+            final char[] cbuf = ("\"" + propInfo.name + "\"").toCharArray();
+            assertSame(propInfo, entityInfo.readPropInfo(cbuf, 1, cbuf.length - 1));
+
+            final byte[] buf = propInfo.name.getBytes();
+            assertSame(propInfo, entityInfo.readPropInfo(buf, 0, buf.length));
+        }
+
+        final char[] cbuf = "unknownProp".toCharArray();
+        assertNull(entityInfo.readPropInfo(cbuf, 0, cbuf.length));
+    }
+
+    @Test
+    public void test_generate() {
+        final PropInfo[] propInfos = ParserUtil.getEntityInfo(Bean.class).propInfoList.toArray(new PropInfo[0]);
+        final EntityCodec codec = EntityCodecGenerator.generate(Bean.class, propInfos);
+        final Bean bean = new Bean();
+        bean.setName("abc");
+
+        assertNotNull(codec);
+        assertTrue(codec.getClass().getName().startsWith(Bean.class.getName()));
+        assertEquals(Bean.class.getClassLoader(), codec.getClass().getClassLoader().getParent());
+
+        final PropInfo nameProp = ParserUtil.getEntityInfo(Bean.class).getPropInfo("name");
+        assertEquals("abc", codec.get(bean, nameProp.fieldOrder));
+        assertEquals(nameProp.fieldOrder, codec.indexOf(ParserUtil.hashCode("name".toCharArray())));
+        assertEquals(-1, codec.indexOf(ParserUtil.hashCode("unknownProp".toCharArray())));
+
+        try {
+            codec.get(bean, propInfos.length);
+            throw new AssertionError("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            // expected.
+        }
+
+        try {
+            codec.set(bean, nameProp.fieldOrder, 1);
+            throw new AssertionError("ClassCastException is expected");
+        } catch (ClassCastException e) {
+            // expected.
+        }
+    }
+
+    @Test
+    public void test_generate_notPublic() {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(HiddenBean.class);
+        final PropInfo[] propInfos = entityInfo.propInfoList.toArray(new PropInfo[0]);
+
+        assertNull(EntityCodecGenerator.generate(HiddenBean.class, propInfos));
+
+        // falls back to reflection.
+        final HiddenBean bean = new HiddenBean();
+        entityInfo.setPropValue(bean, "id", 9);
+        assertEquals(Integer.valueOf(9), entityInfo.getPropValue(bean, "id"));
+    }
+
+    @Test
+    public void test_disabled() {
+        ParserUtil.setCodegenEnabled(false);
+
+        for (PropInfo propInfo : ParserUtil.getEntityInfo(Bean.class).propInfoList) {
+            assertNull(propInfo.getterCodec);
+            assertNull(propInfo.setterCodec);
+        }
+    }
+
+    public static class Bean {
+        private int id;
+        private long amount;
+        private boolean active;
+        private double price;
+        private String name;
+        private int[] codes;
+        private List<String> tags;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public void setAmount(long amount) {
+            this.amount = amount;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int[] getCodes() {
+            return codes;
+        }
+
+        public void setCodes(int[] codes) {
+            this.codes = codes;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    static class HiddenBean {
+        private int id;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.landawn.abacus.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.N;
+
+public class KryoParserTest {
+
+    @Test
+    public void test_encodeAll() {
+        final KryoParser parser = ParserFactory.createKryoParser();
+        final Map<String, Object> map = N.asMap("a", 1, "b", N.asList("x", "y"));
+        final List<Object> objs = N.asList("abc", 123, null, N.asList(1L, 2L), map, new int[] { 1, 2, 3 });
+
+        final List<byte[]> bytesList = parser.encodeAll(objs);
+
+        assertEquals(objs.size(), bytesList.size());
+
+        for (int i = 0, size = objs.size(); i < size; i++) {
+            assertArrayEquals(parser.encode(objs.get(i)), bytesList.get(i));
+
+            if (objs.get(i) instanceof int[]) {
+                assertArrayEquals((int[]) objs.get(i), parser.<int[]> decode(bytesList.get(i)));
+            } else {
+                assertEquals(objs.get(i), parser.decode(bytesList.get(i)));
+            }
+        }
+
+        assertTrue(parser.encodeAll(null).isEmpty());
+        assertTrue(parser.encodeAll(N.asList()).isEmpty());
+    }
+
+    @Test
+    public void test_register() {
+        final KryoParser parser = ParserFactory.createKryoParser();
+        final Point point = new Point(1, 2);
+
+        // the Kryo created before the registration is not reused after it.
+        final byte[] unregistered = parser.encode(point);
+        parser.register(Point.class);
+        final byte[] registered = parser.encode(point);
+
+        assertTrue(registered.length < unregistered.length);
+        assertEquals(point, parser.decode(registered));
+        assertArrayEquals(registered, parser.encodeAll(N.asList(point)).get(0));
+    }
+
+    @Test
+    public void test_concurrent() throws InterruptedException {
+        final KryoParser parser = ParserFactory.createKryoParser();
+        final int threadNum = 8;
+        final AtomicInteger errors = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(threadNum);
+
+        for (int t = 0; t < threadNum; t++) {
+            final int threadIndex = t;
+
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < 1000; i++) {
+                        final Point point = new Point(threadIndex, i);
+
+                        if (!point.equals(parser.decode(parser.encode(point)))
+                                || !point.equals(parser.decode(parser.encodeAll(N.asList(point, point)).get(1)))) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    errors.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+
+        latch.await();
+
+        assertEquals(0, errors.get());
+    }
+
+    public static class Point {
+        private int x;
+        private int y;
+
+        public Point() {
+        }
+
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * x + y;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Point && ((Point) obj).x == x && ((Point) obj).y == y;
+        }
+    }
+}
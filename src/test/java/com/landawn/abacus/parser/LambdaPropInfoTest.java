@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.landawn.abacus.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.landawn.abacus.parser.ParserUtil.EntityInfo;
+import com.landawn.abacus.parser.ParserUtil.LambdaPropInfo;
+import com.landawn.abacus.parser.ParserUtil.PropInfo;
+import com.landawn.abacus.util.N;
+
+public class LambdaPropInfoTest {
+
+    private boolean enabled;
+
+    @Before
+    public void setUp() {
+        enabled = ParserUtil.isLambdaAccessorEnabled();
+        ParserUtil.setLambdaAccessorEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        ParserUtil.setLambdaAccessorEnabled(enabled);
+    }
+
+    @Test
+    public void test_getAndSet() {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(Bean.class);
+        final Bean bean = new Bean();
+
+        for (PropInfo propInfo : entityInfo.propInfoList) {
+            assertTrue(propInfo.name, propInfo instanceof LambdaPropInfo);
+        }
+
+        entityInfo.setPropValue(bean, "id", 7);
+        entityInfo.setPropValue(bean, "amount", 12345678901L);
+        entityInfo.setPropValue(bean, "price", 1.5d);
+        entityInfo.setPropValue(bean, "active", true);
+        entityInfo.setPropValue(bean, "count", 3);
+        entityInfo.setPropValue(bean, "name", "abc");
+        entityInfo.setPropValue(bean, "tags", N.asList("x"));
+
+        assertEquals(7, bean.getId());
+        assertEquals(12345678901L, bean.getAmount());
+        assertEquals(1.5d, bean.getPrice(), 0);
+        assertTrue(bean.isActive());
+        assertEquals(Integer.valueOf(3), bean.getCount());
+        assertEquals("abc", bean.getName());
+        assertEquals(N.asList("x"), bean.getTags());
+
+        assertEquals(Integer.valueOf(7), entityInfo.getPropValue(bean, "id"));
+        assertEquals(Long.valueOf(12345678901L), entityInfo.getPropValue(bean, "amount"));
+        assertEquals(Double.valueOf(1.5d), entityInfo.getPropValue(bean, "price"));
+        assertEquals(Boolean.TRUE, entityInfo.getPropValue(bean, "active"));
+        assertEquals(Integer.valueOf(3), entityInfo.getPropValue(bean, "count"));
+        assertEquals("abc", entityInfo.getPropValue(bean, "name"));
+        assertEquals(N.asList("x"), entityInfo.getPropValue(bean, "tags"));
+    }
+
+    @Test
+    public void test_set_nullAndConversion() {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(Bean.class);
+        final Bean bean = new Bean();
+        bean.setId(1);
+        bean.setAmount(2);
+        bean.setPrice(3);
+        bean.setActive(true);
+        bean.setCount(4);
+
+        // null is set as the default value of the property type.
+        for (String propName : N.asList("id", "amount", "price", "active", "count")) {
+            entityInfo.setPropValue(bean, propName, null);
+        }
+
+        assertEquals(0, bean.getId());
+        assertEquals(0, bean.getAmount());
+        assertEquals(0, bean.getPrice(), 0);
+        assertFalse(bean.isActive());
+        assertNull(bean.getCount());
+
+        // the value is converted if it's not an instance of the property type.
+        entityInfo.setPropValue(bean, "id", "12");
+        entityInfo.setPropValue(bean, "amount", 5);
+        entityInfo.setPropValue(bean, "price", 2);
+        entityInfo.setPropValue(bean, "count", 6L);
+
+        assertEquals(12, bean.getId());
+        assertEquals(5L, bean.getAmount());
+        assertEquals(2d, bean.getPrice(), 0);
+        assertEquals(Integer.valueOf(6), bean.getCount());
+    }
+
+    @Test
+    public void test_fallback() {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(HiddenSetterBean.class);
+        final HiddenSetterBean bean = new HiddenSetterBean();
+
+        // the setter is not public, so it can't be called by lambda.
+        entityInfo.setPropValue(bean, "id", 9);
+        entityInfo.setPropValue(bean, "name", "abc");
+
+        assertEquals(9, bean.getId());
+        assertEquals("abc", bean.getName());
+        assertEquals(Integer.valueOf(9), entityInfo.getPropValue(bean, "id"));
+        assertEquals("abc", entityInfo.getPropValue(bean, "name"));
+    }
+
+    @Test
+    public void test_setLambdaAccessorEnabled() {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(Bean.class);
+
+        ParserUtil.setLambdaAccessorEnabled(false);
+
+        final EntityInfo entityInfo2 = ParserUtil.getEntityInfo(Bean.class);
+
+        assertNotSame(entityInfo, entityInfo2);
+        assertFalse(entityInfo2.getPropInfo("id") instanceof LambdaPropInfo);
+    }
+
+    public static class Bean {
+        private int id;
+        private long amount;
+        private double price;
+        private boolean active;
+        private Integer count;
+        private String name;
+        private List<String> tags;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public void setAmount(long amount) {
+            this.amount = amount;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public void setCount(Integer count) {
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class HiddenSetterBean {
+        private int id;
+        private String name;
+
+        public int getId() {
+            return id;
+        }
+
+        void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.landawn.abacus.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import com.landawn.abacus.exception.ParseException;
+import com.landawn.abacus.util.Charsets;
+import com.landawn.abacus.util.N;
+
+public class LazyJSONTest {
+
+    private static final String JSON = "{ \"id\": 1, \"name\":\"a\\\"b\\u00e9\\n\", \"big\": 12345678901, \"huge\": 123456789012345678901234,"
+            + " \"d\": 1.5e2, \"ok\": true, \"n\": null, \"tags\": [\"x\", 2, {\"k\": \"v\"}],"
+            + " \"user\": {\"addresses\": [{\"city\": \"NY\"}, {\"city\": \"caf\u00e9\"}]}, \"k\\u00e9y\": 3, \"caf\u00e9\": \"\u4e2d\" }";
+
+    private static <T extends LazyJSON> T parse(final String json, final boolean bytes) {
+        return (T) LazyJSON.parse(bytes ? new JSONSource(json.getBytes(Charsets.UTF_8)) : new JSONSource(json));
+    }
+
+    @Test
+    public void test_object() {
+        for (boolean bytes : new boolean[] { false, true }) {
+            final LazyJSONObject obj = parse(JSON, bytes);
+
+            assertEquals(11, obj.size());
+            assertFalse(obj.isEmpty());
+            assertEquals(N.asList("id", "name", "big", "huge", "d", "ok", "n", "tags", "user", "k\u00e9y", "caf\u00e9"), N.newArrayList(obj.keySet()));
+
+            assertEquals(Integer.valueOf(1), obj.get("id"));
+            assertEquals("a\"b\u00e9\n", obj.get("name"));
+            assertEquals(Long.valueOf(12345678901L), obj.get("big"));
+            assertEquals(new BigInteger("123456789012345678901234"), obj.get("huge"));
+            assertEquals(Double.valueOf(150), obj.get("d"));
+            assertEquals(Boolean.TRUE, obj.get("ok"));
+            assertNull(obj.get("n"));
+            assertTrue(obj.containsKey("n"));
+            assertFalse(obj.containsKey("missing"));
+            assertNull(obj.get("missing"));
+
+            assertEquals(Integer.valueOf(3), obj.get("k\u00e9y"));
+            assertEquals("\u4e2d", obj.get("caf\u00e9"));
+            assertFalse(obj.containsKey("cafe"));
+
+            assertEquals(1, obj.getInt("id"));
+            assertEquals(1L, obj.getLong("id"));
+            assertEquals(12345678901L, obj.getLong("big"));
+            assertEquals(150d, obj.getDouble("d"), 0);
+            assertTrue(obj.getBoolean("ok"));
+            assertEquals(0, obj.getInt("missing"));
+            assertEquals("1", obj.getString("id"));
+
+            assertEquals(3, obj.getJSONArray("tags").size());
+            assertEquals("{\"k\": \"v\"}", obj.getJSONArray("tags").getString(2));
+            assertEquals("v", obj.getJSONArray("tags").getJSONObject(2).get("k"));
+            assertEquals(JSON.substring(JSON.indexOf('{'), JSON.lastIndexOf('}') + 1), obj.toString());
+        }
+    }
+
+    @Test
+    public void test_array() {
+        for (boolean bytes : new boolean[] { false, true }) {
+            final LazyJSONArray array = parse(" [1, \"a\", [2, [3]], {}, [], null, -7, 2.5, false] ", bytes);
+
+            assertEquals(9, array.size());
+            assertEquals(Integer.valueOf(1), array.get(0));
+            assertEquals("a", array.getString(1));
+            assertEquals(Integer.valueOf(3), array.getJSONArray(2).getJSONArray(1).get(0));
+            assertTrue(array.getJSONObject(3).isEmpty());
+            assertTrue(array.getJSONArray(4).isEmpty());
+            assertNull(array.get(5));
+            assertEquals(-7, array.getInt(6));
+            assertEquals(-7L, array.getLong(6));
+            assertEquals(2.5d, array.getDouble(7), 0);
+            assertFalse(array.getBoolean(8));
+            assertEquals(Long.valueOf(1), array.get(0, Long.class));
+
+            assertTrue(((LazyJSONArray) parse("[]", bytes)).isEmpty());
+        }
+    }
+
+    @Test
+    public void test_getByPath() {
+        for (boolean bytes : new boolean[] { false, true }) {
+            final LazyJSONObject obj = parse(JSON, bytes);
+
+            assertEquals("NY", obj.getByPath("user.addresses[0].city"));
+            assertEquals("caf\u00e9", obj.getByPath("user.addresses[1].city"));
+            assertEquals("v", obj.getByPath("tags[2].k"));
+            assertEquals(Integer.valueOf(2), obj.getByPath("tags[1]"));
+            assertEquals(Long.valueOf(2), obj.getByPath("tags[1]", Long.class));
+            assertNull(obj.getByPath("user.addresses[2].city"));
+            assertNull(obj.getByPath("user.phones[0]"));
+            assertNull(obj.getByPath("id.value"));
+            assertNull(obj.getByPath("tags.k"));
+
+            final LazyJSONArray array = parse("[[1, {\"a\": [5]}]]", bytes);
+            assertEquals(Integer.valueOf(5), array.getByPath("[0][1].a[0]"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_getByPath_invalid() {
+        ((LazyJSON) parse(JSON, false)).getByPath("tags[1");
+    }
+
+    @Test
+    public void test_lazy() {
+        for (boolean bytes : new boolean[] { false, true }) {
+            // the nested object is not validated until it's accessed.
+            final LazyJSONObject obj = parse("{\"a\": 1, \"b\": {\"x\": tru e, ]}", bytes);
+
+            assertEquals(Integer.valueOf(1), obj.get("a"));
+
+            final LazyJSONObject b = obj.getJSONObject("b");
+
+            try {
+                b.get("x");
+                throw new AssertionError("ParseException is expected");
+            } catch (ParseException e) {
+                // expected.
+            }
+        }
+    }
+
+    @Test
+    public void test_invalid() {
+        final String[] jsons = { "", "  ", "123", "\"abc\"", "{} x", "{\"a\": 1", "[1, 2", "{\"a\" 1}", "{a: 1}", "[1 2]", "{\"a\": \"b}" };
+
+        for (String json : jsons) {
+            for (boolean bytes : new boolean[] { false, true }) {
+                try {
+                    ((LazyJSON) parse(json, bytes)).size();
+                    throw new AssertionError("ParseException is expected: " + json);
+                } catch (ParseException e) {
+                    // expected.
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_invalidValue() {
+        final String[] jsons = { "[12a]", "[\"\\u12G4\"]", "[\"\\u+123\"]", "[\"\\u12\"]" };
+
+        for (String json : jsons) {
+            for (boolean bytes : new boolean[] { false, true }) {
+                final LazyJSONArray array = parse(json, bytes);
+
+                try {
+                    array.get(0);
+                    throw new AssertionError("ParseException is expected: " + json);
+                } catch (ParseException e) {
+                    // expected.
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import com.landawn.abacus.parser.ParserUtil.EntityInfo;
+import com.landawn.abacus.util.Charsets;
+import com.landawn.abacus.util.N;
+
+public class ParserUtilTest {
+
+    private static String propLine(final Class<?> cls, final String propName, final String getMethodName, final String setMethodName) {
+        final String className = cls.getName();
+
+        return className + "\t" + propName + "\t" + className + "#" + propName + "\t" + className + "#" + getMethodName + "\t" + className + "#"
+                + setMethodName + "\n";
+    }
+
+    @Test
+    public void test_fingerprintOf() {
+        assertEquals(ParserUtil.fingerprintOf(Account.class), ParserUtil.fingerprintOf(Account.class));
+        assertNotEquals(ParserUtil.fingerprintOf(SavedAccount.class), ParserUtil.fingerprintOf(ChangedAccount.class));
+        assertNotEquals(ParserUtil.fingerprintOf(Account.class), ParserUtil.fingerprintOf(SubAccount.class));
+    }
+
+    @Test
+    public void test_preload_fingerprintMatched() {
+        // only "id" is saved, and the saved info is used since the class is not changed.
+        ParserUtil.preload(new StringReader(SavedAccount.class.getName() + "\t" + ParserUtil.fingerprintOf(SavedAccount.class) + "\n"
+                + propLine(SavedAccount.class, "id", "getId", "setId")));
+
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(SavedAccount.class);
+
+        assertEquals(1, entityInfo.propInfoList.size());
+        assertNotNull(entityInfo.getPropInfo("id"));
+    }
+
+    @Test
+    public void test_preload_fingerprintChanged() {
+        // "name" is added to the class after the info is saved.
+        ParserUtil.preload(new StringReader(ChangedAccount.class.getName() + "\t" + ParserUtil.fingerprintOf(SavedAccount.class) + "\n"
+                + propLine(ChangedAccount.class, "id", "getId", "setId")));
+
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(ChangedAccount.class);
+
+        assertEquals(2, entityInfo.propInfoList.size());
+        assertNotNull(entityInfo.getPropInfo("name"));
+    }
+
+    @Test
+    public void test_preload_noFingerprint() {
+        ParserUtil.preload(new StringReader(propLine(UnsavedAccount.class, "id", "getId", "setId")));
+
+        assertEquals(2, ParserUtil.getEntityInfo(UnsavedAccount.class).propInfoList.size());
+    }
+
+    @Test
+    public void test_savePreloadInfo() {
+        final StringWriter writer = new StringWriter();
+
+        ParserUtil.savePreloadInfo(N.<Class<?>> asList(Account.class), writer);
+
+        final String str = writer.toString();
+
+        assertTrue(str.contains(Account.class.getName() + "\t" + ParserUtil.fingerprintOf(Account.class)));
+        assertTrue(str.contains(Account.class.getName() + "\tname\t"));
+
+        ParserUtil.preload(new StringReader(str));
+
+        assertEquals(2, ParserUtil.getEntityInfo(Account.class).propInfoList.size());
+    }
+
+    @Test
+    public void test_setCodegenEnabled() {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(SubAccount.class);
+
+        assertSame(entityInfo, ParserUtil.getEntityInfo(SubAccount.class));
+
+        final boolean enabled = ParserUtil.isCodegenEnabled();
+
+        try {
+            ParserUtil.setCodegenEnabled(!enabled);
+
+            assertNotSame(entityInfo, ParserUtil.getEntityInfo(SubAccount.class));
+        } finally {
+            ParserUtil.setCodegenEnabled(enabled);
+        }
+    }
+
+    @Test
+    public void test_readPropInfo_bytes() {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(Account.class);
+        final byte[] buf = "{\"id\":1,\"name\":\"a\"}".getBytes(Charsets.UTF_8);
+
+        assertSame(entityInfo.getPropInfo("id"), entityInfo.readPropInfo(buf, 2, 4));
+        assertSame(entityInfo.getPropInfo("name"), entityInfo.readPropInfo(buf, 9, 13));
+        assertNull(entityInfo.readPropInfo(buf, 2, 3));
+        assertNull(entityInfo.readPropInfo(buf, 2, 2));
+        assertNull(entityInfo.readPropInfo("nome".getBytes(Charsets.UTF_8), 0, 4));
+    }
+
+    @Test
+    public void test_readPropInfo_nonAsciiBytes() {
+        final EntityInfo entityInfo = ParserUtil.getEntityInfo(Person.class);
+        final String propName = "gr\u00f6\u00dfe";
+        final byte[] buf = propName.getBytes(Charsets.UTF_8);
+
+        assertEquals(propName.length() + 2, buf.length);
+        assertNotNull(entityInfo.getPropInfo(propName));
+        assertSame(entityInfo.getPropInfo(propName), entityInfo.readPropInfo(buf, 0, buf.length));
+        assertNull(entityInfo.readPropInfo("gr\u00f6\u00dfer".getBytes(Charsets.UTF_8), 0, buf.length + 1));
+    }
+
+    public static class Account {
+        private long id;
+        private String name;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class SubAccount extends Account {
+    }
+
+    public static class SavedAccount {
+        private long id;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+    }
+
+    public static class ChangedAccount {
+        private long id;
+        private String name;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class UnsavedAccount {
+        private long id;
+        private String name;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Person {
+        private int gr\u00f6\u00dfe;
+
+        public int getGr\u00f6\u00dfe() {
+            return gr\u00f6\u00dfe;
+        }
+
+        public void setGr\u00f6\u00dfe(int gr\u00f6\u00dfe) {
+            this.gr\u00f6\u00dfe = gr\u00f6\u00dfe;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.landawn.abacus.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class StripedPoolTest {
+
+    @Test
+    public void test_offerAndPoll() {
+        final StripedPool<Object> pool = new StripedPool<>(8);
+        final Object a = new Object();
+        final Object b = new Object();
+
+        assertNull(pool.poll());
+
+        assertTrue(pool.offer(a));
+        assertTrue(pool.offer(b));
+
+        final Object first = pool.poll();
+        final Object second = pool.poll();
+
+        assertTrue((first == a && second == b) || (first == b && second == a));
+        assertNull(pool.poll());
+    }
+
+    @Test
+    public void test_capacity() {
+        // rounded up to 2, and only the slots tried by current thread are used.
+        final StripedPool<Object> pool = new StripedPool<>(2);
+
+        assertTrue(pool.offer(new Object()));
+        assertTrue(pool.offer(new Object()));
+        assertFalse(pool.offer(new Object()));
+
+        final StripedPool<Object> pool2 = new StripedPool<>(100);
+        int count = 0;
+
+        while (pool2.offer(new Object())) {
+            count++;
+        }
+
+        // at most 4 slots are tried by a thread.
+        assertEquals(4, count);
+
+        for (int i = 0; i < count; i++) {
+            assertTrue(pool2.poll() != null);
+        }
+
+        assertNull(pool2.poll());
+    }
+
+    @Test
+    public void test_clear() {
+        final StripedPool<Object> pool = new StripedPool<>(4);
+        pool.offer(new Object());
+        pool.offer(new Object());
+
+        pool.clear();
+
+        assertNull(pool.poll());
+    }
+
+    @Test
+    public void test_concurrent() throws InterruptedException {
+        final StripedPool<Object> pool = new StripedPool<>(16);
+        final int threadNum = 8;
+        final int loops = 10_000;
+        final Set<Object> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()));
+        final AtomicInteger errors = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(threadNum);
+
+        for (int t = 0; t < threadNum; t++) {
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < loops; i++) {
+                        Object e = pool.poll();
+
+                        if (e == null) {
+                            e = new Object();
+                        }
+
+                        // an object must not be taken by two threads at the same time.
+                        if (!inUse.add(e)) {
+                            errors.incrementAndGet();
+                        }
+
+                        inUse.remove(e);
+                        pool.offer(e);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+
+        latch.await();
+
+        assertEquals(0, errors.get());
+    }
+}
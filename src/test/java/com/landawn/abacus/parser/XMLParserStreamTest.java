@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.landawn.abacus.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import com.landawn.abacus.exception.ParseException;
+import com.landawn.abacus.util.Charsets;
+import com.landawn.abacus.util.ExceptionalStream;
+import com.landawn.abacus.util.N;
+
+public class XMLParserStreamTest {
+
+    private static final String XML = "<?xml version=\"1.0\"?>\n<root>\n  <header><account><id>0</id></account></header>\n"
+            + "  <accounts>\n    <account type=\"a\"><id>1</id><name>x &amp; y</name></account>\n    <other><id>9</id></other>\n"
+            + "    <account type=\"b\"><id>2</id><name><![CDATA[<z>]]></name></account>\n  </accounts>\n</root>";
+
+    @Test
+    public void test_stream_dom() throws IOException {
+        final DomParser parser = new DomParser();
+
+        final List<Map<String, String>> accounts = parser.stream(Map.class, new StringReader(XML), "account").map(m -> (Map<String, String>) m).toList();
+
+        assertEquals(3, accounts.size());
+        assertEquals(N.asMap("id", "0"), accounts.get(0));
+        assertEquals(N.asMap("type", "a", "id", "1", "name", "x & y"), accounts.get(1));
+        assertEquals(N.asMap("type", "b", "id", "2", "name", "<z>"), accounts.get(2));
+
+        assertEquals(1, parser.stream(Map.class, new ByteArrayInputStream(XML.getBytes(Charsets.UTF_8)), "other").count());
+        assertEquals(0, parser.stream(Map.class, new StringReader(XML), "missing").count());
+    }
+
+    @Test
+    public void test_stream_lazy() throws IOException {
+        final DomParser parser = new DomParser();
+
+        // the elements are read one by one: the broken content after the first element is not read.
+        final String xml = "<root><account><id>1</id></account><account><id>2</id></broken></root>";
+
+        assertEquals(N.asMap("id", "1"), parser.stream(Map.class, new StringReader(xml), "account").first().orElse(null));
+
+        try {
+            parser.stream(Map.class, new StringReader(xml), "account").toList();
+            throw new AssertionError("ParseException is expected");
+        } catch (ParseException e) {
+            // expected.
+        }
+    }
+
+    @Test
+    public void test_stream_close() throws IOException {
+        final boolean[] closed = new boolean[1];
+        final StringReader reader = new StringReader(XML) {
+            @Override
+            public void close() {
+                closed[0] = true;
+                super.close();
+            }
+        };
+
+        try (ExceptionalStream<Map, IOException> stream = new DomParser().stream(Map.class, reader, "account")) {
+            assertEquals(1, stream.limit(1).count());
+        }
+
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    public void test_stream_jaxb() throws IOException {
+        final XMLParser parser = ParserFactory.createJAXBParser();
+
+        final List<Account> accounts = parser.stream(Account.class, new StringReader(XML), "account").toList();
+
+        assertEquals(3, accounts.size());
+        assertEquals(N.asList(0L, 1L, 2L), N.asList(accounts.get(0).getId(), accounts.get(1).getId(), accounts.get(2).getId()));
+        assertEquals("x & y", accounts.get(1).getName());
+        assertEquals("<z>", accounts.get(2).getName());
+    }
+
+    public static class Account {
+        private long id;
+        private String name;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Deserializes the element to a {@code Map} of the attributes and the text of the child elements.
+     */
+    static final class DomParser extends AbstractXMLParser {
+
+        DomParser() {
+            super(null, null);
+        }
+
+        @Override
+        public <T> T deserialize(Class<T> targetClass, Node node, XMLDeserializationConfig config) {
+            final Map<String, String> map = N.newLinkedHashMap();
+            final NamedNodeMap attrs = node.getAttributes();
+
+            for (int i = 0; i < attrs.getLength(); i++) {
+                map.put(attrs.item(i).getNodeName(), attrs.item(i).getNodeValue());
+            }
+
+            final NodeList children = node.getChildNodes();
+
+            for (int i = 0; i < children.getLength(); i++) {
+                if (children.item(i) instanceof Element) {
+                    map.put(children.item(i).getNodeName(), children.item(i).getTextContent());
+                }
+            }
+
+            return (T) map;
+        }
+
+        @Override
+        public String serialize(Object obj, XMLSerializationConfig config) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void serialize(File file, Object obj, XMLSerializationConfig config) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void serialize(OutputStream os, Object obj, XMLSerializationConfig config) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void serialize(Writer writer, Object obj, XMLSerializationConfig config) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T deserialize(Class<T> targetClass, String st, XMLDeserializationConfig config) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T deserialize(Class<T> targetClass, File file, XMLDeserializationConfig config) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T deserialize(Class<T> targetClass, InputStream is, XMLDeserializationConfig config) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T deserialize(Class<T> targetClass, Reader reader, XMLDeserializationConfig config) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T deserialize(Map<String, Class<?>> nodeClasses, InputStream is, XMLDeserializationConfig config) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T deserialize(Map<String, Class<?>> nodeClasses, Reader reader, XMLDeserializationConfig config) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T deserialize(Map<String, Class<?>> nodeClasses, Node node, XMLDeserializationConfig config) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ConcurrentKeyedObjectPoolTest {
+
+    private static ConcurrentKeyedObjectPool<String, PoolableWrapper<String>> pool(final int capacity, final int concurrencyLevel, final long maxMemorySize,
+            final KeyedObjectPool.MemoryMeasure<String, PoolableWrapper<String>> memoryMeasure) {
+        return new ConcurrentKeyedObjectPool<>(capacity, 0, EvictionPolicy.LAST_ACCESS_TIME, true, 0.5f, maxMemorySize, memoryMeasure, concurrencyLevel);
+    }
+
+    @Test
+    public void test_put_get_remove() {
+        final ConcurrentKeyedObjectPool<String, PoolableWrapper<String>> pool = pool(100, 8, 0, null);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(pool.put("k" + i, PoolableWrapper.of("v" + i)));
+        }
+
+        assertEquals(50, pool.size());
+        assertEquals(8, pool.segments.length);
+        assertEquals("v7", pool.get("k7").value());
+        assertTrue(pool.containsKey("k49"));
+        assertEquals("v49", pool.remove("k49").value());
+        assertFalse(pool.containsKey("k49"));
+        assertEquals(49, pool.size());
+
+        pool.close();
+    }
+
+    @Test
+    public void test_replace_does_not_vacate() {
+        final ConcurrentKeyedObjectPool<String, PoolableWrapper<String>> pool = pool(4, 1, 0, null);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(pool.put("k" + i, PoolableWrapper.of("v" + i)));
+        }
+
+        assertTrue(pool.put("k0", PoolableWrapper.of("v0-2")));
+
+        assertEquals(4, pool.size());
+        assertEquals(0, pool.stats().getVacationCount());
+        assertEquals("v0-2", pool.peek("k0").value());
+
+        for (int i = 1; i < 4; i++) {
+            assertTrue(pool.containsKey("k" + i));
+        }
+
+        // a new key vacates balanceFactor of the entries in the segment.
+        assertTrue(pool.put("k4", PoolableWrapper.of("v4")));
+        assertTrue(pool.containsKey("k4"));
+        assertEquals(2, pool.stats().getVacationCount());
+        assertEquals(3, pool.size());
+
+        pool.close();
+    }
+
+    @Test
+    public void test_replace_with_memory_measure() {
+        final KeyedObjectPool.MemoryMeasure<String, PoolableWrapper<String>> memoryMeasure = new KeyedObjectPool.MemoryMeasure<String, PoolableWrapper<String>>() {
+            @Override
+            public long sizeOf(String key, PoolableWrapper<String> e) {
+                return e.value().length();
+            }
+        };
+
+        final ConcurrentKeyedObjectPool<String, PoolableWrapper<String>> pool = pool(100, 1, 10, memoryMeasure);
+
+        assertTrue(pool.put("a", PoolableWrapper.of("12345")));
+        assertTrue(pool.put("b", PoolableWrapper.of("12345")));
+        assertEquals(10, pool.stats().getUsedMemorySize());
+
+        // the memory of the old value is released by the replacement.
+        assertTrue(pool.put("a", PoolableWrapper.of("123")));
+        assertEquals(0, pool.stats().getVacationCount());
+        assertEquals(8, pool.stats().getUsedMemorySize());
+        assertTrue(pool.containsKey("b"));
+
+        assertTrue(pool.put("c", PoolableWrapper.of("123")));
+        assertTrue(pool.stats().getVacationCount() > 0);
+        assertTrue(pool.stats().getUsedMemorySize() <= 10);
+
+        pool.close();
+    }
+
+    @Test
+    public void test_vacate() {
+        final ConcurrentKeyedObjectPool<String, PoolableWrapper<String>> pool = pool(100, 2, 0, null);
+
+        for (int i = 0; i < 40; i++) {
+            pool.put("k" + i, PoolableWrapper.of("v" + i));
+        }
+
+        pool.vacate();
+
+        int expected = 0;
+
+        for (ConcurrentKeyedObjectPool.Segment<String, PoolableWrapper<String>> segment : pool.segments) {
+            expected += segment.map.size();
+        }
+
+        assertEquals(expected, pool.size());
+        assertTrue(pool.size() <= 22);
+        assertEquals(40 - pool.size(), pool.stats().getVacationCount());
+
+        pool.close();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FrequencySketchTest {
+
+    @Test
+    public void test_increment() {
+        final FrequencySketch sketch = new FrequencySketch(1024);
+
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("a");
+        }
+
+        sketch.increment("b");
+
+        assertTrue(sketch.frequency("a") >= 5);
+        assertTrue(sketch.frequency("b") >= 1);
+        assertTrue(sketch.frequency("a") > sketch.frequency("b"));
+    }
+
+    @Test
+    public void test_saturation() {
+        final FrequencySketch sketch = new FrequencySketch(1024);
+
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("a");
+        }
+
+        assertEquals(15, sketch.frequency("a"));
+    }
+
+    @Test
+    public void test_reset_and_clear() {
+        final FrequencySketch sketch = new FrequencySketch(1024);
+
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("a");
+        }
+
+        final int frequency = sketch.frequency("a");
+        sketch.reset();
+        assertEquals(frequency / 2, sketch.frequency("a"));
+
+        sketch.clear();
+        assertEquals(0, sketch.frequency("a"));
+    }
+
+    @Test
+    public void test_aging() {
+        // the counters are halved after 10 * 16 increments.
+        final FrequencySketch sketch = new FrequencySketch(16);
+
+        for (int i = 0; i < 15; i++) {
+            sketch.increment("hot");
+        }
+
+        for (int i = 0; i < 200; i++) {
+            sketch.increment(i);
+        }
+
+        assertTrue(sketch.frequency("hot") < 15);
+    }
+
+    @Test
+    public void test_tinyLFU_keeps_frequent_keys() {
+        final GenericKeyedObjectPool<String, PoolableWrapper<String>> pool = new GenericKeyedObjectPool<>(10, 0, EvictionPolicy.TINY_LFU);
+
+        for (int i = 0; i < 10; i++) {
+            pool.put("k" + i, PoolableWrapper.of("v" + i));
+        }
+
+        for (int n = 0; n < 5; n++) {
+            for (int i = 0; i < 5; i++) {
+                pool.get("k" + i);
+            }
+        }
+
+        pool.put("k10", PoolableWrapper.of("v10"));
+
+        assertEquals(9, pool.size());
+        assertTrue(pool.containsKey("k10"));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(pool.containsKey("k" + i));
+        }
+
+        pool.close();
+    }
+}
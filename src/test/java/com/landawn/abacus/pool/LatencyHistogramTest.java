@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void test_record() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0.0d, histogram.getAverage(), 0.0d);
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500.5d, histogram.getAverage(), 0.0d);
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(1000, histogram.getPercentile(100));
+
+        // the relative error of the buckets is 1/16.
+        for (double percentile : new double[] { 10, 50, 90, 99, 99.9 }) {
+            final long expected = (long) Math.ceil(percentile * 10);
+            final long actual = histogram.getPercentile(percentile);
+
+            assertTrue(percentile + ": " + actual, actual >= expected && actual <= expected + expected / 16 + 1);
+        }
+    }
+
+    @Test
+    public void test_small_and_big_values() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 0; i < 16; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(7, histogram.getPercentile(50));
+
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(18, histogram.getCount());
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void test_copy() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+
+        final LatencyHistogram copy = histogram.copy();
+        histogram.record(200);
+
+        assertEquals(1, copy.getCount());
+        assertEquals(100, copy.getMax());
+        assertEquals(2, histogram.getCount());
+    }
+
+    @Test
+    public void test_concurrent_record() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final Thread[] threads = new Thread[4];
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 1; j <= 10000; j++) {
+                    histogram.record(j);
+                }
+            });
+
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40000, histogram.getCount());
+        assertEquals(10000, histogram.getMax());
+    }
+
+    @Test
+    public void test_pool_stats_and_listener() {
+        final GenericKeyedObjectPool<String, PoolableWrapper<String>> pool = new GenericKeyedObjectPool<>(2, 0, EvictionPolicy.LAST_ACCESS_TIME, true, 0.5f);
+        final AtomicInteger putCount = new AtomicInteger();
+        final AtomicInteger hitCount = new AtomicInteger();
+        final AtomicInteger missCount = new AtomicInteger();
+        final AtomicInteger evictionCount = new AtomicInteger();
+
+        pool.setListener(new PoolListener() {
+            @Override
+            public void onPut(Pool p, boolean success, long elapsedTime) {
+                putCount.incrementAndGet();
+            }
+
+            @Override
+            public void onGet(Pool p, boolean hit, long elapsedTime) {
+                (hit ? hitCount : missCount).incrementAndGet();
+            }
+
+            @Override
+            public void onWait(Pool p, long waitTime) {
+            }
+
+            @Override
+            public void onEviction(Pool p, Poolable value) {
+                evictionCount.incrementAndGet();
+            }
+        });
+
+        assertNull(pool.stats().getGetLatency());
+        pool.setLatencyHistogramEnabled(true);
+
+        pool.put("a", PoolableWrapper.of("a"));
+        pool.put("b", PoolableWrapper.of("b"));
+        pool.put("c", PoolableWrapper.of("c"));
+        pool.get("c");
+        pool.get("x");
+
+        final PoolStats stats = pool.stats();
+
+        assertEquals(2, stats.getCapacity());
+        assertEquals(2, stats.getSize());
+        assertEquals(3, stats.getPutCount());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(0.5d, stats.getHitRate(), 0.0d);
+        assertEquals(1, stats.getVacationCount());
+        assertEquals(1, stats.getEvictionCount());
+        assertEquals(3, stats.getPutLatency().getCount());
+        assertEquals(2, stats.getGetLatency().getCount());
+
+        assertEquals(3, putCount.get());
+        assertEquals(1, hitCount.get());
+        assertEquals(1, missCount.get());
+        assertEquals(1, evictionCount.get());
+
+        // the stats is a snapshot.
+        pool.get("c");
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getGetLatency().getCount());
+
+        pool.close();
+    }
+}
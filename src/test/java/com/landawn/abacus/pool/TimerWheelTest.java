@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.pool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.landawn.abacus.util.N;
+
+public class TimerWheelTest {
+
+    private static final long T0 = 1_000_000L;
+
+    @Test
+    public void test_advance() {
+        final TimerWheel<String> timerWheel = new TimerWheel<>(T0);
+
+        timerWheel.schedule("a", T0 + 2_000);
+        timerWheel.schedule("b", T0 + 10_000);
+        timerWheel.schedule("c", T0 + 100_000);
+        timerWheel.schedule("d", T0 + 10L * 24 * 3600 * 1000);
+        timerWheel.schedule("e", Long.MAX_VALUE);
+        assertEquals(5, timerWheel.size());
+
+        assertTrue(timerWheel.advance(T0 + 1_000).isEmpty());
+        assertEquals(N.asList("a"), timerWheel.advance(T0 + 3_100));
+        assertEquals(N.asList("b"), timerWheel.advance(T0 + 11_000));
+        assertEquals(N.asList("c"), timerWheel.advance(T0 + 200_000));
+        assertEquals(2, timerWheel.size());
+
+        assertEquals(N.asList("d"), timerWheel.advance(T0 + 11L * 24 * 3600 * 1000));
+        assertEquals(1, timerWheel.size());
+    }
+
+    @Test
+    public void test_reschedule_and_deschedule() {
+        final TimerWheel<String> timerWheel = new TimerWheel<>(T0);
+
+        timerWheel.schedule("a", T0 + 2_000);
+        timerWheel.schedule("b", T0 + 2_000);
+        timerWheel.schedule("a", T0 + 50_000);
+        assertEquals(2, timerWheel.size());
+
+        assertTrue(timerWheel.deschedule("b"));
+        assertFalse(timerWheel.deschedule("b"));
+
+        assertTrue(timerWheel.advance(T0 + 5_000).isEmpty());
+        assertEquals(N.asList("a"), timerWheel.advance(T0 + 60_000));
+        assertEquals(0, timerWheel.size());
+    }
+
+    @Test
+    public void test_expired_in_the_past() {
+        final TimerWheel<String> timerWheel = new TimerWheel<>(T0);
+
+        timerWheel.schedule("a", T0 - 5_000);
+
+        assertEquals(N.asList("a"), timerWheel.advance(T0 + 1_100));
+    }
+
+    @Test
+    public void test_clear() {
+        final TimerWheel<String> timerWheel = new TimerWheel<>(T0);
+
+        for (int i = 0; i < 100; i++) {
+            timerWheel.schedule("k" + i, T0 + i * 1_000L);
+        }
+
+        timerWheel.clear();
+
+        assertEquals(0, timerWheel.size());
+        assertTrue(timerWheel.advance(T0 + 1_000_000).isEmpty());
+    }
+
+    @Test
+    public void test_many() {
+        final TimerWheel<Integer> timerWheel = new TimerWheel<>(T0);
+
+        for (int i = 0; i < 1000; i++) {
+            timerWheel.schedule(i, T0 + i * 997L);
+        }
+
+        int count = 0;
+
+        for (long time = T0; time <= T0 + 1_000_000; time += 3_000) {
+            final List<Integer> expired = timerWheel.advance(time);
+
+            for (Integer e : expired) {
+                assertTrue(T0 + e * 997L <= time);
+            }
+
+            count += expired.size();
+        }
+
+        assertEquals(1000, count);
+    }
+
+    @Test
+    public void test_expirationTimeOf() {
+        final ActivityPrint activityPrint = new ActivityPrint(100, 50);
+        assertEquals(activityPrint.getLastAccessTime() + 51, TimerWheel.expirationTimeOf(activityPrint));
+
+        final ActivityPrint activityPrint2 = new ActivityPrint(50, 100);
+        assertEquals(activityPrint2.getExpirationTime() + 1, TimerWheel.expirationTimeOf(activityPrint2));
+
+        assertEquals(Long.MAX_VALUE, TimerWheel.expirationTimeOf(new ActivityPrint(Long.MAX_VALUE, Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void test_entryStack() {
+        final GenericObjectPool.EntryStack<String> stack = new GenericObjectPool.EntryStack<>();
+
+        final GenericObjectPool.Entry<String> a = stack.push("a");
+        final GenericObjectPool.Entry<String> b = stack.push("b");
+        final GenericObjectPool.Entry<String> a2 = stack.push("a");
+        assertEquals(3, stack.size());
+        assertEquals(N.asList("a", "b", "a"), stack.values());
+
+        assertTrue(stack.remove(b));
+        assertFalse(stack.remove(b));
+        assertFalse(stack.contains("b"));
+        assertEquals(2, stack.size());
+
+        assertTrue(stack.remove(a));
+        assertTrue(stack.contains("a"));
+        assertEquals(a2, stack.pop());
+        assertEquals(null, stack.pop());
+        assertEquals(0, stack.size());
+    }
+
+    @Test
+    public void test_pool_evict() {
+        final GenericObjectPool<PoolableWrapper<String>> pool = new GenericObjectPool<>(10, 3_600_000, EvictionPolicy.LAST_ACCESS_TIME);
+        final PoolableWrapper<String> shortLived = PoolableWrapper.of("a", 10, 10);
+        final PoolableWrapper<String> longLived = PoolableWrapper.of("b", 3_600_000, 3_600_000);
+
+        assertTrue(pool.add(shortLived));
+        assertTrue(pool.add(longLived));
+        assertTrue(pool.add(PoolableWrapper.of("c", 10, 10)));
+        assertEquals(3, pool.timerWheel.size());
+
+        N.sleep(1_200);
+        pool.evict();
+
+        assertEquals(1, pool.size());
+        assertTrue(pool.contains(longLived));
+        assertFalse(pool.contains(shortLived));
+        assertEquals(1, pool.timerWheel.size());
+        assertEquals(2, pool.stats().getExpirationCount());
+
+        pool.close();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.landawn.abacus.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+public class ObjectoryTest {
+
+    @Test
+    public void test_magazine() {
+        final Objectory.Magazine<String> magazine = new Objectory.Magazine<>(2, 2);
+        final String a = new String("a");
+        final String b = new String("b");
+        final String c = new String("c");
+        final String d = new String("d");
+
+        // two slots of the current stripe, then the shared queue.
+        assertTrue(magazine.offer(a));
+        assertTrue(magazine.offer(b));
+        assertTrue(magazine.offer(c));
+        assertTrue(magazine.offer(d));
+        assertFalse(magazine.offer(new String("e")));
+
+        final long hitCount = Objectory.hitCount();
+        final long missCount = Objectory.missCount();
+
+        assertSame(a, magazine.poll());
+        assertSame(b, magazine.poll());
+        assertSame(c, magazine.poll());
+        assertSame(d, magazine.poll());
+        assertNull(magazine.poll());
+
+        assertTrue(Objectory.hitCount() - hitCount >= 4);
+        assertTrue(Objectory.missCount() - missCount >= 1);
+    }
+
+    @Test
+    public void test_magazine_without_slots() {
+        final Objectory.Magazine<String> magazine = new Objectory.Magazine<>(1, 0);
+        final String a = new String("a");
+
+        assertTrue(magazine.offer(a));
+        assertFalse(magazine.offer(new String("b")));
+        assertSame(a, magazine.poll());
+        assertNull(magazine.poll());
+    }
+
+    @Test
+    public void test_magazine_concurrent() throws Exception {
+        final Objectory.Magazine<Object> magazine = new Objectory.Magazine<>(64, 2);
+        final Set<Object> polled = ConcurrentHashMap.newKeySet();
+        final Thread[] threads = new Thread[8];
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    Object e = magazine.poll();
+
+                    if (e == null) {
+                        e = new Object();
+                    }
+
+                    magazine.offer(e);
+                }
+            });
+
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // each object is held by the magazine at most once.
+        for (Object e = magazine.poll(); e != null; e = magazine.poll()) {
+            assertTrue(polled.add(e));
+        }
+
+        assertTrue(polled.size() <= 64 + 2 * threads.length);
+    }
+
+    @Test
+    public void test_buffer_size_classes() {
+        final int bufferSize = Objectory.BUFFER_SIZE;
+
+        assertEquals(bufferSize, Objectory.createCharArrayBuffer().length);
+        assertEquals(bufferSize * 2, Objectory.createCharArrayBuffer(bufferSize + 1).length);
+        assertEquals(bufferSize * 4, Objectory.createCharArrayBuffer(bufferSize * 3).length);
+        assertEquals(bufferSize * 16, Objectory.createCharArrayBuffer(bufferSize * 16).length);
+        assertEquals(bufferSize * 16 + 1, Objectory.createCharArrayBuffer(bufferSize * 16 + 1).length);
+
+        assertEquals(bufferSize * 2, Objectory.createByteArrayBuffer(bufferSize + 1).length);
+        assertEquals(bufferSize * 8, Objectory.createByteArrayBuffer(bufferSize * 5).length);
+        assertEquals(bufferSize * 16 + 1, Objectory.createByteArrayBuffer(bufferSize * 16 + 1).length);
+
+        // the recycled buffers are reused by the same size class.
+        final char[] cbuf = Objectory.createCharArrayBuffer(bufferSize * 4);
+        Objectory.recycle(cbuf);
+        assertEquals(bufferSize * 4, Objectory.createCharArrayBuffer(bufferSize * 3 + 1).length);
+
+        final byte[] bbuf = Objectory.createByteArrayBuffer(bufferSize * 2);
+        Objectory.recycle(bbuf);
+        assertEquals(bufferSize * 2, Objectory.createByteArrayBuffer(bufferSize + 1).length);
+
+        // the large buffers out of the size classes are not recycled.
+        Objectory.recycle(new char[bufferSize + 1]);
+        Objectory.recycle(new byte[bufferSize * 16 + 1]);
+        assertEquals(bufferSize * 2, Objectory.createCharArrayBuffer(bufferSize + 1).length);
+    }
+
+    @Test
+    public void test_recycle_list() {
+        final List<Object> list = Objectory.createList();
+        list.add("a");
+        Objectory.recycle(list);
+
+        assertTrue(Objectory.createList().isEmpty());
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021, Haiyang Li.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.landawn.abacus.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class UTF8JSONWriterTest {
+
+    private static final String[] STRS = { "", "abc", "a\"b'c\\d", "\t\b\n\r\f", "\u0000\u0001\u001f\u007f", "caf\u00e9 \u00df", "\u4e2d\u6587",
+            "\u2028\u2029", "\ud83d\ude00 emoji", "lone \ud83d high", "lone \ude00 low", "</script>" };
+
+    private static byte[] expected(final String str) throws IOException {
+        final BufferedJSONWriter bw = Objectory.createBufferedJSONWriter();
+
+        try {
+            bw.writeCharacter(str);
+
+            return bw.toString().getBytes(Charsets.UTF_8);
+        } finally {
+            Objectory.recycle(bw);
+        }
+    }
+
+    @Test
+    public void test_writeCharacter() throws IOException {
+        for (String str : STRS) {
+            final UTF8JSONWriter writer = Objectory.createUTF8JSONWriter();
+
+            try {
+                writer.writeCharacter(str);
+                assertArrayEquals(str, expected(str), writer.toByteArray());
+            } finally {
+                Objectory.recycle(writer);
+            }
+
+            final UTF8JSONWriter writer2 = Objectory.createUTF8JSONWriter();
+
+            try {
+                writer2.writeCharacter(str.toCharArray());
+                assertArrayEquals(str, expected(str), writer2.toByteArray());
+            } finally {
+                Objectory.recycle(writer2);
+            }
+        }
+    }
+
+    @Test
+    public void test_write_notEscaped() throws IOException {
+        final String str = "a\"b\n\u00e9\u4e2d\ud83d\ude00";
+        final UTF8JSONWriter writer = Objectory.createUTF8JSONWriter();
+
+        try {
+            writer.write(str);
+            writer.write('\u00e9');
+            writer.write((String) null);
+
+            assertArrayEquals((str + "\u00e9null").getBytes(Charsets.UTF_8), writer.toByteArray());
+        } finally {
+            Objectory.recycle(writer);
+        }
+    }
+
+    @Test
+    public void test_writeNumbers() throws IOException {
+        final long[] lngs = { 0, 1, -1, 9, 10, 99, 100, Integer.MAX_VALUE, Integer.MIN_VALUE, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE };
+        final StringBuilder sb = new StringBuilder();
+        final UTF8JSONWriter writer = Objectory.createUTF8JSONWriter();
+
+        try {
+            for (long lng : lngs) {
+                writer.write(lng);
+                writer.write((byte) ',');
+                sb.append(lng).append(',');
+            }
+
+            writer.writeInt(-123);
+            writer.write(1.5f);
+            writer.write(-0.25d);
+            writer.write(true);
+            writer.write(false);
+            writer.writeNull();
+            sb.append(-123).append(1.5f).append(-0.25d).append(true).append(false).append("null");
+
+            assertEquals(sb.toString(), new String(writer.toByteArray(), Charsets.UTF_8));
+            assertEquals(sb.length(), writer.size());
+        } finally {
+            Objectory.recycle(writer);
+        }
+    }
+
+    @Test
+    public void test_outputStream() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < 100_000; i++) {
+            sb.append(STRS[i % STRS.length]);
+        }
+
+        final String str = sb.toString();
+        final byte[] bytes = new byte[100_000];
+        Arrays.fill(bytes, (byte) 'x');
+
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        final UTF8JSONWriter writer = Objectory.createUTF8JSONWriter(os);
+
+        try {
+            writer.writeCharacter(str);
+            writer.write(bytes);
+            writer.write(Long.MIN_VALUE);
+        } finally {
+            Objectory.recycle(writer);
+        }
+
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(expected(str));
+        expected.write(bytes);
+        expected.write(String.valueOf(Long.MIN_VALUE).getBytes(Charsets.UTF_8));
+
+        assertArrayEquals(expected.toByteArray(), os.toByteArray());
+    }
+
+    @Test
+    public void test_growBuffer() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < 50_000; i++) {
+            sb.append("\u4e2d\"");
+        }
+
+        final String str = sb.toString();
+        final UTF8JSONWriter writer = Objectory.createUTF8JSONWriter();
+
+        try {
+            writer.writeCharacter(str);
+            assertArrayEquals(expected(str), writer.toByteArray());
+        } finally {
+            Objectory.recycle(writer);
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_toByteArray_outputStream() {
+        final UTF8JSONWriter writer = Objectory.createUTF8JSONWriter(new ByteArrayOutputStream());
+
+        try {
+            writer.toByteArray();
+        } finally {
+            Objectory.recycle(writer);
+        }
+    }
+
+    @Test
+    public void test_recycle() throws IOException {
+        final UTF8JSONWriter writer = Objectory.createUTF8JSONWriter();
+        writer.write("abc");
+        Objectory.recycle(writer);
+
+        final UTF8JSONWriter writer2 = Objectory.createUTF8JSONWriter();
+
+        try {
+            assertEquals(0, writer2.size());
+            writer2.write("d");
+            assertEquals("d", new String(writer2.toByteArray(), Charsets.UTF_8));
+        } finally {
+            Objectory.recycle(writer2);
+        }
+    }
+}